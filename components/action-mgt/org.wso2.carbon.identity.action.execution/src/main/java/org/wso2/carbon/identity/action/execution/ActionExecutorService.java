@@ -23,6 +23,7 @@ import org.wso2.carbon.identity.action.execution.model.ActionExecutionStatus;
 import org.wso2.carbon.identity.action.execution.model.ActionType;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * This interface defines the Action Executor Service.
@@ -51,4 +52,27 @@ public interface ActionExecutorService {
     ActionExecutionStatus execute(ActionType actionType, Map<String, Object> eventContext, String tenantDomain) throws
             ActionExecutionException;
 
+    /**
+     * Execute the action based on the action type and the event context, without blocking the calling thread while
+     * the action endpoint is invoked.
+     *
+     * @param actionType   Action Type
+     * @param eventContext Context information required for the action execution.
+     * @param tenantDomain Tenant Domain
+     * @return Future of the {@link ActionExecutionStatus}, which completes exceptionally with an
+     * {@link ActionExecutionException} if an error occurs while executing the action.
+     */
+    default CompletableFuture<ActionExecutionStatus> executeAsync(ActionType actionType,
+                                                                  Map<String, Object> eventContext,
+                                                                  String tenantDomain) {
+
+        CompletableFuture<ActionExecutionStatus> actionExecution = new CompletableFuture<>();
+        try {
+            actionExecution.complete(execute(actionType, eventContext, tenantDomain));
+        } catch (ActionExecutionException e) {
+            actionExecution.completeExceptionally(e);
+        }
+        return actionExecution;
+    }
+
 }
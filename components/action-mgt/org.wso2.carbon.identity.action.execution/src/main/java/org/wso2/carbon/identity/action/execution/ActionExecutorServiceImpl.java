@@ -53,8 +53,17 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
@@ -67,11 +76,37 @@ public class ActionExecutorServiceImpl implements ActionExecutorService {
     private static final Log LOG = LogFactory.getLog(ActionExecutorServiceImpl.class);
 
     private static final ActionExecutorServiceImpl INSTANCE = new ActionExecutorServiceImpl();
+    private static final String ACTION_EXECUTOR_THREAD_NAME_PREFIX = "action-executor-";
     private final APIClient apiClient;
+    private final ExecutorService actionInvocationExecutor;
 
     private ActionExecutorServiceImpl() {
 
         apiClient = new APIClient();
+        actionInvocationExecutor = createActionInvocationExecutor();
+    }
+
+    /**
+     * Create the executor which invokes the action endpoints. The executor is bounded, so that the invocations of a
+     * slow action endpoint cannot hold an unbounded number of threads, and invocations are rejected once its queue is
+     * full instead of waiting.
+     */
+    private static ExecutorService createActionInvocationExecutor() {
+
+        int poolSize = Math.max(ActionExecutorConfig.getInstance().getExecutorPoolSize(), 1);
+        int queueSize = ActionExecutorConfig.getInstance().getExecutorQueueSize();
+        BlockingQueue<Runnable> workQueue = queueSize > 0 ? new ArrayBlockingQueue<>(queueSize) :
+                new SynchronousQueue<>();
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS, workQueue,
+                runnable -> {
+                    Thread thread = new Thread(runnable,
+                            ACTION_EXECUTOR_THREAD_NAME_PREFIX + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
     }
 
     public static ActionExecutorServiceImpl getInstance() {
@@ -132,6 +167,48 @@ public class ActionExecutorServiceImpl implements ActionExecutorService {
         }
     }
 
+    /**
+     * Resolve the actions that need to be executed for the given action types and execute them, without blocking the
+     * calling thread while the action endpoint is invoked.
+     *
+     * @param actionType    Action Type.
+     * @param eventContext  The event context of the corresponding flow.
+     * @param tenantDomain  Tenant domain.
+     * @return Future of the action execution status.
+     */
+    @Override
+    public CompletableFuture<ActionExecutionStatus> executeAsync(ActionType actionType,
+                                                                 Map<String, Object> eventContext,
+                                                                 String tenantDomain) {
+
+        CompletableFuture<ActionExecutionStatus> actionExecution;
+        try {
+            List<Action> actions = getActionsByActionType(actionType, tenantDomain);
+            validateActions(actions, actionType);
+            // As of now only one action is allowed.
+            actionExecution = executeAsync(actions.get(0), eventContext);
+        } catch (ActionExecutionException e) {
+            actionExecution = new CompletableFuture<>();
+            actionExecution.completeExceptionally(e);
+            return actionExecution;
+        } catch (ActionExecutionRuntimeException e) {
+            LOG.debug("Skip executing actions for action type: " + actionType.name(), e);
+            return CompletableFuture.completedFuture(
+                    new ActionExecutionStatus(ActionExecutionStatus.Status.FAILED, eventContext));
+        }
+
+        return actionExecution.exceptionally(throwable -> {
+            Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ?
+                    throwable.getCause() : throwable;
+            if (cause instanceof ActionExecutionRuntimeException) {
+                LOG.debug("Skip executing actions for action type: " + actionType.name(), cause);
+                return new ActionExecutionStatus(ActionExecutionStatus.Status.FAILED, eventContext);
+            }
+            throw throwable instanceof CompletionException ? (CompletionException) throwable :
+                    new CompletionException(throwable);
+        });
+    }
+
     private void validateActionIdList(ActionType actionType, String[] actionIdList) throws ActionExecutionException {
 
         // As of now only one action is allowed.
@@ -158,6 +235,22 @@ public class ActionExecutorServiceImpl implements ActionExecutorService {
                 .orElse(new ActionExecutionStatus(ActionExecutionStatus.Status.FAILED, eventContext));
     }
 
+    private CompletableFuture<ActionExecutionStatus> executeAsync(Action action, Map<String, Object> eventContext)
+            throws ActionExecutionException {
+
+        ActionType actionType = ActionType.valueOf(action.getType().getActionType());
+        ActionExecutionRequest actionRequest = buildActionExecutionRequest(actionType, eventContext);
+        ActionExecutionResponseProcessor actionExecutionResponseProcessor = getResponseProcessor(actionType);
+
+        if (action.getStatus() != Action.Status.ACTIVE) {
+            return CompletableFuture.completedFuture(
+                    new ActionExecutionStatus(ActionExecutionStatus.Status.FAILED, eventContext));
+        }
+        return invokeAction(action, actionRequest).thenApply(actionInvocationResponse ->
+                processActionResponse(action, actionInvocationResponse, eventContext, actionRequest,
+                        actionExecutionResponseProcessor));
+    }
+
     private Action getActionByActionId(ActionType actionType, String actionId, String tenantDomain)
             throws ActionExecutionException {
 
@@ -235,36 +328,51 @@ public class ActionExecutorServiceImpl implements ActionExecutorService {
                                                 ActionExecutionResponseProcessor actionExecutionResponseProcessor)
             throws ActionExecutionRuntimeException {
 
+        CompletableFuture<ActionInvocationResponse> actionInvocation = invokeAction(action, actionRequest);
+        ActionInvocationResponse actionInvocationResponse;
+        try {
+            actionInvocationResponse = actionInvocation.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ActionExecutionRuntimeException("Error occurred while executing action: " + action.getId(),
+                    e);
+        } catch (ExecutionException e) {
+            throw new ActionExecutionRuntimeException("Error occurred while executing action: " + action.getId(),
+                    e);
+        }
+        return processActionResponse(action, actionInvocationResponse, eventContext, actionRequest,
+                actionExecutionResponseProcessor);
+    }
+
+    /**
+     * Invoke the action endpoint on the action invocation executor.
+     *
+     * @return Future of the response of the action endpoint.
+     * @throws ActionExecutionRuntimeException If the request cannot be built, or the executor is saturated.
+     */
+    private CompletableFuture<ActionInvocationResponse> invokeAction(Action action,
+                                                                     ActionExecutionRequest actionRequest)
+            throws ActionExecutionRuntimeException {
+
         Authentication endpointAuthentication = action.getEndpoint().getAuthentication();
         AuthMethods.AuthMethod authenticationMethod;
-
+        String payload;
         try {
             authenticationMethod = getAuthenticationMethod(action.getId(), endpointAuthentication);
-            String payload = serializeRequest(actionRequest);
-
-            logActionRequest(action, payload);
-
-            ActionInvocationResponse actionInvocationResponse =
-                    executeActionAsynchronously(action, authenticationMethod, payload);
-            return processActionResponse(action, actionInvocationResponse, eventContext, actionRequest,
-                    actionExecutionResponseProcessor);
-        } catch (ActionMgtException | JsonProcessingException | ActionExecutionResponseProcessorException e) {
+            payload = serializeRequest(actionRequest);
+        } catch (ActionMgtException | JsonProcessingException e) {
             throw new ActionExecutionRuntimeException("Error occurred while executing action: " + action.getId(), e);
         }
-    }
 
-    private ActionInvocationResponse executeActionAsynchronously(Action action,
-                                                                 AuthMethods.AuthMethod authenticationMethod,
-                                                                 String payload) {
+        logActionRequest(action, payload);
 
         String apiEndpoint = action.getEndpoint().getUri();
-        CompletableFuture<ActionInvocationResponse> actionExecutor = CompletableFuture.supplyAsync(
-                () -> apiClient.callAPI(apiEndpoint, authenticationMethod, payload));
         try {
-            return actionExecutor.get();
-        } catch (InterruptedException | ExecutionException e) {
-            throw new ActionExecutionRuntimeException("Error occurred while executing action: " + action.getId(),
-                    e);
+            return CompletableFuture.supplyAsync(() -> apiClient.callAPI(apiEndpoint, authenticationMethod, payload),
+                    actionInvocationExecutor);
+        } catch (RejectedExecutionException e) {
+            throw new ActionExecutionRuntimeException("Maximum number of concurrent action executions reached. " +
+                    "Skipping the execution of action: " + action.getId(), e);
         }
     }
 
@@ -288,6 +396,22 @@ public class ActionExecutorServiceImpl implements ActionExecutorService {
                                                         ActionExecutionRequest actionRequest,
                                                         ActionExecutionResponseProcessor
                                                                 actionExecutionResponseProcessor)
+            throws ActionExecutionRuntimeException {
+
+        try {
+            return processActionResponseByStatus(action, actionInvocationResponse, eventContext, actionRequest,
+                    actionExecutionResponseProcessor);
+        } catch (ActionExecutionResponseProcessorException e) {
+            throw new ActionExecutionRuntimeException("Error occurred while executing action: " + action.getId(), e);
+        }
+    }
+
+    private ActionExecutionStatus processActionResponseByStatus(Action action,
+                                                                ActionInvocationResponse actionInvocationResponse,
+                                                                Map<String, Object> eventContext,
+                                                                ActionExecutionRequest actionRequest,
+                                                                ActionExecutionResponseProcessor
+                                                                        actionExecutionResponseProcessor)
             throws ActionExecutionResponseProcessorException {
 
         if (actionInvocationResponse.isSuccess()) {
@@ -41,6 +41,9 @@ import org.wso2.carbon.identity.action.execution.model.ActionInvocationSuccessRe
 import java.io.IOException;
 import java.net.SocketTimeoutException;
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * This class is responsible for making API calls to the external services.
@@ -49,6 +52,11 @@ public class APIClient {
 
     private static final Log LOG = LogFactory.getLog(APIClient.class);
     private final CloseableHttpClient httpClient;
+    private final Map<String, EndpointCircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+    private final int retryBackoffInMillis;
+    private final int maxRetryBackoffInMillis;
+    private final int circuitBreakerFailureThreshold;
+    private final int circuitBreakerOpenDurationInMillis;
 
     public APIClient() {
 
@@ -69,15 +77,49 @@ public class APIClient {
         connectionManager.setMaxTotal(ActionExecutorConfig.getInstance().getHttpConnectionPoolSize());
         httpClient = HttpClientBuilder.create().setDefaultRequestConfig(config).setConnectionManager(connectionManager)
                 .build();
+
+        retryBackoffInMillis = ActionExecutorConfig.getInstance().getHttpRequestRetryBackoffInMillis();
+        maxRetryBackoffInMillis = ActionExecutorConfig.getInstance().getHttpRequestMaxRetryBackoffInMillis();
+        circuitBreakerFailureThreshold = ActionExecutorConfig.getInstance().getCircuitBreakerFailureThreshold();
+        circuitBreakerOpenDurationInMillis = ActionExecutorConfig.getInstance().getCircuitBreakerOpenDurationInMillis();
     }
 
     public ActionInvocationResponse callAPI(String url, AuthMethods.AuthMethod authMethod,
                                             String payload) {
 
+        EndpointCircuitBreaker circuitBreaker = getCircuitBreaker(url);
+        if (!circuitBreaker.allowRequest()) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Circuit of API: " + url + " is open. Skipping the request.");
+            }
+            return new ActionInvocationResponse.Builder()
+                    .errorLog("Failed to execute the action request. The API is unavailable.").build();
+        }
+
         HttpPost httpPost = new HttpPost(url);
-        setRequestEntity(httpPost, payload, authMethod);
+        boolean requestBuilt = false;
+        try {
+            setRequestEntity(httpPost, payload, authMethod);
+            requestBuilt = true;
+        } finally {
+            if (!requestBuilt) {
+                // The request was allowed by the circuit breaker, hence its outcome is recorded even though it
+                // could not be sent. Otherwise a trial request would keep the circuit half open.
+                circuitBreaker.recordFailure();
+            }
+        }
+
+        return executeRequest(httpPost, circuitBreaker);
+    }
+
+    private EndpointCircuitBreaker getCircuitBreaker(String url) {
 
-        return executeRequest(httpPost);
+        EndpointCircuitBreaker circuitBreaker = circuitBreakers.get(url);
+        if (circuitBreaker == null) {
+            circuitBreaker = circuitBreakers.computeIfAbsent(url, endpoint -> new EndpointCircuitBreaker(endpoint,
+                    circuitBreakerFailureThreshold, circuitBreakerOpenDurationInMillis));
+        }
+        return circuitBreaker;
     }
 
     private void setRequestEntity(HttpPost httpPost, String jsonRequest, AuthMethods.AuthMethod authMethod) {
@@ -91,33 +133,54 @@ public class APIClient {
         httpPost.setHeader("Content-type", "application/json");
     }
 
-    private ActionInvocationResponse executeRequest(HttpPost request) {
+    private ActionInvocationResponse executeRequest(HttpPost request, EndpointCircuitBreaker circuitBreaker) {
 
         int attempts = 0;
         int retryCount = ActionExecutorConfig.getInstance().getHttpRequestRetryCount();
         ActionInvocationResponse actionInvocationResponse = null;
+        // Each attempt allowed by the circuit breaker records exactly one outcome.
+        boolean outcomePending = true;
 
-        while (attempts < retryCount) {
-            try (CloseableHttpResponse response = httpClient.execute(request)) {
-                actionInvocationResponse = handleResponse(response);
-                if (!actionInvocationResponse.isError() || !actionInvocationResponse.isRetry()) {
-                    return actionInvocationResponse;
+        try {
+            while (attempts < retryCount) {
+                try (CloseableHttpResponse response = httpClient.execute(request)) {
+                    actionInvocationResponse = handleResponse(response);
+                    if (!actionInvocationResponse.isError() || !actionInvocationResponse.isRetry()) {
+                        outcomePending = false;
+                        circuitBreaker.recordSuccess();
+                        return actionInvocationResponse;
+                    }
+                    outcomePending = false;
+                    circuitBreaker.recordFailure();
+                    //todo: add to diagnostic logs
+                    LOG.warn("API: " + request.getURI() + " seems to be unavailable. Retrying the request. Attempt " +
+                            (attempts + 1) + " of " + retryCount);
+                } catch (ConnectTimeoutException | SocketTimeoutException e) {
+                    outcomePending = false;
+                    circuitBreaker.recordFailure();
+                    //todo: add to diagnostic logs
+                    LOG.warn("Request for API: " + request.getURI() + " timed out. Retrying the request. Attempt " +
+                            (attempts + 1) + " of " + retryCount);
+                } catch (Exception e) {
+                    outcomePending = false;
+                    circuitBreaker.recordFailure();
+                    //todo: add to diagnostic logs
+                    LOG.error("Request for API: " + request.getURI() + " failed due to an error.", e);
+                    break;
+                } finally {
+                    request.releaseConnection();
                 }
-                //todo: add to diagnostic logs
-                LOG.warn("API: " + request.getURI() + " seems to be unavailable. Retrying the request. Attempt " +
-                        (attempts + 1) + " of " + retryCount);
-            } catch (ConnectTimeoutException | SocketTimeoutException e) {
-                //todo: add to diagnostic logs
-                LOG.warn("Request for API: " + request.getURI() + " timed out. Retrying the request. Attempt " +
-                        (attempts + 1) + " of " + retryCount);
-            } catch (Exception e) {
-                //todo: add to diagnostic logs
-                LOG.error("Request for API: " + request.getURI() + " failed due to an error.", e);
-                break;
-            } finally {
-                request.releaseConnection();
+                attempts++;
+                if (attempts >= retryCount || !backOff(attempts) || !circuitBreaker.allowRequest()) {
+                    break;
+                }
+                outcomePending = true;
+            }
+        } finally {
+            if (outcomePending) {
+                // No attempt was made for the allowed request, e.g. when retries are disabled.
+                circuitBreaker.recordFailure();
             }
-            attempts++;
         }
 
         LOG.warn("Maximum retry attempts reached for API: " + request.getURI());
@@ -125,6 +188,29 @@ public class APIClient {
                 .errorLog("Failed to execute the action request or maximum retry attempts reached.").build();
     }
 
+    /**
+     * Wait before retrying a request, for a random duration up to an exponentially growing limit, so that the
+     * retries of concurrent requests to an unavailable API are spread over time.
+     *
+     * @param attempts Number of attempts made so far.
+     * @return False if the thread was interrupted while waiting.
+     */
+    private boolean backOff(int attempts) {
+
+        if (retryBackoffInMillis <= 0) {
+            return true;
+        }
+        long backoffLimit = Math.min((long) retryBackoffInMillis << Math.min(attempts - 1, 20),
+                Math.max(maxRetryBackoffInMillis, retryBackoffInMillis));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(backoffLimit + 1));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
     private ActionInvocationResponse handleResponse(HttpResponse response) {
 
         int statusCode = response.getStatusLine().getStatusCode();
@@ -50,7 +50,20 @@ public class ActionExecutorConfig {
     private static final String HTTP_CONNECTION_TIMEOUT_PROPERTY = "Actions.HTTPClient.HTTPConnectionTimeout";
     private static final String HTTP_CONNECTION_POOL_SIZE_PROPERTY = "Actions.HTTPClient.HTTPConnectionPoolSize";
     private static final String HTTP_REQUEST_RETRY_COUNT_PROPERTY = "Actions.HTTPClient.HTTPRequestRetryCount";
+    private static final String HTTP_REQUEST_RETRY_BACKOFF_PROPERTY = "Actions.HTTPClient.HTTPRequestRetryBackoff";
+    private static final String HTTP_REQUEST_MAX_RETRY_BACKOFF_PROPERTY =
+            "Actions.HTTPClient.HTTPRequestMaxRetryBackoff";
+    private static final String EXECUTOR_POOL_SIZE_PROPERTY = "Actions.Executor.PoolSize";
+    private static final String EXECUTOR_QUEUE_SIZE_PROPERTY = "Actions.Executor.QueueSize";
+    private static final String CIRCUIT_BREAKER_FAILURE_THRESHOLD_PROPERTY = "Actions.CircuitBreaker.FailureThreshold";
+    private static final String CIRCUIT_BREAKER_OPEN_DURATION_PROPERTY = "Actions.CircuitBreaker.OpenDuration";
     private static final int DEFAULT_HTTP_REQUEST_RETRY_COUNT = 2;
+    private static final int DEFAULT_HTTP_REQUEST_RETRY_BACKOFF_IN_MILLIS = 100;
+    private static final int DEFAULT_HTTP_REQUEST_MAX_RETRY_BACKOFF_IN_MILLIS = 1000;
+    private static final int DEFAULT_EXECUTOR_POOL_SIZE = 20;
+    private static final int DEFAULT_EXECUTOR_QUEUE_SIZE = 100;
+    private static final int DEFAULT_CIRCUIT_BREAKER_FAILURE_THRESHOLD = 5;
+    private static final int DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION_IN_MILLIS = 30000;
     private static final int DEFAULT_HTTP_CONNECTION_POOL_SIZE = 20;
     private static final int DEFAULT_HTTP_READ_TIMEOUT_IN_MILLIS = 5000;
     private static final int DEFAULT_HTTP_CONNECTION_REQUEST_TIMEOUT_IN_MILLIS = 2000;
@@ -162,6 +175,88 @@ public class ActionExecutorConfig {
         return parseTimeoutConfig(HTTP_CONNECTION_TIMEOUT_PROPERTY, DEFAULT_HTTP_CONNECTION_TIMEOUT_IN_MILLIS);
     }
 
+    /**
+     * Retrieves the base delay of the exponential back-off between the retries of an HTTP request.
+     * If the configuration value is invalid or missing, the default value is parsed.
+     *
+     * @return The base retry back-off int value in milliseconds.
+     */
+    public int getHttpRequestRetryBackoffInMillis() {
+
+        return parseTimeoutConfig(HTTP_REQUEST_RETRY_BACKOFF_PROPERTY, DEFAULT_HTTP_REQUEST_RETRY_BACKOFF_IN_MILLIS);
+    }
+
+    /**
+     * Retrieves the maximum delay of the exponential back-off between the retries of an HTTP request.
+     * If the configuration value is invalid or missing, the default value is parsed.
+     *
+     * @return The maximum retry back-off int value in milliseconds.
+     */
+    public int getHttpRequestMaxRetryBackoffInMillis() {
+
+        return parseTimeoutConfig(HTTP_REQUEST_MAX_RETRY_BACKOFF_PROPERTY,
+                DEFAULT_HTTP_REQUEST_MAX_RETRY_BACKOFF_IN_MILLIS);
+    }
+
+    /**
+     * Returns the number of threads which invoke the action endpoints, based on the system configuration.
+     *
+     * @return The executor pool size, or the default if the property is missing or invalid.
+     */
+    public int getExecutorPoolSize() {
+
+        return parseIntConfig(EXECUTOR_POOL_SIZE_PROPERTY, DEFAULT_EXECUTOR_POOL_SIZE);
+    }
+
+    /**
+     * Returns the number of action invocations which can wait for a thread, based on the system configuration.
+     * Action invocations are rejected once the queue is full.
+     *
+     * @return The executor queue size, or the default if the property is missing or invalid.
+     */
+    public int getExecutorQueueSize() {
+
+        return parseIntConfig(EXECUTOR_QUEUE_SIZE_PROPERTY, DEFAULT_EXECUTOR_QUEUE_SIZE);
+    }
+
+    /**
+     * Returns the number of consecutive failed calls after which an action endpoint is not called until the circuit
+     * breaker open duration elapses. The circuit breaker is disabled if the value is not positive.
+     *
+     * @return The circuit breaker failure threshold, or the default if the property is missing or invalid.
+     */
+    public int getCircuitBreakerFailureThreshold() {
+
+        return parseIntConfig(CIRCUIT_BREAKER_FAILURE_THRESHOLD_PROPERTY, DEFAULT_CIRCUIT_BREAKER_FAILURE_THRESHOLD);
+    }
+
+    /**
+     * Retrieves the duration for which an action endpoint is not called once its circuit breaker is open.
+     * If the configuration value is invalid or missing, the default value is parsed.
+     *
+     * @return The circuit breaker open duration int value in milliseconds.
+     */
+    public int getCircuitBreakerOpenDurationInMillis() {
+
+        return parseTimeoutConfig(CIRCUIT_BREAKER_OPEN_DURATION_PROPERTY,
+                DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION_IN_MILLIS);
+    }
+
+    private int parseIntConfig(String propertyName, int defaultValue) {
+
+        int propertyValue = defaultValue;
+        String value = (String) IdentityConfigParser.getInstance().getConfiguration().get(propertyName);
+        if (StringUtils.isNotBlank(value)) {
+            try {
+                propertyValue = Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                LOG.debug("Failed to read " + propertyName + " property in identity.xml." +
+                        " Expects a number. Using the default value: " + defaultValue, e);
+            }
+        }
+        return propertyValue;
+    }
+
     private int parseTimeoutConfig(String timeoutTypeName, int defaultTimeout) {
 
         int timeoutPropertyValue = defaultTimeout;
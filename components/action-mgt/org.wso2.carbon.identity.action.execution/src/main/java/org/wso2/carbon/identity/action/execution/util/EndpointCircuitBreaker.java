@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.action.execution.util;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Circuit breaker of an action endpoint.
+ * <p>
+ * The circuit opens after a configured number of consecutive failed calls, i.e. timeouts, connection failures and
+ * responses which indicate that the endpoint is unavailable. While it is open, calls to the endpoint fail fast. Once
+ * the open duration elapses, a single trial call is allowed, which closes the circuit if it succeeds and opens it
+ * again otherwise.
+ */
+public class EndpointCircuitBreaker {
+
+    private static final Log LOG = LogFactory.getLog(EndpointCircuitBreaker.class);
+
+    /**
+     * States of a circuit breaker.
+     */
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String endpoint;
+    private final int failureThreshold;
+    private final long openDurationInMillis;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialCallInProgress;
+
+    /**
+     * @param endpoint             URI of the endpoint.
+     * @param failureThreshold     Number of consecutive failed calls which opens the circuit. The circuit never opens
+     *                             if this is not positive.
+     * @param openDurationInMillis Duration for which the circuit stays open.
+     */
+    public EndpointCircuitBreaker(String endpoint, int failureThreshold, long openDurationInMillis) {
+
+        this.endpoint = endpoint;
+        this.failureThreshold = failureThreshold;
+        this.openDurationInMillis = openDurationInMillis;
+    }
+
+    /**
+     * Check whether the endpoint can be called. If the open duration has elapsed, the caller is allowed to make the
+     * trial call and is expected to record its outcome.
+     *
+     * @return True if the endpoint can be called.
+     */
+    public synchronized boolean allowRequest() {
+
+        switch (state) {
+            case OPEN:
+                if (System.currentTimeMillis() - openedAt < openDurationInMillis) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                trialCallInProgress = true;
+                return true;
+            case HALF_OPEN:
+                if (trialCallInProgress) {
+                    return false;
+                }
+                trialCallInProgress = true;
+                return true;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Record a successful call, or a call to which the endpoint responded as expected.
+     */
+    public synchronized void recordSuccess() {
+
+        if (state != State.CLOSED && LOG.isDebugEnabled()) {
+            LOG.debug("Closing the circuit of action endpoint: " + endpoint);
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialCallInProgress = false;
+    }
+
+    /**
+     * Record a failed call.
+     */
+    public synchronized void recordFailure() {
+
+        if (failureThreshold <= 0) {
+            return;
+        }
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            if (state != State.OPEN) {
+                LOG.warn("Action endpoint: " + endpoint + " failed " + consecutiveFailures + " consecutive calls. " +
+                        "Calls to the endpoint will fail fast for " + openDurationInMillis + " ms.");
+            }
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+            trialCallInProgress = false;
+        }
+    }
+
+    public synchronized State getState() {
+
+        return state;
+    }
+}
@@ -46,10 +46,13 @@ import java.lang.reflect.Field;
 import java.net.SocketTimeoutException;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -58,6 +61,7 @@ import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 
 public class APIClientTest {
 
@@ -312,6 +316,57 @@ public class APIClientTest {
         verify(httpClient, times(2)).execute(any(HttpPost.class));
     }
 
+    @Test
+    public void testCallAPIRecordsOutcomeWhenNoAttemptIsMade() throws Exception {
+
+        when(ActionExecutorConfig.getInstance().getHttpRequestRetryCount()).thenReturn(0);
+        APIClient client = createClientWithCircuitBreaker();
+
+        ActionInvocationResponse response = client.callAPI("http://example.com", null, "{}");
+
+        assertTrue(response.isError());
+        verify(httpClient, never()).execute(any(HttpPost.class));
+        assertEquals(getCircuitBreaker(client, "http://example.com").getState(),
+                EndpointCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    public void testCallAPIRecordsOutcomeWhenRequestCannotBeBuilt() throws Exception {
+
+        APIClient client = createClientWithCircuitBreaker();
+        AuthMethods.AuthMethod authMethod = mock(AuthMethods.AuthMethod.class);
+        doThrow(new IllegalStateException("Invalid credentials")).when(authMethod).applyAuth(any(HttpPost.class));
+
+        try {
+            client.callAPI("http://example.com", authMethod, "{}");
+            fail("Expected the failure of applying the authentication to be propagated.");
+        } catch (IllegalStateException e) {
+            assertEquals(e.getMessage(), "Invalid credentials");
+        }
+
+        verify(httpClient, never()).execute(any(HttpPost.class));
+        assertEquals(getCircuitBreaker(client, "http://example.com").getState(),
+                EndpointCircuitBreaker.State.OPEN);
+    }
+
+    private APIClient createClientWithCircuitBreaker() throws Exception {
+
+        ActionExecutorConfig actionExecutorConfig = ActionExecutorConfig.getInstance();
+        when(actionExecutorConfig.getCircuitBreakerFailureThreshold()).thenReturn(1);
+        when(actionExecutorConfig.getCircuitBreakerOpenDurationInMillis()).thenReturn(60000);
+        APIClient client = new APIClient();
+        setField(client, "httpClient", httpClient);
+        return client;
+    }
+
+    @SuppressWarnings("unchecked")
+    private EndpointCircuitBreaker getCircuitBreaker(APIClient client, String url) throws Exception {
+
+        Field field = APIClient.class.getDeclaredField("circuitBreakers");
+        field.setAccessible(true);
+        return ((Map<String, EndpointCircuitBreaker>) field.get(client)).get(url);
+    }
+
     private void setField(Object target, String fieldName, Object value) throws Exception {
 
         Field field = target.getClass().getDeclaredField(fieldName);
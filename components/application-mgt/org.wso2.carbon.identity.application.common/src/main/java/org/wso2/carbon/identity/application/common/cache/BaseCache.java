@@ -22,6 +22,8 @@ import org.wso2.carbon.caching.impl.CacheImpl;
 import org.wso2.carbon.caching.impl.CachingConstants;
 import org.wso2.carbon.context.PrivilegedCarbonContext;
 import org.wso2.carbon.identity.application.common.listener.AbstractCacheListener;
+import org.wso2.carbon.identity.core.cache.CacheStatistics;
+import org.wso2.carbon.identity.core.cache.CacheStatisticsRegistry;
 import org.wso2.carbon.identity.core.model.IdentityCacheConfig;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
@@ -43,6 +45,8 @@ import javax.cache.Caching;
  * Deprecated This base cache always uses super tenant space to maintain all the cache. Hence deprecating this class to
  * use {@link org.wso2.carbon.identity.core.cache.BaseCache}.
  *
+ * Statistics of the cache are recorded against the super tenant in {@link CacheStatisticsRegistry}.
+ *
  * @param <K> cache key type.
  * @param <V> cache value type.
  */
@@ -54,10 +58,12 @@ public class BaseCache<K extends Serializable, V extends Serializable> {
     private String cacheName;
     private List<AbstractCacheListener> cacheListeners = new ArrayList<>();
     private IdentityCacheConfig identityCacheConfig;
+    private final CacheStatistics statistics;
 
     public BaseCache(String cacheName) {
 
         this.cacheName = cacheName;
+        statistics = CacheStatisticsRegistry.getOrCreateStatistics(cacheName, MultitenantConstants.SUPER_TENANT_ID);
         identityCacheConfig = IdentityUtil.getIdentityCacheConfig(CACHE_MANAGER_NAME, cacheName);
         if (identityCacheConfig != null && !identityCacheConfig.isDistributed()) {
             this.cacheName = CachingConstants.LOCAL_CACHE_PREFIX + cacheName;
@@ -67,6 +73,7 @@ public class BaseCache<K extends Serializable, V extends Serializable> {
     public BaseCache(String cacheName, boolean isTemp) {
 
         this.cacheName = cacheName;
+        statistics = CacheStatisticsRegistry.getOrCreateStatistics(cacheName, MultitenantConstants.SUPER_TENANT_ID);
         identityCacheConfig = IdentityUtil.getIdentityCacheConfig(CACHE_MANAGER_NAME, cacheName);
         if (identityCacheConfig != null) {
             if (!identityCacheConfig.isDistributed()) {
@@ -126,6 +133,9 @@ public class BaseCache<K extends Serializable, V extends Serializable> {
             PrivilegedCarbonContext.endTenantFlow();
         }
 
+        if (cache != null) {
+            statistics.observe(cache);
+        }
         return cache;
     }
 
@@ -151,6 +161,7 @@ public class BaseCache<K extends Serializable, V extends Serializable> {
             Cache<K, V> cache = getBaseCache();
             if (cache != null) {
                 cache.put(key, entry);
+                statistics.recordPut(key);
             }
         } finally {
             PrivilegedCarbonContext.endTenantFlow();
@@ -180,10 +191,16 @@ public class BaseCache<K extends Serializable, V extends Serializable> {
             carbonContext.setTenantId(MultitenantConstants.SUPER_TENANT_ID);
             carbonContext.setTenantDomain(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
             Cache<K, V> cache = getBaseCache();
-            if (cache != null && cache.get(key) != null) {
-                return (V) cache.get(key);
+            if (cache == null) {
+                return null;
             }
-            return null;
+            V value = cache.get(key);
+            if (value != null) {
+                statistics.recordHit();
+            } else {
+                statistics.recordMiss(key);
+            }
+            return value;
         } finally {
             PrivilegedCarbonContext.endTenantFlow();
         }
@@ -208,7 +225,7 @@ public class BaseCache<K extends Serializable, V extends Serializable> {
             carbonContext.setTenantDomain(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
             Cache<K, V> cache = getBaseCache();
             if (cache != null) {
-                cache.remove(key);
+                statistics.invalidate(() -> cache.remove(key));
             }
         } finally {
             PrivilegedCarbonContext.endTenantFlow();
@@ -232,7 +249,7 @@ public class BaseCache<K extends Serializable, V extends Serializable> {
             carbonContext.setTenantDomain(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
             Cache<K, V> cache = getBaseCache();
             if (cache != null) {
-                cache.removeAll();
+                statistics.invalidate(cache::removeAll);
             }
         } finally {
             PrivilegedCarbonContext.endTenantFlow();
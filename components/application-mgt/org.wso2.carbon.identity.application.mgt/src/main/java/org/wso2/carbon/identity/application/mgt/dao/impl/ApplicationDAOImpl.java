@@ -2291,8 +2291,8 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
             serviceProvider.setCertificateContent(getCertificateContent(propertyList, connection));
 
             // Set role associations.
-            serviceProvider.setAssociatedRolesConfig(
-                    getAssociatedRoles(serviceProvider.getApplicationResourceId(), connection, tenantID));
+            serviceProvider.setAssociatedRolesConfig(getAssociatedRoles(serviceProvider.getApplicationResourceId(),
+                    getAllowedRoleAudience(propertyList), connection, tenantID));
             // Will be supported with 'Advance Consent Management Feature'.
             /*
             ConsentConfig consentConfig = serviceProvider.getConsentConfig();
@@ -2316,10 +2316,18 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
             throws IdentityApplicationManagementException {
 
         String tenantDomain = IdentityTenantUtil.getTenantDomain(tenantID);
-        AssociatedRolesConfig associatedRolesConfig = new AssociatedRolesConfig();
-        List<String> associatedRoleIds = new ArrayList<>();
         String allowedAudience =
                 getSPPropertyValueByPropertyKey(applicationId, ALLOWED_ROLE_AUDIENCE_PROPERTY_NAME, tenantDomain);
+        return getAssociatedRoles(applicationId, allowedAudience, connection, tenantID);
+    }
+
+    private AssociatedRolesConfig getAssociatedRoles(String applicationId, String allowedAudience,
+                                                     Connection connection, int tenantID)
+            throws IdentityApplicationManagementException {
+
+        String tenantDomain = IdentityTenantUtil.getTenantDomain(tenantID);
+        AssociatedRolesConfig associatedRolesConfig = new AssociatedRolesConfig();
+        List<String> associatedRoleIds = new ArrayList<>();
         if (RoleConstants.APPLICATION.equalsIgnoreCase(allowedAudience)) {
             try (NamedPreparedStatement preparedStatement = new NamedPreparedStatement(connection,
                     ApplicationMgtDBQueries.LOAD_ASSOCIATED_ROLES)) {
@@ -2357,9 +2365,9 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
                         }
                     } while (chunkOfRoles.size() == maximumPage);
 
-                    List<String> roleIds = allRoles.stream().map(RoleBasicInfo::getId).collect(Collectors.
-                            toList());
-                    associatedRolesConfig.setRoles(buildAssociatedRolesWithRoleName(roleIds, tenantDomain));
+                    associatedRolesConfig.setRoles(allRoles.stream()
+                            .map(role -> new RoleV2(role.getId(), role.getName()))
+                            .toArray(RoleV2[]::new));
                 }
             } catch (IdentityRoleManagementException e) {
                 throw new IdentityApplicationManagementException("Error while retrieving associated roles for " +
@@ -2376,12 +2384,16 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
     private RoleV2[] buildAssociatedRolesWithRoleName(List<String> roleIds, String tenantDomain)
             throws IdentityRoleManagementException {
 
-        List<RoleV2> rolesList = new ArrayList<>();
+        if (roleIds.isEmpty()) {
+            return new RoleV2[0];
+        }
         RoleManagementService roleManagementServiceV2 =
                 ApplicationManagementServiceComponentHolder.getInstance().getRoleManagementServiceV2();
+        // Resolve the names of all the roles at once, rather than a lookup per role.
+        Map<String, String> roleNames = roleManagementServiceV2.getRoleNamesByRoleIds(roleIds, tenantDomain);
+        List<RoleV2> rolesList = new ArrayList<>();
         for (String roleId : roleIds) {
-            String roleName = roleManagementServiceV2.getRoleNameByRoleId(roleId, tenantDomain);
-            rolesList.add(new RoleV2(roleId, roleName));
+            rolesList.add(new RoleV2(roleId, roleNames.get(roleId)));
         }
         return rolesList.toArray(new RoleV2[0]);
     }
@@ -2606,6 +2618,15 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
                 .orElse(StringUtils.EMPTY);
     }
 
+    private String getAllowedRoleAudience(List<ServiceProviderProperty> propertyList) {
+
+        return propertyList.stream()
+                .filter(property -> ALLOWED_ROLE_AUDIENCE_PROPERTY_NAME.equals(property.getName()))
+                .findFirst()
+                .map(ServiceProviderProperty::getValue)
+                .orElse(null);
+    }
+
     private String getJwksUri(List<ServiceProviderProperty> propertyList) {
 
         return propertyList.stream()
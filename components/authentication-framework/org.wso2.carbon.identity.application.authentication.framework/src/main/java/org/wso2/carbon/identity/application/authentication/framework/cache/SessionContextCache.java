@@ -20,6 +20,7 @@ package org.wso2.carbon.identity.application.authentication.framework.cache;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.base.MultitenantConstants;
 import org.wso2.carbon.context.CarbonContext;
 import org.wso2.carbon.identity.application.authentication.framework.exception.session.storage.SessionDataStorageOptimizationClientException;
 import org.wso2.carbon.identity.application.authentication.framework.exception.session.storage.SessionDataStorageOptimizationException;
@@ -33,6 +34,11 @@ import org.wso2.carbon.identity.core.cache.BaseCache;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.idp.mgt.util.IdPManagementUtil;
 
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkUtils.getLoginTenantDomainFromContext;
@@ -96,14 +102,15 @@ public class SessionContextCache extends BaseCache<SessionContextCacheKey, Sessi
                     "context id: " + entry.getContext(), e);
             return;
         }
+        int tenantId = MultitenantConstants.INVALID_TENANT_ID;
         if (authUser != null && authUser instanceof AuthenticatedUser) {
             String tenantDomain = ((AuthenticatedUser) authUser).getTenantDomain();
-            int tenantId = IdentityTenantUtil.getTenantId(tenantDomain);
-            SessionDataStore.getInstance()
-                    .storeSessionData(key.getContextId(), SESSION_CONTEXT_CACHE_NAME, entry, tenantId);
-        } else {
-            SessionDataStore.getInstance().storeSessionData(key.getContextId(), SESSION_CONTEXT_CACHE_NAME, entry);
+            tenantId = IdentityTenantUtil.getTenantId(tenantDomain);
         }
+        // The optimized entry does not carry the accessed time, hence an entry which is only added to the cache again
+        // to extend the session is not written as a whole.
+        SessionDataStore.getInstance().storeSessionData(key.getContextId(), SESSION_CONTEXT_CACHE_NAME, entry,
+                tenantId, true);
     }
 
     @Deprecated
@@ -145,6 +152,65 @@ public class SessionContextCache extends BaseCache<SessionContextCacheKey, Sessi
 
     }
 
+    /**
+     * Get the valid session context cache entries of a list of keys. The entries which are not in the cache are
+     * retrieved from the database in bulk.
+     *
+     * @param keys              Session context cache keys.
+     * @param loginTenantDomain Login tenant domain.
+     * @return Map of the valid session context cache entries by context id.
+     */
+    public Map<String, SessionContextCacheEntry> getValuesFromCache(List<SessionContextCacheKey> keys,
+                                                                    String loginTenantDomain) {
+
+        Map<String, SessionContextCacheKey> keysByContextId = new LinkedHashMap<>();
+        for (SessionContextCacheKey key : keys) {
+            keysByContextId.put(key.getContextId(), key);
+        }
+        Map<String, SessionContextCacheEntry> cacheEntries = new HashMap<>();
+        Map<String, SessionContextCacheKey> missedKeys = new LinkedHashMap<>();
+        for (SessionContextCacheKey key : keysByContextId.values()) {
+            SessionContextCacheEntry cacheEntry =
+                    super.getValueFromCache(key, resolveLoginTenantDomain(loginTenantDomain));
+            if (cacheEntry != null) {
+                cacheEntries.put(key.getContextId(), cacheEntry);
+            } else {
+                missedKeys.put(key.getContextId(), key);
+            }
+        }
+
+        // Retrieve the sessions which are not in the cache from the database.
+        if (!missedKeys.isEmpty()) {
+            if (log.isDebugEnabled()) {
+                log.debug(missedKeys.size() + " of " + keysByContextId.size() + " sessions cannot be found in the " +
+                        "cache. Trying to get them from db.");
+            }
+            Map<String, SessionContextDO> sessionContextData = SessionDataStore.getInstance()
+                    .getSessionContextData(missedKeys.keySet(), SESSION_CONTEXT_CACHE_NAME);
+            for (Map.Entry<String, SessionContextDO> entry : sessionContextData.entrySet()) {
+                SessionContextCacheEntry cacheEntry = getSessionFromDO(missedKeys.get(entry.getKey()),
+                        entry.getValue());
+                if (cacheEntry != null) {
+                    cacheEntries.put(entry.getKey(), cacheEntry);
+                }
+            }
+        }
+
+        Iterator<Map.Entry<String, SessionContextCacheEntry>> iterator = cacheEntries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, SessionContextCacheEntry> entry = iterator.next();
+            SessionContextCacheKey key = keysByContextId.get(entry.getKey());
+            if (!isValidIdleSession(key, entry.getValue()) && !isValidRememberMeSession(key, entry.getValue())) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Found an expired session corresponding to the key : " + key.getContextId());
+                }
+                clearCacheEntry(key, getLoginTenantDomainFromContext());
+                iterator.remove();
+            }
+        }
+        return cacheEntries;
+    }
+
     /**
      * Retrieve session from the database.
      *
@@ -153,10 +219,21 @@ public class SessionContextCache extends BaseCache<SessionContextCacheKey, Sessi
      */
     private SessionContextCacheEntry getSessionFromDB(SessionContextCacheKey key) {
 
-        SessionContextCacheEntry cacheEntry = null;
         SessionContextDO sessionContextDO = SessionDataStore.getInstance().
                 getSessionContextData(key.getContextId(), SESSION_CONTEXT_CACHE_NAME);
+        return getSessionFromDO(key, sessionContextDO);
+    }
 
+    /**
+     * Build the session context cache entry of the session data retrieved from the database, and cache it.
+     *
+     * @param key              Session context cache key.
+     * @param sessionContextDO Session data retrieved from the database.
+     * @return Session context cache entry.
+     */
+    private SessionContextCacheEntry getSessionFromDO(SessionContextCacheKey key, SessionContextDO sessionContextDO) {
+
+        SessionContextCacheEntry cacheEntry = null;
         if (sessionContextDO != null) {
             cacheEntry = new SessionContextCacheEntry(sessionContextDO);
             if (cacheEntry.getOptimizedSessionContext() != null) {
@@ -53,11 +53,12 @@ public class SessionContextCacheEntry extends CacheEntry {
 
     public SessionContextCacheEntry(SessionContextCacheEntry entry, OptimizedSessionContext optimizedSessionContext) {
 
+        // The accessed time is not carried, as it is restored from the time the entry is stored at. Hence, the stored
+        // form of an entry does not change when the session is only accessed.
         this.contextIdentifier = entry.getContextIdentifier();
         this.context = null;
         this.optimizedSessionContext = optimizedSessionContext;
         this.loggedInUser = entry.getLoggedInUser();
-        this.accessedTime = entry.getAccessedTime();
         this.setValidityPeriod(entry.getValidityPeriod());
     }
 
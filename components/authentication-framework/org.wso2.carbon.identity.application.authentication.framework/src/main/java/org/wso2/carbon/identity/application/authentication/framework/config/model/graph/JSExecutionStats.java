@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.config.model.graph;
+
+import org.wso2.carbon.identity.core.util.Histogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Execution time and memory histograms of the adaptive auth script executions of a tenant or of a service provider.
+ * Values are cumulative from the start of the execution supervisor.
+ */
+public class JSExecutionStats {
+
+    private static final long[] EXECUTION_TIME_BUCKETS_IN_MILLIS = {1, 5, 10, 25, 50, 100, 250, 500, 1000, 2500,
+            5000, 10000};
+    private static final long[] CONSUMED_MEMORY_BUCKETS_IN_BYTES = {64L << 10, 256L << 10, 1L << 20, 4L << 20,
+            16L << 20, 64L << 20, 256L << 20, 1L << 30};
+
+    private final Histogram executionTimeHistogram = new Histogram(EXECUTION_TIME_BUCKETS_IN_MILLIS);
+    private final Histogram consumedMemoryHistogram = new Histogram(CONSUMED_MEMORY_BUCKETS_IN_BYTES);
+    private final LongAdder terminatedExecutionCount = new LongAdder();
+    private volatile long lastRecordedTime = System.nanoTime();
+
+    /**
+     * Record a script execution.
+     *
+     * @param executionTimeInMillis Execution time of the script.
+     * @param consumedMemoryInBytes Memory allocated by the script, or a negative value if memory is not supervised.
+     * @param terminated            Whether the script was terminated by the supervisor.
+     */
+    void record(long executionTimeInMillis, long consumedMemoryInBytes, boolean terminated) {
+
+        executionTimeHistogram.record(executionTimeInMillis);
+        if (consumedMemoryInBytes >= 0) {
+            consumedMemoryHistogram.record(consumedMemoryInBytes);
+        }
+        if (terminated) {
+            terminatedExecutionCount.increment();
+        }
+        lastRecordedTime = System.nanoTime();
+    }
+
+    /**
+     * @return Value of {@link System#nanoTime()} when an execution was last recorded, or when the statistics were
+     * created if no execution has been recorded.
+     */
+    long getLastRecordedTime() {
+
+        return lastRecordedTime;
+    }
+
+    /**
+     * @return Histogram of the execution time, in milliseconds, of the scripts.
+     */
+    public Histogram getExecutionTimeHistogram() {
+
+        return executionTimeHistogram;
+    }
+
+    /**
+     * @return Histogram of the memory, in bytes, allocated by the scripts. Empty unless memory is supervised.
+     */
+    public Histogram getConsumedMemoryHistogram() {
+
+        return consumedMemoryHistogram;
+    }
+
+    /**
+     * @return Number of script executions terminated for exceeding the time or memory limit.
+     */
+    public long getTerminatedExecutionCount() {
+
+        return terminatedExecutionCount.sum();
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.config.model.graph;
+
+/**
+ * JMX view of the statistics of the adaptive auth script executions supervised by {@link JSExecutionSupervisor}.
+ */
+public interface JSExecutionStatsMXBean {
+
+    /**
+     * @return Number of adaptive auth script executions which are being monitored.
+     */
+    int getCurrentScriptExecutionCount();
+
+    /**
+     * @return Number of completed and terminated script executions of all the tenants.
+     */
+    long getExecutionCount();
+
+    /**
+     * @return Number of script executions of all the tenants terminated for exceeding the time or memory limit.
+     */
+    long getTerminatedExecutionCount();
+
+    /**
+     * @return Domains of the tenants which have execution statistics.
+     */
+    String[] getTenantDomains();
+
+    /**
+     * @param tenantDomain Tenant domain.
+     * @return Service providers of the tenant which have execution statistics.
+     */
+    String[] getServiceProviders(String tenantDomain);
+
+    /**
+     * @param tenantDomain Tenant domain.
+     * @return Execution statistics of the adaptive auth scripts of the tenant, or null if no script of the tenant
+     * has completed.
+     */
+    JSExecutionStats getExecutionStatsOfTenant(String tenantDomain);
+
+    /**
+     * @param tenantDomain    Tenant domain.
+     * @param serviceProvider Service provider of the adaptive auth script.
+     * @return Execution statistics of the adaptive auth script of the service provider, or null if the script has
+     * not completed.
+     */
+    JSExecutionStats getExecutionStatsOfServiceProvider(String tenantDomain, String serviceProvider);
+}
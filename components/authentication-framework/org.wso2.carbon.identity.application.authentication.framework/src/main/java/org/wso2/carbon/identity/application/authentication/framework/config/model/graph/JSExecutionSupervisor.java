@@ -17,32 +17,49 @@
 package org.wso2.carbon.identity.application.authentication.framework.config.model.graph;
 
 import com.sun.management.ThreadMXBean;
+import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import java.lang.management.ManagementFactory;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Supervises the execution of any script engine, and kills the thread if the time taken is too much.
+ * <p>
+ * Script executions are tracked in a concurrent map and checked by a single periodic task, rather than a scheduled
+ * task per execution. Hence, starting and completing the supervision of an execution is a map update which does not
+ * contend on the scheduler, and the memory allocated by all the supervised threads is read with a single call per
+ * check.
+ * <p>
+ * Statistics are kept for at most {@link #MAX_SERVICE_PROVIDER_STATS_PER_TENANT} service providers of a tenant, since
+ * the statistics of a service provider are not removed along with the service provider. Once the limit is reached,
+ * the statistics of the service provider with the least recent execution are evicted. The statistics are exposed
+ * through {@link JSExecutionStatsMXBean}.
  */
-public class JSExecutionSupervisor {
+public class JSExecutionSupervisor implements JSExecutionStatsMXBean {
 
     private static final Log LOG = LogFactory.getLog(JSExecutionSupervisor.class);
     private static final String JS_EXECUTION_MONITOR = "JS-Exec-Monitor";
     private final long timeoutInMillis;
     private final long memoryLimitInBytes;
     private long taskExecutionRateInMillis = 50L;
-    private Map<String, TaskHolder> currentScriptExecutions = new HashMap<>();
-    private ScheduledExecutorService monitoringService;
+    private final Map<String, MonitoringTask> currentScriptExecutions = new ConcurrentHashMap<>();
+    private final Map<String, JSExecutionStats> tenantExecutionStats = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, JSExecutionStats>> serviceProviderExecutionStats =
+            new ConcurrentHashMap<>();
+    private final ThreadMXBean memoryCounter;
+    private final ScheduledExecutorService monitoringService;
     private static final int MONITOR_TYPE_TIME = 0;
     private static final int MONITOR_TYPE_MEMORY = 1;
     private static final int WARN_THRESHOLD = 70;
+    static final int MAX_SERVICE_PROVIDER_STATS_PER_TENANT = 1000;
 
     public JSExecutionSupervisor(int threadCount, long timeoutInMillis) {
 
@@ -52,19 +69,23 @@ public class JSExecutionSupervisor {
     public JSExecutionSupervisor(int threadCount, long timeoutInMillis, long memoryLimit) {
 
         if (taskExecutionRateInMillis > timeoutInMillis) {
-            taskExecutionRateInMillis = timeoutInMillis;
+            taskExecutionRateInMillis = Math.max(timeoutInMillis, 1L);
         }
 
         this.timeoutInMillis = timeoutInMillis;
 
         if (memoryLimit > 0) {
             this.memoryLimitInBytes = memoryLimit;
+            this.memoryCounter = getMemoryCounter();
         } else {
             // We are not checking for memory usage.
             memoryLimitInBytes = -1;
+            memoryCounter = null;
         }
 
         monitoringService = new ScheduledThreadPoolExecutor(threadCount, r -> new Thread(r, JS_EXECUTION_MONITOR));
+        monitoringService.scheduleAtFixedRate(this::superviseScriptExecutions, taskExecutionRateInMillis,
+                taskExecutionRateInMillis, TimeUnit.MILLISECONDS);
     }
 
     /**
@@ -105,10 +126,7 @@ public class JSExecutionSupervisor {
 
         MonitoringTask monitoringTask = new MonitoringTask(Thread.currentThread(), identifier, serviceProvider,
                 tenantDomain, elapsedTimeInMillis, consumedMemoryInBytes);
-        ScheduledFuture<?> monitoredFuture = monitoringService.
-                scheduleAtFixedRate(monitoringTask, taskExecutionRateInMillis, taskExecutionRateInMillis,
-                        TimeUnit.MILLISECONDS);
-        currentScriptExecutions.put(identifier, new TaskHolder(monitoringTask, monitoredFuture));
+        currentScriptExecutions.put(identifier, monitoringTask);
     }
 
     /**
@@ -119,68 +137,174 @@ public class JSExecutionSupervisor {
      */
     public JSExecutionMonitorData completed(String identifier) {
 
-        TaskHolder taskHolder = currentScriptExecutions.remove(identifier);
-        if (taskHolder == null) {
+        MonitoringTask task = currentScriptExecutions.remove(identifier);
+        if (task == null) {
             // Nothing to be done as there was no such task with the given identifier.
             return null;
         }
 
-        ScheduledFuture<?> monitoredFuture = taskHolder.getScheduledFuture();
-        if (taskHolder.getScheduledFuture() != null) {
-            monitoredFuture.cancel(true);
-        }
+        long executionTime = task.getExecutionTime(System.currentTimeMillis());
+        long consumedMemory = task.getConsumedMemory(task.getCurrentMemory());
+        recordScriptExecution(task, executionTime, consumedMemory, false);
+        return new JSExecutionMonitorData(executionTime + task.elapsedTimeInMillis,
+                consumedMemory + task.consumedMemoryInBytes);
+    }
+
+    @Override
+    public int getCurrentScriptExecutionCount() {
+
+        return currentScriptExecutions.size();
+    }
+
+    @Override
+    public long getExecutionCount() {
+
+        return tenantExecutionStats.values().stream()
+                .mapToLong(stats -> stats.getExecutionTimeHistogram().getCount()).sum();
+    }
+
+    @Override
+    public long getTerminatedExecutionCount() {
 
-        MonitoringTask task = taskHolder.getMonitoringTask();
-        long elapsedTime = 0L;
-        long consumedMemory = 0L;
-        if (task != null) {
-            elapsedTime = task.getTotalElapsedTime();
-            consumedMemory = task.getTotalConsumedMemory();
-            task.turnOffThreadMemoryCounting();
+        return tenantExecutionStats.values().stream().mapToLong(JSExecutionStats::getTerminatedExecutionCount).sum();
+    }
+
+    @Override
+    public String[] getTenantDomains() {
+
+        return tenantExecutionStats.keySet().stream().sorted().toArray(String[]::new);
+    }
+
+    @Override
+    public String[] getServiceProviders(String tenantDomain) {
+
+        Map<String, JSExecutionStats> statsOfTenant =
+                serviceProviderExecutionStats.get(StringUtils.defaultString(tenantDomain));
+        if (statsOfTenant == null) {
+            return new String[0];
         }
+        return statsOfTenant.keySet().stream().sorted().toArray(String[]::new);
+    }
+
+    @Override
+    public JSExecutionStats getExecutionStatsOfTenant(String tenantDomain) {
 
-        return new JSExecutionMonitorData(elapsedTime, consumedMemory);
+        return tenantExecutionStats.get(StringUtils.defaultString(tenantDomain));
     }
 
-    private class TaskHolder {
+    @Override
+    public JSExecutionStats getExecutionStatsOfServiceProvider(String tenantDomain, String serviceProvider) {
 
-        private MonitoringTask monitoringTask;
-        private ScheduledFuture<?> scheduledFuture;
+        Map<String, JSExecutionStats> statsOfTenant =
+                serviceProviderExecutionStats.get(StringUtils.defaultString(tenantDomain));
+        return statsOfTenant != null ? statsOfTenant.get(StringUtils.defaultString(serviceProvider)) : null;
+    }
 
-        public TaskHolder(MonitoringTask monitoringTask, ScheduledFuture<?> scheduledFuture) {
+    private void superviseScriptExecutions() {
 
-            this.monitoringTask = monitoringTask;
-            this.scheduledFuture = scheduledFuture;
+        try {
+            if (currentScriptExecutions.isEmpty()) {
+                return;
+            }
+            List<MonitoringTask> tasks = new ArrayList<>(currentScriptExecutions.values());
+            long[] allocatedMemory = null;
+            if (memoryCounter != null) {
+                long[] threadIds = new long[tasks.size()];
+                for (int i = 0; i < threadIds.length; i++) {
+                    threadIds[i] = tasks.get(i).originalThread.getId();
+                }
+                allocatedMemory = memoryCounter.getThreadAllocatedBytes(threadIds);
+            }
+            long currentTime = System.currentTimeMillis();
+            for (int i = 0; i < tasks.size(); i++) {
+                tasks.get(i).supervise(currentTime, allocatedMemory != null ? allocatedMemory[i] : -1L);
+            }
+        } catch (RuntimeException e) {
+            // An exception would cancel the periodic task, and with it the supervision of all scripts.
+            LOG.error("Error while supervising the adaptive auth script executions.", e);
         }
+    }
+
+    private void recordScriptExecution(MonitoringTask task, long executionTime, long consumedMemory,
+                                       boolean terminated) {
 
-        public MonitoringTask getMonitoringTask() {
+        String tenantDomain = StringUtils.defaultString(task.tenantDomain);
+        String serviceProvider = StringUtils.defaultString(task.serviceProvider);
+        long consumedMemoryToRecord = memoryCounter != null ? consumedMemory : -1L;
 
-            return monitoringTask;
+        getOrCreateStats(tenantExecutionStats, tenantDomain)
+                .record(executionTime, consumedMemoryToRecord, terminated);
+        Map<String, JSExecutionStats> statsOfTenant = serviceProviderExecutionStats.get(tenantDomain);
+        if (statsOfTenant == null) {
+            statsOfTenant = serviceProviderExecutionStats.computeIfAbsent(tenantDomain,
+                    key -> new ConcurrentHashMap<>());
         }
+        JSExecutionStats serviceProviderStats = statsOfTenant.get(serviceProvider);
+        if (serviceProviderStats == null) {
+            if (statsOfTenant.size() >= MAX_SERVICE_PROVIDER_STATS_PER_TENANT) {
+                evictLeastRecentlyRecordedStats(statsOfTenant);
+            }
+            serviceProviderStats = getOrCreateStats(statsOfTenant, serviceProvider);
+        }
+        serviceProviderStats.record(executionTime, consumedMemoryToRecord, terminated);
+    }
 
-        public ScheduledFuture<?> getScheduledFuture() {
+    private static void evictLeastRecentlyRecordedStats(Map<String, JSExecutionStats> statsMap) {
 
-            return scheduledFuture;
+        Map.Entry<String, JSExecutionStats> leastRecentlyRecorded = null;
+        for (Map.Entry<String, JSExecutionStats> entry : statsMap.entrySet()) {
+            if (leastRecentlyRecorded == null || entry.getValue().getLastRecordedTime() -
+                    leastRecentlyRecorded.getValue().getLastRecordedTime() < 0) {
+                leastRecentlyRecorded = entry;
+            }
+        }
+        if (leastRecentlyRecorded != null) {
+            statsMap.remove(leastRecentlyRecorded.getKey(), leastRecentlyRecorded.getValue());
         }
     }
 
-    private class MonitoringTask implements Runnable {
+    private static JSExecutionStats getOrCreateStats(Map<String, JSExecutionStats> statsMap, String key) {
 
-        private Thread originalThread;
-        private String id;
-        private String serviceProvider;
-        private String tenantDomain;
-        private long timeCreated;
-        private long elapsedTimeInMillis;
-        private long startMemoryInBytes;
-        private long consumedMemoryInBytes;
-        private ThreadMXBean memoryCounter = null;
+        JSExecutionStats stats = statsMap.get(key);
+        if (stats == null) {
+            stats = statsMap.computeIfAbsent(key, k -> new JSExecutionStats());
+        }
+        return stats;
+    }
 
-        public MonitoringTask(Thread originalThread, String id, String serviceProvider, String tenantDomain,
-                              long elapsedTimeInMillis) {
+    private static ThreadMXBean getMemoryCounter() {
 
-            this(originalThread, id, serviceProvider, tenantDomain, elapsedTimeInMillis, 0L);
+        java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+            ThreadMXBean memoryCounter = (ThreadMXBean) threadMXBean;
+            try {
+                // Enabled once for the supervisor, as turning it off when a script completes would stop the
+                // measurement for the scripts which are still running.
+                memoryCounter.setThreadAllocatedMemoryEnabled(true);
+                return memoryCounter;
+            } catch (UnsupportedOperationException e) {
+                LOG.error("Thread allocated memory measurement is not supported by the JVM. Therefore memory " +
+                        "supervision will not be done for adaptive auth script executions.", e);
+                return null;
+            }
         }
+        LOG.error("Thread allocated memory measurement is not supported by the JVM. Therefore memory " +
+                "supervision will not be done for adaptive auth script executions.");
+        return null;
+    }
+
+    private class MonitoringTask {
+
+        private final Thread originalThread;
+        private final String id;
+        private final String serviceProvider;
+        private final String tenantDomain;
+        private final long timeCreated;
+        private final long elapsedTimeInMillis;
+        private final long startMemoryInBytes;
+        private final long consumedMemoryInBytes;
+        private boolean timeBasedWarnLogged;
+        private boolean memoryBasedWarnLogged;
 
         public MonitoringTask(Thread originalThread, String id, String serviceProvider, String tenantDomain,
                               long elapsedTimeInMillis, long consumedMemoryInBytes) {
@@ -192,60 +316,62 @@ public class JSExecutionSupervisor {
             this.timeCreated = System.currentTimeMillis();
             this.elapsedTimeInMillis = elapsedTimeInMillis;
             this.consumedMemoryInBytes = consumedMemoryInBytes;
-
-            if (memoryLimitInBytes > 0) {
-                java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
-                if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
-                    memoryCounter = (ThreadMXBean) threadMXBean;
-                    try {
-                        turnOnThreadMemoryCounting();
-                        startMemoryInBytes = getCurrentMemory(originalThread.getId());
-                    } catch (UnsupportedOperationException e) {
-                        LOG.error("Thread allocated memory measurement is not supported by the JVM. Therefore memory " +
-                                "supervision will not be done for adaptive auth script executions.", e);
-                    }
-                } else {
-                    LOG.error("Thread allocated memory measurement is not supported by the JVM. Therefore memory " +
-                            "supervision will not be done for adaptive auth script executions.");
-                }
-            }
+            this.startMemoryInBytes = getCurrentMemory();
         }
 
-        @Override
-        public void run() {
+        /**
+         * Check the execution against the limits. Invoked only by the supervising task.
+         *
+         * @param currentTime     Current time in milliseconds.
+         * @param allocatedMemory Memory allocated by the executing thread so far, or a negative value if it is not
+         *                        known.
+         */
+        private void supervise(long currentTime, long allocatedMemory) {
 
             if (LOG.isDebugEnabled()) {
                 LOG.debug(String.format("JS execution monitoring task running. Thread: %s, service " +
                         "provider: %s, tenant: %s.", originalThread.getName(), serviceProvider, tenantDomain));
             }
 
-            long elapsedTime = getTotalElapsedTime();
-
+            long executionTime = getExecutionTime(currentTime);
+            long elapsedTime = executionTime + elapsedTimeInMillis;
             if (elapsedTime > timeoutInMillis) {
-                terminateScriptExecutingThread(MONITOR_TYPE_TIME, elapsedTime);
+                terminateScriptExecutingThread(MONITOR_TYPE_TIME, elapsedTime, executionTime, allocatedMemory);
                 return;
             }
 
-            if (isTimeBasedWarnThresholdReached(elapsedTime)) {
+            if (!timeBasedWarnLogged && isTimeBasedWarnThresholdReached(elapsedTime)) {
+                timeBasedWarnLogged = true;
                 printThresholdReachedWarnLog(MONITOR_TYPE_TIME, elapsedTime);
-                return;
             }
 
-            if (memoryCounter != null) {
-                long consumedMemory = getTotalConsumedMemory();
+            if (memoryCounter != null && allocatedMemory >= 0) {
+                long consumedMemory = getConsumedMemory(allocatedMemory) + consumedMemoryInBytes;
                 if (consumedMemory > memoryLimitInBytes) {
-                    terminateScriptExecutingThread(MONITOR_TYPE_MEMORY, consumedMemory);
+                    terminateScriptExecutingThread(MONITOR_TYPE_MEMORY, consumedMemory, executionTime,
+                            allocatedMemory);
                     return;
                 }
 
-                if (isMemoryBasedWarnThresholdReached(consumedMemory)) {
+                if (!memoryBasedWarnLogged && isMemoryBasedWarnThresholdReached(consumedMemory)) {
+                    memoryBasedWarnLogged = true;
                     printThresholdReachedWarnLog(MONITOR_TYPE_MEMORY, consumedMemory);
-                    return;
                 }
             }
         }
 
-        private void terminateScriptExecutingThread(int monitorType, long consumedResourceValue) {
+        private void terminateScriptExecutingThread(int monitorType, long consumedResourceValue, long executionTime,
+                                                    long allocatedMemory) {
+
+            // Marking current monitoring task as complete. If the script has completed in the meantime, the thread
+            // has moved on and must not be terminated.
+            if (!currentScriptExecutions.remove(id, this)) {
+                return;
+            }
+            // The stack is captured right before the thread is stopped, so that it shows where the script was at.
+            StackTraceElement[] stackTraceElements = originalThread.getStackTrace();
+            originalThread.interrupt();
+            originalThread.stop();
 
             String warnLog;
             if (MONITOR_TYPE_TIME == monitorType) {
@@ -258,15 +384,11 @@ public class JSExecutionSupervisor {
                         serviceProvider, tenantDomain, consumedResourceValue);
             }
 
-            StackTraceElement[] stackTraceElements = originalThread.getStackTrace();
             Throwable throwable = new Throwable();
             throwable.setStackTrace(stackTraceElements);
             LOG.warn(warnLog, throwable);
-            originalThread.interrupt();
-            originalThread.stop();
-
-            // Marking current monitoring task as complete.
-            completed(id);
+            recordScriptExecution(this, executionTime, allocatedMemory >= 0 ? getConsumedMemory(allocatedMemory) :
+                    0L, true);
         }
 
         private void printThresholdReachedWarnLog(int monitorType, long consumedResourceValue) {
@@ -285,38 +407,32 @@ public class JSExecutionSupervisor {
             LOG.warn(warnLog);
         }
 
-        private long getTotalElapsedTime() {
+        /**
+         * @param currentTime Current time in milliseconds.
+         * @return Time taken by this execution, excluding the previous executions of the flow.
+         */
+        private long getExecutionTime(long currentTime) {
 
-            return (System.currentTimeMillis() - timeCreated) + elapsedTimeInMillis;
+            return currentTime - timeCreated;
         }
 
-        private long getTotalConsumedMemory() {
+        /**
+         * @param allocatedMemory Memory allocated by the executing thread so far.
+         * @return Memory consumed by this execution, excluding the previous executions of the flow.
+         */
+        private long getConsumedMemory(long allocatedMemory) {
 
-            return (getCurrentMemory(originalThread.getId()) - startMemoryInBytes) + consumedMemoryInBytes;
+            return allocatedMemory - startMemoryInBytes;
         }
 
-        private long getCurrentMemory(long threadId) {
+        private long getCurrentMemory() {
 
             if (memoryCounter != null) {
-                return memoryCounter.getThreadAllocatedBytes(threadId);
+                return memoryCounter.getThreadAllocatedBytes(originalThread.getId());
             }
             return 0L;
         }
 
-        private void turnOnThreadMemoryCounting() {
-
-            if (memoryCounter != null) {
-                memoryCounter.setThreadAllocatedMemoryEnabled(true);
-            }
-        }
-
-        private void turnOffThreadMemoryCounting() {
-
-            if (memoryCounter != null) {
-                memoryCounter.setThreadAllocatedMemoryEnabled(false);
-            }
-        }
-
         private boolean isTimeBasedWarnThresholdReached(long elapsedTime) {
 
             return ((elapsedTime * 100) / timeoutInMillis) >= WARN_THRESHOLD;
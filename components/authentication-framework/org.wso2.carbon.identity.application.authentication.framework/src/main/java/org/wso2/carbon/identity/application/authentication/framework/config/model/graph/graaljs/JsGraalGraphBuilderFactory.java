@@ -21,6 +21,7 @@ package org.wso2.carbon.identity.application.authentication.framework.config.mod
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
 import org.graalvm.polyglot.HostAccess;
 import org.graalvm.polyglot.ResourceLimits;
 import org.graalvm.polyglot.Value;
@@ -47,6 +48,7 @@ import java.util.Map;
 
 import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.AdaptiveAuthentication.DEFAULT_GRAALJS_SCRIPT_STATEMENTS_LIMIT;
 import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.AdaptiveAuthentication.GRAALJS_SCRIPT_STATEMENTS_LIMIT;
+import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.AdaptiveAuthentication.GRAALJS_SHARED_ENGINE_ENABLE;
 import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.JSAttributes.JS_FUNC_SELECT_ACR_FROM;
 import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.JSAttributes.JS_LOG;
 import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.JSAttributes.POLYGLOT_LANGUAGE;
@@ -61,11 +63,23 @@ public class JsGraalGraphBuilderFactory implements JsGenericGraphBuilderFactory<
 
     private static final Log LOG = LogFactory.getLog(JsGraalGraphBuilderFactory.class);
     private static final String JS_BINDING_CURRENT_CONTEXT = "JS_BINDING_CURRENT_CONTEXT";
-    private int javascriptResourceLimit = 0;
+    private final HostAccess hostAccess;
+    private final ResourceLimits resourceLimits;
+    private volatile Engine sharedEngine;
+
+    public JsGraalGraphBuilderFactory() {
+
+        /*
+         * Contexts created on a shared engine must have equal host access and resource limit configurations. Hence
+         * these are built once and used for every context created by the factory.
+         */
+        hostAccess = buildHostAccess();
+        resourceLimits = buildResourceLimits(getJavascriptResourceLimit());
+    }
 
     public void init() {
 
-        setJavascriptResourceLimit();
+        // Host access and resource limits are built when the factory is created.
     }
 
     @SuppressWarnings("unchecked")
@@ -106,11 +120,16 @@ public class JsGraalGraphBuilderFactory implements JsGenericGraphBuilderFactory<
 
     public Context createEngine(AuthenticationContext authenticationContext) {
 
-        Context context = Context.newBuilder(POLYGLOT_LANGUAGE)
-                .allowHostAccess(getHostAccess())
-                .resourceLimits(getResourceLimits())
-                .option("engine.WarnInterpreterOnly", "false")
-                .build();
+        Context.Builder contextBuilder = Context.newBuilder(POLYGLOT_LANGUAGE)
+                .allowHostAccess(hostAccess)
+                .resourceLimits(resourceLimits);
+        Engine engine = getSharedEngine();
+        if (engine != null) {
+            contextBuilder.engine(engine);
+        } else {
+            contextBuilder.option("engine.WarnInterpreterOnly", "false");
+        }
+        Context context = contextBuilder.build();
 
         Value bindings = context.getBindings(POLYGLOT_LANGUAGE);
         bindings.putMember(JS_FUNC_SELECT_ACR_FROM, new GraalSelectAcrFromFunction());
@@ -118,14 +137,66 @@ public class JsGraalGraphBuilderFactory implements JsGenericGraphBuilderFactory<
         return context;
     }
 
+    /**
+     * Get the polyglot engine shared by the contexts of all authentication requests. Sharing the engine allows the
+     * parsed code and the compilation profile of the scripts to be reused across contexts, instead of being rebuilt
+     * for every authentication request.
+     *
+     * @return Shared engine, or null if engine sharing is disabled.
+     */
+    public Engine getSharedEngine() {
+
+        if (sharedEngine == null && isSharedEngineEnabled()) {
+            synchronized (this) {
+                if (sharedEngine == null) {
+                    sharedEngine = Engine.newBuilder()
+                            .option("engine.WarnInterpreterOnly", "false")
+                            .build();
+                }
+            }
+        }
+        return sharedEngine;
+    }
+
+    /**
+     * Close the shared engine, cancelling any script which is still being executed on it.
+     */
+    public void shutdown() {
+
+        Engine engine;
+        synchronized (this) {
+            engine = sharedEngine;
+            sharedEngine = null;
+        }
+        if (engine != null) {
+            engine.close(true);
+        }
+    }
+
+    private boolean isSharedEngineEnabled() {
+
+        String sharedEngineEnabled = IdentityUtil.getProperty(GRAALJS_SHARED_ENGINE_ENABLE);
+        return sharedEngineEnabled == null || Boolean.parseBoolean(sharedEngineEnabled);
+    }
+
     public ResourceLimits getResourceLimits() {
 
+        return resourceLimits;
+    }
+
+    public HostAccess getHostAccess() {
+
+        return hostAccess;
+    }
+
+    private static ResourceLimits buildResourceLimits(int javascriptResourceLimit) {
+
         ResourceLimits.Builder resourceLimitsBuilder = ResourceLimits.newBuilder();
         resourceLimitsBuilder.statementLimit(javascriptResourceLimit, null);
         return resourceLimitsBuilder.build();
     }
 
-    public HostAccess getHostAccess() {
+    private static HostAccess buildHostAccess() {
 
         /*
          * We need to map the graaljs proxy objects be exposed as their abstract classes to be able to use the current
@@ -176,23 +247,21 @@ public class JsGraalGraphBuilderFactory implements JsGenericGraphBuilderFactory<
                 currentNode);
     }
 
-    private void setJavascriptResourceLimit() {
+    private static int getJavascriptResourceLimit() {
 
         /*
-         * This sets the number of javascript statements that can be executed in a single execution.
+         * This gets the number of javascript statements that can be executed in a single execution.
          * The default value is set to 0 which is equivalent to unlimited number of statement.
          */
         String statementLimit = IdentityUtil.getProperty(GRAALJS_SCRIPT_STATEMENTS_LIMIT);
         if (statementLimit != null) {
             try {
-                javascriptResourceLimit = Integer.parseInt(statementLimit);
+                return Integer.parseInt(statementLimit);
             } catch (NumberFormatException e) {
                 LOG.warn("Error while parsing the script statement limit. Defaulting to " +
                         DEFAULT_GRAALJS_SCRIPT_STATEMENTS_LIMIT, e);
-                javascriptResourceLimit = DEFAULT_GRAALJS_SCRIPT_STATEMENTS_LIMIT;
             }
-        } else {
-            javascriptResourceLimit = DEFAULT_GRAALJS_SCRIPT_STATEMENTS_LIMIT;
         }
+        return DEFAULT_GRAALJS_SCRIPT_STATEMENTS_LIMIT;
     }
 }
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.config.model.graph.graaljs;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.graalvm.polyglot.Source;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.AdaptiveAuthentication.DEFAULT_GRAALJS_SOURCE_CACHE_SIZE;
+import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.AdaptiveAuthentication.GRAALJS_SOURCE_CACHE_SIZE;
+import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.JSAttributes.POLYGLOT_LANGUAGE;
+import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.JSAttributes.POLYGLOT_SOURCE;
+
+/**
+ * Bounded cache of GraalJS {@link Source} objects of the adaptive authentication scripts.
+ * <p>
+ * Contexts created on a shared polyglot engine reuse the parsed and compiled code of a source only when the same
+ * source object is evaluated. Hence, the sources are cached per tenant and service provider, together with the script
+ * they were built from. When the authentication script of a service provider changes, the cached source no longer
+ * matches the script and is replaced.
+ */
+public class JsGraalSourceCache {
+
+    private static final Log LOG = LogFactory.getLog(JsGraalSourceCache.class);
+    private static final JsGraalSourceCache INSTANCE = new JsGraalSourceCache();
+
+    private final Map<String, CachedSource> scriptSources;
+    private final Map<String, Source> frameworkSources = new ConcurrentHashMap<>();
+
+    private JsGraalSourceCache() {
+
+        int maxSize = DEFAULT_GRAALJS_SOURCE_CACHE_SIZE;
+        String maxSizeValue = IdentityUtil.getProperty(GRAALJS_SOURCE_CACHE_SIZE);
+        if (StringUtils.isNotBlank(maxSizeValue)) {
+            try {
+                maxSize = Integer.parseInt(maxSizeValue);
+            } catch (NumberFormatException e) {
+                LOG.warn("Error while parsing the GraalJS source cache size. Defaulting to " +
+                        DEFAULT_GRAALJS_SOURCE_CACHE_SIZE, e);
+            }
+        }
+        int cacheSize = maxSize;
+        scriptSources = Collections.synchronizedMap(new LinkedHashMap<String, CachedSource>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedSource> eldest) {
+
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    public static JsGraalSourceCache getInstance() {
+
+        return INSTANCE;
+    }
+
+    /**
+     * Get the source of the authentication script of a service provider.
+     *
+     * @param tenantDomain        Tenant domain of the service provider.
+     * @param serviceProviderName Name of the service provider.
+     * @param script              Authentication script.
+     * @return Cached source if the script has not changed since it was cached, or else a new source.
+     * @throws IOException If an error occurred while building the source.
+     */
+    public Source getScriptSource(String tenantDomain, String serviceProviderName, String script)
+            throws IOException {
+
+        if (StringUtils.isBlank(serviceProviderName)) {
+            return buildSource(script);
+        }
+        String cacheKey = tenantDomain + ":" + serviceProviderName;
+        CachedSource cachedSource = scriptSources.get(cacheKey);
+        if (cachedSource != null && cachedSource.script.equals(script)) {
+            return cachedSource.source;
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Building the GraalJS source of the authentication script of service provider: " +
+                    serviceProviderName + " in tenant: " + tenantDomain);
+        }
+        Source source = buildSource(script);
+        scriptSources.put(cacheKey, new CachedSource(script, source));
+        return source;
+    }
+
+    /**
+     * Get the source of a script which is shared by all service providers, such as the framework functions evaluated
+     * on every context.
+     *
+     * @param script Script content.
+     * @return Source of the script.
+     * @throws IOException If an error occurred while building the source.
+     */
+    public Source getFrameworkSource(String script) throws IOException {
+
+        Source source = frameworkSources.get(script);
+        if (source == null) {
+            source = buildSource(script);
+            frameworkSources.put(script, source);
+        }
+        return source;
+    }
+
+    private Source buildSource(String script) throws IOException {
+
+        return Source.newBuilder(POLYGLOT_LANGUAGE, script, POLYGLOT_SOURCE).build();
+    }
+
+    private static class CachedSource {
+
+        private final String script;
+        private final Source source;
+
+        CachedSource(String script, Source source) {
+
+            this.script = script;
+            this.source = source;
+        }
+    }
+}
@@ -48,9 +48,11 @@ import org.wso2.carbon.identity.application.authentication.framework.config.Conf
 import org.wso2.carbon.identity.application.authentication.framework.config.builder.FileBasedConfigurationBuilder;
 import org.wso2.carbon.identity.application.authentication.framework.config.loader.UIBasedConfigurationLoader;
 import org.wso2.carbon.identity.application.authentication.framework.config.model.AuthenticatorConfig;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.JSExecutionStatsMXBean;
 import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.JSExecutionSupervisor;
 import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.JsFunctionRegistryImpl;
 import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.JsGenericGraphBuilderFactory;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.graaljs.JsGraalGraphBuilderFactory;
 import org.wso2.carbon.identity.application.authentication.framework.dao.impl.CacheBackedLongWaitStatusDAO;
 import org.wso2.carbon.identity.application.authentication.framework.dao.impl.LongWaitStatusDAOImpl;
 import org.wso2.carbon.identity.application.authentication.framework.exception.FrameworkException;
@@ -86,9 +88,11 @@ import org.wso2.carbon.identity.application.authentication.framework.servlet.Lon
 import org.wso2.carbon.identity.application.authentication.framework.session.extender.processor.SessionExtenderProcessor;
 import org.wso2.carbon.identity.application.authentication.framework.session.extender.request.SessionExtenderRequestFactory;
 import org.wso2.carbon.identity.application.authentication.framework.session.extender.response.SessionExtenderResponseFactory;
+import org.wso2.carbon.identity.application.authentication.framework.store.CompactSessionSerializer;
 import org.wso2.carbon.identity.application.authentication.framework.store.JavaSessionSerializer;
 import org.wso2.carbon.identity.application.authentication.framework.store.LongWaitStatusStoreService;
 import org.wso2.carbon.identity.application.authentication.framework.store.PushedAuthDataStore;
+import org.wso2.carbon.identity.application.authentication.framework.store.SessionDataPersistStatsMXBean;
 import org.wso2.carbon.identity.application.authentication.framework.store.SessionDataStore;
 import org.wso2.carbon.identity.application.authentication.framework.store.SessionSerializer;
 import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
@@ -104,6 +108,7 @@ import org.wso2.carbon.identity.claim.metadata.mgt.ClaimMetadataManagementServic
 import org.wso2.carbon.identity.configuration.mgt.core.ConfigurationManager;
 import org.wso2.carbon.identity.core.handler.HandlerComparator;
 import org.wso2.carbon.identity.core.util.IdentityCoreInitializedEvent;
+import org.wso2.carbon.identity.core.util.IdentityMBeanUtil;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.event.services.IdentityEventService;
 import org.wso2.carbon.identity.functions.library.mgt.FunctionLibraryManagementService;
@@ -147,6 +152,10 @@ public class FrameworkServiceComponent {
     private static final String LONGWAITSTATUS_SERVLET_URL = "/longwaitstatus";
     private static final Log log = LogFactory.getLog(FrameworkServiceComponent.class);
     private static final String API_AUTH = "APIAuth";
+    private static final String JS_EXECUTION_STATS_MBEAN_TYPE = "AdaptiveScriptExecutionStatistics";
+    private static final String JS_EXECUTION_STATS_MBEAN_NAME = "JSExecutionSupervisor";
+    private static final String SESSION_DATA_PERSIST_STATS_MBEAN_TYPE = "SessionDataPersistStatistics";
+    private static final String SESSION_DATA_PERSIST_STATS_MBEAN_NAME = "SessionDataStore";
 
     private HttpService httpService;
     private ConsentMgtPostAuthnHandler consentMgtPostAuthnHandler = new ConsentMgtPostAuthnHandler();
@@ -311,6 +320,8 @@ public class FrameworkServiceComponent {
         // This is done to load SessionDataStore and PushedAuthDataStore classes and start the cleanup tasks.
         SessionDataStore.getInstance();
         PushedAuthDataStore.getInstance();
+        IdentityMBeanUtil.registerMBean(SESSION_DATA_PERSIST_STATS_MBEAN_TYPE, SESSION_DATA_PERSIST_STATS_MBEAN_NAME,
+                SessionDataStore.getInstance().getPersistStats(), SessionDataPersistStatsMXBean.class);
 
         AsyncSequenceExecutor asyncSequenceExecutor = new AsyncSequenceExecutor();
         asyncSequenceExecutor.init();
@@ -362,7 +373,7 @@ public class FrameworkServiceComponent {
         FrameworkServiceDataHolder.getInstance().setUserSessionMappingEnabled(FrameworkUtils
                 .isUserSessionMappingEnabled());
         if (FrameworkServiceDataHolder.getInstance().getSessionSerializer() == null) {
-            FrameworkServiceDataHolder.getInstance().setSessionSerializer(new JavaSessionSerializer());
+            FrameworkServiceDataHolder.getInstance().setSessionSerializer(getDefaultSessionSerializer());
         }
 
         // Set skip local user search for authentication flow handlers enabled.
@@ -422,8 +433,11 @@ public class FrameworkServiceComponent {
             }
         }
 
-        FrameworkServiceDataHolder.getInstance()
-                .setJsExecutionSupervisor(new JSExecutionSupervisor(threadCount, timeoutInMillis, memoryLimitInBytes));
+        JSExecutionSupervisor jsExecutionSupervisor =
+                new JSExecutionSupervisor(threadCount, timeoutInMillis, memoryLimitInBytes);
+        FrameworkServiceDataHolder.getInstance().setJsExecutionSupervisor(jsExecutionSupervisor);
+        IdentityMBeanUtil.registerMBean(JS_EXECUTION_STATS_MBEAN_TYPE, JS_EXECUTION_STATS_MBEAN_NAME,
+                jsExecutionSupervisor, JSExecutionStatsMXBean.class);
     }
 
     @Deactivate
@@ -435,9 +449,16 @@ public class FrameworkServiceComponent {
 
         FrameworkServiceDataHolder.getInstance().setBundleContext(null);
         SessionDataStore.getInstance().stopService();
+        IdentityMBeanUtil.unregisterMBean(SESSION_DATA_PERSIST_STATS_MBEAN_TYPE, SESSION_DATA_PERSIST_STATS_MBEAN_NAME);
         if (FrameworkServiceDataHolder.getInstance().getJsExecutionSupervisor() != null) {
+            IdentityMBeanUtil.unregisterMBean(JS_EXECUTION_STATS_MBEAN_TYPE, JS_EXECUTION_STATS_MBEAN_NAME);
             FrameworkServiceDataHolder.getInstance().getJsExecutionSupervisor().shutdown();
         }
+        if (FrameworkServiceDataHolder.getInstance().getJsGenericGraphBuilderFactory()
+                instanceof JsGraalGraphBuilderFactory) {
+            ((JsGraalGraphBuilderFactory) FrameworkServiceDataHolder.getInstance()
+                    .getJsGenericGraphBuilderFactory()).shutdown();
+        }
     }
 
     @Reference(
@@ -572,7 +593,7 @@ public class FrameworkServiceComponent {
 
     protected void unsetSessionSerializer(SessionSerializer sessionSerializer) {
 
-        FrameworkServiceDataHolder.getInstance().setSessionSerializer(new JavaSessionSerializer());
+        FrameworkServiceDataHolder.getInstance().setSessionSerializer(getDefaultSessionSerializer());
 
         if (log.isDebugEnabled()) {
             log.debug("Removed session serializer.");
@@ -580,6 +601,23 @@ public class FrameworkServiceComponent {
 
     }
 
+    /**
+     * Get the built-in session serializer configured in identity.xml. Java serialization is used by default.
+     *
+     * @return Session serializer to be used when no serializer service is registered.
+     */
+    private SessionSerializer getDefaultSessionSerializer() {
+
+        String sessionSerializer = IdentityUtil.getProperty(FrameworkConstants.Config.SESSION_SERIALIZER);
+        if (FrameworkConstants.Config.COMPACT_SESSION_SERIALIZER.equalsIgnoreCase(sessionSerializer)) {
+            if (log.isDebugEnabled()) {
+                log.debug("Compact session serializer is configured as the default session serializer.");
+            }
+            return new CompactSessionSerializer();
+        }
+        return new JavaSessionSerializer();
+    }
+
     protected void unsetAuthenticator(ApplicationAuthenticator authenticator) {
 
         FrameworkServiceDataHolder.getInstance().getAuthenticators().remove(authenticator);
@@ -203,6 +203,8 @@ public class UserSessionManagementServiceImpl implements UserSessionManagementSe
 
     private void terminateSessionsOfUser(List<String> sessionList) {
 
+        // Load the sessions in bulk, so that the termination of each session finds its session context in the cache.
+        FrameworkUtils.getSessionContextsFromCache(sessionList, FrameworkUtils.getLoginTenantDomainFromContext());
         for (String session : sessionList) {
             sessionManagementService.removeSession(session);
         }
@@ -578,10 +580,11 @@ public class UserSessionManagementServiceImpl implements UserSessionManagementSe
             throws SessionManagementServerException {
 
         List<UserSession> sessionsList = new ArrayList<>();
+        Map<String, SessionContext> sessionContexts = FrameworkUtils.getSessionContextsFromCache(sessionIdList,
+                FrameworkUtils.getLoginTenantDomainFromContext());
         for (String sessionId : sessionIdList) {
             if (sessionId != null) {
-                SessionContext sessionContext = FrameworkUtils.getSessionContextFromCache(sessionId,
-                        FrameworkUtils.getLoginTenantDomainFromContext());
+                SessionContext sessionContext = sessionContexts.get(sessionId);
                 if (sessionContext != null) {
                     if (sessionContext.getProperties() != null &&
                             sessionContext.getProperties().get(FrameworkUtils.TENANT_DOMAIN) instanceof String) {
@@ -0,0 +1,410 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.store;
+
+import org.wso2.carbon.identity.application.authentication.framework.cache.AuthenticationContextCacheEntry;
+import org.wso2.carbon.identity.application.authentication.framework.cache.SessionContextCacheEntry;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.ApplicationConfig;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.AuthenticatorConfig;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.OptimizedApplicationConfig;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.OptimizedAuthenticatorConfig;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.OptimizedSequenceConfig;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.OptimizedStepConfig;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.SequenceConfig;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.StepConfig;
+import org.wso2.carbon.identity.application.authentication.framework.context.AuthHistory;
+import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
+import org.wso2.carbon.identity.application.authentication.framework.context.OptimizedSessionContext;
+import org.wso2.carbon.identity.application.authentication.framework.context.SessionAuthHistory;
+import org.wso2.carbon.identity.application.authentication.framework.context.SessionContext;
+import org.wso2.carbon.identity.application.authentication.framework.exception.SessionSerializerException;
+import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedIdPData;
+import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
+import org.wso2.carbon.identity.application.authentication.framework.model.FederatedToken;
+import org.wso2.carbon.identity.application.authentication.framework.model.OptimizedAuthenticatedIdPData;
+import org.wso2.carbon.identity.application.common.model.Claim;
+import org.wso2.carbon.identity.application.common.model.ClaimMapping;
+import org.wso2.carbon.identity.application.common.model.User;
+import org.wso2.carbon.identity.core.bean.context.MessageContext;
+import org.wso2.carbon.identity.core.cache.CacheEntry;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.ObjectStreamConstants;
+import java.io.ObjectStreamField;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.io.StreamCorruptedException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Session serializer which writes session objects in a compact, versioned binary format.
+ * <p>
+ * The object graph is still written with Java serialization, so custom serialization logic of the session model
+ * classes is honoured. However, the class descriptor of each class of the framework session model is written with a
+ * two byte identifier instead of the class name, and the type names of its fields are written once per stream and
+ * referred to by their index afterwards. Classes which are not known to this serializer, such as objects added to the
+ * context by extensions, fall back to the standard Java serialization class descriptor. Known classes are also
+ * resolved directly when reading, avoiding the reflective class lookup of {@link ObjectInputStream}.
+ * <p>
+ * The serialVersionUID and the serializable fields of the writing class are still part of the descriptor, hence a
+ * blob written by a node with a different version of a model class is read with the usual Java serialization
+ * compatibility rules, i.e. it is rejected only if the serialVersionUID differs, while added or removed fields are
+ * defaulted or skipped. Blobs written by {@link JavaSessionSerializer} are detected from their stream header and are
+ * still readable, so the serializer can be switched on an existing session store.
+ */
+public class CompactSessionSerializer implements SessionSerializer {
+
+    private static final byte[] MAGIC_HEADER = {'W', 'S', 'S'};
+    private static final byte FORMAT_VERSION = 1;
+
+    private static final byte KNOWN_CLASS_DESCRIPTOR = 1;
+    private static final byte STANDARD_CLASS_DESCRIPTOR = 2;
+
+    /*
+     * Identifiers of the known classes are their positions in this list. Since identifiers are persisted, new classes
+     * must only be appended to the end of the list.
+     */
+    private static final List<Class<?>> KNOWN_CLASSES = Collections.unmodifiableList(Arrays.asList(
+            CacheEntry.class,
+            SessionContextCacheEntry.class,
+            AuthenticationContextCacheEntry.class,
+            SessionContext.class,
+            OptimizedSessionContext.class,
+            MessageContext.class,
+            AuthenticationContext.class,
+            SequenceConfig.class,
+            OptimizedSequenceConfig.class,
+            StepConfig.class,
+            OptimizedStepConfig.class,
+            ApplicationConfig.class,
+            OptimizedApplicationConfig.class,
+            AuthenticatorConfig.class,
+            OptimizedAuthenticatorConfig.class,
+            User.class,
+            AuthenticatedUser.class,
+            AuthenticatedIdPData.class,
+            OptimizedAuthenticatedIdPData.class,
+            AuthHistory.class,
+            SessionAuthHistory.class,
+            FederatedToken.class,
+            Claim.class,
+            ClaimMapping.class,
+            HashMap.class,
+            LinkedHashMap.class,
+            ConcurrentHashMap.class,
+            IdentityHashMap.class,
+            ArrayList.class,
+            LinkedList.class,
+            HashSet.class,
+            Integer.class,
+            Long.class,
+            Boolean.class
+    ));
+
+    private static final int NEW_TYPE_NAME = 0;
+    private static final int MAX_CACHED_DESCRIPTORS = 1000;
+
+    private static final Map<Class<?>, Integer> KNOWN_CLASS_IDS = new HashMap<>();
+    private static final byte[] KNOWN_CLASS_FLAGS = new byte[KNOWN_CLASSES.size()];
+
+    // Descriptors decoded from the streams, keyed by their standard encoding.
+    private static final Map<String, ObjectStreamClass> STREAM_DESCRIPTORS = new ConcurrentHashMap<>();
+
+    static {
+        for (int i = 0; i < KNOWN_CLASSES.size(); i++) {
+            KNOWN_CLASS_IDS.put(KNOWN_CLASSES.get(i), i);
+            KNOWN_CLASS_FLAGS[i] = getDescriptorFlags(KNOWN_CLASSES.get(i));
+        }
+    }
+
+    @Override
+    public InputStream serializeSessionObject(Object value) throws SessionSerializerException {
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new CompactObjectOutputStream(baos)) {
+            oos.writeObject(value);
+            oos.flush();
+        } catch (IOException e) {
+            throw new SessionSerializerException("Error while serializing the session object", e);
+        }
+        return new ByteArrayInputStream(baos.toByteArray());
+    }
+
+    @Override
+    public Object deSerializeSessionObject(InputStream inputStream) throws SessionSerializerException {
+
+        try {
+            InputStream bufferedInputStream = new BufferedInputStream(inputStream);
+            ObjectInputStream ois;
+            if (hasCompactHeader(bufferedInputStream)) {
+                ois = new CompactObjectInputStream(bufferedInputStream);
+            } else {
+                // Blob has been written by the JavaSessionSerializer.
+                ois = new ObjectInputStream(bufferedInputStream);
+            }
+            return ois.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new SessionSerializerException("Error while de serializing the session object", e);
+        }
+    }
+
+    private static boolean hasCompactHeader(InputStream inputStream) throws IOException {
+
+        inputStream.mark(MAGIC_HEADER.length);
+        try {
+            for (byte magicByte : MAGIC_HEADER) {
+                if (inputStream.read() != magicByte) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            inputStream.reset();
+        }
+    }
+
+    /**
+     * Get the class descriptor flags of a class, as they are written by {@link ObjectOutputStream}.
+     */
+    private static byte getDescriptorFlags(Class<?> clazz) {
+
+        if (Externalizable.class.isAssignableFrom(clazz)) {
+            return ObjectStreamConstants.SC_EXTERNALIZABLE | ObjectStreamConstants.SC_BLOCK_DATA;
+        }
+        byte flags = 0;
+        if (Serializable.class.isAssignableFrom(clazz)) {
+            flags |= ObjectStreamConstants.SC_SERIALIZABLE;
+            try {
+                Method writeObject = clazz.getDeclaredMethod("writeObject", ObjectOutputStream.class);
+                if (Modifier.isPrivate(writeObject.getModifiers()) && !Modifier.isStatic(writeObject.getModifiers())
+                        && writeObject.getReturnType() == Void.TYPE) {
+                    flags |= ObjectStreamConstants.SC_WRITE_METHOD;
+                }
+            } catch (NoSuchMethodException e) {
+                // Class does not customize its serialized form.
+            }
+        }
+        return flags;
+    }
+
+    private static boolean isObjectField(char typeCode) {
+
+        return typeCode == 'L' || typeCode == '[';
+    }
+
+    /**
+     * Decode the standard Java serialization class descriptor of a known class. The descriptor carries the
+     * serialVersionUID and fields of the writing class, hence it is matched against the local class by
+     * {@link ObjectInputStream} with the usual compatibility rules.
+     */
+    private static ObjectStreamClass toStreamDescriptor(Class<?> clazz, byte[] encodedDescriptor)
+            throws IOException, ClassNotFoundException {
+
+        String cacheKey = new String(encodedDescriptor, StandardCharsets.ISO_8859_1);
+        ObjectStreamClass descriptor = STREAM_DESCRIPTORS.get(cacheKey);
+        if (descriptor != null) {
+            return descriptor;
+        }
+        try (ObjectInputStream descriptorStream = new ObjectInputStream(
+                new ByteArrayInputStream(encodedDescriptor)) {
+            @Override
+            protected Class<?> resolveClass(ObjectStreamClass desc) {
+
+                return clazz;
+            }
+        }) {
+            descriptor = (ObjectStreamClass) descriptorStream.readObject();
+        }
+        if (STREAM_DESCRIPTORS.size() < MAX_CACHED_DESCRIPTORS) {
+            STREAM_DESCRIPTORS.put(cacheKey, descriptor);
+        }
+        return descriptor;
+    }
+
+    /**
+     * Object output stream which replaces the class descriptors of known classes with their identifiers.
+     */
+    private static class CompactObjectOutputStream extends ObjectOutputStream {
+
+        private final Map<String, Integer> typeNames = new HashMap<>();
+
+        CompactObjectOutputStream(OutputStream out) throws IOException {
+
+            super(out);
+        }
+
+        @Override
+        protected void writeStreamHeader() throws IOException {
+
+            write(MAGIC_HEADER);
+            writeByte(FORMAT_VERSION);
+        }
+
+        @Override
+        protected void writeClassDescriptor(ObjectStreamClass descriptor) throws IOException {
+
+            Integer classId = KNOWN_CLASS_IDS.get(descriptor.forClass());
+            if (classId != null) {
+                writeByte(KNOWN_CLASS_DESCRIPTOR);
+                writeShort(classId);
+                writeLong(descriptor.getSerialVersionUID());
+                writeByte(KNOWN_CLASS_FLAGS[classId]);
+                ObjectStreamField[] fields = descriptor.getFields();
+                writeShort(fields.length);
+                for (ObjectStreamField field : fields) {
+                    writeByte(field.getTypeCode());
+                    writeUTF(field.getName());
+                    if (isObjectField(field.getTypeCode())) {
+                        writeTypeName(field.getTypeString());
+                    }
+                }
+            } else {
+                writeByte(STANDARD_CLASS_DESCRIPTOR);
+                super.writeClassDescriptor(descriptor);
+            }
+        }
+
+        private void writeTypeName(String typeName) throws IOException {
+
+            Integer index = typeNames.get(typeName);
+            if (index != null) {
+                writeShort(index);
+            } else {
+                writeShort(NEW_TYPE_NAME);
+                writeUTF(typeName);
+                typeNames.put(typeName, typeNames.size() + 1);
+            }
+        }
+    }
+
+    /**
+     * Object input stream which resolves the identifiers written by {@link CompactObjectOutputStream}.
+     */
+    private static class CompactObjectInputStream extends ObjectInputStream {
+
+        private final List<String> typeNames = new ArrayList<>();
+
+        CompactObjectInputStream(InputStream in) throws IOException {
+
+            super(in);
+        }
+
+        @Override
+        protected void readStreamHeader() throws IOException {
+
+            for (byte magicByte : MAGIC_HEADER) {
+                if (readByte() != magicByte) {
+                    throw new StreamCorruptedException("Invalid compact session stream header");
+                }
+            }
+            byte version = readByte();
+            if (version != FORMAT_VERSION) {
+                throw new StreamCorruptedException("Unsupported compact session format version: " + version);
+            }
+        }
+
+        @Override
+        protected ObjectStreamClass readClassDescriptor() throws IOException, ClassNotFoundException {
+
+            byte descriptorType = readByte();
+            if (descriptorType == STANDARD_CLASS_DESCRIPTOR) {
+                return super.readClassDescriptor();
+            }
+            if (descriptorType != KNOWN_CLASS_DESCRIPTOR) {
+                throw new StreamCorruptedException("Invalid class descriptor type: " + descriptorType);
+            }
+            int classId = readUnsignedShort();
+            if (classId >= KNOWN_CLASSES.size()) {
+                throw new StreamCorruptedException("Unknown class identifier: " + classId);
+            }
+            Class<?> clazz = KNOWN_CLASSES.get(classId);
+
+            // Re-encode the descriptor in the standard form, with the class name of the identifier.
+            ByteArrayOutputStream encodedDescriptor = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(encodedDescriptor);
+            out.writeShort(ObjectStreamConstants.STREAM_MAGIC);
+            out.writeShort(ObjectStreamConstants.STREAM_VERSION);
+            out.writeByte(ObjectStreamConstants.TC_CLASSDESC);
+            out.writeUTF(clazz.getName());
+            out.writeLong(readLong());
+            out.writeByte(readByte());
+            int fieldCount = readUnsignedShort();
+            out.writeShort(fieldCount);
+            for (int i = 0; i < fieldCount; i++) {
+                char typeCode = (char) readUnsignedByte();
+                out.writeByte(typeCode);
+                out.writeUTF(readUTF());
+                if (isObjectField(typeCode)) {
+                    out.writeByte(ObjectStreamConstants.TC_STRING);
+                    out.writeUTF(readTypeName());
+                }
+            }
+            out.writeByte(ObjectStreamConstants.TC_ENDBLOCKDATA);
+            out.writeByte(ObjectStreamConstants.TC_NULL);
+            out.flush();
+            return toStreamDescriptor(clazz, encodedDescriptor.toByteArray());
+        }
+
+        private String readTypeName() throws IOException {
+
+            int index = readUnsignedShort();
+            if (index == NEW_TYPE_NAME) {
+                String typeName = readUTF();
+                typeNames.add(typeName);
+                return typeName;
+            }
+            if (index > typeNames.size()) {
+                throw new StreamCorruptedException("Unknown type name index: " + index);
+            }
+            return typeNames.get(index - 1);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass descriptor) throws IOException, ClassNotFoundException {
+
+            Class<?> clazz = descriptor.forClass();
+            if (clazz != null && KNOWN_CLASS_IDS.containsKey(clazz)) {
+                return clazz;
+            }
+            return super.resolveClass(descriptor);
+        }
+    }
+}
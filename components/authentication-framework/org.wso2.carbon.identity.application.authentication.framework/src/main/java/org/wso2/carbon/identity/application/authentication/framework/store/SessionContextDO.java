@@ -33,6 +33,8 @@ public class SessionContextDO {
 
     private int tenantId;
 
+    private boolean touchIfUnchanged;
+
     public SessionContextDO(String key, String type, Object entry, long nanoTime) {
         this.type = type;
         this.key = key;
@@ -87,4 +89,12 @@ public class SessionContextDO {
     public void setTenantId(int tenantId) {
         this.tenantId = tenantId;
     }
+
+    public boolean isTouchIfUnchanged() {
+        return touchIfUnchanged;
+    }
+
+    public void setTouchIfUnchanged(boolean touchIfUnchanged) {
+        this.touchIfUnchanged = touchIfUnchanged;
+    }
 }
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.store;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runtime statistics of the batched session data persistence pipeline. Values are cumulative from server start up.
+ */
+public class SessionDataPersistStats implements SessionDataPersistStatsMXBean {
+
+    private final BlockingQueue<SessionContextDO> sessionContextQueue;
+    private final LongAdder flushedBatchCount = new LongAdder();
+    private final LongAdder flushedOperationCount = new LongAdder();
+    private final LongAdder coalescedOperationCount = new LongAdder();
+    private final LongAdder failedBatchCount = new LongAdder();
+    private final LongAdder unwrittenOperationCount = new LongAdder();
+    private final LongAdder totalFlushTimeNanos = new LongAdder();
+    private final AtomicLong maxBatchSize = new AtomicLong();
+    private final AtomicLong maxFlushTimeNanos = new AtomicLong();
+
+    SessionDataPersistStats(BlockingQueue<SessionContextDO> sessionContextQueue) {
+
+        this.sessionContextQueue = sessionContextQueue;
+    }
+
+    /**
+     * Record a completed flush of a micro-batch.
+     *
+     * @param drainedOperations   Number of operations taken from the queue.
+     * @param writtenOperations   Number of operations left after collapsing superseded operations.
+     * @param unwrittenOperations Number of operations among the written operations which could not be written as no
+     *                            database connection could be obtained.
+     * @param flushTimeNanos      Time taken to write the batch to the database.
+     */
+    void recordFlush(int drainedOperations, int writtenOperations, int unwrittenOperations, long flushTimeNanos) {
+
+        flushedBatchCount.increment();
+        flushedOperationCount.add(writtenOperations - unwrittenOperations);
+        coalescedOperationCount.add(drainedOperations - writtenOperations);
+        unwrittenOperationCount.add(unwrittenOperations);
+        totalFlushTimeNanos.add(flushTimeNanos);
+        maxBatchSize.accumulateAndGet(drainedOperations, Math::max);
+        maxFlushTimeNanos.accumulateAndGet(flushTimeNanos, Math::max);
+    }
+
+    /**
+     * Record a batch which could not be written as a JDBC batch and was retried operation by operation.
+     */
+    void recordFailedBatch() {
+
+        failedBatchCount.increment();
+    }
+
+    @Override
+    public int getQueueDepth() {
+
+        return sessionContextQueue.size();
+    }
+
+    @Override
+    public long getFlushedBatchCount() {
+
+        return flushedBatchCount.sum();
+    }
+
+    @Override
+    public long getFlushedOperationCount() {
+
+        return flushedOperationCount.sum();
+    }
+
+    @Override
+    public long getCoalescedOperationCount() {
+
+        return coalescedOperationCount.sum();
+    }
+
+    @Override
+    public long getFailedBatchCount() {
+
+        return failedBatchCount.sum();
+    }
+
+    @Override
+    public long getUnwrittenOperationCount() {
+
+        return unwrittenOperationCount.sum();
+    }
+
+    @Override
+    public long getMaxBatchSize() {
+
+        return maxBatchSize.get();
+    }
+
+    @Override
+    public double getAverageBatchSize() {
+
+        long batches = flushedBatchCount.sum();
+        if (batches == 0) {
+            return 0;
+        }
+        return (double) (flushedOperationCount.sum() + coalescedOperationCount.sum() +
+                unwrittenOperationCount.sum()) / batches;
+    }
+
+    @Override
+    public long getAverageFlushTimeMillis() {
+
+        long batches = flushedBatchCount.sum();
+        if (batches == 0) {
+            return 0;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(totalFlushTimeNanos.sum() / batches);
+    }
+
+    @Override
+    public long getMaxFlushTimeMillis() {
+
+        return TimeUnit.NANOSECONDS.toMillis(maxFlushTimeNanos.get());
+    }
+
+    @Override
+    public String toString() {
+
+        return "SessionDataPersistStats{queueDepth=" + getQueueDepth() + ", flushedBatches=" +
+                getFlushedBatchCount() + ", flushedOperations=" + getFlushedOperationCount() +
+                ", coalescedOperations=" + getCoalescedOperationCount() + ", failedBatches=" +
+                getFailedBatchCount() + ", unwrittenOperations=" + getUnwrittenOperationCount() +
+                ", averageBatchSize=" + getAverageBatchSize() + ", maxBatchSize=" +
+                getMaxBatchSize() + ", averageFlushTimeMillis=" + getAverageFlushTimeMillis() +
+                ", maxFlushTimeMillis=" + getMaxFlushTimeMillis() + "}";
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.store;
+
+/**
+ * JMX view of the runtime statistics of the batched session data persistence.
+ */
+public interface SessionDataPersistStatsMXBean {
+
+    /**
+     * @return Number of session operations waiting to be persisted.
+     */
+    int getQueueDepth();
+
+    long getFlushedBatchCount();
+
+    long getFlushedOperationCount();
+
+    /**
+     * @return Number of operations which were not written since a later operation for the same key superseded them.
+     */
+    long getCoalescedOperationCount();
+
+    long getFailedBatchCount();
+
+    /**
+     * @return Number of operations which were not written as no database connection could be obtained.
+     */
+    long getUnwrittenOperationCount();
+
+    long getMaxBatchSize();
+
+    double getAverageBatchSize();
+
+    long getAverageFlushTimeMillis();
+
+    long getMaxFlushTimeMillis();
+}
@@ -21,6 +21,11 @@ package org.wso2.carbon.identity.application.authentication.framework.store;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.BlockingDeque;
 
 /**
@@ -30,12 +35,29 @@ public class SessionDataPersistTask implements Runnable {
 
     private static final Log log = LogFactory.getLog(SessionDataPersistTask.class);
     private BlockingDeque<SessionContextDO> sessionContextQueue;
+    private int maxBatchSize = 1;
+    private SessionDataPersistStats persistStats;
     private static volatile boolean running;
 
     public SessionDataPersistTask(BlockingDeque<SessionContextDO> sessionContextQueue) {
         this.sessionContextQueue = sessionContextQueue;
     }
 
+    /**
+     * Create a consumer which drains the queue in micro-batches of at most maxBatchSize operations.
+     *
+     * @param sessionContextQueue Queue of pending session operations.
+     * @param maxBatchSize        Maximum number of operations to be taken from the queue at once.
+     * @param persistStats        Statistics holder to be updated after each flush.
+     */
+    public SessionDataPersistTask(BlockingDeque<SessionContextDO> sessionContextQueue, int maxBatchSize,
+                                  SessionDataPersistStats persistStats) {
+
+        this.sessionContextQueue = sessionContextQueue;
+        this.maxBatchSize = maxBatchSize;
+        this.persistStats = persistStats;
+    }
+
     @Override
     public void run() {
 
@@ -47,7 +69,9 @@ public class SessionDataPersistTask implements Runnable {
             try {
                 SessionContextDO sessionContextDO = sessionContextQueue.take();
                 if (sessionContextDO != null) {
-                    if (sessionContextDO.getEntry() == null) {
+                    if (maxBatchSize > 1) {
+                        persistBatch(sessionContextDO);
+                    } else if (sessionContextDO.getEntry() == null) {
                         log.debug("Session Data removing Task is started to run");
                         SessionDataStore.getInstance().removeSessionData(
                                 sessionContextDO.getKey(), sessionContextDO.getType(), sessionContextDO.getNanoTime());
@@ -62,6 +86,8 @@ public class SessionDataPersistTask implements Runnable {
             } catch (InterruptedException e) {
                 //ignore
                 log.error(e);
+            } catch (RuntimeException e) {
+                log.error("Error while persisting session data batch", e);
             }
 
         }
@@ -70,4 +96,44 @@ public class SessionDataPersistTask implements Runnable {
     public static void shutdown() {
         running = false;
     }
+
+    private void persistBatch(SessionContextDO firstOperation) {
+
+        List<SessionContextDO> drainedOperations = new ArrayList<>(maxBatchSize);
+        drainedOperations.add(firstOperation);
+        sessionContextQueue.drainTo(drainedOperations, maxBatchSize - 1);
+
+        Collection<SessionContextDO> operations = coalesce(drainedOperations);
+        if (log.isDebugEnabled()) {
+            log.debug("Session Data batch persisting Task is started to run. Drained operations: " +
+                    drainedOperations.size() + ", operations to be written: " + operations.size());
+        }
+        long startTime = System.nanoTime();
+        int unwrittenOperations = SessionDataStore.getInstance().persistSessionDataBatch(operations);
+        if (persistStats != null) {
+            persistStats.recordFlush(drainedOperations.size(), operations.size(), unwrittenOperations,
+                    System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * Collapse the given operations so that only the latest STORE or DELETE operation of each session key and type
+     * remains. Since the session store always resolves a session from its latest operation, the superseded operations
+     * do not need to be written.
+     *
+     * @param operations Operations drained from the queue.
+     * @return Latest operation of each session key and type.
+     */
+    static Collection<SessionContextDO> coalesce(List<SessionContextDO> operations) {
+
+        Map<String, SessionContextDO> latestOperations = new LinkedHashMap<>();
+        for (SessionContextDO operation : operations) {
+            String operationKey = operation.getType() + ":" + operation.getKey();
+            SessionContextDO existingOperation = latestOperations.get(operationKey);
+            if (existingOperation == null || existingOperation.getNanoTime() <= operation.getNanoTime()) {
+                latestOperations.put(operationKey, operation);
+            }
+        }
+        return latestOperations.values();
+    }
 }
@@ -18,11 +18,13 @@
 
 package org.wso2.carbon.identity.application.authentication.framework.store;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.base.MultitenantConstants;
 import org.wso2.carbon.context.CarbonContext;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
 import org.wso2.carbon.identity.application.authentication.framework.exception.SessionSerializerException;
 import org.wso2.carbon.identity.application.authentication.framework.internal.FrameworkServiceDataHolder;
 import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkUtils;
@@ -35,6 +37,8 @@ import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.idp.mgt.util.IdPManagementUtil;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInput;
@@ -42,11 +46,27 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Data will be persisted or stored date will be removed from the store. These two events are considered as STORE
@@ -79,6 +99,9 @@ public class SessionDataStore {
                     "IDN_AUTH_SESSION_STORE_SELECT)";
     private static final String SQL_DELETE_DELETE_OPERATIONS_TASK =
             "DELETE FROM IDN_AUTH_SESSION_STORE WHERE OPERATION = '" + OPERATION_DELETE + "' AND  EXPIRY_TIME < ?";
+    private static final String SQL_UPDATE_STORE_OPERATION_TIME =
+            "UPDATE IDN_AUTH_SESSION_STORE SET TIME_CREATED = ?, EXPIRY_TIME = ? WHERE SESSION_ID = ? AND " +
+                    "SESSION_TYPE = ? AND OPERATION = '" + OPERATION_STORE + "' AND TIME_CREATED = ?";
     private static final String SQL_DELETE_TEMP_RECORDS =
             "DELETE FROM IDN_AUTH_TEMP_SESSION_STORE WHERE SESSION_ID = ? AND  SESSION_TYPE = ?";
 
@@ -103,6 +126,12 @@ public class SessionDataStore {
                     "FROM IDN_AUTH_SESSION_STORE WHERE SESSION_ID =? AND " +
                     "SESSION_TYPE=? ORDER BY TIME_CREATED DESC) WHERE ROWNUM < 2";
 
+    private static final String SESSION_ID_LIST_PLACEHOLDER = "_SESSION_ID_LIST_";
+    private static final String SQL_DESERIALIZE_OBJECTS =
+            "SELECT SESSION_ID, OPERATION, SESSION_OBJECT, TIME_CREATED FROM IDN_AUTH_SESSION_STORE WHERE " +
+                    "SESSION_TYPE=? AND SESSION_ID IN (" + SESSION_ID_LIST_PLACEHOLDER + ") " +
+                    "ORDER BY SESSION_ID, TIME_CREATED DESC";
+
     private static final String SQL_DELETE_EXPIRED_DATA_TASK_MYSQL =
             "DELETE FROM IDN_AUTH_SESSION_STORE WHERE EXPIRY_TIME < ? LIMIT %d";
     private static final String SQL_DELETE_EXPIRED_DATA_TASK_MSSQL =
@@ -127,12 +156,28 @@ public class SessionDataStore {
     private static final String INFORMIX_DATABASE = "Informix";
 
     private static final int DEFAULT_DELETE_LIMIT = 50000;
+    private static final int DEFAULT_MAX_PERSIST_BATCH_SIZE = 100;
+    private static final int DEFAULT_MAX_BULK_READ_BATCH_SIZE = 100;
+    private static final int DEFAULT_BULK_READ_POOL_SIZE = 4;
+    private static final int DEFAULT_SESSION_TOUCH_FLUSH_INTERVAL = 10;
+    private static final int DEFAULT_SESSION_TOUCH_MAX_TRACKED_SESSIONS = 10000;
     public static final String DEFAULT_SESSION_STORE_TABLE_NAME = "IDN_AUTH_SESSION_STORE";
     private static final String CACHE_MANAGER_NAME = "IdentityApplicationManagementCacheManager";
     public static final String DEFAULT_TEMP_SESSION_STORE_TABLE_NAME = "IDN_AUTH_TEMP_SESSION_STORE";
     private static int maxSessionDataPoolSize = 100;
     private static int maxTempDataPoolSize = 50;
+    private static int maxPersistBatchSize = 1;
+    private static int maxBulkReadBatchSize = DEFAULT_MAX_BULK_READ_BATCH_SIZE;
+    private static int bulkReadPoolSize = DEFAULT_BULK_READ_POOL_SIZE;
+    private static volatile ExecutorService bulkReadThreadPool;
+    private static boolean sessionTouchEnabled = false;
+    private static int sessionTouchFlushInterval = DEFAULT_SESSION_TOUCH_FLUSH_INTERVAL;
+    private static int sessionTouchMaxTrackedSessions = DEFAULT_SESSION_TOUCH_MAX_TRACKED_SESSIONS;
+    private static ScheduledExecutorService sessionTouchFlushExecutor;
+    private static final Map<String, StoredSessionData> storedSessionData = new ConcurrentHashMap<>();
+    private static final Map<String, SessionContextDO> pendingSessionTouches = new ConcurrentHashMap<>();
     private static BlockingDeque<SessionContextDO> sessionContextQueue = new LinkedBlockingDeque();
+    private static final SessionDataPersistStats persistStats = new SessionDataPersistStats(sessionContextQueue);
     private static BlockingDeque<SessionContextDO> tempAuthnContextDataDeleteQueue = new LinkedBlockingDeque();
     private static volatile SessionDataStore instance;
     private boolean enablePersist;
@@ -142,6 +187,7 @@ public class SessionDataStore {
     private String sqlDeleteTempDataTask;
     private String sqlDeleteDELETETask;
     private String sqlSelect;
+    private boolean isCustomSelectSQL;
     private String sqlDeleteExpiredDataTask;
     private int deleteChunkSize = DEFAULT_DELETE_LIMIT;
     private boolean sessionDataCleanupEnabled = true;
@@ -184,6 +230,40 @@ public class SessionDataStore {
                 maxTempDataPoolSize = Integer.parseInt(maxTempDataPoolSizeValue);
             }
 
+            if (Boolean.parseBoolean(
+                    IdentityUtil.getProperty("JDBCPersistenceManager.SessionDataPersist.BatchPersist.Enable"))) {
+                String maxPersistBatchSizeValue = IdentityUtil.getProperty(
+                        "JDBCPersistenceManager.SessionDataPersist.BatchPersist.MaxBatchSize");
+                maxPersistBatchSize = DEFAULT_MAX_PERSIST_BATCH_SIZE;
+                if (StringUtils.isNotBlank(maxPersistBatchSizeValue)) {
+                    maxPersistBatchSize = Integer.parseInt(maxPersistBatchSizeValue);
+                }
+            }
+
+            String maxBulkReadBatchSizeValue =
+                    IdentityUtil.getProperty("JDBCPersistenceManager.SessionDataPersist.BulkRead.MaxBatchSize");
+            if (StringUtils.isNotBlank(maxBulkReadBatchSizeValue)) {
+                maxBulkReadBatchSize = Integer.parseInt(maxBulkReadBatchSizeValue);
+            }
+            String bulkReadPoolSizeValue =
+                    IdentityUtil.getProperty("JDBCPersistenceManager.SessionDataPersist.BulkRead.PoolSize");
+            if (StringUtils.isNotBlank(bulkReadPoolSizeValue)) {
+                bulkReadPoolSize = Integer.parseInt(bulkReadPoolSizeValue);
+            }
+
+            sessionTouchEnabled = Boolean.parseBoolean(
+                    IdentityUtil.getProperty("JDBCPersistenceManager.SessionDataPersist.SessionTouch.Enable"));
+            String sessionTouchFlushIntervalValue =
+                    IdentityUtil.getProperty("JDBCPersistenceManager.SessionDataPersist.SessionTouch.FlushInterval");
+            if (StringUtils.isNotBlank(sessionTouchFlushIntervalValue)) {
+                sessionTouchFlushInterval = Integer.parseInt(sessionTouchFlushIntervalValue);
+            }
+            String sessionTouchMaxTrackedSessionsValue = IdentityUtil.getProperty(
+                    "JDBCPersistenceManager.SessionDataPersist.SessionTouch.MaxTrackedSessions");
+            if (StringUtils.isNotBlank(sessionTouchMaxTrackedSessionsValue)) {
+                sessionTouchMaxTrackedSessions = Integer.parseInt(sessionTouchMaxTrackedSessionsValue);
+            }
+
         } catch (NumberFormatException e) {
             if (log.isDebugEnabled()) {
                 log.debug("Exception ignored : ", e);
@@ -192,10 +272,36 @@ public class SessionDataStore {
         }
         if (maxSessionDataPoolSize > 0) {
             log.info("Thread pool size for session persistent consumer : " + maxSessionDataPoolSize);
+            if (maxPersistBatchSize > 1) {
+                log.info("Session data persistent consumers will write in batches of maximum size : " +
+                        maxPersistBatchSize);
+            }
             ExecutorService threadPool = Executors.newFixedThreadPool(maxSessionDataPoolSize);
             for (int i = 0; i < maxSessionDataPoolSize; i++) {
-                threadPool.execute(new SessionDataPersistTask(sessionContextQueue));
+                threadPool.execute(new SessionDataPersistTask(sessionContextQueue, maxPersistBatchSize,
+                        persistStats));
+            }
+        }
+        if (maxBulkReadBatchSize < 1) {
+            maxBulkReadBatchSize = DEFAULT_MAX_BULK_READ_BATCH_SIZE;
+        }
+        if (bulkReadPoolSize > 1) {
+            AtomicInteger bulkReadThreadCount = new AtomicInteger();
+            bulkReadThreadPool = Executors.newFixedThreadPool(bulkReadPoolSize, runnable -> {
+                Thread thread = new Thread(runnable, "SessionDataBulkRead-" + bulkReadThreadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        if (sessionTouchEnabled) {
+            if (sessionTouchFlushInterval < 1) {
+                sessionTouchFlushInterval = DEFAULT_SESSION_TOUCH_FLUSH_INTERVAL;
             }
+            log.info("Accesses to unchanged sessions will be written every " + sessionTouchFlushInterval +
+                    " seconds without rewriting the session data.");
+            sessionTouchFlushExecutor = Executors.newSingleThreadScheduledExecutor();
+            sessionTouchFlushExecutor.scheduleWithFixedDelay(() -> getInstance().flushSessionTouches(),
+                    sessionTouchFlushInterval, sessionTouchFlushInterval, TimeUnit.SECONDS);
         }
         if (tempDataCleanupEnabled && maxTempDataPoolSize > 0) {
             log.info("Thread pool size for temporary authentication context data delete task: " + maxTempDataPoolSize);
@@ -252,6 +358,7 @@ public class SessionDataStore {
         }
         if (!StringUtils.isBlank(selectSQL)) {
             sqlSelect = selectSQL;
+            isCustomSelectSQL = true;
         }
 
         String deleteChunkSizeString = IdentityUtil.getProperty("JDBCPersistenceManager.SessionDataPersist" +
@@ -374,6 +481,196 @@ public class SessionDataStore {
         return null;
     }
 
+    /**
+     * Get the session data of a list of keys. The data is read in batches of keys, each with a single query, and the
+     * data of a batch is deserialized in parallel.
+     *
+     * @param keys Keys of the session data.
+     * @param type Type of the session data.
+     * @return Map of the found session data by key. Keys without stored data are not included.
+     */
+    public Map<String, SessionContextDO> getSessionContextData(Collection<String> keys, String type) {
+
+        if (!enablePersist || keys == null || keys.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Getting SessionContextData of " + keys.size() + " keys from DB. type : " + type);
+        }
+        List<String> distinctKeys = new ArrayList<>(new LinkedHashSet<>(keys));
+        Map<String, SessionContextDO> sessionContextData = new HashMap<>();
+        if (isCustomSelectSQL) {
+            // A custom select query can only be used to read the data of a single key.
+            for (String key : distinctKeys) {
+                SessionContextDO sessionContextDO = getSessionContextData(key, type);
+                if (sessionContextDO != null) {
+                    sessionContextData.put(key, sessionContextDO);
+                }
+            }
+            return sessionContextData;
+        }
+        for (int i = 0; i < distinctKeys.size(); i += maxBulkReadBatchSize) {
+            List<String> batch = distinctKeys.subList(i, Math.min(i + maxBulkReadBatchSize, distinctKeys.size()));
+            sessionContextData.putAll(deserializeSessionContextData(getSerializedSessionContextData(batch, type),
+                    type));
+        }
+        return sessionContextData;
+    }
+
+    /**
+     * Read the latest STORE operation of each key in a single query, without deserializing the session objects.
+     */
+    private Map<String, SerializedSessionContextData> getSerializedSessionContextData(List<String> keys,
+                                                                                      String type) {
+
+        Map<String, SerializedSessionContextData> serializedData = new LinkedHashMap<>();
+        Connection connection;
+        try {
+            connection = IdentityDatabaseUtil.getSessionDBConnection(false);
+        } catch (IdentityRuntimeException e) {
+            log.error(e.getMessage(), e);
+            return serializedData;
+        }
+        String placeholders = String.join(",", Collections.nCopies(keys.size(), "?"));
+        String sqlStmt = getSessionStoreDBQuery(SQL_DESERIALIZE_OBJECTS, type)
+                .replace(SESSION_ID_LIST_PLACEHOLDER, placeholders);
+        PreparedStatement preparedStatement = null;
+        ResultSet resultSet = null;
+        try {
+            preparedStatement = connection.prepareStatement(sqlStmt);
+            int index = 1;
+            preparedStatement.setString(index, type);
+            for (String key : keys) {
+                preparedStatement.setString(++index, key);
+            }
+            resultSet = preparedStatement.executeQuery();
+            String previousKey = null;
+            while (resultSet.next()) {
+                String key = resultSet.getString(1);
+                // Rows are ordered by the creation time within a key, hence only the first row of a key is needed.
+                if (key.equals(previousKey)) {
+                    continue;
+                }
+                previousKey = key;
+                if (StringUtils.equalsIgnoreCase(OPERATION_STORE, resultSet.getString(2))) {
+                    serializedData.put(key, new SerializedSessionContextData(
+                            readBytes(resultSet.getBinaryStream(3)), resultSet.getLong(4)));
+                }
+            }
+        } catch (IOException | SQLException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Error while retrieving session data", e);
+            }
+        } finally {
+            IdentityDatabaseUtil.closeAllConnections(connection, resultSet, preparedStatement);
+        }
+        return serializedData;
+    }
+
+    private Map<String, SessionContextDO> deserializeSessionContextData(
+            Map<String, SerializedSessionContextData> serializedData, String type) {
+
+        Map<String, SessionContextDO> sessionContextData = new HashMap<>();
+        ExecutorService threadPool = bulkReadThreadPool;
+        if (threadPool == null || serializedData.size() < 2) {
+            for (Map.Entry<String, SerializedSessionContextData> entry : serializedData.entrySet()) {
+                SessionContextDO sessionContextDO = deserializeSessionContextData(entry.getKey(), type,
+                        entry.getValue());
+                if (sessionContextDO != null) {
+                    sessionContextData.put(entry.getKey(), sessionContextDO);
+                }
+            }
+            return sessionContextData;
+        }
+
+        // Session objects may resolve tenant specific data while they are deserialized.
+        String tenantDomain = PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantDomain();
+        int tenantId = PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId();
+        List<Callable<SessionContextDO>> tasks = new ArrayList<>(serializedData.size());
+        for (Map.Entry<String, SerializedSessionContextData> entry : serializedData.entrySet()) {
+            tasks.add(() -> {
+                try {
+                    PrivilegedCarbonContext.startTenantFlow();
+                    PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantId(tenantId);
+                    PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantDomain(tenantDomain);
+                    return deserializeSessionContextData(entry.getKey(), type, entry.getValue());
+                } finally {
+                    PrivilegedCarbonContext.endTenantFlow();
+                }
+            });
+        }
+        try {
+            for (Future<SessionContextDO> future : threadPool.invokeAll(tasks)) {
+                SessionContextDO sessionContextDO = future.get();
+                if (sessionContextDO != null) {
+                    sessionContextData.put(sessionContextDO.getKey(), sessionContextDO);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while deserializing session data.", e);
+        } catch (ExecutionException | RejectedExecutionException e) {
+            log.error("Error while deserializing session data.", e);
+        }
+        return sessionContextData;
+    }
+
+    private SessionContextDO deserializeSessionContextData(String key, String type,
+                                                           SerializedSessionContextData serializedData) {
+
+        try {
+            return new SessionContextDO(key, type, getBlobObject(serializedData.getSessionObject()),
+                    serializedData.getNanoTime());
+        } catch (ClassNotFoundException | IOException | SessionSerializerException |
+                IdentityApplicationManagementException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Error while deserializing session data of key : " + key, e);
+            }
+            return null;
+        }
+    }
+
+    private static byte[] readBytes(InputStream inputStream) throws IOException {
+
+        if (inputStream == null) {
+            return null;
+        }
+        try (InputStream is = inputStream) {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int length;
+            while ((length = is.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, length);
+            }
+            return outputStream.toByteArray();
+        }
+    }
+
+    /**
+     * Serialized session object of a STORE operation, along with its creation time.
+     */
+    private static class SerializedSessionContextData {
+
+        private final byte[] sessionObject;
+        private final long nanoTime;
+
+        private SerializedSessionContextData(byte[] sessionObject, long nanoTime) {
+
+            this.sessionObject = sessionObject;
+            this.nanoTime = nanoTime;
+        }
+
+        private InputStream getSessionObject() {
+
+            return sessionObject != null ? new ByteArrayInputStream(sessionObject) : null;
+        }
+
+        private long getNanoTime() {
+
+            return nanoTime;
+        }
+    }
+
     public void storeSessionData(String key, String type, Object entry) {
 
         storeSessionData(key, type, entry, MultitenantConstants.INVALID_TENANT_ID);
@@ -384,10 +681,130 @@ public class SessionDataStore {
             return;
         }
         long nanoTime = FrameworkUtils.getCurrentStandardNano();
-        if (maxSessionDataPoolSize > 0 && !isTempCache(type)) {
-            sessionContextQueue.push(new SessionContextDO(key, type, entry, nanoTime, tenantId));
+        if (sessionTouchEnabled) {
+            String sessionTouchKey = getSessionTouchKey(key, type);
+            pendingSessionTouches.remove(sessionTouchKey);
+            storedSessionData.remove(sessionTouchKey);
+        }
+        storeSessionData(key, type, entry, nanoTime, tenantId);
+    }
+
+    /**
+     * Store session data, or only record an access to it if its serialized session object has not changed since it
+     * was last stored by this node. The session object is compared when it is serialized to be written. Accesses are
+     * coalesced per session and written by {@link #flushSessionTouches()}, which moves the time created and the
+     * expiry time of the stored session data forward without rewriting the session object.
+     *
+     * @param key              Session key.
+     * @param type             Session type.
+     * @param entry            Session data to be stored. Its serialized form should not change on an access.
+     * @param tenantId         Tenant ID.
+     * @param touchIfUnchanged Whether only an access is recorded if the session data has not changed.
+     */
+    public void storeSessionData(String key, String type, Object entry, int tenantId, boolean touchIfUnchanged) {
+
+        if (!enablePersist) {
+            return;
+        }
+        if (!sessionTouchEnabled || !touchIfUnchanged || isTempCache(type)) {
+            storeSessionData(key, type, entry, tenantId);
+            return;
+        }
+        SessionContextDO sessionContextDO =
+                new SessionContextDO(key, type, entry, FrameworkUtils.getCurrentStandardNano(), tenantId);
+        sessionContextDO.setTouchIfUnchanged(true);
+        storeSessionData(sessionContextDO);
+    }
+
+    private void storeSessionData(String key, String type, Object entry, long nanoTime, int tenantId) {
+
+        storeSessionData(new SessionContextDO(key, type, entry, nanoTime, tenantId));
+    }
+
+    private void storeSessionData(SessionContextDO sessionContextDO) {
+
+        if (maxSessionDataPoolSize > 0 && !isTempCache(sessionContextDO.getType())) {
+            sessionContextQueue.push(sessionContextDO);
         } else {
-            persistSessionData(key, type, entry, nanoTime, tenantId);
+            persistSessionData(sessionContextDO);
+        }
+    }
+
+    /**
+     * Write the pending accesses to unchanged sessions. The time created and the expiry time of the stored session
+     * data are moved forward with a single batched update. Session data which cannot be updated, e.g. as it has been
+     * removed by the cleanup task or has not yet been written by a persistence consumer, is stored again.
+     */
+    public void flushSessionTouches() {
+
+        if (!enablePersist || pendingSessionTouches.isEmpty()) {
+            return;
+        }
+        Map<String, SessionContextDO> touches = new LinkedHashMap<>();
+        Map<String, StoredSessionData> touchedData = new HashMap<>();
+        for (String sessionTouchKey : new ArrayList<>(pendingSessionTouches.keySet())) {
+            SessionContextDO touch = pendingSessionTouches.remove(sessionTouchKey);
+            if (touch == null) {
+                continue;
+            }
+            StoredSessionData storedData = storedSessionData.get(sessionTouchKey);
+            if (storedData == null) {
+                storeSessionData(touch);
+                continue;
+            }
+            touches.put(sessionTouchKey, touch);
+            touchedData.put(sessionTouchKey, storedData);
+        }
+        if (touches.isEmpty()) {
+            return;
+        }
+
+        Connection connection;
+        try {
+            connection = IdentityDatabaseUtil.getSessionDBConnection(true);
+        } catch (IdentityRuntimeException e) {
+            log.error(e.getMessage(), e);
+            return;
+        }
+        int[] updateCounts = null;
+        PreparedStatement preparedStatement = null;
+        try {
+            preparedStatement = connection.prepareStatement(SQL_UPDATE_STORE_OPERATION_TIME);
+            for (Map.Entry<String, SessionContextDO> touch : touches.entrySet()) {
+                SessionContextDO sessionContextDO = touch.getValue();
+                preparedStatement.setLong(1, sessionContextDO.getNanoTime());
+                preparedStatement.setLong(2, sessionContextDO.getNanoTime() + getValidityPeriod(sessionContextDO));
+                preparedStatement.setString(3, sessionContextDO.getKey());
+                preparedStatement.setString(4, sessionContextDO.getType());
+                preparedStatement.setLong(5, touchedData.get(touch.getKey()).nanoTime);
+                preparedStatement.addBatch();
+            }
+            updateCounts = preparedStatement.executeBatch();
+            IdentityDatabaseUtil.commitTransaction(connection);
+        } catch (SQLException e) {
+            IdentityDatabaseUtil.rollbackTransaction(connection);
+            log.error("Error while updating the access time of " + touches.size() + " sessions. The sessions will " +
+                    "be stored again.", e);
+        } finally {
+            IdentityDatabaseUtil.closeAllConnections(connection, null, preparedStatement);
+        }
+
+        int index = 0;
+        for (Map.Entry<String, SessionContextDO> touch : touches.entrySet()) {
+            SessionContextDO sessionContextDO = touch.getValue();
+            StoredSessionData storedData = touchedData.get(touch.getKey());
+            if (updateCounts != null && index < updateCounts.length &&
+                    (updateCounts[index] > 0 || updateCounts[index] == Statement.SUCCESS_NO_INFO)) {
+                storedSessionData.replace(touch.getKey(), storedData,
+                        new StoredSessionData(storedData.contentDigest, sessionContextDO.getNanoTime()));
+            } else if (storedSessionData.remove(touch.getKey(), storedData)) {
+                // The session data is no longer tracked, hence it is stored as a whole.
+                storeSessionData(sessionContextDO);
+            }
+            index++;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Updated the access time of " + touches.size() + " sessions.");
         }
     }
 
@@ -395,6 +812,11 @@ public class SessionDataStore {
         if (!enablePersist) {
             return;
         }
+        if (sessionTouchEnabled) {
+            String sessionTouchKey = getSessionTouchKey(key, type);
+            pendingSessionTouches.remove(sessionTouchKey);
+            storedSessionData.remove(sessionTouchKey);
+        }
         long nanoTime = FrameworkUtils.getCurrentStandardNano();
         if (maxSessionDataPoolSize > 0 && !isTempCache(type)) {
             sessionContextQueue.push(new SessionContextDO(key, type, null, nanoTime));
@@ -403,6 +825,17 @@ public class SessionDataStore {
         }
     }
 
+    /**
+     * Get the statistics of the asynchronous session data persistence, such as the queue depth, batch sizes and
+     * flush latencies. The statistics are registered over JMX by the framework service component.
+     *
+     * @return Session data persistence statistics.
+     */
+    public SessionDataPersistStats getPersistStats() {
+
+        return persistStats;
+    }
+
     /**
      * Method to stop running tasks, when the component is deactivated.
      */
@@ -410,6 +843,16 @@ public class SessionDataStore {
 
         TempAuthContextDataDeleteTask.shutdown();
         SessionDataPersistTask.shutdown();
+        if (sessionTouchFlushExecutor != null) {
+            sessionTouchFlushExecutor.shutdown();
+            flushSessionTouches();
+        }
+        ExecutorService threadPool = bulkReadThreadPool;
+        if (threadPool != null) {
+            // Later bulk reads deserialize the session data on the calling thread.
+            bulkReadThreadPool = null;
+            threadPool.shutdown();
+        }
     }
 
     /**
@@ -517,9 +960,26 @@ public class SessionDataStore {
     }
 
     public void persistSessionData(String key, String type, Object entry, long nanoTime, int tenantId) {
+
+        persistSessionData(new SessionContextDO(key, type, entry, nanoTime, tenantId));
+    }
+
+    private void persistSessionData(SessionContextDO operation) {
+
         if (!enablePersist) {
             return;
         }
+        byte[] sessionObject;
+        Map<String, StoredSessionData> writtenData = new HashMap<>();
+        try {
+            sessionObject = serializeSessionObject(operation.getEntry());
+        } catch (IOException | SessionSerializerException e) {
+            log.error("Error while storing session data", e);
+            return;
+        }
+        if (touchIfUnchanged(operation, sessionObject, writtenData)) {
+            return;
+        }
         Connection connection = null;
         try {
             connection = IdentityDatabaseUtil.getSessionDBConnection(true);
@@ -528,30 +988,15 @@ public class SessionDataStore {
             return;
         }
 
-        long validityPeriodNano = 0L;
-
-        if (entry instanceof CacheEntry) {
-            validityPeriodNano = ((CacheEntry) entry).getValidityPeriod();
-        }
-
-        if (validityPeriodNano == 0L) {
-            validityPeriodNano = getCleanupTimeout(type, tenantId);
-        }
-
         PreparedStatement preparedStatement = null;
         try {
-            String sqlQuery = getSessionStoreDBQuery(sqlInsertSTORE, type);
+            String sqlQuery = getSessionStoreDBQuery(sqlInsertSTORE, operation.getType());
             preparedStatement = connection.prepareStatement(sqlQuery);
-            preparedStatement.setString(1, key);
-            preparedStatement.setString(2, type);
-            preparedStatement.setString(3, OPERATION_STORE);
-            setBlobObject(preparedStatement, entry, 4);
-            preparedStatement.setLong(5, nanoTime);
-            preparedStatement.setLong(6, nanoTime + validityPeriodNano);
-            preparedStatement.setInt(7, tenantId);
+            setStoreOperationParameters(preparedStatement, operation, sessionObject);
             preparedStatement.executeUpdate();
             IdentityDatabaseUtil.commitTransaction(connection);
-        } catch (SQLException | IOException | SessionSerializerException e) {
+            recordStoredSessionData(writtenData);
+        } catch (SQLException e) {
             IdentityDatabaseUtil.rollbackTransaction(connection);
             log.error("Error while storing session data", e);
         } finally {
@@ -559,7 +1004,8 @@ public class SessionDataStore {
         }
 
         if (log.isDebugEnabled()) {
-            log.debug("Persisted SessionContextData to DB. key : " + key + " type : " + type);
+            log.debug("Persisted SessionContextData to DB. key : " + operation.getKey() + " type : " +
+                    operation.getType());
         }
     }
 
@@ -607,6 +1053,225 @@ public class SessionDataStore {
         }
     }
 
+    /**
+     * Persist a set of STORE and DELETE operations using JDBC batches. Operations targeting the same table are
+     * written in a single batch and committed together. If a batch fails, its operations are retried one by one so
+     * that a single faulty entry does not discard the rest of the batch.
+     *
+     * @param sessionContextDOs Operations to be persisted. An operation without an entry is a DELETE operation.
+     * @return Number of operations which could not be written as no database connection could be obtained.
+     */
+    public int persistSessionDataBatch(Collection<SessionContextDO> sessionContextDOs) {
+
+        if (!enablePersist || sessionContextDOs.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, List<SessionContextDO>> storeOperations = new LinkedHashMap<>();
+        Map<String, List<SessionContextDO>> deleteOperations = new LinkedHashMap<>();
+        for (SessionContextDO sessionContextDO : sessionContextDOs) {
+            String type = sessionContextDO.getType();
+            if (sessionContextDO.getEntry() != null) {
+                storeOperations.computeIfAbsent(getSessionStoreDBQuery(sqlInsertSTORE, type),
+                        query -> new ArrayList<>()).add(sessionContextDO);
+            } else if (tempDataCleanupEnabled && maxTempDataPoolSize > 0 && isTempCache(type)) {
+                removeSessionData(sessionContextDO.getKey(), type, sessionContextDO.getNanoTime());
+            } else if (getSessionContextDataByOperation(sessionContextDO.getKey(), type, OPERATION_DELETE) == null) {
+                deleteOperations.computeIfAbsent(getSessionStoreDBQuery(sqlInsertDELETE, type),
+                        query -> new ArrayList<>()).add(sessionContextDO);
+            }
+        }
+
+        int unwrittenOperations = 0;
+        for (Map.Entry<String, List<SessionContextDO>> operations : storeOperations.entrySet()) {
+            try {
+                if (!executeBatch(operations.getKey(), operations.getValue(), true)) {
+                    persistStats.recordFailedBatch();
+                    for (SessionContextDO sessionContextDO : operations.getValue()) {
+                        persistSessionData(sessionContextDO);
+                    }
+                }
+            } catch (IdentityRuntimeException e) {
+                // Retrying individually would fail in the same way, hence the operations are reported as unwritten.
+                log.error("Error while obtaining a database connection. " + operations.getValue().size() +
+                        " session " + OPERATION_STORE + " operations were not persisted.", e);
+                unwrittenOperations += operations.getValue().size();
+            }
+        }
+        for (Map.Entry<String, List<SessionContextDO>> operations : deleteOperations.entrySet()) {
+            try {
+                if (!executeBatch(operations.getKey(), operations.getValue(), false)) {
+                    persistStats.recordFailedBatch();
+                    for (SessionContextDO sessionContextDO : operations.getValue()) {
+                        removeSessionData(sessionContextDO.getKey(), sessionContextDO.getType(),
+                                sessionContextDO.getNanoTime());
+                    }
+                }
+            } catch (IdentityRuntimeException e) {
+                log.error("Error while obtaining a database connection. " + operations.getValue().size() +
+                        " session " + OPERATION_DELETE + " operations were not persisted.", e);
+                unwrittenOperations += operations.getValue().size();
+            }
+        }
+        return unwrittenOperations;
+    }
+
+    /**
+     * Write the given operations as a single JDBC batch.
+     *
+     * @return False if the batch could not be written, in which case the operations should be retried one by one.
+     * @throws IdentityRuntimeException If a database connection could not be obtained.
+     */
+    private boolean executeBatch(String sqlQuery, List<SessionContextDO> operations, boolean isStoreOperation) {
+
+        Connection connection = IdentityDatabaseUtil.getSessionDBConnection(true);
+        PreparedStatement preparedStatement = null;
+        Map<String, StoredSessionData> writtenData = new HashMap<>();
+        try {
+            preparedStatement = connection.prepareStatement(sqlQuery);
+            for (SessionContextDO operation : operations) {
+                if (isStoreOperation) {
+                    addStoreOperationToBatch(preparedStatement, operation, writtenData);
+                } else {
+                    addDeleteOperationToBatch(preparedStatement, operation);
+                }
+            }
+            preparedStatement.executeBatch();
+            IdentityDatabaseUtil.commitTransaction(connection);
+            recordStoredSessionData(writtenData);
+        } catch (SQLException | IOException | SessionSerializerException e) {
+            IdentityDatabaseUtil.rollbackTransaction(connection);
+            log.warn("Error while persisting a batch of " + operations.size() + " session " +
+                    (isStoreOperation ? OPERATION_STORE : OPERATION_DELETE) +
+                    " operations. Retrying the operations individually.");
+            if (log.isDebugEnabled()) {
+                log.debug("Error while persisting the session data batch.", e);
+            }
+            return false;
+        } finally {
+            IdentityDatabaseUtil.closeAllConnections(connection, null, preparedStatement);
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Persisted a batch of " + operations.size() + " session " +
+                    (isStoreOperation ? OPERATION_STORE : OPERATION_DELETE) + " operations to DB.");
+        }
+        return true;
+    }
+
+    private void addStoreOperationToBatch(PreparedStatement preparedStatement, SessionContextDO operation,
+                                          Map<String, StoredSessionData> writtenData)
+            throws SQLException, IOException, SessionSerializerException {
+
+        byte[] sessionObject = serializeSessionObject(operation.getEntry());
+        if (touchIfUnchanged(operation, sessionObject, writtenData)) {
+            return;
+        }
+        setStoreOperationParameters(preparedStatement, operation, sessionObject);
+        preparedStatement.addBatch();
+    }
+
+    private void setStoreOperationParameters(PreparedStatement preparedStatement, SessionContextDO operation,
+                                             byte[] sessionObject) throws SQLException {
+
+        long validityPeriodNano = getValidityPeriod(operation);
+        preparedStatement.setString(1, operation.getKey());
+        preparedStatement.setString(2, operation.getType());
+        preparedStatement.setString(3, OPERATION_STORE);
+        if (sessionObject != null) {
+            preparedStatement.setBinaryStream(4, new ByteArrayInputStream(sessionObject), sessionObject.length);
+        } else {
+            preparedStatement.setBinaryStream(4, null, 0);
+        }
+        preparedStatement.setLong(5, operation.getNanoTime());
+        preparedStatement.setLong(6, operation.getNanoTime() + validityPeriodNano);
+        preparedStatement.setInt(7, operation.getTenantId());
+    }
+
+    /**
+     * Record a STORE operation as a pending touch if it allows it and its serialized session object has not changed
+     * since it was last stored by this node. Otherwise, the digest of the session object is added to the given
+     * session data, to be recorded once the operation is written.
+     *
+     * @param operation     STORE operation.
+     * @param sessionObject Serialized session object of the operation.
+     * @param writtenData   Session data to be recorded once the operations are written.
+     * @return True if the operation was recorded as a touch and should not be written.
+     */
+    private boolean touchIfUnchanged(SessionContextDO operation, byte[] sessionObject,
+                                     Map<String, StoredSessionData> writtenData) {
+
+        if (!sessionTouchEnabled || !operation.isTouchIfUnchanged() || sessionObject == null) {
+            return false;
+        }
+        String sessionTouchKey = getSessionTouchKey(operation.getKey(), operation.getType());
+        String contentDigest = DigestUtils.sha256Hex(sessionObject);
+        StoredSessionData storedData = storedSessionData.get(sessionTouchKey);
+        if (storedData != null && storedData.contentDigest.equals(contentDigest)) {
+            pendingSessionTouches.merge(sessionTouchKey, operation,
+                    (pending, touch) -> touch.getNanoTime() >= pending.getNanoTime() ? touch : pending);
+            return true;
+        }
+        pendingSessionTouches.remove(sessionTouchKey);
+        writtenData.put(sessionTouchKey, new StoredSessionData(contentDigest, operation.getNanoTime()));
+        return false;
+    }
+
+    private void recordStoredSessionData(Map<String, StoredSessionData> writtenData) {
+
+        if (writtenData.isEmpty()) {
+            return;
+        }
+        if (storedSessionData.size() + writtenData.size() > sessionTouchMaxTrackedSessions) {
+            storedSessionData.clear();
+        }
+        storedSessionData.putAll(writtenData);
+    }
+
+    private long getValidityPeriod(SessionContextDO operation) {
+
+        long validityPeriodNano = 0L;
+        if (operation.getEntry() instanceof CacheEntry) {
+            validityPeriodNano = ((CacheEntry) operation.getEntry()).getValidityPeriod();
+        }
+        if (validityPeriodNano == 0L) {
+            validityPeriodNano = getCleanupTimeout(operation.getType(), operation.getTenantId());
+        }
+        return validityPeriodNano;
+    }
+
+    private static String getSessionTouchKey(String key, String type) {
+
+        return type + ":" + key;
+    }
+
+    /**
+     * Content digest and time created of session data which was last stored by this node.
+     */
+    private static class StoredSessionData {
+
+        private final String contentDigest;
+        private final long nanoTime;
+
+        private StoredSessionData(String contentDigest, long nanoTime) {
+
+            this.contentDigest = contentDigest;
+            this.nanoTime = nanoTime;
+        }
+    }
+
+    private void addDeleteOperationToBatch(PreparedStatement preparedStatement, SessionContextDO operation)
+            throws SQLException {
+
+        preparedStatement.setString(1, operation.getKey());
+        preparedStatement.setString(2, operation.getType());
+        preparedStatement.setString(3, OPERATION_DELETE);
+        preparedStatement.setLong(4, operation.getNanoTime());
+        preparedStatement.setLong(5, operation.getNanoTime() +
+                getCleanupTimeout(operation.getType(), MultitenantConstants.INVALID_TENANT_ID));
+        preparedStatement.addBatch();
+    }
+
     /**
      * Removes temporary authn context data from the table if temporary data cleanup is enabled.
      *
@@ -640,15 +1305,12 @@ public class SessionDataStore {
         }
     }
 
-    private void setBlobObject(PreparedStatement prepStmt, Object value, int index)
-            throws SQLException, IOException, SessionSerializerException {
-        if (value != null) {
-            InputStream inputStream = FrameworkServiceDataHolder.getInstance().
-                    getSessionSerializer().serializeSessionObject(value);
-            prepStmt.setBinaryStream(index, inputStream, inputStream.available());
-        } else {
-            prepStmt.setBinaryStream(index, null, 0);
+    private byte[] serializeSessionObject(Object value) throws IOException, SessionSerializerException {
+
+        if (value == null) {
+            return null;
         }
+        return readBytes(FrameworkServiceDataHolder.getInstance().getSessionSerializer().serializeSessionObject(value));
     }
 
     private Object getBlobObject(InputStream is)
@@ -377,6 +377,12 @@ public abstract class FrameworkConstants {
         public static final String SESSION_DATA_STORAGE_OPTIMIZATION_ENABLED =
                 "JDBCPersistenceManager.SessionDataPersist.SessionDataStorageOptimization.Enable";
 
+        /**
+         * Configuration used to select the built-in session serializer. Supported values are "Java" and "Compact".
+         */
+        public static final String SESSION_SERIALIZER = "JDBCPersistenceManager.SessionDataPersist.SessionSerializer";
+        public static final String COMPACT_SESSION_SERIALIZER = "Compact";
+
         /**
          * Configuration to enable publishing the active session count in analytics event.
          */
@@ -682,6 +688,9 @@ public abstract class FrameworkConstants {
         public static final String GRAALJS_SCRIPT_STATEMENTS_LIMIT
                 = "AdaptiveAuth.GraalJS.ScriptStatementsLimit";
         public static final int DEFAULT_GRAALJS_SCRIPT_STATEMENTS_LIMIT = 0;
+        public static final String GRAALJS_SHARED_ENGINE_ENABLE = "AdaptiveAuth.GraalJS.SharedEngine.Enable";
+        public static final String GRAALJS_SOURCE_CACHE_SIZE = "AdaptiveAuth.GraalJS.SourceCacheSize";
+        public static final int DEFAULT_GRAALJS_SOURCE_CACHE_SIZE = 1000;
     }
 
     /**
@@ -1242,6 +1242,37 @@ public class FrameworkUtils {
         return sessionContext;
     }
 
+    /**
+     * Get the session contexts of a list of session context keys. Sessions which are not in the cache are retrieved
+     * from the session data store in bulk.
+     *
+     * @param keys              Session context keys.
+     * @param loginTenantDomain Login tenant domain.
+     * @return Map of the valid session contexts by session context key.
+     */
+    public static Map<String, SessionContext> getSessionContextsFromCache(List<String> keys,
+                                                                          String loginTenantDomain) {
+
+        Map<String, SessionContext> sessionContexts = new HashMap<>();
+        if (keys == null || keys.isEmpty()) {
+            return sessionContexts;
+        }
+        List<SessionContextCacheKey> cacheKeys = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            if (StringUtils.isNotBlank(key)) {
+                cacheKeys.add(new SessionContextCacheKey(key));
+            }
+        }
+        Map<String, SessionContextCacheEntry> cacheEntries =
+                SessionContextCache.getInstance().getValuesFromCache(cacheKeys, loginTenantDomain);
+        for (Map.Entry<String, SessionContextCacheEntry> cacheEntry : cacheEntries.entrySet()) {
+            if (cacheEntry.getValue().getContext() != null) {
+                sessionContexts.put(cacheEntry.getKey(), cacheEntry.getValue().getContext());
+            }
+        }
+        return sessionContexts;
+    }
+
     /**
      * Retrieve session context from the session cache.
      *
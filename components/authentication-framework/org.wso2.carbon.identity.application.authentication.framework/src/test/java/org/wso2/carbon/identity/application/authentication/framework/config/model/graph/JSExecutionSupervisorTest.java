@@ -146,6 +146,101 @@ public class JSExecutionSupervisorTest {
         }
     }
 
+    @Test
+    public void testConcurrentExecutionsAndStats() throws InterruptedException {
+
+        JSExecutionSupervisor supervisor = new JSExecutionSupervisor(1, 5000L);
+        int threadCount = 8;
+        int executionsPerThread = 500;
+        Thread[] executionThreads = new Thread[threadCount];
+        try {
+            for (int i = 0; i < threadCount; i++) {
+                String serviceProvider = "dummySP" + (i % 2);
+                executionThreads[i] = new Thread(() -> {
+                    for (int j = 0; j < executionsPerThread; j++) {
+                        String identifier = UUID.randomUUID().toString();
+                        supervisor.monitor(identifier, serviceProvider, "dummyTenant", 0L);
+                        Assert.assertNotNull(supervisor.completed(identifier));
+                    }
+                });
+                executionThreads[i].start();
+            }
+            for (Thread executionThread : executionThreads) {
+                executionThread.join();
+            }
+
+            Assert.assertEquals(0, supervisor.getCurrentScriptExecutionCount());
+            JSExecutionStats tenantStats = supervisor.getExecutionStatsOfTenant("dummyTenant");
+            Assert.assertEquals(threadCount * executionsPerThread,
+                    tenantStats.getExecutionTimeHistogram().getCount());
+            Assert.assertEquals(threadCount * executionsPerThread / 2, supervisor
+                    .getExecutionStatsOfServiceProvider("dummyTenant", "dummySP0").getExecutionTimeHistogram()
+                    .getCount());
+            Assert.assertEquals(0, tenantStats.getConsumedMemoryHistogram().getCount());
+            Assert.assertEquals(0, tenantStats.getTerminatedExecutionCount());
+            Assert.assertNull(supervisor.getExecutionStatsOfTenant("otherTenant"));
+            Assert.assertEquals(threadCount * executionsPerThread, supervisor.getExecutionCount());
+            Assert.assertEquals(new String[]{"dummyTenant"}, supervisor.getTenantDomains());
+            Assert.assertEquals(new String[]{"dummySP0", "dummySP1"}, supervisor.getServiceProviders("dummyTenant"));
+        } finally {
+            supervisor.shutdown();
+        }
+    }
+
+    @Test
+    public void testTerminatedExecutionIsRecorded() throws InterruptedException {
+
+        final JSExecutionSupervisor supervisor = new JSExecutionSupervisor(1, 50L);
+        try {
+            Thread testExecutionThread = new Thread(() -> {
+                try {
+                    supervisor.monitor(UUID.randomUUID().toString(), "dummySP", "dummyTenant", 0L);
+                    Thread.sleep(2000L);
+                } catch (InterruptedException ignored) {
+                    // We are expecting that a exception will be thrown as the monitor will kill the thread.
+                }
+            });
+            testExecutionThread.start();
+            testExecutionThread.join(1000L);
+
+            Assert.assertFalse(testExecutionThread.isAlive());
+            Assert.assertEquals(0, supervisor.getCurrentScriptExecutionCount());
+            // The execution is recorded by the supervisor after the thread is stopped.
+            long deadline = System.currentTimeMillis() + 1000L;
+            while (supervisor.getExecutionStatsOfServiceProvider("dummyTenant", "dummySP") == null &&
+                    System.currentTimeMillis() < deadline) {
+                Thread.sleep(10L);
+            }
+            Assert.assertEquals(1, supervisor.getExecutionStatsOfServiceProvider("dummyTenant", "dummySP")
+                    .getTerminatedExecutionCount());
+        } finally {
+            supervisor.shutdown();
+        }
+    }
+
+    @Test
+    public void testServiceProviderStatsAreBounded() {
+
+        JSExecutionSupervisor supervisor = new JSExecutionSupervisor(1, 5000L);
+        try {
+            for (int i = 0; i <= JSExecutionSupervisor.MAX_SERVICE_PROVIDER_STATS_PER_TENANT; i++) {
+                String identifier = UUID.randomUUID().toString();
+                supervisor.monitor(identifier, "dummySP" + i, "dummyTenant", 0L);
+                supervisor.completed(identifier);
+            }
+
+            // The service provider with the least recent execution is evicted.
+            Assert.assertNull(supervisor.getExecutionStatsOfServiceProvider("dummyTenant", "dummySP0"));
+            Assert.assertNotNull(supervisor.getExecutionStatsOfServiceProvider("dummyTenant", "dummySP1"));
+            Assert.assertNotNull(supervisor.getExecutionStatsOfServiceProvider("dummyTenant",
+                    "dummySP" + JSExecutionSupervisor.MAX_SERVICE_PROVIDER_STATS_PER_TENANT));
+            Assert.assertEquals(JSExecutionSupervisor.MAX_SERVICE_PROVIDER_STATS_PER_TENANT + 1,
+                    supervisor.getExecutionStatsOfTenant("dummyTenant").getExecutionTimeHistogram().getCount());
+        } finally {
+            supervisor.shutdown();
+        }
+    }
+
     @Test
     public void testMemoryBasedMonitorWithAlreadyConsumedMemory() {
 
@@ -18,6 +18,7 @@
 
 package org.wso2.carbon.identity.application.authentication.framework.config.model.graph;
 
+import org.graalvm.polyglot.Context;
 import org.mockito.Mock;
 import org.testng.annotations.AfterTest;
 import org.testng.annotations.BeforeTest;
@@ -30,6 +31,7 @@ import org.wso2.carbon.identity.application.authentication.framework.config.mode
 import org.wso2.carbon.identity.application.authentication.framework.config.model.StepConfig;
 import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.graaljs.JsGraalGraphBuilder;
 import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.graaljs.JsGraalGraphBuilderFactory;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.graaljs.JsGraalSourceCache;
 import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
 import org.wso2.carbon.identity.application.authentication.framework.internal.FrameworkServiceDataHolder;
 import org.wso2.carbon.identity.application.common.ApplicationAuthenticatorService;
@@ -48,7 +50,9 @@ import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
 import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
 @Test
@@ -372,4 +376,29 @@ public class JsGraalGraphBuilderTest extends AbstractFrameworkTest {
                         "localhost"}};
     }
 
+    public void testScriptSourceReusedUntilScriptChanges() throws Exception {
+
+        JsGraalSourceCache sourceCache = JsGraalSourceCache.getInstance();
+        String script = "var onLoginRequest = function(context) { executeStep(1); };";
+        String updatedScript = "var onLoginRequest = function(context) { executeStep(2); };";
+
+        Object source = sourceCache.getScriptSource("carbon.super", "cachedSourceApp", script);
+        assertSame(sourceCache.getScriptSource("carbon.super", "cachedSourceApp", script), source);
+        assertNotSame(sourceCache.getScriptSource("carbon.super", "cachedSourceApp", updatedScript), source);
+        assertNotSame(sourceCache.getScriptSource("wso2.com", "cachedSourceApp", script), source);
+    }
+
+    public void testContextsShareEngine() {
+
+        AuthenticationContext context = new AuthenticationContext();
+        Context firstContext = jsGraphBuilderFactory.createEngine(context);
+        Context secondContext = jsGraphBuilderFactory.createEngine(context);
+        try {
+            assertSame(firstContext.getEngine(), secondContext.getEngine());
+            assertEquals(secondContext.eval("js", "1 + 1").asInt(), 2);
+        } finally {
+            firstContext.close();
+            secondContext.close();
+        }
+    }
 }
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.store;
+
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.application.authentication.framework.context.SessionContext;
+import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedIdPData;
+import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link CompactSessionSerializer}.
+ */
+public class CompactSessionSerializerTest {
+
+    private final CompactSessionSerializer compactSessionSerializer = new CompactSessionSerializer();
+    private final JavaSessionSerializer javaSessionSerializer = new JavaSessionSerializer();
+
+    @Test
+    public void testSerializeAndDeserializeSessionContext() throws Exception {
+
+        SessionContext sessionContext = buildSessionContext();
+
+        SessionContext deserializedContext = (SessionContext) compactSessionSerializer.deSerializeSessionObject(
+                compactSessionSerializer.serializeSessionObject(sessionContext));
+
+        AuthenticatedIdPData idPData = deserializedContext.getAuthenticatedIdPs().get("LOCAL");
+        assertEquals(idPData.getIdpName(), "LOCAL");
+        assertEquals(idPData.getUser().getUserName(), "admin");
+        assertEquals(idPData.getUser().getTenantDomain(), "carbon.super");
+        assertEquals(((ExtensionObject) deserializedContext.getProperty("extension")).getValue(), "extension");
+        assertTrue(deserializedContext.isRememberMe());
+    }
+
+    @Test
+    public void testCompactBlobIsSmallerThanJavaBlob() throws Exception {
+
+        SessionContext sessionContext = buildSessionContext();
+
+        int compactSize = readFully(compactSessionSerializer.serializeSessionObject(sessionContext));
+        int javaSize = readFully(javaSessionSerializer.serializeSessionObject(sessionContext));
+
+        assertTrue(compactSize < javaSize, "Compact blob size: " + compactSize + ", Java blob size: " + javaSize);
+    }
+
+    @Test
+    public void testDeserializeJavaSerializedSessionContext() throws Exception {
+
+        SessionContext deserializedContext = (SessionContext) compactSessionSerializer.deSerializeSessionObject(
+                javaSessionSerializer.serializeSessionObject(buildSessionContext()));
+
+        assertEquals(deserializedContext.getAuthenticatedIdPs().get("LOCAL").getUser().getUserName(), "admin");
+    }
+
+    private SessionContext buildSessionContext() {
+
+        AuthenticatedUser authenticatedUser = new AuthenticatedUser();
+        authenticatedUser.setUserName("admin");
+        authenticatedUser.setTenantDomain("carbon.super");
+        authenticatedUser.setUserStoreDomain("PRIMARY");
+
+        AuthenticatedIdPData idPData = new AuthenticatedIdPData();
+        idPData.setIdpName("LOCAL");
+        idPData.setUser(authenticatedUser);
+
+        Map<String, AuthenticatedIdPData> authenticatedIdPs = new HashMap<>();
+        authenticatedIdPs.put("LOCAL", idPData);
+
+        SessionContext sessionContext = new SessionContext();
+        sessionContext.setAuthenticatedIdPs(authenticatedIdPs);
+        sessionContext.setRememberMe(true);
+        sessionContext.addProperty("extension", new ExtensionObject("extension"));
+        return sessionContext;
+    }
+
+    private int readFully(InputStream inputStream) throws IOException {
+
+        int size = 0;
+        while (inputStream.read() != -1) {
+            size++;
+        }
+        return size;
+    }
+
+    /**
+     * Object which is not known to the compact serializer.
+     */
+    private static class ExtensionObject implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+        private final String value;
+
+        ExtensionObject(String value) {
+
+            this.value = value;
+        }
+
+        String getValue() {
+
+            return value;
+        }
+    }
+}
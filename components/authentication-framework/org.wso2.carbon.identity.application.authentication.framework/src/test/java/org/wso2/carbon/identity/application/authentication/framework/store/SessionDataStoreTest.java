@@ -26,14 +26,21 @@ import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 import org.wso2.carbon.context.CarbonContext;
 import org.wso2.carbon.identity.application.authentication.framework.internal.FrameworkServiceDataHolder;
+import org.wso2.carbon.identity.base.IdentityRuntimeException;
 import org.wso2.carbon.identity.common.testng.WithCarbonHome;
 import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.idp.mgt.util.IdPManagementUtil;
 
+import java.lang.reflect.Field;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
@@ -44,6 +51,9 @@ import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.withSettings;
 import static org.mockito.MockitoAnnotations.initMocks;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
 
 /**
  * Test class that includes unit tests of Session Data Store.
@@ -97,6 +107,159 @@ public class SessionDataStoreTest extends DataStoreBaseTest {
         }
     }
 
+    @Test
+    public void testCoalesceSessionOperations() {
+
+        SessionContextDO firstStore = new SessionContextDO("00000002", "sessionType", "first", 1000);
+        SessionContextDO secondStore = new SessionContextDO("00000002", "sessionType", "second", 2000);
+        SessionContextDO delete = new SessionContextDO("00000003", "sessionType", null, 3000);
+        SessionContextDO staleStore = new SessionContextDO("00000003", "sessionType", "stale", 1500);
+
+        List<SessionContextDO> operations = Arrays.asList(secondStore, firstStore, delete, staleStore);
+        Collection<SessionContextDO> coalescedOperations = SessionDataPersistTask.coalesce(operations);
+
+        assertEquals(coalescedOperations.size(), 2);
+        assertEquals(coalescedOperations.toArray()[0], secondStore);
+        assertEquals(coalescedOperations.toArray()[1], delete);
+    }
+
+    @Test(dependsOnMethods = "testPersistSessionData")
+    public void testPersistSessionDataBatch() throws Exception {
+
+        try (MockedStatic<CarbonContext> carbonContext = mockStatic(CarbonContext.class);
+             MockedStatic<IdentityTenantUtil> identityTenantUtil = mockStatic(IdentityTenantUtil.class);
+             MockedStatic<IdPManagementUtil> idPManagementUtil = mockStatic(IdPManagementUtil.class);
+             MockedStatic<IdentityUtil> identityUtil = mockStatic(IdentityUtil.class);
+             MockedStatic<FrameworkServiceDataHolder> frameworkServiceDataHolder =
+                     mockStatic(FrameworkServiceDataHolder.class);
+             MockedStatic<IdentityDatabaseUtil> identityDatabaseUtil = mockStatic(IdentityDatabaseUtil.class)) {
+            Connection connection = getConnection(DB_NAME);
+            mockIdentityDataBaseUtilConnection(connection, true, identityDatabaseUtil);
+            mockIdentityDataBaseUtilConnection(connection, false, identityDatabaseUtil);
+            mockCarbonContext(carbonContext);
+            mockIdentityUtils(identityTenantUtil, idPManagementUtil, identityUtil);
+            mockDataHolder(frameworkServiceDataHolder);
+
+            int unwrittenOperations = SessionDataStore.getInstance().persistSessionDataBatch(Arrays.asList(
+                    new SessionContextDO("00000004", "sessionType", "value4", 40000, 1),
+                    new SessionContextDO("00000005", "sessionType", "value5", 40000, 1),
+                    new SessionContextDO("00000006", "sessionType", null, 40000)));
+
+            assertEquals(unwrittenOperations, 0);
+
+            assertEquals(SessionDataStore.getInstance().getSessionData("00000004", "sessionType"), "value4");
+            assertEquals(SessionDataStore.getInstance().getSessionData("00000005", "sessionType"), "value5");
+            assertNull(SessionDataStore.getInstance().getSessionData("00000006", "sessionType"));
+        }
+    }
+
+    @Test(dependsOnMethods = "testPersistSessionData")
+    public void testPersistSessionDataBatchWithoutConnection() throws Exception {
+
+        try (MockedStatic<CarbonContext> carbonContext = mockStatic(CarbonContext.class);
+             MockedStatic<IdentityTenantUtil> identityTenantUtil = mockStatic(IdentityTenantUtil.class);
+             MockedStatic<IdPManagementUtil> idPManagementUtil = mockStatic(IdPManagementUtil.class);
+             MockedStatic<IdentityUtil> identityUtil = mockStatic(IdentityUtil.class);
+             MockedStatic<FrameworkServiceDataHolder> frameworkServiceDataHolder =
+                     mockStatic(FrameworkServiceDataHolder.class);
+             MockedStatic<IdentityDatabaseUtil> identityDatabaseUtil = mockStatic(IdentityDatabaseUtil.class)) {
+            identityDatabaseUtil.when(() -> IdentityDatabaseUtil.getSessionDBConnection(true))
+                    .thenThrow(IdentityRuntimeException.error("Database is unavailable."));
+            mockCarbonContext(carbonContext);
+            mockIdentityUtils(identityTenantUtil, idPManagementUtil, identityUtil);
+            mockDataHolder(frameworkServiceDataHolder);
+
+            int unwrittenOperations = SessionDataStore.getInstance().persistSessionDataBatch(Arrays.asList(
+                    new SessionContextDO("00000011", "sessionType", "value11", 40000, 1),
+                    new SessionContextDO("00000012", "sessionType", "value12", 40000, 1)));
+
+            assertEquals(unwrittenOperations, 2);
+        }
+    }
+
+    @Test(dependsOnMethods = "testPersistSessionData")
+    public void testGetSessionContextDataInBulk() throws Exception {
+
+        try (MockedStatic<CarbonContext> carbonContext = mockStatic(CarbonContext.class);
+             MockedStatic<IdentityTenantUtil> identityTenantUtil = mockStatic(IdentityTenantUtil.class);
+             MockedStatic<IdPManagementUtil> idPManagementUtil = mockStatic(IdPManagementUtil.class);
+             MockedStatic<IdentityUtil> identityUtil = mockStatic(IdentityUtil.class);
+             MockedStatic<FrameworkServiceDataHolder> frameworkServiceDataHolder =
+                     mockStatic(FrameworkServiceDataHolder.class);
+             MockedStatic<IdentityDatabaseUtil> identityDatabaseUtil = mockStatic(IdentityDatabaseUtil.class)) {
+            Connection connection = getConnection(DB_NAME);
+            mockIdentityDataBaseUtilConnection(connection, true, identityDatabaseUtil);
+            mockIdentityDataBaseUtilConnection(connection, false, identityDatabaseUtil);
+            mockCarbonContext(carbonContext);
+            mockIdentityUtils(identityTenantUtil, idPManagementUtil, identityUtil);
+            mockDataHolder(frameworkServiceDataHolder);
+
+            long nanoTime = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+            SessionDataStore.getInstance().persistSessionDataBatch(Arrays.asList(
+                    new SessionContextDO("00000007", "sessionType", "stale7", nanoTime, 1),
+                    new SessionContextDO("00000008", "sessionType", "value8", nanoTime, 1),
+                    new SessionContextDO("00000009", "sessionType", "value9", nanoTime, 1)));
+            SessionDataStore.getInstance().persistSessionDataBatch(Arrays.asList(
+                    new SessionContextDO("00000007", "sessionType", "value7", nanoTime + 1000, 1),
+                    new SessionContextDO("00000009", "sessionType", null, nanoTime + 1000)));
+
+            Map<String, SessionContextDO> sessionContextData = SessionDataStore.getInstance().getSessionContextData(
+                    Arrays.asList("00000007", "00000008", "00000009", "00000010", "00000008"), "sessionType");
+
+            assertEquals(sessionContextData.size(), 2);
+            assertEquals(sessionContextData.get("00000007").getEntry(), "value7");
+            assertEquals(sessionContextData.get("00000008").getEntry(), "value8");
+            assertEquals(sessionContextData.get("00000008").getNanoTime(), nanoTime);
+        }
+    }
+
+    @Test(dependsOnMethods = "testPersistSessionData")
+    public void testFlushSessionTouches() throws Exception {
+
+        try (MockedStatic<CarbonContext> carbonContext = mockStatic(CarbonContext.class);
+             MockedStatic<IdentityTenantUtil> identityTenantUtil = mockStatic(IdentityTenantUtil.class);
+             MockedStatic<IdPManagementUtil> idPManagementUtil = mockStatic(IdPManagementUtil.class);
+             MockedStatic<IdentityUtil> identityUtil = mockStatic(IdentityUtil.class);
+             MockedStatic<FrameworkServiceDataHolder> frameworkServiceDataHolder =
+                     mockStatic(FrameworkServiceDataHolder.class);
+             MockedStatic<IdentityDatabaseUtil> identityDatabaseUtil = mockStatic(IdentityDatabaseUtil.class)) {
+            Connection connection = getConnection(DB_NAME);
+            mockIdentityDataBaseUtilConnection(connection, true, identityDatabaseUtil);
+            mockIdentityDataBaseUtilConnection(connection, false, identityDatabaseUtil);
+            mockCarbonContext(carbonContext);
+            mockIdentityUtils(identityTenantUtil, idPManagementUtil, identityUtil);
+            mockDataHolder(frameworkServiceDataHolder);
+            Object sessionTouchEnabled = setStaticField("sessionTouchEnabled", true);
+            Object maxSessionDataPoolSize = setStaticField("maxSessionDataPoolSize", 0);
+            try {
+                SessionDataStore sessionDataStore = SessionDataStore.getInstance();
+                sessionDataStore.storeSessionData("00000011", "sessionType", "value11", 1, true);
+                long storedTime = sessionDataStore.getSessionContextData("00000011", "sessionType").getNanoTime();
+
+                // An unchanged session is only touched, until the touches are flushed. The session object is compared
+                // as it is serialized to be written.
+                sessionDataStore.storeSessionData("00000011", "sessionType", "value11", 1, true);
+                assertEquals(sessionDataStore.getSessionContextData("00000011", "sessionType").getNanoTime(),
+                        storedTime);
+                sessionDataStore.flushSessionTouches();
+                SessionContextDO touchedData = sessionDataStore.getSessionContextData("00000011", "sessionType");
+                assertEquals(touchedData.getEntry(), "value11");
+                assertTrue(touchedData.getNanoTime() > storedTime);
+
+                // A changed session is stored as a whole, superseding its pending touch.
+                sessionDataStore.storeSessionData("00000011", "sessionType", "value11", 1, true);
+                sessionDataStore.storeSessionData("00000011", "sessionType", "changed11", 1, true);
+                sessionDataStore.flushSessionTouches();
+                SessionContextDO changedData = sessionDataStore.getSessionContextData("00000011", "sessionType");
+                assertEquals(changedData.getEntry(), "changed11");
+                assertTrue(changedData.getNanoTime() > touchedData.getNanoTime());
+            } finally {
+                setStaticField("sessionTouchEnabled", sessionTouchEnabled);
+                setStaticField("maxSessionDataPoolSize", maxSessionDataPoolSize);
+            }
+        }
+    }
+
     @Test(dependsOnMethods = "testPersistSessionData")
     public void testRemoveExpiredSessionData() throws Exception {
 
@@ -113,6 +276,15 @@ public class SessionDataStoreTest extends DataStoreBaseTest {
         }
     }
 
+    private Object setStaticField(String fieldName, Object value) throws ReflectiveOperationException {
+
+        Field field = SessionDataStore.class.getDeclaredField(fieldName);
+        field.setAccessible(true);
+        Object previousValue = field.get(null);
+        field.set(null, value);
+        return previousValue;
+    }
+
     private void mockCarbonContext(MockedStatic<CarbonContext> carbonContext) {
 
         CarbonContext mockCarbonContext = mock(CarbonContext.class);
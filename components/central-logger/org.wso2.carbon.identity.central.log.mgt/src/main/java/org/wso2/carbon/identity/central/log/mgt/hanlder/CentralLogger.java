@@ -18,10 +18,20 @@
 
 package org.wso2.carbon.identity.central.log.mgt.hanlder;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.slf4j.MDC;
+import org.wso2.carbon.context.CarbonContext;
+import org.wso2.carbon.identity.central.log.mgt.internal.CentralLogMgtServiceComponentHolder;
+import org.wso2.carbon.identity.central.log.mgt.pipeline.LogPublishingPipeline;
+import org.wso2.carbon.identity.central.log.mgt.pipeline.LogRecord;
+import org.wso2.carbon.identity.central.log.mgt.pipeline.LogSink;
 import org.wso2.carbon.identity.event.event.Event;
 import org.wso2.carbon.identity.event.handler.AbstractEventHandler;
 import org.wso2.carbon.utils.CarbonUtils;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import static org.wso2.carbon.identity.event.IdentityEventConstants.Event.PUBLISH_AUDIT_LOG;
@@ -32,6 +42,8 @@ import static org.wso2.carbon.identity.event.IdentityEventConstants.Event.PUBLIS
  */
 public class CentralLogger extends AbstractEventHandler {
 
+    private static final Log LOG = LogFactory.getLog(CentralLogger.class);
+
     @Override
     public void handleEvent(Event event) {
 
@@ -39,6 +51,17 @@ public class CentralLogger extends AbstractEventHandler {
         Map<String, Object> eventProperties = event.getEventProperties();
 
         // This central log event handler handles only audit logs and diagnostic logs.
+        if (!PUBLISH_AUDIT_LOG.equals(eventName) && !PUBLISH_DIAGNOSTIC_LOG.equals(eventName)) {
+            return;
+        }
+
+        LogPublishingPipeline logPublishingPipeline =
+                CentralLogMgtServiceComponentHolder.getInstance().getLogPublishingPipeline();
+        if (logPublishingPipeline != null) {
+            logPublishingPipeline.publish(createLogRecord(eventName, eventProperties));
+            return;
+        }
+
         switch (eventName) {
             case PUBLISH_AUDIT_LOG:
                 CarbonUtils.publishAuditLogs(eventProperties);
@@ -49,5 +72,39 @@ public class CentralLogger extends AbstractEventHandler {
             default:
                 break;
         }
+        publishToLogSinks(eventName, eventProperties);
+    }
+
+    /**
+     * Publish a log to the sinks registered as OSGi services, when logs are not published asynchronously.
+     *
+     * @param eventName       Name of the log event.
+     * @param eventProperties Properties of the log event.
+     */
+    private void publishToLogSinks(String eventName, Map<String, Object> eventProperties) {
+
+        List<LogSink> logSinks = CentralLogMgtServiceComponentHolder.getInstance().getLogSinks();
+        if (logSinks.isEmpty()) {
+            return;
+        }
+        List<LogRecord> logRecords = Collections.singletonList(createLogRecord(eventName, eventProperties));
+        for (LogSink logSink : logSinks) {
+            try {
+                // Calls to a sink are serialized on the sink, as with the log publishing pipeline.
+                synchronized (logSink) {
+                    logSink.publish(logRecords);
+                }
+            } catch (RuntimeException e) {
+                LOG.error("Error while publishing the log of event: " + eventName + " to the log sink: " +
+                        logSink.getName(), e);
+            }
+        }
+    }
+
+    private LogRecord createLogRecord(String eventName, Map<String, Object> eventProperties) {
+
+        CarbonContext carbonContext = CarbonContext.getThreadLocalCarbonContext();
+        return new LogRecord(eventName, eventProperties, MDC.getCopyOfContextMap(), carbonContext.getTenantDomain(),
+                carbonContext.getTenantId());
     }
 }
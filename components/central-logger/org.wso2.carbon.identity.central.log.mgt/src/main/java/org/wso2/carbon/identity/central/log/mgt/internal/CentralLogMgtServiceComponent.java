@@ -18,6 +18,7 @@
 
 package org.wso2.carbon.identity.central.log.mgt.internal;
 
+import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.osgi.framework.BundleContext;
@@ -30,9 +31,26 @@ import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
 import org.wso2.carbon.identity.central.log.mgt.hanlder.CentralLogger;
+import org.wso2.carbon.identity.central.log.mgt.pipeline.CarbonLogSink;
+import org.wso2.carbon.identity.central.log.mgt.pipeline.FileLogSink;
+import org.wso2.carbon.identity.central.log.mgt.pipeline.LogPublishingPipeline;
+import org.wso2.carbon.identity.central.log.mgt.pipeline.LogPublishingPipeline.OverflowPolicy;
+import org.wso2.carbon.identity.central.log.mgt.pipeline.LogPublishingStatsMXBean;
+import org.wso2.carbon.identity.central.log.mgt.pipeline.LogSink;
+import org.wso2.carbon.identity.central.log.mgt.utils.LogConstants.AsyncPublishing;
 import org.wso2.carbon.identity.central.log.mgt.utils.LoggerUtils;
+import org.wso2.carbon.identity.core.util.IdentityMBeanUtil;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.event.handler.AbstractEventHandler;
 import org.wso2.carbon.identity.event.services.IdentityEventService;
+import org.wso2.carbon.utils.CarbonUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 
 /**
  * OSGi declarative services component which handled activation and deactivation of central logger event handler.
@@ -44,7 +62,10 @@ import org.wso2.carbon.identity.event.services.IdentityEventService;
 public class CentralLogMgtServiceComponent {
 
     private static final Log log = LogFactory.getLog(CentralLogMgtServiceComponent.class);
+    private static final String LOG_PUBLISHING_STATS_MBEAN_TYPE = "CentralLogPublishingStatistics";
+    private static final String LOG_PUBLISHING_STATS_MBEAN_NAME = "LogPublishingPipeline";
     private ServiceRegistration serviceRegistration = null;
+    private final List<LogSink> defaultLogSinks = new ArrayList<>();
 
     @Activate
     protected void activate(ComponentContext context) {
@@ -57,6 +78,7 @@ public class CentralLogMgtServiceComponent {
             log.debug("Central logger event handler is activated.");
         }
         LoggerUtils.getLogMaskingConfigValue();
+        startLogPublishingPipeline();
     }
 
     @Deactivate
@@ -69,6 +91,7 @@ public class CentralLogMgtServiceComponent {
         if (serviceRegistration != null) {
             serviceRegistration.unregister();
         }
+        stopLogPublishingPipeline();
     }
 
     @Reference(
@@ -90,4 +113,113 @@ public class CentralLogMgtServiceComponent {
 
         CentralLogMgtServiceComponentHolder.getInstance().setIdentityEventService(null);
     }
+
+    @Reference(
+            name = "central.log.sink",
+            service = LogSink.class,
+            cardinality = ReferenceCardinality.MULTIPLE,
+            policy = ReferencePolicy.DYNAMIC,
+            unbind = "removeLogSink"
+    )
+    protected void addLogSink(LogSink logSink) {
+
+        CentralLogMgtServiceComponentHolder.getInstance().getLogSinks().add(logSink);
+        if (log.isDebugEnabled()) {
+            log.debug("Log sink: " + logSink.getName() + " added to the central logger.");
+        }
+    }
+
+    protected void removeLogSink(LogSink logSink) {
+
+        CentralLogMgtServiceComponentHolder.getInstance().getLogSinks().remove(logSink);
+    }
+
+    private void startLogPublishingPipeline() {
+
+        if (!Boolean.parseBoolean(IdentityUtil.getProperty(AsyncPublishing.ENABLE))) {
+            if (log.isDebugEnabled()) {
+                log.debug("Asynchronous log publishing is disabled. Logs are published by the triggering thread.");
+            }
+            return;
+        }
+
+        defaultLogSinks.add(new CarbonLogSink());
+        if (Boolean.parseBoolean(IdentityUtil.getProperty(AsyncPublishing.FILE_SINK_ENABLE))) {
+            String filePath = IdentityUtil.getProperty(AsyncPublishing.FILE_SINK_PATH);
+            Path logFilePath = StringUtils.isNotBlank(filePath) ? Paths.get(filePath.trim()) :
+                    Paths.get(CarbonUtils.getCarbonHome(), "repository", "logs",
+                            AsyncPublishing.DEFAULT_FILE_SINK_FILE_NAME);
+            try {
+                defaultLogSinks.add(new FileLogSink(logFilePath));
+            } catch (IOException e) {
+                log.error("Error while opening the central log file: " + logFilePath + ". Logs will not be " +
+                        "written to the file.", e);
+            }
+        }
+        LogPublishingPipeline logPublishingPipeline = new LogPublishingPipeline(
+                getPositiveIntProperty(AsyncPublishing.QUEUE_SIZE, AsyncPublishing.DEFAULT_QUEUE_SIZE),
+                getPositiveIntProperty(AsyncPublishing.MAX_BATCH_SIZE, AsyncPublishing.DEFAULT_MAX_BATCH_SIZE),
+                getOverflowPolicy(AsyncPublishing.AUDIT_LOG_OVERFLOW_POLICY, OverflowPolicy.BLOCK),
+                getOverflowPolicy(AsyncPublishing.DIAGNOSTIC_LOG_OVERFLOW_POLICY, OverflowPolicy.DROP),
+                getPositiveIntProperty(AsyncPublishing.BLOCK_TIMEOUT, AsyncPublishing.DEFAULT_BLOCK_TIMEOUT_IN_MILLIS),
+                new ArrayList<>(defaultLogSinks), CentralLogMgtServiceComponentHolder.getInstance().getLogSinks());
+        logPublishingPipeline.start();
+        CentralLogMgtServiceComponentHolder.getInstance().setLogPublishingPipeline(logPublishingPipeline);
+        IdentityMBeanUtil.registerMBean(LOG_PUBLISHING_STATS_MBEAN_TYPE, LOG_PUBLISHING_STATS_MBEAN_NAME,
+                logPublishingPipeline.getStats(), LogPublishingStatsMXBean.class);
+        if (log.isDebugEnabled()) {
+            log.debug("Asynchronous log publishing pipeline is started.");
+        }
+    }
+
+    private void stopLogPublishingPipeline() {
+
+        LogPublishingPipeline logPublishingPipeline =
+                CentralLogMgtServiceComponentHolder.getInstance().getLogPublishingPipeline();
+        if (logPublishingPipeline == null) {
+            return;
+        }
+        CentralLogMgtServiceComponentHolder.getInstance().setLogPublishingPipeline(null);
+        IdentityMBeanUtil.unregisterMBean(LOG_PUBLISHING_STATS_MBEAN_TYPE, LOG_PUBLISHING_STATS_MBEAN_NAME);
+        logPublishingPipeline.shutdown(getPositiveIntProperty(AsyncPublishing.SHUTDOWN_TIMEOUT,
+                AsyncPublishing.DEFAULT_SHUTDOWN_TIMEOUT_IN_MILLIS));
+        for (LogSink logSink : defaultLogSinks) {
+            logSink.close();
+        }
+        defaultLogSinks.clear();
+    }
+
+    private static int getPositiveIntProperty(String propertyName, int defaultValue) {
+
+        String value = IdentityUtil.getProperty(propertyName);
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+        try {
+            int intValue = Integer.parseInt(value.trim());
+            if (intValue > 0) {
+                return intValue;
+            }
+        } catch (NumberFormatException e) {
+            // Fall through to the default value.
+        }
+        log.warn("Invalid value: " + value + " configured for: " + propertyName + ". Using the default value: " +
+                defaultValue);
+        return defaultValue;
+    }
+
+    private static OverflowPolicy getOverflowPolicy(String propertyName, OverflowPolicy defaultPolicy) {
+
+        String value = IdentityUtil.getProperty(propertyName);
+        if (StringUtils.isBlank(value)) {
+            return defaultPolicy;
+        }
+        try {
+            return OverflowPolicy.valueOf(value.trim().toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid overflow policy: " + value + " configured for: " + propertyName +
+                    ". Using the default policy: " + defaultPolicy);
+            return defaultPolicy;
+        }
+    }
 }
@@ -18,8 +18,13 @@
 
 package org.wso2.carbon.identity.central.log.mgt.internal;
 
+import org.wso2.carbon.identity.central.log.mgt.pipeline.LogPublishingPipeline;
+import org.wso2.carbon.identity.central.log.mgt.pipeline.LogSink;
 import org.wso2.carbon.identity.event.services.IdentityEventService;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 /**
  * Service component holder class for central logger.
  */
@@ -38,6 +43,8 @@ public class CentralLogMgtServiceComponentHolder {
     }
 
     private IdentityEventService identityEventService;
+    private final List<LogSink> logSinks = new CopyOnWriteArrayList<>();
+    private volatile LogPublishingPipeline logPublishingPipeline;
 
     /**
      * Set identity event service.
@@ -58,4 +65,35 @@ public class CentralLogMgtServiceComponentHolder {
 
         return identityEventService;
     }
+
+    /**
+     * Return the sinks registered as OSGi services, to which the logs are published. The returned list is live and
+     * safe to modify concurrently.
+     *
+     * @return Registered log sinks.
+     */
+    public List<LogSink> getLogSinks() {
+
+        return logSinks;
+    }
+
+    /**
+     * Set log publishing pipeline.
+     *
+     * @param logPublishingPipeline Log publishing pipeline.
+     */
+    public void setLogPublishingPipeline(LogPublishingPipeline logPublishingPipeline) {
+
+        this.logPublishingPipeline = logPublishingPipeline;
+    }
+
+    /**
+     * Return log publishing pipeline.
+     *
+     * @return Log publishing pipeline, or null if logs are published synchronously.
+     */
+    public LogPublishingPipeline getLogPublishingPipeline() {
+
+        return logPublishingPipeline;
+    }
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.central.log.mgt.pipeline;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.slf4j.MDC;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.utils.CarbonUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.wso2.carbon.identity.event.IdentityEventConstants.Event.PUBLISH_AUDIT_LOG;
+import static org.wso2.carbon.identity.event.IdentityEventConstants.Event.PUBLISH_DIAGNOSTIC_LOG;
+
+/**
+ * Sink which publishes the logs to the carbon audit and diagnostic loggers, as the central logger did before logs
+ * were published asynchronously.
+ * <p>
+ * The MDC context map and the tenant of the thread which triggered a log are restored while the log is published,
+ * so that the log layouts render the same correlation ID and tenant as they would on the triggering thread.
+ */
+public class CarbonLogSink implements LogSink {
+
+    private static final Log LOG = LogFactory.getLog(CarbonLogSink.class);
+    private static final String NAME = "CarbonLogSink";
+
+    @Override
+    public String getName() {
+
+        return NAME;
+    }
+
+    @Override
+    public void publish(List<LogRecord> logRecords) {
+
+        // Logs may be published by the triggering thread, whose own context map is restored afterwards.
+        Map<String, String> contextMap = MDC.getCopyOfContextMap();
+        try {
+            publishWithContext(logRecords);
+        } finally {
+            if (contextMap != null) {
+                MDC.setContextMap(contextMap);
+            }
+        }
+    }
+
+    private void publishWithContext(List<LogRecord> logRecords) {
+
+        for (LogRecord logRecord : logRecords) {
+            MDC.setContextMap(logRecord.getContextMap());
+            PrivilegedCarbonContext.startTenantFlow();
+            try {
+                PrivilegedCarbonContext carbonContext = PrivilegedCarbonContext.getThreadLocalCarbonContext();
+                carbonContext.setTenantId(logRecord.getTenantId());
+                carbonContext.setTenantDomain(logRecord.getTenantDomain());
+                publish(logRecord);
+            } catch (RuntimeException e) {
+                LOG.error("Error while publishing the log of event: " + logRecord.getEventName(), e);
+            } finally {
+                PrivilegedCarbonContext.endTenantFlow();
+                MDC.clear();
+            }
+        }
+    }
+
+    private void publish(LogRecord logRecord) {
+
+        switch (logRecord.getEventName()) {
+            case PUBLISH_AUDIT_LOG:
+                CarbonUtils.publishAuditLogs(logRecord.getEventProperties());
+                break;
+            case PUBLISH_DIAGNOSTIC_LOG:
+                CarbonUtils.publishDiagnosticLog(logRecord.getEventProperties());
+                break;
+            default:
+                break;
+        }
+    }
+}
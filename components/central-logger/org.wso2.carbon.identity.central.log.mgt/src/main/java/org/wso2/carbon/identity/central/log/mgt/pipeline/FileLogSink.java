@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.central.log.mgt.pipeline;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Sink which appends the logs to a local file, one JSON document per line.
+ * <p>
+ * A batch is written through a buffered writer and flushed once, hence the file is written with a single system call
+ * per batch in the common case, instead of once per log.
+ */
+public class FileLogSink implements LogSink {
+
+    private static final Log LOG = LogFactory.getLog(FileLogSink.class);
+    private static final String NAME = "FileLogSink";
+
+    private final Gson gson = new Gson();
+    private final Path filePath;
+    private final BufferedWriter writer;
+
+    /**
+     * @param filePath Path of the file to which the logs are appended. The file is created if it does not exist.
+     * @throws IOException If the file cannot be opened.
+     */
+    public FileLogSink(Path filePath) throws IOException {
+
+        this.filePath = filePath;
+        Path parent = filePath.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.writer = Files.newBufferedWriter(filePath, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public String getName() {
+
+        return NAME;
+    }
+
+    @Override
+    public void publish(List<LogRecord> logRecords) {
+
+        try {
+            for (LogRecord logRecord : logRecords) {
+                String line;
+                try {
+                    line = toJson(logRecord);
+                } catch (RuntimeException e) {
+                    LOG.error("Error while serializing the log of event: " + logRecord.getEventName(), e);
+                    continue;
+                }
+                writer.write(line);
+                writer.newLine();
+            }
+            writer.flush();
+        } catch (IOException e) {
+            LOG.error("Error while writing " + logRecords.size() + " logs to the file: " + filePath, e);
+        }
+    }
+
+    @Override
+    public void close() {
+
+        try {
+            writer.close();
+        } catch (IOException e) {
+            LOG.error("Error while closing the log file: " + filePath, e);
+        }
+    }
+
+    private String toJson(LogRecord logRecord) {
+
+        JsonObject json = new JsonObject();
+        json.addProperty("event", logRecord.getEventName());
+        json.addProperty("tenantDomain", logRecord.getTenantDomain());
+        json.add("context", gson.toJsonTree(logRecord.getContextMap()));
+        json.add("properties", gson.toJsonTree(logRecord.getEventProperties()));
+        return gson.toJson(json);
+    }
+}
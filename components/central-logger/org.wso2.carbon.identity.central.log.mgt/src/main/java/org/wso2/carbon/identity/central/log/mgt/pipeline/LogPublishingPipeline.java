@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.central.log.mgt.pipeline;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.wso2.carbon.identity.event.IdentityEventConstants.Event.PUBLISH_AUDIT_LOG;
+
+/**
+ * Publishes audit and diagnostic logs to the log sinks on a dedicated publisher thread.
+ * <p>
+ * Logs are queued in a bounded ring buffer, so that the thread which triggered a log, e.g. a login request, does not
+ * wait for the sinks. The publisher thread drains the buffer in batches of up to the configured size and hands each
+ * batch to every sink, in the order the logs were queued.
+ * <p>
+ * Once the buffer is full, the triggering thread either waits for a bounded time for space or gives up at once,
+ * depending on the overflow policy of the log type. A diagnostic log which does not get into the buffer is dropped, as
+ * diagnostic logs are best effort. An audit log is never dropped. The triggering thread publishes it to the sinks
+ * itself, ahead of the logs in the buffer. The same applies to every log once the pipeline is stopped.
+ */
+public class LogPublishingPipeline {
+
+    private static final Log LOG = LogFactory.getLog(LogPublishingPipeline.class);
+    private static final String PUBLISHER_THREAD_NAME = "central-log-publisher";
+    private static final long POLL_INTERVAL_IN_MILLIS = 1000;
+    private static final long DROPPED_LOG_WARN_INTERVAL = 1000;
+
+    /**
+     * Action taken when a log is triggered while the buffer is full.
+     */
+    public enum OverflowPolicy {
+
+        /**
+         * Do not wait for space in the buffer.
+         */
+        DROP,
+
+        /**
+         * Wait for space in the buffer, up to the block timeout.
+         */
+        BLOCK
+    }
+
+    private final BlockingQueue<LogRecord> logRecordQueue;
+    private final int maxBatchSize;
+    private final OverflowPolicy auditLogOverflowPolicy;
+    private final OverflowPolicy diagnosticLogOverflowPolicy;
+    private final long blockTimeoutInMillis;
+    private final List<LogSink> logSinks;
+    private final List<LogSink> registeredLogSinks;
+    private final LogPublishingStats stats;
+
+    private volatile boolean running;
+    private Thread publisherThread;
+
+    /**
+     * @param queueSize                   Maximum number of logs waiting to be published.
+     * @param maxBatchSize                Maximum number of logs handed to a sink at once.
+     * @param auditLogOverflowPolicy      Overflow policy of audit logs.
+     * @param diagnosticLogOverflowPolicy Overflow policy of diagnostic logs.
+     * @param blockTimeoutInMillis        Maximum time a log waits for space in the buffer, with the BLOCK policy.
+     * @param logSinks                    Sinks owned by the pipeline, to which the logs are published.
+     * @param registeredLogSinks          Sinks registered by other components, to which the logs are published after
+     *                                    the sinks of the pipeline. Sinks added to, or removed from, the list take
+     *                                    effect from the next batch, hence the list should be safe to iterate while
+     *                                    it is being modified.
+     */
+    public LogPublishingPipeline(int queueSize, int maxBatchSize, OverflowPolicy auditLogOverflowPolicy,
+                                 OverflowPolicy diagnosticLogOverflowPolicy, long blockTimeoutInMillis,
+                                 List<LogSink> logSinks, List<LogSink> registeredLogSinks) {
+
+        this.logRecordQueue = new ArrayBlockingQueue<>(queueSize);
+        this.maxBatchSize = maxBatchSize;
+        this.auditLogOverflowPolicy = auditLogOverflowPolicy;
+        this.diagnosticLogOverflowPolicy = diagnosticLogOverflowPolicy;
+        this.blockTimeoutInMillis = blockTimeoutInMillis;
+        this.logSinks = logSinks;
+        this.registeredLogSinks = registeredLogSinks;
+        this.stats = new LogPublishingStats(logRecordQueue);
+    }
+
+    /**
+     * Start the publisher thread.
+     */
+    public synchronized void start() {
+
+        if (running) {
+            return;
+        }
+        running = true;
+        publisherThread = new Thread(this::publishLogs, PUBLISHER_THREAD_NAME);
+        publisherThread.setDaemon(true);
+        publisherThread.start();
+    }
+
+    /**
+     * Stop queueing logs and wait, up to the given timeout, for the publisher thread to publish the logs which are
+     * already queued. Logs triggered from then on are published by the triggering thread. If the publisher thread does
+     * not finish in time, the audit logs which are still queued are published by the calling thread, as audit logs are
+     * never dropped, and the diagnostic logs are dropped.
+     *
+     * @param timeoutInMillis Maximum time to wait for the queued logs to be published.
+     */
+    public synchronized void shutdown(long timeoutInMillis) {
+
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            publisherThread.join(timeoutInMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (publisherThread.isAlive()) {
+            publisherThread.interrupt();
+            publishQueuedAuditLogs(timeoutInMillis);
+            return;
+        }
+        publishQueuedLogs();
+    }
+
+    /**
+     * @return True if the pipeline queues logs to be published by the publisher thread.
+     */
+    public boolean isRunning() {
+
+        return running;
+    }
+
+    /**
+     * Queue a log to be published, or publish it on the calling thread if it cannot be queued.
+     *
+     * @param logRecord Log to be published.
+     * @return True if the log was queued or published, false if it was dropped.
+     */
+    public boolean publish(LogRecord logRecord) {
+
+        if (!running) {
+            publishBatch(Collections.singletonList(logRecord));
+            return true;
+        }
+        boolean isAuditLog = PUBLISH_AUDIT_LOG.equals(logRecord.getEventName());
+        OverflowPolicy overflowPolicy = isAuditLog ? auditLogOverflowPolicy : diagnosticLogOverflowPolicy;
+        long startTime = System.nanoTime();
+        boolean queued;
+        if (overflowPolicy == OverflowPolicy.BLOCK) {
+            try {
+                queued = logRecordQueue.offer(logRecord, blockTimeoutInMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                queued = false;
+            }
+        } else {
+            queued = logRecordQueue.offer(logRecord);
+        }
+        stats.recordEnqueue(System.nanoTime() - startTime);
+
+        if (queued) {
+            if (!running) {
+                // The pipeline was stopped while the log was being queued, and the publisher thread may have exited
+                // before the log was queued.
+                publishQueuedLogs();
+            }
+            return true;
+        }
+        if (isAuditLog) {
+            stats.recordSynchronouslyPublishedAuditLog();
+            publishBatch(Collections.singletonList(logRecord));
+            return true;
+        }
+        long droppedLogCount = stats.recordDroppedLog();
+        if (droppedLogCount == 1 || droppedLogCount % DROPPED_LOG_WARN_INTERVAL == 0) {
+            LOG.warn("Central log publishing buffer is full. " + droppedLogCount + " diagnostic logs have been " +
+                    "dropped so far.");
+        } else if (LOG.isDebugEnabled()) {
+            LOG.debug("Central log publishing buffer is full. Dropped the log of event: " + logRecord.getEventName());
+        }
+        return false;
+    }
+
+    /**
+     * @return Runtime statistics of the pipeline.
+     */
+    public LogPublishingStats getStats() {
+
+        return stats;
+    }
+
+    private void publishLogs() {
+
+        List<LogRecord> batch = new ArrayList<>(maxBatchSize);
+        // Once the pipeline is stopped, keep publishing until the logs which are already queued are published.
+        while (running || !logRecordQueue.isEmpty()) {
+            try {
+                LogRecord logRecord = logRecordQueue.poll(POLL_INTERVAL_IN_MILLIS, TimeUnit.MILLISECONDS);
+                if (logRecord == null) {
+                    continue;
+                }
+                batch.add(logRecord);
+                logRecordQueue.drainTo(batch, maxBatchSize - 1);
+                publishBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Central log publisher stopped.");
+        }
+    }
+
+    private void publishQueuedLogs() {
+
+        List<LogRecord> batch = new ArrayList<>(maxBatchSize);
+        while (logRecordQueue.drainTo(batch, maxBatchSize) > 0) {
+            publishBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void publishQueuedAuditLogs(long timeoutInMillis) {
+
+        List<LogRecord> logRecords = new ArrayList<>(logRecordQueue.size());
+        logRecordQueue.drainTo(logRecords);
+        List<LogRecord> auditLogRecords = new ArrayList<>(logRecords.size());
+        for (LogRecord logRecord : logRecords) {
+            if (PUBLISH_AUDIT_LOG.equals(logRecord.getEventName())) {
+                auditLogRecords.add(logRecord);
+            } else {
+                stats.recordDroppedLog();
+            }
+        }
+        LOG.warn("Central log publisher did not publish the queued logs within " + timeoutInMillis + " ms. " +
+                auditLogRecords.size() + " audit logs will be published by the calling thread, and " +
+                (logRecords.size() - auditLogRecords.size()) + " diagnostic logs will not be published.");
+        for (int i = 0; i < auditLogRecords.size(); i += maxBatchSize) {
+            publishBatch(auditLogRecords.subList(i, Math.min(i + maxBatchSize, auditLogRecords.size())));
+        }
+    }
+
+    private void publishBatch(List<LogRecord> batch) {
+
+        long startTime = System.nanoTime();
+        List<LogRecord> logRecords = Collections.unmodifiableList(batch);
+        for (LogSink logSink : logSinks) {
+            publishBatch(logSink, logRecords);
+        }
+        for (LogSink logSink : registeredLogSinks) {
+            publishBatch(logSink, logRecords);
+        }
+        stats.recordPublishedBatch(batch.size(), System.nanoTime() - startTime);
+    }
+
+    private void publishBatch(LogSink logSink, List<LogRecord> logRecords) {
+
+        try {
+            // Besides the publisher thread, triggering threads publish to the sinks, hence calls to a sink are
+            // serialized on the sink.
+            synchronized (logSink) {
+                logSink.publish(logRecords);
+            }
+        } catch (RuntimeException e) {
+            stats.recordFailedSinkCall();
+            LOG.error("Error while publishing " + logRecords.size() + " logs to the log sink: " + logSink.getName(),
+                    e);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.central.log.mgt.pipeline;
+
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runtime statistics of the log publishing pipeline. Values are cumulative from the start of the pipeline.
+ */
+public class LogPublishingStats implements LogPublishingStatsMXBean {
+
+    private final Queue<LogRecord> logRecordQueue;
+    private final LongAdder enqueueCount = new LongAdder();
+    private final LongAdder totalEnqueueTimeNanos = new LongAdder();
+    private final AtomicLong maxEnqueueTimeNanos = new AtomicLong();
+    private final LongAdder droppedDiagnosticLogCount = new LongAdder();
+    private final LongAdder synchronouslyPublishedAuditLogCount = new LongAdder();
+    private final LongAdder publishedBatchCount = new LongAdder();
+    private final LongAdder publishedLogCount = new LongAdder();
+    private final LongAdder totalPublishTimeNanos = new LongAdder();
+    private final LongAdder failedSinkCallCount = new LongAdder();
+
+    LogPublishingStats(Queue<LogRecord> logRecordQueue) {
+
+        this.logRecordQueue = logRecordQueue;
+    }
+
+    /**
+     * Record an attempt to queue a log, whether or not the log was queued.
+     *
+     * @param enqueueTimeNanos Time the triggering thread spent queueing the log.
+     */
+    void recordEnqueue(long enqueueTimeNanos) {
+
+        enqueueCount.increment();
+        totalEnqueueTimeNanos.add(enqueueTimeNanos);
+        maxEnqueueTimeNanos.accumulateAndGet(enqueueTimeNanos, Math::max);
+    }
+
+    /**
+     * Record a diagnostic log which was dropped as the buffer was full.
+     *
+     * @return Total number of logs dropped so far.
+     */
+    long recordDroppedLog() {
+
+        droppedDiagnosticLogCount.increment();
+        return getDroppedLogCount();
+    }
+
+    /**
+     * Record an audit log which was published by the triggering thread as the buffer was full.
+     */
+    void recordSynchronouslyPublishedAuditLog() {
+
+        synchronouslyPublishedAuditLogCount.increment();
+    }
+
+    /**
+     * Record a batch of logs handed to the sinks.
+     *
+     * @param batchSize        Number of logs in the batch.
+     * @param publishTimeNanos Time taken by the sinks to publish the batch.
+     */
+    void recordPublishedBatch(int batchSize, long publishTimeNanos) {
+
+        publishedBatchCount.increment();
+        publishedLogCount.add(batchSize);
+        totalPublishTimeNanos.add(publishTimeNanos);
+    }
+
+    /**
+     * Record a sink which failed to publish a batch.
+     */
+    void recordFailedSinkCall() {
+
+        failedSinkCallCount.increment();
+    }
+
+    @Override
+    public int getBacklog() {
+
+        return logRecordQueue.size();
+    }
+
+    @Override
+    public long getDroppedLogCount() {
+
+        return droppedDiagnosticLogCount.sum();
+    }
+
+    @Override
+    public long getSynchronouslyPublishedAuditLogCount() {
+
+        return synchronouslyPublishedAuditLogCount.sum();
+    }
+
+    @Override
+    public long getPublishedBatchCount() {
+
+        return publishedBatchCount.sum();
+    }
+
+    @Override
+    public long getPublishedLogCount() {
+
+        return publishedLogCount.sum();
+    }
+
+    @Override
+    public long getFailedSinkCallCount() {
+
+        return failedSinkCallCount.sum();
+    }
+
+    @Override
+    public long getAverageEnqueueTimeMicros() {
+
+        long count = enqueueCount.sum();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalEnqueueTimeNanos.sum() / count);
+    }
+
+    @Override
+    public long getMaxEnqueueTimeMicros() {
+
+        return TimeUnit.NANOSECONDS.toMicros(maxEnqueueTimeNanos.get());
+    }
+
+    @Override
+    public long getAveragePublishTimeMillis() {
+
+        long count = publishedBatchCount.sum();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalPublishTimeNanos.sum() / count);
+    }
+}
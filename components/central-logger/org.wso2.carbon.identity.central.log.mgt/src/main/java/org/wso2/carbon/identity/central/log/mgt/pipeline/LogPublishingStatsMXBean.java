@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.central.log.mgt.pipeline;
+
+/**
+ * JMX view of the runtime statistics of the log publishing pipeline.
+ */
+public interface LogPublishingStatsMXBean {
+
+    /**
+     * @return Number of logs waiting to be published.
+     */
+    int getBacklog();
+
+    /**
+     * @return Number of diagnostic logs dropped as the buffer was full, or as the pipeline was stopped before they were
+     * published. Audit logs are never dropped.
+     */
+    long getDroppedLogCount();
+
+    /**
+     * @return Number of audit logs published by the triggering thread as the buffer was full.
+     */
+    long getSynchronouslyPublishedAuditLogCount();
+
+    long getPublishedBatchCount();
+
+    long getPublishedLogCount();
+
+    long getFailedSinkCallCount();
+
+    /**
+     * @return Average time, in microseconds, a triggering thread spent queueing a log.
+     */
+    long getAverageEnqueueTimeMicros();
+
+    /**
+     * @return Maximum time, in microseconds, a triggering thread spent queueing a log.
+     */
+    long getMaxEnqueueTimeMicros();
+
+    /**
+     * @return Average time, in milliseconds, the sinks took to publish a batch.
+     */
+    long getAveragePublishTimeMillis();
+}
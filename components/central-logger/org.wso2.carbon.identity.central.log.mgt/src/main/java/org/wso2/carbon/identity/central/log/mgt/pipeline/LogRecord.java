@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.central.log.mgt.pipeline;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Audit or diagnostic log waiting to be published by the {@link LogPublishingPipeline}.
+ * <p>
+ * Besides the properties of the log event, the record carries the context of the thread which triggered the log,
+ * i.e. the MDC context map and the tenant of the carbon context, as sinks run on the publisher thread.
+ */
+public class LogRecord {
+
+    private final String eventName;
+    private final Map<String, Object> eventProperties;
+    private final Map<String, String> contextMap;
+    private final String tenantDomain;
+    private final int tenantId;
+
+    /**
+     * @param eventName       Name of the log event, i.e. PUBLISH_AUDIT_LOG or PUBLISH_DIAGNOSTIC_LOG.
+     * @param eventProperties Properties of the log event.
+     * @param contextMap      MDC context map of the thread which triggered the log. Can be null.
+     * @param tenantDomain    Tenant domain of the carbon context of the thread which triggered the log.
+     * @param tenantId        Tenant ID of the carbon context of the thread which triggered the log.
+     */
+    public LogRecord(String eventName, Map<String, Object> eventProperties, Map<String, String> contextMap,
+                     String tenantDomain, int tenantId) {
+
+        this.eventName = eventName;
+        this.eventProperties = eventProperties;
+        this.contextMap = contextMap != null ? contextMap : Collections.emptyMap();
+        this.tenantDomain = tenantDomain;
+        this.tenantId = tenantId;
+    }
+
+    public String getEventName() {
+
+        return eventName;
+    }
+
+    public Map<String, Object> getEventProperties() {
+
+        return eventProperties;
+    }
+
+    public Map<String, String> getContextMap() {
+
+        return contextMap;
+    }
+
+    public String getTenantDomain() {
+
+        return tenantDomain;
+    }
+
+    public int getTenantId() {
+
+        return tenantId;
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.central.log.mgt.pipeline;
+
+import java.util.List;
+
+/**
+ * Destination of the audit and diagnostic logs published by the {@link LogPublishingPipeline}.
+ * <p>
+ * Sinks are mostly invoked by the publisher thread of the pipeline, and by the thread which triggered a log when the
+ * log is not queued, e.g. when asynchronous publishing is disabled. Calls to a sink are serialized on the sink, hence
+ * an implementation does not need to be thread safe, but a slow sink delays the logs of every other sink. Additional
+ * sinks can be plugged in by registering an implementation of this interface as an OSGi service.
+ */
+public interface LogSink {
+
+    /**
+     * @return Name of the sink.
+     */
+    String getName();
+
+    /**
+     * Publish a batch of logs, in the order they were triggered.
+     *
+     * @param logRecords Logs to be published.
+     */
+    void publish(List<LogRecord> logRecords);
+
+    /**
+     * Release the resources held by the sink. Invoked by the owner of the sink once the pipeline no longer publishes
+     * to it.
+     */
+    default void close() {
+
+    }
+}
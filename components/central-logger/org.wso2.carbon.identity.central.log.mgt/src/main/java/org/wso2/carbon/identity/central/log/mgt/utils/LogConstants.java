@@ -37,6 +37,29 @@ public class LogConstants {
     public static final Pattern LOG_MASKING_PATTERN = Pattern.compile("(?<=.).(?=.)");
     public static final String LOGGABLE_USER_CLAIMS = "LoggableUserClaims.LoggableUserClaim";
 
+    /**
+     * Configurations of the asynchronous log publishing pipeline.
+     */
+    public static class AsyncPublishing {
+
+        public static final String ENABLE = "CentralLogger.AsyncPublishing.Enable";
+        public static final String QUEUE_SIZE = "CentralLogger.AsyncPublishing.QueueSize";
+        public static final String MAX_BATCH_SIZE = "CentralLogger.AsyncPublishing.MaxBatchSize";
+        public static final String AUDIT_LOG_OVERFLOW_POLICY = "CentralLogger.AsyncPublishing.AuditLogOverflowPolicy";
+        public static final String DIAGNOSTIC_LOG_OVERFLOW_POLICY =
+                "CentralLogger.AsyncPublishing.DiagnosticLogOverflowPolicy";
+        public static final String BLOCK_TIMEOUT = "CentralLogger.AsyncPublishing.BlockTimeout";
+        public static final String SHUTDOWN_TIMEOUT = "CentralLogger.AsyncPublishing.ShutdownTimeout";
+        public static final String FILE_SINK_ENABLE = "CentralLogger.AsyncPublishing.FileSink.Enable";
+        public static final String FILE_SINK_PATH = "CentralLogger.AsyncPublishing.FileSink.Path";
+
+        public static final int DEFAULT_QUEUE_SIZE = 10000;
+        public static final int DEFAULT_MAX_BATCH_SIZE = 256;
+        public static final int DEFAULT_BLOCK_TIMEOUT_IN_MILLIS = 1000;
+        public static final int DEFAULT_SHUTDOWN_TIMEOUT_IN_MILLIS = 5000;
+        public static final String DEFAULT_FILE_SINK_FILE_NAME = "central-logs.log";
+    }
+
 
     /**
      * Define common and reusable Input keys for diagnostic logs.
@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.central.log.mgt.pipeline;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.wso2.carbon.identity.event.IdentityEventConstants.Event.PUBLISH_AUDIT_LOG;
+import static org.wso2.carbon.identity.event.IdentityEventConstants.Event.PUBLISH_DIAGNOSTIC_LOG;
+
+public class LogPublishingPipelineTest {
+
+    private static final String TENANT_DOMAIN = "carbon.super";
+    private static final String LOG_INDEX = "index";
+
+    @Test
+    public void testLogsArePublishedInOrderAndInBatches() {
+
+        CapturingLogSink logSink = new CapturingLogSink();
+        LogPublishingPipeline pipeline = new LogPublishingPipeline(100, 10,
+                LogPublishingPipeline.OverflowPolicy.BLOCK, LogPublishingPipeline.OverflowPolicy.DROP, 1000,
+                Collections.singletonList(logSink), Collections.emptyList());
+        pipeline.start();
+        for (int i = 0; i < 50; i++) {
+            assertTrue(pipeline.publish(createLogRecord(PUBLISH_AUDIT_LOG, i)));
+        }
+        pipeline.shutdown(5000);
+
+        assertFalse(pipeline.isRunning());
+        assertEquals(logSink.logRecords.size(), 50);
+        for (int i = 0; i < 50; i++) {
+            assertEquals(logSink.logRecords.get(i).getEventProperties().get(LOG_INDEX), i);
+        }
+        for (Integer batchSize : logSink.batchSizes) {
+            assertTrue(batchSize <= 10);
+        }
+        assertEquals(pipeline.getStats().getPublishedLogCount(), 50);
+        assertEquals(pipeline.getStats().getDroppedLogCount(), 0);
+        assertEquals(pipeline.getStats().getBacklog(), 0);
+    }
+
+    @Test
+    public void testDiagnosticLogsAreDroppedOnceBufferIsFull() throws Exception {
+
+        BlockingLogSink logSink = new BlockingLogSink();
+        LogPublishingPipeline pipeline = new LogPublishingPipeline(2, 10,
+                LogPublishingPipeline.OverflowPolicy.BLOCK, LogPublishingPipeline.OverflowPolicy.DROP, 10,
+                Collections.singletonList(logSink), Collections.emptyList());
+        pipeline.start();
+        try {
+            // The first log occupies the publisher thread, until the sink is released.
+            assertTrue(pipeline.publish(createLogRecord(PUBLISH_DIAGNOSTIC_LOG, 0)));
+            assertTrue(logSink.publishing.await(5, TimeUnit.SECONDS));
+
+            assertTrue(pipeline.publish(createLogRecord(PUBLISH_DIAGNOSTIC_LOG, 1)));
+            assertTrue(pipeline.publish(createLogRecord(PUBLISH_DIAGNOSTIC_LOG, 2)));
+            assertFalse(pipeline.publish(createLogRecord(PUBLISH_DIAGNOSTIC_LOG, 3)));
+
+            assertEquals(pipeline.getStats().getBacklog(), 2);
+            assertEquals(pipeline.getStats().getDroppedLogCount(), 1);
+        } finally {
+            logSink.release.countDown();
+            pipeline.shutdown(5000);
+        }
+        assertEquals(pipeline.getStats().getPublishedLogCount(), 3);
+    }
+
+    @Test
+    public void testAuditLogIsPublishedByTriggeringThreadOnceBufferIsFull() throws Exception {
+
+        BlockingLogSink logSink = new BlockingLogSink();
+        LogPublishingPipeline pipeline = new LogPublishingPipeline(1, 10,
+                LogPublishingPipeline.OverflowPolicy.BLOCK, LogPublishingPipeline.OverflowPolicy.DROP, 10,
+                Collections.singletonList(logSink), Collections.emptyList());
+        pipeline.start();
+        Thread triggeringThread = null;
+        try {
+            assertTrue(pipeline.publish(createLogRecord(PUBLISH_DIAGNOSTIC_LOG, 0)));
+            assertTrue(logSink.publishing.await(5, TimeUnit.SECONDS));
+            assertTrue(pipeline.publish(createLogRecord(PUBLISH_DIAGNOSTIC_LOG, 1)));
+
+            // The audit log does not fit into the buffer, and waits for the sink along with the triggering thread.
+            triggeringThread = new Thread(() -> pipeline.publish(createLogRecord(PUBLISH_AUDIT_LOG, 2)));
+            triggeringThread.start();
+            triggeringThread.join(1000);
+            assertTrue(triggeringThread.isAlive());
+        } finally {
+            logSink.release.countDown();
+            if (triggeringThread != null) {
+                triggeringThread.join(5000);
+            }
+            pipeline.shutdown(5000);
+        }
+        assertEquals(logSink.logRecords.size(), 3);
+        assertEquals(pipeline.getStats().getSynchronouslyPublishedAuditLogCount(), 1);
+        assertEquals(pipeline.getStats().getDroppedLogCount(), 0);
+    }
+
+    @Test
+    public void testQueuedAuditLogsArePublishedOnShutdownTimeout() throws Exception {
+
+        BlockingLogSink logSink = new BlockingLogSink();
+        LogPublishingPipeline pipeline = new LogPublishingPipeline(10, 10,
+                LogPublishingPipeline.OverflowPolicy.BLOCK, LogPublishingPipeline.OverflowPolicy.DROP, 1000,
+                Collections.singletonList(logSink), Collections.emptyList());
+        pipeline.start();
+        assertTrue(pipeline.publish(createLogRecord(PUBLISH_DIAGNOSTIC_LOG, 0)));
+        assertTrue(logSink.publishing.await(5, TimeUnit.SECONDS));
+        assertTrue(pipeline.publish(createLogRecord(PUBLISH_AUDIT_LOG, 1)));
+        assertTrue(pipeline.publish(createLogRecord(PUBLISH_DIAGNOSTIC_LOG, 2)));
+        assertTrue(pipeline.publish(createLogRecord(PUBLISH_AUDIT_LOG, 3)));
+
+        // The publisher thread is still held by the sink once the timeout elapses.
+        pipeline.shutdown(100);
+
+        assertEquals(logSink.logRecords.size(), 3);
+        assertEquals(logSink.logRecords.get(1).getEventProperties().get(LOG_INDEX), 1);
+        assertEquals(logSink.logRecords.get(2).getEventProperties().get(LOG_INDEX), 3);
+        assertEquals(pipeline.getStats().getDroppedLogCount(), 1);
+        assertEquals(pipeline.getStats().getBacklog(), 0);
+    }
+
+    @Test
+    public void testLogsArePublishedByTriggeringThreadOnceStopped() {
+
+        CapturingLogSink logSink = new CapturingLogSink();
+        CapturingLogSink registeredLogSink = new CapturingLogSink();
+        LogPublishingPipeline pipeline = new LogPublishingPipeline(10, 10,
+                LogPublishingPipeline.OverflowPolicy.BLOCK, LogPublishingPipeline.OverflowPolicy.DROP, 1000,
+                Collections.singletonList(logSink), Collections.singletonList(registeredLogSink));
+        pipeline.start();
+        pipeline.shutdown(5000);
+
+        assertTrue(pipeline.publish(createLogRecord(PUBLISH_AUDIT_LOG, 0)));
+        assertTrue(pipeline.publish(createLogRecord(PUBLISH_DIAGNOSTIC_LOG, 1)));
+
+        assertEquals(logSink.logRecords.size(), 2);
+        assertEquals(registeredLogSink.logRecords.size(), 2);
+        assertEquals(pipeline.getStats().getBacklog(), 0);
+    }
+
+    @Test
+    public void testFailingSinkDoesNotAffectOtherSinks() {
+
+        CapturingLogSink logSink = new CapturingLogSink();
+        List<LogSink> logSinks = new CopyOnWriteArrayList<>();
+        logSinks.add(new FailingLogSink());
+        logSinks.add(logSink);
+        LogPublishingPipeline pipeline = new LogPublishingPipeline(10, 10,
+                LogPublishingPipeline.OverflowPolicy.BLOCK, LogPublishingPipeline.OverflowPolicy.DROP, 1000,
+                logSinks, Collections.emptyList());
+        pipeline.start();
+        pipeline.publish(createLogRecord(PUBLISH_AUDIT_LOG, 0));
+        pipeline.shutdown(5000);
+
+        assertEquals(logSink.logRecords.size(), 1);
+        assertEquals(pipeline.getStats().getFailedSinkCallCount(), 1);
+    }
+
+    private static LogRecord createLogRecord(String eventName, int index) {
+
+        return new LogRecord(eventName, Collections.singletonMap(LOG_INDEX, index), null, TENANT_DOMAIN, -1234);
+    }
+
+    private static class CapturingLogSink implements LogSink {
+
+        private final List<LogRecord> logRecords = new ArrayList<>();
+        private final List<Integer> batchSizes = new ArrayList<>();
+
+        @Override
+        public String getName() {
+
+            return "CapturingLogSink";
+        }
+
+        @Override
+        public void publish(List<LogRecord> logRecords) {
+
+            this.logRecords.addAll(logRecords);
+            batchSizes.add(logRecords.size());
+        }
+    }
+
+    private static class BlockingLogSink implements LogSink {
+
+        private final List<LogRecord> logRecords = new ArrayList<>();
+        private final CountDownLatch publishing = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public String getName() {
+
+            return "BlockingLogSink";
+        }
+
+        @Override
+        public void publish(List<LogRecord> logRecords) {
+
+            this.logRecords.addAll(logRecords);
+            if (publishing.getCount() == 0) {
+                // Only the first call is held by the sink.
+                return;
+            }
+            publishing.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static class FailingLogSink implements LogSink {
+
+        @Override
+        public String getName() {
+
+            return "FailingLogSink";
+        }
+
+        @Override
+        public void publish(List<LogRecord> logRecords) {
+
+            throw new IllegalStateException("Sink is unavailable.");
+        }
+    }
+}
@@ -18,9 +18,11 @@ package org.wso2.carbon.identity.claim.metadata.mgt;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.claim.metadata.mgt.cache.ClaimMetadataSnapshot;
 import org.wso2.carbon.identity.claim.metadata.mgt.exception.ClaimMetadataException;
 import org.wso2.carbon.identity.claim.metadata.mgt.model.ExternalClaim;
 import org.wso2.carbon.identity.claim.metadata.mgt.model.LocalClaim;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.user.core.UserCoreConstants;
 
 import java.util.HashMap;
@@ -66,10 +68,9 @@ public class ClaimMetadataHandler {
 
             if (otherDialectURI.equals(UserCoreConstants.DEFAULT_CARBON_DIALECT) ) {
 
-                List<LocalClaim> localClaims = claimMetadataService.getLocalClaims(tenantDomain);
-
                 if (otherClaimURIs == null|| otherClaimURIs.isEmpty()) {
 
+                    List<LocalClaim> localClaims = claimMetadataService.getLocalClaims(tenantDomain);
                     for (LocalClaim localClaim : localClaims) {
                         ExternalClaim claimMapping = new ExternalClaim(localClaim.getClaimDialectURI(), localClaim
                                 .getClaimURI(), localClaim.getClaimURI());
@@ -80,9 +81,14 @@ public class ClaimMetadataHandler {
 
                 } else {
 
-                    for (LocalClaim localClaim : localClaims) {
+                    ClaimMetadataSnapshot.LocalClaimIndex localClaimIndex =
+                            claimMetadataService.getLocalClaimIndex(tenantDomain);
+                    boolean excludeRoleClaim = IdentityUtil.isGroupsVsRolesSeparationImprovementsEnabled();
+                    for (String otherClaimURI : otherClaimURIs) {
 
-                        if (otherClaimURIs.contains(localClaim.getClaimURI())) {
+                        LocalClaim localClaim = localClaimIndex.getLocalClaim(otherClaimURI);
+                        if (localClaim != null && !(excludeRoleClaim &&
+                                UserCoreConstants.ROLE_CLAIM.equals(localClaim.getClaimURI()))) {
 
                             ExternalClaim claimMapping = new ExternalClaim(
                                     otherDialectURI, localClaim.getClaimURI(), localClaim.getClaimURI());
@@ -97,18 +103,20 @@ public class ClaimMetadataHandler {
 
             } else {
 
-                List<ExternalClaim> externalClaims = claimMetadataService.getExternalClaims(otherDialectURI,
-                        tenantDomain);
-
                 if (otherClaimURIs == null || otherClaimURIs.isEmpty()) {
 
+                    List<ExternalClaim> externalClaims = claimMetadataService.getExternalClaims(otherDialectURI,
+                            tenantDomain);
                     returnSet = new HashSet<ExternalClaim>(externalClaims);
 
                 } else {
 
-                    for (ExternalClaim externalClaim : externalClaims) {
+                    ClaimMetadataSnapshot.ExternalClaimIndex externalClaimIndex =
+                            claimMetadataService.getExternalClaimIndex(otherDialectURI, tenantDomain);
+                    for (String otherClaimURI : otherClaimURIs) {
 
-                        if (otherClaimURIs.contains(externalClaim.getClaimURI())) {
+                        ExternalClaim externalClaim = externalClaimIndex.getExternalClaim(otherClaimURI);
+                        if (externalClaim != null) {
                             returnSet.add(externalClaim);
                         }
                     }
@@ -22,6 +22,7 @@ import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.math.NumberUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.claim.metadata.mgt.cache.ClaimMetadataSnapshot;
 import org.wso2.carbon.identity.claim.metadata.mgt.dao.CacheBackedClaimDialectDAO;
 import org.wso2.carbon.identity.claim.metadata.mgt.dao.CacheBackedExternalClaimDAO;
 import org.wso2.carbon.identity.claim.metadata.mgt.dao.CacheBackedLocalClaimDAO;
@@ -473,21 +474,23 @@ public class ClaimMetadataManagementServiceImpl implements ClaimMetadataManageme
 
         // The relevant external claim deletions are handled by the DB through ON DELETE CASCADE.
         this.claimDialectDAO.removeAllClaimDialects(tenantId);
+        ClaimMetadataSnapshot.clear(tenantId);
     }
 
     @Override
     public String getMaskingRegexForLocalClaim(String localClaimURI, String tenantDomain) throws
             ClaimMetadataException {
 
-        List<LocalClaim> localClaims = getLocalClaims(tenantDomain);
-
-        for (LocalClaim localClaim : localClaims) {
-            if (localClaim.getClaimURI().equals(localClaimURI)) {
-                return StringEscapeUtils.unescapeXml(localClaim.getClaimProperty(ClaimConstants
-                        .MASKING_REGULAR_EXPRESSION_PROPERTY));
-            }
+        if (IdentityUtil.isGroupsVsRolesSeparationImprovementsEnabled() &&
+                UserCoreConstants.ROLE_CLAIM.equals(localClaimURI)) {
+            return null;
+        }
+        LocalClaim localClaim = getLocalClaimIndex(tenantDomain).getLocalClaim(localClaimURI);
+        if (localClaim == null) {
+            return null;
         }
-        return null;
+        return StringEscapeUtils.unescapeXml(localClaim.getClaimProperty(ClaimConstants
+                .MASKING_REGULAR_EXPRESSION_PROPERTY));
     }
 
     @Override
@@ -547,14 +550,61 @@ public class ClaimMetadataManagementServiceImpl implements ClaimMetadataManageme
     private boolean isExistingExternalClaimURI(String externalClaimDialectURI, String externalClaimURI, int tenantId)
             throws ClaimMetadataException {
 
-        return this.externalClaimDAO.getExternalClaims(externalClaimDialectURI, tenantId).stream().filter(
-                claim -> claim.getClaimURI().equalsIgnoreCase(externalClaimURI)).findFirst().isPresent();
+        ClaimMetadataSnapshot.ExternalClaimIndex externalClaimIndex =
+                ClaimMetadataSnapshot.getExternalClaimIndex(tenantId, externalClaimDialectURI);
+        if (externalClaimIndex == null) {
+            externalClaimIndex = ClaimMetadataSnapshot.addExternalClaimIndex(tenantId, externalClaimDialectURI,
+                    this.externalClaimDAO.getExternalClaims(externalClaimDialectURI, tenantId));
+        }
+        return externalClaimIndex.containsClaimURIIgnoreCase(externalClaimURI);
     }
 
     private boolean isExistingLocalClaimURI(String localClaimURI, int tenantId) throws ClaimMetadataException {
 
-        return this.localClaimDAO.getLocalClaims(tenantId).stream().filter(
-                claim -> claim.getClaimURI().equalsIgnoreCase(localClaimURI)).findFirst().isPresent();
+        return getLocalClaimIndex(tenantId).containsClaimURIIgnoreCase(localClaimURI);
+    }
+
+    /**
+     * Get the index of the local claims of a tenant. The role claim is not excluded from the index.
+     *
+     * @param tenantDomain Tenant domain.
+     * @return Index of the local claims.
+     * @throws ClaimMetadataException If an error occurred while getting the local claims.
+     */
+    ClaimMetadataSnapshot.LocalClaimIndex getLocalClaimIndex(String tenantDomain) throws ClaimMetadataException {
+
+        return getLocalClaimIndex(IdentityTenantUtil.getTenantId(tenantDomain));
+    }
+
+    /**
+     * Get the index of the external claims of a dialect.
+     *
+     * @param externalClaimDialectURI URI of the external claim dialect.
+     * @param tenantDomain            Tenant domain.
+     * @return Index of the external claims of the dialect.
+     * @throws ClaimMetadataException If the dialect is invalid or an error occurred while getting the external claims.
+     */
+    ClaimMetadataSnapshot.ExternalClaimIndex getExternalClaimIndex(String externalClaimDialectURI,
+                                                                   String tenantDomain) throws ClaimMetadataException {
+
+        int tenantId = IdentityTenantUtil.getTenantId(tenantDomain);
+        ClaimMetadataSnapshot.ExternalClaimIndex externalClaimIndex =
+                ClaimMetadataSnapshot.getExternalClaimIndex(tenantId, externalClaimDialectURI);
+        if (externalClaimIndex == null) {
+            externalClaimIndex = ClaimMetadataSnapshot.addExternalClaimIndex(tenantId, externalClaimDialectURI,
+                    getExternalClaims(externalClaimDialectURI, tenantDomain));
+        }
+        return externalClaimIndex;
+    }
+
+    private ClaimMetadataSnapshot.LocalClaimIndex getLocalClaimIndex(int tenantId) throws ClaimMetadataException {
+
+        ClaimMetadataSnapshot.LocalClaimIndex localClaimIndex = ClaimMetadataSnapshot.getLocalClaimIndex(tenantId);
+        if (localClaimIndex == null) {
+            localClaimIndex = ClaimMetadataSnapshot.addLocalClaimIndex(tenantId,
+                    this.localClaimDAO.getLocalClaims(tenantId));
+        }
+        return localClaimIndex;
     }
 
     @Override
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.claim.metadata.mgt.cache;
+
+import org.wso2.carbon.identity.claim.metadata.mgt.model.ExternalClaim;
+import org.wso2.carbon.identity.claim.metadata.mgt.model.LocalClaim;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable, indexed snapshot of the claim metadata of a tenant.
+ * <p>
+ * The snapshot is held in {@link ClaimMetadataSnapshotCache}, which is cleared along with {@link LocalClaimCache} and
+ * {@link ExternalClaimCache} whenever the claims or the dialects of the tenant change. Hence, an index is valid until
+ * its cache entry is cleared, expires or is evicted, or the tenant is unloaded, and it is not compared against the
+ * claim lists on each lookup. Adding an index replaces the cached snapshot with a copy holding the index.
+ */
+public class ClaimMetadataSnapshot implements Serializable {
+
+    private static final long serialVersionUID = -6139572215839480172L;
+
+    private final LocalClaimIndex localClaimIndex;
+    private final Map<String, ExternalClaimIndex> externalClaimIndexes;
+
+    private ClaimMetadataSnapshot(LocalClaimIndex localClaimIndex,
+                                  Map<String, ExternalClaimIndex> externalClaimIndexes) {
+
+        this.localClaimIndex = localClaimIndex;
+        this.externalClaimIndexes = externalClaimIndexes;
+    }
+
+    /**
+     * Get the cached index of the local claims of a tenant.
+     *
+     * @param tenantId Tenant ID.
+     * @return Index of the local claims, or null if it is not cached.
+     */
+    public static LocalClaimIndex getLocalClaimIndex(int tenantId) {
+
+        ClaimMetadataSnapshot snapshot = ClaimMetadataSnapshotCache.getInstance().getValueFromCache(tenantId,
+                tenantId);
+        return snapshot != null ? snapshot.localClaimIndex : null;
+    }
+
+    /**
+     * Index the local claims of a tenant, and cache the index.
+     *
+     * @param tenantId    Tenant ID.
+     * @param localClaims Local claims of the tenant.
+     * @return Index of the local claims.
+     */
+    public static LocalClaimIndex addLocalClaimIndex(int tenantId, List<LocalClaim> localClaims) {
+
+        LocalClaimIndex index = new LocalClaimIndex(localClaims);
+        ClaimMetadataSnapshot snapshot = ClaimMetadataSnapshotCache.getInstance().getValueFromCache(tenantId,
+                tenantId);
+        ClaimMetadataSnapshot updatedSnapshot = new ClaimMetadataSnapshot(index, snapshot != null ?
+                snapshot.externalClaimIndexes : Collections.emptyMap());
+        ClaimMetadataSnapshotCache.getInstance().addToCache(tenantId, updatedSnapshot, tenantId);
+        return index;
+    }
+
+    /**
+     * Get the cached index of the external claims of a dialect.
+     *
+     * @param tenantId                Tenant ID.
+     * @param externalClaimDialectURI URI of the external claim dialect.
+     * @return Index of the external claims of the dialect, or null if it is not cached.
+     */
+    public static ExternalClaimIndex getExternalClaimIndex(int tenantId, String externalClaimDialectURI) {
+
+        ClaimMetadataSnapshot snapshot = ClaimMetadataSnapshotCache.getInstance().getValueFromCache(tenantId,
+                tenantId);
+        return snapshot != null ? snapshot.externalClaimIndexes.get(externalClaimDialectURI) : null;
+    }
+
+    /**
+     * Index the external claims of a dialect, and cache the index.
+     *
+     * @param tenantId                Tenant ID.
+     * @param externalClaimDialectURI URI of the external claim dialect.
+     * @param externalClaims          External claims of the dialect.
+     * @return Index of the external claims of the dialect.
+     */
+    public static ExternalClaimIndex addExternalClaimIndex(int tenantId, String externalClaimDialectURI,
+                                                           List<ExternalClaim> externalClaims) {
+
+        ExternalClaimIndex index = new ExternalClaimIndex(externalClaims);
+        ClaimMetadataSnapshot snapshot = ClaimMetadataSnapshotCache.getInstance().getValueFromCache(tenantId,
+                tenantId);
+        Map<String, ExternalClaimIndex> externalClaimIndexes = new HashMap<>();
+        if (snapshot != null) {
+            externalClaimIndexes.putAll(snapshot.externalClaimIndexes);
+        }
+        externalClaimIndexes.put(externalClaimDialectURI, index);
+        ClaimMetadataSnapshot updatedSnapshot = new ClaimMetadataSnapshot(snapshot != null ?
+                snapshot.localClaimIndex : null, Collections.unmodifiableMap(externalClaimIndexes));
+        ClaimMetadataSnapshotCache.getInstance().addToCache(tenantId, updatedSnapshot, tenantId);
+        return index;
+    }
+
+    /**
+     * Clear the claim metadata snapshot of a tenant.
+     *
+     * @param tenantId Tenant ID.
+     */
+    public static void clear(int tenantId) {
+
+        ClaimMetadataSnapshotCache.getInstance().clearCacheEntry(tenantId, tenantId);
+    }
+
+    private static String toLowerCase(String claimURI) {
+
+        return claimURI.toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * Immutable index of the local claims of a tenant.
+     */
+    public static class LocalClaimIndex implements Serializable {
+
+        private static final long serialVersionUID = 3046261788417562735L;
+
+        private final Map<String, LocalClaim> localClaimsByURI;
+        private final Set<String> lowerCaseClaimURIs;
+
+        private LocalClaimIndex(List<LocalClaim> localClaims) {
+
+            Map<String, LocalClaim> claimsByURI = new HashMap<>();
+            Set<String> lowerCaseURIs = new HashSet<>();
+            for (LocalClaim localClaim : localClaims) {
+                // Keep the first claim of a URI, as a scan of the list would find it.
+                claimsByURI.putIfAbsent(localClaim.getClaimURI(), localClaim);
+                lowerCaseURIs.add(toLowerCase(localClaim.getClaimURI()));
+            }
+            this.localClaimsByURI = claimsByURI;
+            this.lowerCaseClaimURIs = lowerCaseURIs;
+        }
+
+        /**
+         * @param localClaimURI URI of the local claim.
+         * @return Local claim, or null if there is no local claim with the URI.
+         */
+        public LocalClaim getLocalClaim(String localClaimURI) {
+
+            return localClaimsByURI.get(localClaimURI);
+        }
+
+        /**
+         * @param localClaimURI URI of the local claim.
+         * @return True if there is a local claim with the URI, ignoring case.
+         */
+        public boolean containsClaimURIIgnoreCase(String localClaimURI) {
+
+            return localClaimURI != null && lowerCaseClaimURIs.contains(toLowerCase(localClaimURI));
+        }
+    }
+
+    /**
+     * Immutable index of the external claims of a dialect.
+     */
+    public static class ExternalClaimIndex implements Serializable {
+
+        private static final long serialVersionUID = -2398716251934718846L;
+
+        private final Map<String, ExternalClaim> externalClaimsByURI;
+        private final Set<String> lowerCaseClaimURIs;
+
+        private ExternalClaimIndex(List<ExternalClaim> externalClaims) {
+
+            Map<String, ExternalClaim> claimsByURI = new HashMap<>();
+            Set<String> lowerCaseURIs = new HashSet<>();
+            for (ExternalClaim externalClaim : externalClaims) {
+                claimsByURI.putIfAbsent(externalClaim.getClaimURI(), externalClaim);
+                lowerCaseURIs.add(toLowerCase(externalClaim.getClaimURI()));
+            }
+            this.externalClaimsByURI = claimsByURI;
+            this.lowerCaseClaimURIs = lowerCaseURIs;
+        }
+
+        /**
+         * @param externalClaimURI URI of the external claim.
+         * @return External claim, or null if the dialect has no external claim with the URI.
+         */
+        public ExternalClaim getExternalClaim(String externalClaimURI) {
+
+            return externalClaimsByURI.get(externalClaimURI);
+        }
+
+        /**
+         * @param externalClaimURI URI of the external claim.
+         * @return True if the dialect has an external claim with the URI, ignoring case.
+         */
+        public boolean containsClaimURIIgnoreCase(String externalClaimURI) {
+
+            return externalClaimURI != null && lowerCaseClaimURIs.contains(toLowerCase(externalClaimURI));
+        }
+    }
+}
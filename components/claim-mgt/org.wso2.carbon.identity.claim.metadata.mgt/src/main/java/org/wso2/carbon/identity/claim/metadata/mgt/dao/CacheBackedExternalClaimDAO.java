@@ -20,6 +20,7 @@ import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.identity.claim.metadata.mgt.cache.AssociatedClaimCache;
+import org.wso2.carbon.identity.claim.metadata.mgt.cache.ClaimMetadataSnapshotCache;
 import org.wso2.carbon.identity.claim.metadata.mgt.cache.ExternalClaimCacheKey;
 import org.wso2.carbon.identity.claim.metadata.mgt.cache.ExternalClaimCache;
 import org.wso2.carbon.identity.claim.metadata.mgt.exception.ClaimMetadataException;
@@ -40,6 +41,7 @@ public class CacheBackedExternalClaimDAO {
     ExternalClaimDAO externalClaimDAO;
     ExternalClaimCache externalClaimCache = ExternalClaimCache.getInstance();
     AssociatedClaimCache associatedClaimCache = AssociatedClaimCache.getInstance();
+    ClaimMetadataSnapshotCache claimMetadataSnapshotCache = ClaimMetadataSnapshotCache.getInstance();
 
     public CacheBackedExternalClaimDAO(ExternalClaimDAO externalClaimDAO) {
         this.externalClaimDAO = externalClaimDAO;
@@ -75,6 +77,7 @@ public class CacheBackedExternalClaimDAO {
         String externalClaimDialectURI = externalClaim.getClaimDialectURI();
         ExternalClaimCacheKey cacheKey = new ExternalClaimCacheKey(externalClaimDialectURI);
         externalClaimCache.clearCacheEntry(cacheKey, tenantId);
+        claimMetadataSnapshotCache.clearCacheEntry(tenantId, tenantId);
         associatedClaimCache.clearCacheEntry(externalClaim.getMappedLocalClaim(), tenantId);
     }
     public void updateExternalClaim(ExternalClaim externalClaim, int tenantId) throws ClaimMetadataException {
@@ -83,6 +86,7 @@ public class CacheBackedExternalClaimDAO {
         String externalClaimDialectURI = externalClaim.getClaimDialectURI();
         ExternalClaimCacheKey cacheKey = new ExternalClaimCacheKey(externalClaimDialectURI);
         externalClaimCache.clearCacheEntry(cacheKey, tenantId);
+        claimMetadataSnapshotCache.clearCacheEntry(tenantId, tenantId);
         associatedClaimCache.clearCacheEntry(externalClaim.getMappedLocalClaim(), tenantId);
     }
     public void removeExternalClaim(String externalClaimDialectURI, String externalClaimURI, int tenantId) throws
@@ -100,6 +104,7 @@ public class CacheBackedExternalClaimDAO {
         externalClaimDAO.removeExternalClaim(externalClaimDialectURI, externalClaimURI, tenantId);
         ExternalClaimCacheKey cacheKey = new ExternalClaimCacheKey(externalClaimDialectURI);
         externalClaimCache.clearCacheEntry(cacheKey, tenantId);
+        claimMetadataSnapshotCache.clearCacheEntry(tenantId, tenantId);
         if (StringUtils.isNotBlank(mappedLocalClaim)) {
             associatedClaimCache.clearCacheEntry(mappedLocalClaim, tenantId);
         }
@@ -136,6 +141,7 @@ public class CacheBackedExternalClaimDAO {
         }
         ExternalClaimCacheKey cacheKey = new ExternalClaimCacheKey(externalClaimDialectURI);
         externalClaimCache.clearCacheEntry(cacheKey, tenantId);
+        claimMetadataSnapshotCache.clearCacheEntry(tenantId, tenantId);
         for (String localClaim : mappedLocalClaim) {
             associatedClaimCache.clearCacheEntry(localClaim, tenantId);
         }
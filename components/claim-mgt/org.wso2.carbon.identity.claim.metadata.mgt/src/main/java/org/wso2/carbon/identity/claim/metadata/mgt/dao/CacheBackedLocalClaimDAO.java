@@ -20,6 +20,7 @@ import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.identity.claim.metadata.mgt.cache.AssociatedClaimCache;
+import org.wso2.carbon.identity.claim.metadata.mgt.cache.ClaimMetadataSnapshotCache;
 import org.wso2.carbon.identity.claim.metadata.mgt.cache.LocalClaimCache;
 import org.wso2.carbon.identity.claim.metadata.mgt.exception.ClaimMetadataException;
 import org.wso2.carbon.identity.claim.metadata.mgt.model.Claim;
@@ -41,6 +42,7 @@ public class CacheBackedLocalClaimDAO {
 
     LocalClaimCache localClaimInvalidationCache = LocalClaimCache.getInstance();
     AssociatedClaimCache associatedClaimCache = AssociatedClaimCache.getInstance();
+    ClaimMetadataSnapshotCache claimMetadataSnapshotCache = ClaimMetadataSnapshotCache.getInstance();
 
 
     public CacheBackedLocalClaimDAO(LocalClaimDAO localClaimDAO) {
@@ -71,12 +73,14 @@ public class CacheBackedLocalClaimDAO {
 
         localClaimDAO.addLocalClaim(localClaim, tenantId);
         localClaimInvalidationCache.clearCacheEntry(tenantId, tenantId);
+        claimMetadataSnapshotCache.clearCacheEntry(tenantId, tenantId);
     }
 
     public void updateLocalClaim(LocalClaim localClaim, int tenantId) throws ClaimMetadataException {
 
         localClaimDAO.updateLocalClaim(localClaim, tenantId);
         localClaimInvalidationCache.clearCacheEntry(tenantId, tenantId);
+        claimMetadataSnapshotCache.clearCacheEntry(tenantId, tenantId);
         associatedClaimCache.clearCacheEntry(localClaim.getClaimURI(), tenantId);
     }
 
@@ -93,12 +97,14 @@ public class CacheBackedLocalClaimDAO {
 
         localClaimDAO.updateLocalClaimMappings(localClaimList, tenantId, userStoreDomain);
         localClaimInvalidationCache.clearCacheEntry(tenantId, tenantId);
+        claimMetadataSnapshotCache.clearCacheEntry(tenantId, tenantId);
     }
 
     public void removeLocalClaim(String localClaimURI, int tenantId) throws ClaimMetadataException {
 
         localClaimDAO.removeLocalClaim(localClaimURI, tenantId);
         localClaimInvalidationCache.clearCacheEntry(tenantId, tenantId);
+        claimMetadataSnapshotCache.clearCacheEntry(tenantId, tenantId);
         associatedClaimCache.clearCacheEntry(localClaimURI, tenantId);
     }
 
@@ -120,6 +126,7 @@ public class CacheBackedLocalClaimDAO {
         }
         localClaimDAO.deleteClaimMappingAttributes(tenantId, userstoreDomain);
         localClaimInvalidationCache.clearCacheEntry(tenantId, tenantId);
+        claimMetadataSnapshotCache.clearCacheEntry(tenantId, tenantId);
     }
 
     /**
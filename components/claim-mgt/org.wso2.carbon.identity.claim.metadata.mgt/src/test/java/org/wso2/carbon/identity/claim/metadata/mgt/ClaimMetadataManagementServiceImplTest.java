@@ -20,8 +20,10 @@ package org.wso2.carbon.identity.claim.metadata.mgt;
 
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
+import org.wso2.carbon.identity.claim.metadata.mgt.cache.ClaimMetadataSnapshotCache;
 import org.wso2.carbon.identity.claim.metadata.mgt.dao.CacheBackedExternalClaimDAO;
 import org.wso2.carbon.identity.claim.metadata.mgt.exception.ClaimMetadataException;
 import org.wso2.carbon.identity.claim.metadata.mgt.model.ExternalClaim;
@@ -54,10 +56,21 @@ public class ClaimMetadataManagementServiceImplTest {
             MAPPED_LOCAL_CLAIM_URI);
 
     private ClaimMetadataManagementService service;
+    private MockedStatic<ClaimMetadataSnapshotCache> claimMetadataSnapshotCache;
 
     @BeforeMethod
     public void setup() {
         service = new ClaimMetadataManagementServiceImpl();
+        // Do not keep the claim indexes between the tests, as each test mocks different claims.
+        claimMetadataSnapshotCache = mockStatic(ClaimMetadataSnapshotCache.class);
+        claimMetadataSnapshotCache.when(ClaimMetadataSnapshotCache::getInstance)
+                .thenReturn(mock(ClaimMetadataSnapshotCache.class));
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        claimMetadataSnapshotCache.close();
     }
 
     @Test
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.claim.metadata.mgt.cache;
+
+import org.mockito.MockedStatic;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.claim.metadata.mgt.model.ExternalClaim;
+import org.wso2.carbon.identity.claim.metadata.mgt.model.LocalClaim;
+import org.wso2.carbon.identity.common.testng.WithCarbonHome;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ClaimMetadataSnapshot.
+ */
+@WithCarbonHome
+public class ClaimMetadataSnapshotTest {
+
+    private static final int TENANT_ID = 1;
+    private static final String EMAIL_CLAIM_URI = "http://wso2.org/claims/emailaddress";
+    private static final String SCIM_DIALECT_URI = "urn:ietf:params:scim:schemas:core:2.0:User";
+    private static final String SCIM_EMAIL_CLAIM_URI = "urn:ietf:params:scim:schemas:core:2.0:User:emails";
+    private static final String OIDC_DIALECT_URI = "http://wso2.org/oidc/claim";
+
+    private final Map<Integer, ClaimMetadataSnapshot> cachedSnapshots = new HashMap<>();
+    private MockedStatic<ClaimMetadataSnapshotCache> claimMetadataSnapshotCache;
+
+    @BeforeMethod
+    public void setUp() {
+
+        ClaimMetadataSnapshotCache cache = mock(ClaimMetadataSnapshotCache.class);
+        when(cache.getValueFromCache(anyInt(), anyInt()))
+                .thenAnswer(invocation -> cachedSnapshots.get(invocation.<Integer>getArgument(0)));
+        doAnswer(invocation -> cachedSnapshots.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(cache).addToCache(anyInt(), any(ClaimMetadataSnapshot.class), anyInt());
+        doAnswer(invocation -> cachedSnapshots.remove(invocation.<Integer>getArgument(0)))
+                .when(cache).clearCacheEntry(anyInt(), anyInt());
+        claimMetadataSnapshotCache = mockStatic(ClaimMetadataSnapshotCache.class);
+        claimMetadataSnapshotCache.when(ClaimMetadataSnapshotCache::getInstance).thenReturn(cache);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        claimMetadataSnapshotCache.close();
+        cachedSnapshots.clear();
+    }
+
+    @Test
+    public void testLocalClaimIndex() {
+
+        LocalClaim emailClaim = new LocalClaim(EMAIL_CLAIM_URI);
+        LocalClaim givenNameClaim = new LocalClaim("http://wso2.org/claims/givenname");
+
+        ClaimMetadataSnapshot.LocalClaimIndex index =
+                ClaimMetadataSnapshot.addLocalClaimIndex(TENANT_ID, Arrays.asList(emailClaim, givenNameClaim));
+
+        Assert.assertSame(index.getLocalClaim(EMAIL_CLAIM_URI), emailClaim);
+        Assert.assertNull(index.getLocalClaim(EMAIL_CLAIM_URI.toUpperCase()));
+        Assert.assertTrue(index.containsClaimURIIgnoreCase(EMAIL_CLAIM_URI.toUpperCase()));
+        Assert.assertFalse(index.containsClaimURIIgnoreCase("http://wso2.org/claims/unknown"));
+        Assert.assertSame(ClaimMetadataSnapshot.getLocalClaimIndex(TENANT_ID), index);
+    }
+
+    @Test
+    public void testExternalClaimIndex() {
+
+        ExternalClaim emailClaim = new ExternalClaim(SCIM_DIALECT_URI, SCIM_EMAIL_CLAIM_URI, EMAIL_CLAIM_URI);
+
+        ClaimMetadataSnapshot.ExternalClaimIndex index = ClaimMetadataSnapshot.addExternalClaimIndex(TENANT_ID,
+                SCIM_DIALECT_URI, Collections.singletonList(emailClaim));
+
+        Assert.assertSame(index.getExternalClaim(SCIM_EMAIL_CLAIM_URI), emailClaim);
+        Assert.assertTrue(index.containsClaimURIIgnoreCase(SCIM_EMAIL_CLAIM_URI.toUpperCase()));
+        Assert.assertSame(ClaimMetadataSnapshot.getExternalClaimIndex(TENANT_ID, SCIM_DIALECT_URI), index);
+        Assert.assertNull(ClaimMetadataSnapshot.getExternalClaimIndex(TENANT_ID, OIDC_DIALECT_URI));
+    }
+
+    @Test
+    public void testAddingAnIndexKeepsTheOtherIndexes() {
+
+        ClaimMetadataSnapshot.LocalClaimIndex localClaimIndex = ClaimMetadataSnapshot.addLocalClaimIndex(TENANT_ID,
+                Collections.singletonList(new LocalClaim(EMAIL_CLAIM_URI)));
+        ClaimMetadataSnapshot.ExternalClaimIndex scimClaimIndex = ClaimMetadataSnapshot.addExternalClaimIndex(
+                TENANT_ID, SCIM_DIALECT_URI, Collections.emptyList());
+        ClaimMetadataSnapshot.ExternalClaimIndex oidcClaimIndex = ClaimMetadataSnapshot.addExternalClaimIndex(
+                TENANT_ID, OIDC_DIALECT_URI, Collections.emptyList());
+
+        Assert.assertSame(ClaimMetadataSnapshot.getLocalClaimIndex(TENANT_ID), localClaimIndex);
+        Assert.assertSame(ClaimMetadataSnapshot.getExternalClaimIndex(TENANT_ID, SCIM_DIALECT_URI), scimClaimIndex);
+        Assert.assertSame(ClaimMetadataSnapshot.getExternalClaimIndex(TENANT_ID, OIDC_DIALECT_URI), oidcClaimIndex);
+
+        ClaimMetadataSnapshot.LocalClaimIndex changedLocalClaimIndex =
+                ClaimMetadataSnapshot.addLocalClaimIndex(TENANT_ID, Collections.emptyList());
+        Assert.assertSame(ClaimMetadataSnapshot.getLocalClaimIndex(TENANT_ID), changedLocalClaimIndex);
+        Assert.assertSame(ClaimMetadataSnapshot.getExternalClaimIndex(TENANT_ID, SCIM_DIALECT_URI), scimClaimIndex);
+    }
+
+    @Test
+    public void testIndexesAreDroppedWithTheCacheEntry() {
+
+        ClaimMetadataSnapshot.addLocalClaimIndex(TENANT_ID, Collections.singletonList(new LocalClaim(EMAIL_CLAIM_URI)));
+        ClaimMetadataSnapshot.addExternalClaimIndex(TENANT_ID, SCIM_DIALECT_URI, Collections.emptyList());
+
+        ClaimMetadataSnapshot.clear(TENANT_ID);
+
+        Assert.assertNull(ClaimMetadataSnapshot.getLocalClaimIndex(TENANT_ID));
+        Assert.assertNull(ClaimMetadataSnapshot.getExternalClaimIndex(TENANT_ID, SCIM_DIALECT_URI));
+        Assert.assertNull(ClaimMetadataSnapshot.getLocalClaimIndex(TENANT_ID + 1));
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.configuration.mgt.core.cache;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.application.common.cache.BaseCache;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+
+import static org.wso2.carbon.identity.configuration.mgt.core.constant.ConfigurationConstants.DEFAULT_FILE_CACHE_MAX_FILE_SIZE;
+import static org.wso2.carbon.identity.configuration.mgt.core.constant.ConfigurationConstants.DEFAULT_FILE_CACHE_MAX_SIZE;
+import static org.wso2.carbon.identity.configuration.mgt.core.constant.ConfigurationConstants.FILE_CACHE_MAX_FILE_SIZE;
+import static org.wso2.carbon.identity.configuration.mgt.core.constant.ConfigurationConstants.FILE_CACHE_MAX_SIZE;
+
+/**
+ * Cache for the content of {@link org.wso2.carbon.identity.configuration.mgt.core.model.ResourceFile}s.
+ * <p>
+ * The contents are held by a size bounded {@link ResourceFileContentStore} of the node, while this cache only holds
+ * an entry per valid content. A content is served only while its entry is in this cache, hence clearing an entry
+ * invalidates the content on every node of the cluster.
+ */
+public class ResourceFileCache extends BaseCache<ResourceFileCacheKey, ResourceFileCacheEntry> {
+
+    private static final Log LOG = LogFactory.getLog(ResourceFileCache.class);
+    public static final String RESOURCE_FILE_CACHE_NAME = "ConfigurationResourceFileCache";
+
+    private static volatile ResourceFileCache instance;
+    private final ResourceFileContentStore<ResourceFileCacheKey> contentStore;
+
+    private ResourceFileCache() {
+
+        super(RESOURCE_FILE_CACHE_NAME);
+        this.contentStore = new ResourceFileContentStore<>(getSizeProperty(FILE_CACHE_MAX_SIZE,
+                DEFAULT_FILE_CACHE_MAX_SIZE), (int) getSizeProperty(FILE_CACHE_MAX_FILE_SIZE,
+                DEFAULT_FILE_CACHE_MAX_FILE_SIZE));
+    }
+
+    public static ResourceFileCache getInstance() {
+
+        if (instance == null) {
+            synchronized (ResourceFileCache.class) {
+                if (instance == null) {
+                    instance = new ResourceFileCache();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * @param key Cache key of the file.
+     * @return Content of the file, or null if it is not cached.
+     */
+    public byte[] getFileContent(ResourceFileCacheKey key) {
+
+        ResourceFileCacheEntry entry = getValueFromCache(key);
+        if (entry == null) {
+            return null;
+        }
+        byte[] content = contentStore.get(key);
+        return content != null && content.length == entry.getSizeInBytes() ? content : null;
+    }
+
+    /**
+     * Cache the content of a file, if it is not larger than the maximum file size.
+     *
+     * @param key     Cache key of the file.
+     * @param content Content of the file.
+     */
+    public void addFileContent(ResourceFileCacheKey key, byte[] content) {
+
+        if (isEnabled() && contentStore.put(key, content)) {
+            addToCache(key, new ResourceFileCacheEntry(content.length));
+        }
+    }
+
+    /**
+     * @param key Cache key of the file to be invalidated.
+     */
+    public void clearFileContent(ResourceFileCacheKey key) {
+
+        contentStore.remove(key);
+        clearCacheEntry(key);
+    }
+
+    /**
+     * Invalidate the contents of all the files.
+     */
+    public void clearFileContents() {
+
+        contentStore.clear();
+        clear();
+    }
+
+    /**
+     * @return True if file contents are cached.
+     */
+    public boolean isFileContentCacheEnabled() {
+
+        return isEnabled() && contentStore.isEnabled();
+    }
+
+    public int getMaxFileSizeInBytes() {
+
+        return contentStore.getMaxFileSizeInBytes();
+    }
+
+    private static long getSizeProperty(String propertyName, long defaultValue) {
+
+        String value = IdentityUtil.getProperty(propertyName);
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+        try {
+            return Math.min(Long.parseLong(value.trim()), Integer.MAX_VALUE);
+        } catch (NumberFormatException e) {
+            LOG.warn("Invalid value: " + value + " configured for: " + propertyName + ". Using the default value: "
+                    + defaultValue);
+            return defaultValue;
+        }
+    }
+}
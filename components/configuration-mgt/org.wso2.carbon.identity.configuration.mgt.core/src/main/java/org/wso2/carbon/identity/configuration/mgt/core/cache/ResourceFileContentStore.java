@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.configuration.mgt.core.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Node local store of file contents, bounded by the total size of the contents.
+ * <p>
+ * Contents are evicted in least recently used order once the total size exceeds the maximum size, and contents larger
+ * than the maximum file size are never stored. Hence, a few large files can not push out the many small files which
+ * are read on request paths.
+ *
+ * @param <K> Type of the key of a file.
+ */
+public class ResourceFileContentStore<K> {
+
+    private final long maxSizeInBytes;
+    private final int maxFileSizeInBytes;
+    private final LinkedHashMap<K, byte[]> contents = new LinkedHashMap<>(16, 0.75f, true);
+    private long sizeInBytes;
+
+    /**
+     * @param maxSizeInBytes     Maximum total size of the stored contents. Nothing is stored if this is not positive.
+     * @param maxFileSizeInBytes Maximum size of a single stored content.
+     */
+    public ResourceFileContentStore(long maxSizeInBytes, int maxFileSizeInBytes) {
+
+        this.maxSizeInBytes = maxSizeInBytes;
+        this.maxFileSizeInBytes = maxFileSizeInBytes;
+    }
+
+    /**
+     * @param key Key of the file.
+     * @return Content of the file, or null if it is not stored.
+     */
+    public synchronized byte[] get(K key) {
+
+        return contents.get(key);
+    }
+
+    /**
+     * Store the content of a file, evicting the least recently used contents as needed.
+     *
+     * @param key     Key of the file.
+     * @param content Content of the file.
+     * @return True if the content was stored.
+     */
+    public synchronized boolean put(K key, byte[] content) {
+
+        if (content.length > maxFileSizeInBytes || content.length > maxSizeInBytes) {
+            return false;
+        }
+        byte[] previousContent = contents.put(key, content);
+        if (previousContent != null) {
+            sizeInBytes -= previousContent.length;
+        }
+        sizeInBytes += content.length;
+
+        // The stored content is the most recently used one, hence it is reached last.
+        Iterator<Map.Entry<K, byte[]>> iterator = contents.entrySet().iterator();
+        while (sizeInBytes > maxSizeInBytes && iterator.hasNext()) {
+            sizeInBytes -= iterator.next().getValue().length;
+            iterator.remove();
+        }
+        return true;
+    }
+
+    /**
+     * @param key Key of the file to be removed.
+     */
+    public synchronized void remove(K key) {
+
+        byte[] content = contents.remove(key);
+        if (content != null) {
+            sizeInBytes -= content.length;
+        }
+    }
+
+    /**
+     * Remove all the stored contents.
+     */
+    public synchronized void clear() {
+
+        contents.clear();
+        sizeInBytes = 0;
+    }
+
+    /**
+     * @return True if contents can be stored.
+     */
+    public boolean isEnabled() {
+
+        return maxSizeInBytes > 0 && maxFileSizeInBytes > 0;
+    }
+
+    public int getMaxFileSizeInBytes() {
+
+        return maxFileSizeInBytes;
+    }
+
+    public synchronized long getSizeInBytes() {
+
+        return sizeInBytes;
+    }
+}
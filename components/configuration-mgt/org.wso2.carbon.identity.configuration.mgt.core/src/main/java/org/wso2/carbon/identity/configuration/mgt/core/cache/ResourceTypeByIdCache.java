@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.configuration.mgt.core.cache;
+
+import org.wso2.carbon.identity.application.common.cache.BaseCache;
+
+/**
+ * Cache for {@link org.wso2.carbon.identity.configuration.mgt.core.model.ResourceType} from it's id.
+ */
+public class ResourceTypeByIdCache extends BaseCache<ResourceTypeByIdCacheKey, ResourceTypeCacheEntry> {
+
+    public static final String RESOURCE_TYPE_CACHE_NAME = "ConfigurationResourceTypeByIdCache";
+
+    private static volatile ResourceTypeByIdCache instance;
+
+    private ResourceTypeByIdCache() {
+
+        super(RESOURCE_TYPE_CACHE_NAME);
+    }
+
+    public static ResourceTypeByIdCache getInstance() {
+
+        if (instance == null) {
+            synchronized (ResourceTypeByIdCache.class) {
+                if (instance == null) {
+                    instance = new ResourceTypeByIdCache();
+                }
+            }
+        }
+        return instance;
+    }
+}
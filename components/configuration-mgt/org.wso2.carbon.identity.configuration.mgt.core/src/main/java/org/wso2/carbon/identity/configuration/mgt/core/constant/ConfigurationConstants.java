@@ -38,6 +38,10 @@ public class ConfigurationConstants {
     public static final String INFORMIX = "Informix";
     public static final String H2 = "H2";
     public static final String ORACLE = "Oracle";
+    public static final String FILE_CACHE_MAX_SIZE = "ConfigurationStore.FileCache.MaxSize";
+    public static final String FILE_CACHE_MAX_FILE_SIZE = "ConfigurationStore.FileCache.MaxFileSize";
+    public static final long DEFAULT_FILE_CACHE_MAX_SIZE = 50 * 1024 * 1024;
+    public static final long DEFAULT_FILE_CACHE_MAX_FILE_SIZE = 1024 * 1024;
     public static final String RESOURCE_SEARCH_BEAN_FIELD_TENANT_ID = "tenantId";
     public static final String RESOURCE_SEARCH_BEAN_FIELD_TENANT_DOMAIN = "tenantDomain";
     public static final String RESOURCE_SEARCH_BEAN_FIELD_RESOURCE_TYPE_ID = "resourceTypeId";
@@ -24,6 +24,16 @@ import org.wso2.carbon.identity.configuration.mgt.core.cache.ResourceByNameCache
 import org.wso2.carbon.identity.configuration.mgt.core.cache.ResourceByNameCacheKey;
 import org.wso2.carbon.identity.configuration.mgt.core.cache.ResourceCacheEntry;
 import org.wso2.carbon.identity.configuration.mgt.core.cache.ResourceByIdCacheKey;
+import org.wso2.carbon.identity.configuration.mgt.core.cache.ResourceFileCache;
+import org.wso2.carbon.identity.configuration.mgt.core.cache.ResourceFileCacheKey;
+import org.wso2.carbon.identity.configuration.mgt.core.cache.ResourceTypeByIdCache;
+import org.wso2.carbon.identity.configuration.mgt.core.cache.ResourceTypeByIdCacheKey;
+import org.wso2.carbon.identity.configuration.mgt.core.cache.ResourceTypeByNameCache;
+import org.wso2.carbon.identity.configuration.mgt.core.cache.ResourceTypeByNameCacheKey;
+import org.wso2.carbon.identity.configuration.mgt.core.cache.ResourceTypeCacheEntry;
+import org.wso2.carbon.identity.configuration.mgt.core.cache.ResourcesByTypeCache;
+import org.wso2.carbon.identity.configuration.mgt.core.cache.ResourcesByTypeCacheEntry;
+import org.wso2.carbon.identity.configuration.mgt.core.cache.ResourcesByTypeCacheKey;
 import org.wso2.carbon.identity.configuration.mgt.core.constant.ConfigurationConstants;
 import org.wso2.carbon.identity.configuration.mgt.core.dao.ConfigurationDAO;
 import org.wso2.carbon.identity.configuration.mgt.core.exception.ConfigurationManagementException;
@@ -37,10 +47,16 @@ import org.wso2.carbon.identity.configuration.mgt.core.search.Condition;
 import org.wso2.carbon.user.api.UserStoreException;
 import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.wso2.carbon.identity.configuration.mgt.core.util.ConfigurationUtils.handleClientException;
+import static org.wso2.carbon.identity.configuration.mgt.core.util.ConfigurationUtils.handleServerException;
 
 /**
  * This is a wrapper data access object to the default data access object to provide caching functionalities.
@@ -51,12 +67,20 @@ public class CachedBackedConfigurationDAO implements ConfigurationDAO {
     private final ConfigurationDAO configurationDAO;
     private final ResourceByIdCache resourceByIdCache;
     private final ResourceByNameCache resourceByNameCache;
+    private final ResourceTypeByNameCache resourceTypeByNameCache;
+    private final ResourceTypeByIdCache resourceTypeByIdCache;
+    private final ResourcesByTypeCache resourcesByTypeCache;
+    private final ResourceFileCache resourceFileCache;
 
     public CachedBackedConfigurationDAO(ConfigurationDAO configurationDAO) {
     
         this.configurationDAO = configurationDAO;
         this.resourceByIdCache = ResourceByIdCache.getInstance();
         this.resourceByNameCache = ResourceByNameCache.getInstance();
+        this.resourceTypeByNameCache = ResourceTypeByNameCache.getInstance();
+        this.resourceTypeByIdCache = ResourceTypeByIdCache.getInstance();
+        this.resourcesByTypeCache = ResourcesByTypeCache.getInstance();
+        this.resourceFileCache = ResourceFileCache.getInstance();
     }
 
     @Override
@@ -125,23 +149,36 @@ public class CachedBackedConfigurationDAO implements ConfigurationDAO {
     @Override
     public void deleteResourceById(int tenantId, String resourceId) throws ConfigurationManagementException {
 
+        // The resource is retrieved beforehand, as its files and type are needed to clear the related caches.
+        Resource resource = configurationDAO.getTenantResourceById(tenantId, resourceId);
         configurationDAO.deleteResourceById(tenantId, resourceId);
         deleteCacheByResourceId(resourceId, tenantId);
+        deleteResourceFromCache(resource);
+        deleteResourcesByTypeFromCache(resource);
+        deleteFilesFromCache(resource);
     }
 
     @Override
     public void replaceResourceWithFiles(Resource resource) throws ConfigurationManagementException {
 
+        Resource existingResource = configurationDAO.getResourceById(resource.getResourceId());
         configurationDAO.replaceResourceWithFiles(resource);
         deleteResourceFromCache(resource);
+        deleteResourcesByTypeFromCache(resource);
+        deleteFilesFromCache(existingResource);
+        deleteFilesFromCache(resource);
     }
 
     @Override
     public void deleteResourceByName(int tenantId, String resourceTypeId, String name)
             throws ConfigurationManagementException {
 
+        Resource resource = configurationDAO.getResourceByName(tenantId, resourceTypeId, name);
         configurationDAO.deleteResourceByName(tenantId, resourceTypeId, name);
         deleteCacheByResourceByName(name, tenantId);
+        deleteResourceFromCache(resource);
+        deleteResourcesByTypeFromCache(resourceTypeId, getTenantDomain(tenantId));
+        deleteFilesFromCache(resource);
     }
 
     @Override
@@ -149,6 +186,7 @@ public class CachedBackedConfigurationDAO implements ConfigurationDAO {
 
         configurationDAO.addResource(resource);
         addResourceToCache(resource);
+        deleteResourcesByTypeFromCache(resource);
     }
 
     @Override
@@ -156,6 +194,7 @@ public class CachedBackedConfigurationDAO implements ConfigurationDAO {
 
         configurationDAO.replaceResource(resource);
         deleteResourceFromCache(resource);
+        deleteResourcesByTypeFromCache(resource);
     }
 
     @Override
@@ -168,24 +207,57 @@ public class CachedBackedConfigurationDAO implements ConfigurationDAO {
     public void replaceResourceType(ResourceType resourceType) throws ConfigurationManagementException {
 
         configurationDAO.replaceResourceType(resourceType);
+        deleteResourceTypesFromCache();
     }
 
     @Override
     public ResourceType getResourceTypeByName(String resourceTypeName) throws ConfigurationManagementException {
 
-        return configurationDAO.getResourceTypeByName(resourceTypeName);
+        ResourceTypeCacheEntry resourceTypeCacheEntry = resourceTypeByNameCache.getValueFromCache(
+                new ResourceTypeByNameCacheKey(resourceTypeName, MultitenantConstants.SUPER_TENANT_DOMAIN_NAME));
+        if (resourceTypeCacheEntry != null) {
+            if (log.isDebugEnabled()) {
+                log.debug("Cache hit for resource type by it's name. Resource type name: " + resourceTypeName);
+            }
+            return copyOf(resourceTypeCacheEntry.getResourceType());
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Cache miss for resource type by it's name. Resource type name: " + resourceTypeName);
+        }
+        ResourceType resourceType = configurationDAO.getResourceTypeByName(resourceTypeName);
+        addResourceTypeToCache(resourceType);
+        return resourceType;
     }
 
     @Override
     public ResourceType getResourceTypeById(String resourceTypeId) throws ConfigurationManagementException {
 
-        return configurationDAO.getResourceTypeById(resourceTypeId);
+        ResourceTypeCacheEntry resourceTypeCacheEntry = resourceTypeByIdCache.getValueFromCache(
+                new ResourceTypeByIdCacheKey(resourceTypeId, MultitenantConstants.SUPER_TENANT_DOMAIN_NAME));
+        if (resourceTypeCacheEntry != null) {
+            if (log.isDebugEnabled()) {
+                log.debug("Cache hit for resource type by it's id. Resource type id: " + resourceTypeId);
+            }
+            return copyOf(resourceTypeCacheEntry.getResourceType());
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Cache miss for resource type by it's id. Resource type id: " + resourceTypeId);
+        }
+        ResourceType resourceType = configurationDAO.getResourceTypeById(resourceTypeId);
+        addResourceTypeToCache(resourceType);
+        return resourceType;
     }
 
     @Override
     public void deleteResourceTypeByName(String resourceTypeName) throws ConfigurationManagementException {
 
         configurationDAO.deleteResourceTypeByName(resourceTypeName);
+        // Resources of the type are deleted in every tenant along with the type.
+        deleteResourceTypesFromCache();
+        resourceByIdCache.clear();
+        resourceByNameCache.clear();
+        resourcesByTypeCache.clear();
+        resourceFileCache.clearFileContents();
     }
 
     @Override
@@ -199,6 +271,7 @@ public class CachedBackedConfigurationDAO implements ConfigurationDAO {
             throws ConfigurationManagementException {
 
         configurationDAO.updateAttribute(attributeId, resourceId, attribute);
+        deleteCachesOfResource(resourceId);
     }
 
     @Override
@@ -206,6 +279,7 @@ public class CachedBackedConfigurationDAO implements ConfigurationDAO {
             throws ConfigurationManagementException {
 
         configurationDAO.addAttribute(attributeId, resourceId, attribute);
+        deleteCachesOfResource(resourceId);
     }
 
     @Override
@@ -213,6 +287,7 @@ public class CachedBackedConfigurationDAO implements ConfigurationDAO {
             throws ConfigurationManagementException {
 
         configurationDAO.replaceAttribute(attributeId, resourceId, attribute);
+        deleteCachesOfResource(resourceId);
     }
 
     @Override
@@ -220,6 +295,7 @@ public class CachedBackedConfigurationDAO implements ConfigurationDAO {
             throws ConfigurationManagementException {
 
         configurationDAO.deleteAttribute(attributeId, resourceId, attributeKey);
+        deleteCachesOfResource(resourceId);
     }
 
     @Override
@@ -227,13 +303,34 @@ public class CachedBackedConfigurationDAO implements ConfigurationDAO {
             throws ConfigurationManagementException {
 
         configurationDAO.addFile(fileId, resourceId, fileName, fileStream);
+        deleteCachesOfResource(resourceId);
     }
 
     @Override
     public InputStream getFileById(String resourceType, String resourceName, String fileId)
             throws ConfigurationManagementException {
 
-        return configurationDAO.getFileById(resourceType, resourceName, fileId);
+        ResourceFileCacheKey resourceFileCacheKey = new ResourceFileCacheKey(resourceType, resourceName, fileId,
+                MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
+        byte[] fileContent = resourceFileCache.getFileContent(resourceFileCacheKey);
+        if (fileContent != null) {
+            if (log.isDebugEnabled()) {
+                String message = String.format("Cache hit for file by it's id. File id: %s, Resource name: %s, " +
+                        "Resource type: %s", fileId, resourceName, resourceType);
+                log.debug(message);
+            }
+            return new ByteArrayInputStream(fileContent);
+        }
+        if (log.isDebugEnabled()) {
+            String message = String.format("Cache miss for file by it's id. File id: %s, Resource name: %s, " +
+                    "Resource type: %s", fileId, resourceName, resourceType);
+            log.debug(message);
+        }
+        InputStream fileStream = configurationDAO.getFileById(resourceType, resourceName, fileId);
+        if (fileStream == null || !resourceFileCache.isFileContentCacheEnabled()) {
+            return fileStream;
+        }
+        return addFileToCache(resourceFileCacheKey, fileId, fileStream);
     }
 
     @Override
@@ -255,18 +352,53 @@ public class CachedBackedConfigurationDAO implements ConfigurationDAO {
             throws ConfigurationManagementException {
 
         configurationDAO.deleteFileById(resourceType, resourceName, fileId);
+        resourceFileCache.clearFileContent(new ResourceFileCacheKey(resourceType, resourceName, fileId,
+                MultitenantConstants.SUPER_TENANT_DOMAIN_NAME));
+        // The file list and the file flag of the resource change along with the file.
+        int tenantId = PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId();
+        deleteCacheByResourceByName(resourceName, tenantId);
+        ResourceType existingResourceType = getResourceTypeByName(resourceType);
+        if (existingResourceType != null) {
+            deleteResourcesByTypeFromCache(existingResourceType.getId(), getTenantDomain(tenantId));
+        }
     }
 
     @Override
     public void deleteFiles(String resourceId) throws ConfigurationManagementException {
 
+        Resource resource = configurationDAO.getResourceById(resourceId);
         configurationDAO.deleteFiles(resourceId);
+        deleteResourceFromCache(resource);
+        deleteResourcesByTypeFromCache(resource);
+        deleteFilesFromCache(resource);
     }
 
     @Override
     public List getResourcesByType(int tenantId, String resourceTypeId) throws ConfigurationManagementException {
 
-        return configurationDAO.getResourcesByType(tenantId, resourceTypeId);
+        ResourcesByTypeCacheKey resourcesByTypeCacheKey = new ResourcesByTypeCacheKey(resourceTypeId,
+                getTenantDomain(tenantId));
+        ResourcesByTypeCacheEntry resourcesByTypeCacheEntry =
+                resourcesByTypeCache.getValueFromCache(resourcesByTypeCacheKey);
+        if (resourcesByTypeCacheEntry != null) {
+            if (log.isDebugEnabled()) {
+                String message = String.format("Cache hit for resources by type. Resource type id: %s, Tenant id: " +
+                        "%d", resourceTypeId, tenantId);
+                log.debug(message);
+            }
+            return new ArrayList<>(resourcesByTypeCacheEntry.getResources());
+        }
+        if (log.isDebugEnabled()) {
+            String message = String.format("Cache miss for resources by type. Resource type id: %s, Tenant id: %d",
+                    resourceTypeId, tenantId);
+            log.debug(message);
+        }
+        List<Resource> resources = configurationDAO.getResourcesByType(tenantId, resourceTypeId);
+        if (resources != null) {
+            resourcesByTypeCache.addToCache(resourcesByTypeCacheKey,
+                    new ResourcesByTypeCacheEntry(new ArrayList<>(resources)));
+        }
+        return resources;
     }
 
     @Override
@@ -286,31 +418,35 @@ public class CachedBackedConfigurationDAO implements ConfigurationDAO {
             throw handleClientException(ConfigurationConstants.ErrorMessages.ERROR_CODE_RESOURCES_DOES_NOT_EXISTS);
         }
         configurationDAO.deleteResourcesByType(tenantId, resourceTypeId);
+        boolean hasFile = false;
         for (Resource resource : resourceList) {
             deleteResourceFromCache(resource);
+            hasFile |= resource.isHasFile();
+        }
+        deleteResourcesByTypeFromCache(resourceTypeId, getTenantDomain(tenantId));
+        if (hasFile) {
+            // Resources of a type are listed without their files, hence the file ids are not known.
+            resourceFileCache.clearFileContents();
         }
     }
 
     private Resource getResourceFromCacheById(String resourceId, int tenantId)
             throws ConfigurationManagementException {
 
-        try {
-            String tenantDomain = ConfigurationManagerComponentDataHolder.getInstance().getRealmService()
-                    .getTenantManager().getDomain(tenantId);
-            return getResourceFromCacheById(resourceId, tenantDomain);
-        } catch (UserStoreException e) {
-            throw new ConfigurationManagementException("Error when setting tenant domain. ",
-                    ConfigurationConstants.ErrorMessages.ERROR_CODE_UNEXPECTED.getCode(), e);
-        }
+        return getResourceFromCacheById(resourceId, getTenantDomain(tenantId));
     }
 
     private Resource getResourceFromCacheByName(String resourceName, int tenantId)
             throws ConfigurationManagementException {
 
+        return getResourceFromCacheByName(resourceName, getTenantDomain(tenantId));
+    }
+
+    private String getTenantDomain(int tenantId) throws ConfigurationManagementException {
+
         try {
-            String tenantDomain = ConfigurationManagerComponentDataHolder.getInstance().getRealmService()
+            return ConfigurationManagerComponentDataHolder.getInstance().getRealmService()
                     .getTenantManager().getDomain(tenantId);
-            return getResourceFromCacheByName(resourceName, tenantDomain);
         } catch (UserStoreException e) {
             throw new ConfigurationManagementException("Error when setting tenant domain. ",
                     ConfigurationConstants.ErrorMessages.ERROR_CODE_UNEXPECTED.getCode(), e);
@@ -407,4 +543,99 @@ public class CachedBackedConfigurationDAO implements ConfigurationDAO {
         }
         deleteResourceFromCache(resource);
     }
+
+    private void deleteCachesOfResource(String resourceId) throws ConfigurationManagementException {
+
+        Resource resource = configurationDAO.getResourceById(resourceId);
+        deleteResourceFromCache(resource);
+        deleteResourcesByTypeFromCache(resource);
+    }
+
+    private void addResourceTypeToCache(ResourceType resourceType) {
+
+        if (resourceType == null || resourceType.getId() == null) {
+            return;
+        }
+        ResourceTypeCacheEntry resourceTypeCacheEntry = new ResourceTypeCacheEntry(copyOf(resourceType));
+        resourceTypeByNameCache.addToCache(new ResourceTypeByNameCacheKey(resourceType.getName(),
+                MultitenantConstants.SUPER_TENANT_DOMAIN_NAME), resourceTypeCacheEntry);
+        resourceTypeByIdCache.addToCache(new ResourceTypeByIdCacheKey(resourceType.getId(),
+                MultitenantConstants.SUPER_TENANT_DOMAIN_NAME), resourceTypeCacheEntry);
+    }
+
+    private void deleteResourceTypesFromCache() {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Clearing resource type caches.");
+        }
+        resourceTypeByNameCache.clear();
+        resourceTypeByIdCache.clear();
+    }
+
+    private ResourceType copyOf(ResourceType resourceType) {
+
+        return new ResourceType(resourceType.getName(), resourceType.getId(), resourceType.getDescription());
+    }
+
+    private void deleteResourcesByTypeFromCache(Resource resource) throws ConfigurationManagementException {
+
+        if (resource == null || resource.getResourceType() == null) {
+            return;
+        }
+        ResourceType resourceType = getResourceTypeByName(resource.getResourceType());
+        if (resourceType == null) {
+            return;
+        }
+        String tenantDomain = resource.getTenantDomain() != null ? resource.getTenantDomain() :
+                PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantDomain();
+        deleteResourcesByTypeFromCache(resourceType.getId(), tenantDomain);
+    }
+
+    private void deleteResourcesByTypeFromCache(String resourceTypeId, String tenantDomain) {
+
+        if (log.isDebugEnabled()) {
+            String message = String.format("Resources by type cache entry deleted. Resource type id: %s, Tenant " +
+                    "domain: %s", resourceTypeId, tenantDomain);
+            log.debug(message);
+        }
+        resourcesByTypeCache.clearCacheEntry(new ResourcesByTypeCacheKey(resourceTypeId, tenantDomain));
+    }
+
+    private void deleteFilesFromCache(Resource resource) {
+
+        if (resource == null || resource.getFiles() == null) {
+            return;
+        }
+        for (ResourceFile file : resource.getFiles()) {
+            resourceFileCache.clearFileContent(new ResourceFileCacheKey(resource.getResourceType(),
+                    resource.getResourceName(), file.getId(), MultitenantConstants.SUPER_TENANT_DOMAIN_NAME));
+        }
+    }
+
+    /**
+     * Read the file into the cache if it is not larger than the maximum cached file size. Otherwise, the part of the
+     * file which has been read is returned along with the rest of the stream.
+     */
+    private InputStream addFileToCache(ResourceFileCacheKey resourceFileCacheKey, String fileId,
+                                       InputStream fileStream) throws ConfigurationManagementException {
+
+        int maxFileSizeInBytes = resourceFileCache.getMaxFileSizeInBytes();
+        ByteArrayOutputStream fileContent = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        try {
+            int length;
+            while ((length = fileStream.read(buffer)) != -1) {
+                fileContent.write(buffer, 0, length);
+                if (fileContent.size() > maxFileSizeInBytes) {
+                    return new SequenceInputStream(new ByteArrayInputStream(fileContent.toByteArray()), fileStream);
+                }
+            }
+            fileStream.close();
+        } catch (IOException e) {
+            throw handleServerException(ConfigurationConstants.ErrorMessages.ERROR_CODE_GET_FILE, fileId, e);
+        }
+        byte[] content = fileContent.toByteArray();
+        resourceFileCache.addFileContent(resourceFileCacheKey, content);
+        return new ByteArrayInputStream(content);
+    }
 }
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.configuration.mgt.core.cache;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class ResourceFileContentStoreTest {
+
+    @Test
+    public void testLeastRecentlyUsedContentsAreEvicted() {
+
+        ResourceFileContentStore<String> contentStore = new ResourceFileContentStore<>(10, 5);
+        assertTrue(contentStore.put("file1", new byte[4]));
+        assertTrue(contentStore.put("file2", new byte[4]));
+        assertNotNull(contentStore.get("file1"));
+
+        assertTrue(contentStore.put("file3", new byte[4]));
+        assertNotNull(contentStore.get("file1"));
+        assertNull(contentStore.get("file2"));
+        assertNotNull(contentStore.get("file3"));
+        assertEquals(contentStore.getSizeInBytes(), 8);
+    }
+
+    @Test
+    public void testContentsLargerThanMaxFileSizeAreNotStored() {
+
+        ResourceFileContentStore<String> contentStore = new ResourceFileContentStore<>(10, 5);
+        assertTrue(contentStore.put("file1", new byte[4]));
+        assertFalse(contentStore.put("file2", new byte[6]));
+        assertNull(contentStore.get("file2"));
+        assertNotNull(contentStore.get("file1"));
+        assertEquals(contentStore.getSizeInBytes(), 4);
+    }
+
+    @Test
+    public void testReplaceAndRemoveContents() {
+
+        ResourceFileContentStore<String> contentStore = new ResourceFileContentStore<>(10, 5);
+        contentStore.put("file1", new byte[4]);
+        contentStore.put("file1", new byte[2]);
+        assertEquals(contentStore.getSizeInBytes(), 2);
+
+        contentStore.put("file2", new byte[3]);
+        contentStore.remove("file1");
+        assertNull(contentStore.get("file1"));
+        assertEquals(contentStore.getSizeInBytes(), 3);
+
+        contentStore.clear();
+        assertNull(contentStore.get("file2"));
+        assertEquals(contentStore.getSizeInBytes(), 0);
+    }
+
+    @Test
+    public void testDisabledStore() {
+
+        ResourceFileContentStore<String> contentStore = new ResourceFileContentStore<>(0, 5);
+        assertFalse(contentStore.isEnabled());
+        assertFalse(contentStore.put("file1", new byte[1]));
+        assertTrue(new ResourceFileContentStore<String>(10, 5).isEnabled());
+    }
+}
@@ -249,6 +249,9 @@ public class PDPConstants {
 
     public static final String DECISION_CACHING_INTERVAL = "PDP.DecisionCaching.CachingInterval";
 
+    public static final String DECISION_CACHE_MAX_TRACKED_ENTRIES =
+            "EntitlementSettings.DecisionCache.MaxTrackedEntries";
+
     public static final String ATTRIBUTE_CACHING = "PDP.AttributeCaching.Enable";
 
     public static final String ATTRIBUTE_CACHING_INTERVAL = "PDP.AttributeCaching.CachingInterval";
@@ -93,4 +93,14 @@ public class DecisionCache extends EntitlementBaseCache<IdentityCacheKey, Object
         clear();
     }
 
+    /**
+     * Remove the decision of a request from the cache.
+     *
+     * @param key Decision cache key of the request.
+     */
+    public void clearCacheEntry(String key) {
+
+        int tenantId = CarbonContext.getThreadLocalCarbonContext().getTenantId();
+        clearCacheEntry(new IdentityCacheKey(tenantId, key));
+    }
 }
@@ -0,0 +1,362 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.entitlement.cache;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.entitlement.PDPConstants;
+import org.wso2.carbon.identity.entitlement.policy.collection.PolicyTargetIndex;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * Local index of the decision cache entries added by this node, tagged with the policies and the request attribute
+ * values the decisions depend on. When a policy is changed, only the entries which referenced the policy, and the
+ * entries of the requests which the new version of the policy could apply to, are evicted from the decision caches.
+ * <p>
+ * Entries are looked up through concurrent reverse maps from the policy identifiers and the request attribute values
+ * to the entries tagged with them, so neither tagging an entry nor invalidating a policy takes a global lock.
+ * <p>
+ * Each node of a cluster receives the policy status changes through the policy status cluster messages and evicts the
+ * entries it has added.
+ */
+public class DecisionCacheTagIndex {
+
+    private static final Log log = LogFactory.getLog(DecisionCacheTagIndex.class);
+    private static final int DEFAULT_MAX_ENTRIES = 100000;
+
+    private final long timeoutMillis;
+    private final int maxEntries;
+    private final BiConsumer<String, Boolean> evictor;
+    private final AtomicLong generation = new AtomicLong();
+    private final Map<String, TaggedEntry> entries = new ConcurrentHashMap<>();
+    private final Queue<TaggedEntry> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queuedCount = new AtomicInteger();
+    private final Map<String, Set<TaggedEntry>> policyEntries = new ConcurrentHashMap<>();
+    private final Map<String, Set<TaggedEntry>> valueEntries = new ConcurrentHashMap<>();
+    private final Map<String, Set<TaggedEntry>> absentAttributeEntries = new ConcurrentHashMap<>();
+    private final Map<Set<String>, Set<TaggedEntry>> attributeSetEntries = new ConcurrentHashMap<>();
+    private final Set<TaggedEntry> incompleteEntries = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param timeout Timeout of the decision cache entries in seconds. Entries never expire if not positive.
+     * @param evictor Callback which evicts an entry from the decision caches, given the cache key and whether the
+     *                entry is in the simple decision cache.
+     */
+    public DecisionCacheTagIndex(int timeout, BiConsumer<String, Boolean> evictor) {
+
+        this(timeout, getConfiguredMaxEntries(), evictor);
+    }
+
+    DecisionCacheTagIndex(int timeout, int maxEntries, BiConsumer<String, Boolean> evictor) {
+
+        this.timeoutMillis = timeout > 0 ? TimeUnit.SECONDS.toMillis(timeout) : -1;
+        this.maxEntries = maxEntries;
+        this.evictor = evictor;
+    }
+
+    /**
+     * @return Generation of the index, which changes whenever entries are invalidated.
+     */
+    public long getGeneration() {
+
+        return generation.get();
+    }
+
+    /**
+     * Tag a decision cache entry with its dependencies.
+     *
+     * @param cacheKey     Decision cache key.
+     * @param simpleCache  Whether the entry is in the simple decision cache.
+     * @param dependencies Dependencies of the decision.
+     * @return False if a policy was changed while the decision was evaluated, in which case the decision must not be
+     * cached.
+     */
+    public boolean addEntry(String cacheKey, boolean simpleCache, DecisionDependencies dependencies) {
+
+        if (dependencies.getGeneration() != generation.get()) {
+            return false;
+        }
+        TaggedEntry entry = new TaggedEntry(getEntryKey(cacheKey, simpleCache), cacheKey, simpleCache, dependencies);
+        tag(entry);
+        TaggedEntry previousEntry = entries.put(entry.entryKey, entry);
+        if (previousEntry != null) {
+            untag(previousEntry);
+        }
+        if (dependencies.getGeneration() != generation.get()) {
+            // A policy change may have looked up the tags before the entry was added, hence it is not cached.
+            if (entries.remove(entry.entryKey, entry)) {
+                untag(entry);
+            }
+            return false;
+        }
+        insertionOrder.offer(entry);
+        queuedCount.incrementAndGet();
+
+        removeExpiredEntries();
+        while (entries.size() > maxEntries) {
+            // Entries which are not tracked cannot be invalidated selectively, hence evict them from the caches too.
+            TaggedEntry eldestEntry = pollEldestEntry();
+            if (eldestEntry == null) {
+                break;
+            }
+            evict(eldestEntry);
+        }
+        if (queuedCount.get() > 2 * Math.max(entries.size(), maxEntries)) {
+            // Entries which have been replaced or evicted are left in the queue until they reach its head.
+            insertionOrder.removeIf(queuedEntry -> entries.get(queuedEntry.entryKey) != queuedEntry);
+            queuedCount.set(insertionOrder.size());
+        }
+        return true;
+    }
+
+    /**
+     * Evict the decision cache entries affected by a policy change.
+     *
+     * @param policyId          Identifier of the changed policy.
+     * @param newTargetMatches  Indexable matches of the new version of the policy. An empty list denotes that the
+     *                          policy does not apply to any new request, e.g. when the policy is deleted. Null denotes
+     *                          that the new version of the policy may apply to any request.
+     * @return Number of evicted entries.
+     */
+    public int invalidatePolicy(String policyId, List<PolicyTargetIndex.TargetMatch> newTargetMatches) {
+
+        // The generation is changed before the tags are looked up, so that an entry which is being added either is
+        // found here or is not cached.
+        generation.incrementAndGet();
+        int evictedCount = evictAll(policyEntries.get(policyId));
+        evictedCount += evictAll(incompleteEntries);
+        if (newTargetMatches == null) {
+            evictedCount += evictAll(entries.values());
+        } else {
+            for (PolicyTargetIndex.TargetMatch targetMatch : newTargetMatches) {
+                String attributeKey = targetMatch.getAttribute().getKey();
+                evictedCount += evictAll(valueEntries.get(getValueKey(attributeKey, targetMatch.getValue())));
+                // The attribute was not carried by the request, hence it may be resolved by an attribute finder.
+                evictedCount += evictAll(absentAttributeEntries.get(attributeKey));
+                for (Map.Entry<Set<String>, Set<TaggedEntry>> attributeSet : attributeSetEntries.entrySet()) {
+                    if (!attributeSet.getKey().contains(attributeKey)) {
+                        // The attribute was not indexed when the decision was evaluated, hence its value is not known.
+                        evictedCount += evictAll(attributeSet.getValue());
+                    }
+                }
+            }
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Evicted " + evictedCount + " decision cache entries affected by the change of policy: " +
+                    policyId);
+        }
+        return evictedCount;
+    }
+
+    /**
+     * Remove all the tagged entries. The decision caches are expected to be cleared by the caller.
+     */
+    public void clear() {
+
+        generation.incrementAndGet();
+        for (TaggedEntry entry : entries.values()) {
+            if (entries.remove(entry.entryKey, entry)) {
+                untag(entry);
+            }
+        }
+    }
+
+    /**
+     * @return Number of tagged entries.
+     */
+    public int size() {
+
+        return entries.size();
+    }
+
+    private int evictAll(Collection<TaggedEntry> affectedEntries) {
+
+        if (affectedEntries == null) {
+            return 0;
+        }
+        int evictedCount = 0;
+        for (TaggedEntry entry : affectedEntries) {
+            if (evict(entry)) {
+                evictedCount++;
+            }
+        }
+        return evictedCount;
+    }
+
+    private boolean evict(TaggedEntry entry) {
+
+        if (!entries.remove(entry.entryKey, entry)) {
+            return false;
+        }
+        untag(entry);
+        evictor.accept(entry.cacheKey, entry.simpleCache);
+        return true;
+    }
+
+    private void tag(TaggedEntry entry) {
+
+        for (String policyId : entry.policyIds) {
+            addTag(policyEntries, policyId, entry);
+        }
+        if (!entry.complete) {
+            incompleteEntries.add(entry);
+            return;
+        }
+        for (Map.Entry<String, Set<String>> requestValue : entry.requestValues.entrySet()) {
+            if (requestValue.getValue().isEmpty()) {
+                addTag(absentAttributeEntries, requestValue.getKey(), entry);
+            }
+            for (String value : requestValue.getValue()) {
+                addTag(valueEntries, getValueKey(requestValue.getKey(), value), entry);
+            }
+        }
+        addTag(attributeSetEntries, entry.requestValues.keySet(), entry);
+    }
+
+    private void untag(TaggedEntry entry) {
+
+        for (String policyId : entry.policyIds) {
+            removeTag(policyEntries, policyId, entry);
+        }
+        if (!entry.complete) {
+            incompleteEntries.remove(entry);
+            return;
+        }
+        for (Map.Entry<String, Set<String>> requestValue : entry.requestValues.entrySet()) {
+            if (requestValue.getValue().isEmpty()) {
+                removeTag(absentAttributeEntries, requestValue.getKey(), entry);
+            }
+            for (String value : requestValue.getValue()) {
+                removeTag(valueEntries, getValueKey(requestValue.getKey(), value), entry);
+            }
+        }
+        removeTag(attributeSetEntries, entry.requestValues.keySet(), entry);
+    }
+
+    private static <K> void addTag(Map<K, Set<TaggedEntry>> tagEntries, K tag, TaggedEntry entry) {
+
+        tagEntries.compute(tag, (key, taggedEntries) -> {
+            Set<TaggedEntry> updatedEntries = taggedEntries != null ? taggedEntries : ConcurrentHashMap.newKeySet();
+            updatedEntries.add(entry);
+            return updatedEntries;
+        });
+    }
+
+    private static <K> void removeTag(Map<K, Set<TaggedEntry>> tagEntries, K tag, TaggedEntry entry) {
+
+        tagEntries.computeIfPresent(tag, (key, taggedEntries) -> {
+            taggedEntries.remove(entry);
+            return taggedEntries.isEmpty() ? null : taggedEntries;
+        });
+    }
+
+    private TaggedEntry pollEldestEntry() {
+
+        TaggedEntry eldestEntry = insertionOrder.poll();
+        if (eldestEntry != null) {
+            queuedCount.decrementAndGet();
+        }
+        return eldestEntry;
+    }
+
+    private void removeExpiredEntries() {
+
+        if (timeoutMillis <= 0) {
+            return;
+        }
+        long expiryTime = System.currentTimeMillis() - timeoutMillis;
+        TaggedEntry eldestEntry;
+        while ((eldestEntry = insertionOrder.peek()) != null && eldestEntry.addedTime <= expiryTime) {
+            if (!insertionOrder.remove(eldestEntry)) {
+                continue;
+            }
+            queuedCount.decrementAndGet();
+            // Expired entries have already been removed from the decision caches.
+            if (entries.remove(eldestEntry.entryKey, eldestEntry)) {
+                untag(eldestEntry);
+            }
+        }
+    }
+
+    private static String getEntryKey(String cacheKey, boolean simpleCache) {
+
+        return (simpleCache ? "simple:" : "decision:") + cacheKey;
+    }
+
+    private static String getValueKey(String attributeKey, String value) {
+
+        return attributeKey + "=" + value;
+    }
+
+    private static int getConfiguredMaxEntries() {
+
+        String maxEntries = IdentityUtil.getProperty(PDPConstants.DECISION_CACHE_MAX_TRACKED_ENTRIES);
+        if (StringUtils.isBlank(maxEntries)) {
+            return DEFAULT_MAX_ENTRIES;
+        }
+        try {
+            return Integer.parseInt(maxEntries.trim());
+        } catch (NumberFormatException e) {
+            log.warn("Invalid value for " + PDPConstants.DECISION_CACHE_MAX_TRACKED_ENTRIES + ": " + maxEntries +
+                    ". Using the default value: " + DEFAULT_MAX_ENTRIES);
+            return DEFAULT_MAX_ENTRIES;
+        }
+    }
+
+    /**
+     * Decision cache entry together with its dependencies. Entries are compared by identity, so that the tags of an
+     * entry are never mistaken for the tags of a later entry with the same cache key.
+     */
+    private static class TaggedEntry {
+
+        private final String entryKey;
+        private final String cacheKey;
+        private final boolean simpleCache;
+        private final long addedTime = System.currentTimeMillis();
+        private final Set<String> policyIds;
+        private final Map<String, Set<String>> requestValues;
+        private final boolean complete;
+
+        TaggedEntry(String entryKey, String cacheKey, boolean simpleCache, DecisionDependencies dependencies) {
+
+            this.entryKey = entryKey;
+            this.cacheKey = cacheKey;
+            this.simpleCache = simpleCache;
+            this.policyIds = new HashSet<>(dependencies.getPolicyIds());
+            this.requestValues = new HashMap<>(dependencies.getRequestValues());
+            this.complete = dependencies.isComplete();
+        }
+    }
+}
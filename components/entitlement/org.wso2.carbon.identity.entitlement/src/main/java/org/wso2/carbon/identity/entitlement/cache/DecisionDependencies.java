@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.entitlement.cache;
+
+import org.wso2.balana.AbstractPolicy;
+import org.wso2.balana.PolicySet;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Policies and request attribute values on which a decision depends. These are collected on the evaluating thread
+ * while a request is evaluated, and are used to tag the decision cache entry of the request, so that the entry can be
+ * evicted when one of the policies it depends on, or a policy which could newly apply to the request, is changed.
+ */
+public class DecisionDependencies {
+
+    private static final ThreadLocal<DecisionDependencies> CURRENT = new ThreadLocal<>();
+
+    private final DecisionDependencies previous;
+    private final long generation;
+    private final Set<String> policyIds = new HashSet<>();
+    private final Map<String, Set<String>> requestValues = new HashMap<>();
+    private boolean complete = true;
+    private boolean lookupRecorded;
+
+    private DecisionDependencies(DecisionDependencies previous, long generation) {
+
+        this.previous = previous;
+        this.generation = generation;
+    }
+
+    /**
+     * Start collecting the dependencies of a decision on the current thread.
+     *
+     * @param generation Generation of the decision cache tag index when the evaluation started.
+     * @return Dependencies of the decision.
+     */
+    public static DecisionDependencies start(long generation) {
+
+        DecisionDependencies dependencies = new DecisionDependencies(CURRENT.get(), generation);
+        CURRENT.set(dependencies);
+        return dependencies;
+    }
+
+    /**
+     * Stop collecting the dependencies of a decision on the current thread.
+     *
+     * @param dependencies Dependencies returned by {@link #start(long)}.
+     */
+    public static void end(DecisionDependencies dependencies) {
+
+        if (dependencies == null) {
+            return;
+        }
+        if (dependencies.previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(dependencies.previous);
+        }
+    }
+
+    /**
+     * @return Dependencies of the decision being evaluated on the current thread, or null if they are not collected.
+     */
+    public static DecisionDependencies getCurrent() {
+
+        return CURRENT.get();
+    }
+
+    /**
+     * Add a policy applicable to the request. If the policy is a policy set, its child policies are added as well.
+     *
+     * @param policy Applicable policy.
+     */
+    public void addPolicy(AbstractPolicy policy) {
+
+        if (policy == null) {
+            return;
+        }
+        if (policy.getId() != null) {
+            policyIds.add(policy.getId().toString());
+        }
+        if (policy instanceof PolicySet && policy.getChildren() != null) {
+            for (Object child : policy.getChildren()) {
+                if (child instanceof AbstractPolicy) {
+                    addPolicy((AbstractPolicy) child);
+                }
+            }
+        }
+    }
+
+    /**
+     * Add a policy referenced by an applicable policy set.
+     *
+     * @param policyId Identifier of the referenced policy.
+     */
+    public void addPolicyId(String policyId) {
+
+        policyIds.add(policyId);
+    }
+
+    /**
+     * Mark the beginning of a lookup of the applicable policies. The policy collection is expected to record the
+     * request values it used to pick the candidate policies through {@link #addRequestValues(Map)}.
+     */
+    public void beginPolicyLookup() {
+
+        lookupRecorded = false;
+    }
+
+    /**
+     * Mark the end of a lookup of the applicable policies. If the policy collection did not record the request values,
+     * it is not known which policies could newly apply to the request.
+     */
+    public void endPolicyLookup() {
+
+        if (!lookupRecorded) {
+            complete = false;
+        }
+    }
+
+    /**
+     * Add the values of the request for the attributes by which the policies are indexed.
+     *
+     * @param values Values by attribute key. An empty set denotes that the attribute is not present in the request.
+     */
+    public void addRequestValues(Map<String, Set<String>> values) {
+
+        for (Map.Entry<String, Set<String>> entry : values.entrySet()) {
+            requestValues.computeIfAbsent(entry.getKey(), key -> new HashSet<>()).addAll(entry.getValue());
+        }
+        lookupRecorded = true;
+    }
+
+    /**
+     * Mark that the dependencies of the decision could not be fully determined, e.g. when the policy lookup failed.
+     */
+    public void setIncomplete() {
+
+        complete = false;
+    }
+
+    public long getGeneration() {
+
+        return generation;
+    }
+
+    public Set<String> getPolicyIds() {
+
+        return Collections.unmodifiableSet(policyIds);
+    }
+
+    public Map<String, Set<String>> getRequestValues() {
+
+        return Collections.unmodifiableMap(requestValues);
+    }
+
+    public boolean isComplete() {
+
+        return complete;
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.entitlement.pdp;
+
+import org.w3c.dom.Node;
+import org.w3c.dom.bootstrap.DOMImplementationRegistry;
+import org.w3c.dom.ls.DOMImplementationLS;
+import org.w3c.dom.ls.LSSerializer;
+import org.wso2.balana.attr.AttributeValue;
+import org.wso2.balana.ctx.AbstractRequestCtx;
+import org.wso2.balana.ctx.Attribute;
+import org.wso2.balana.ctx.xacml3.RequestCtx;
+import org.wso2.balana.xacml3.Attributes;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Generates the keys of the PDP decision caches.
+ * <p>
+ * A XACML request is reduced to a canonical form, in which the attribute categories, the attributes of a category and
+ * the values of an attribute are sorted. Hence, requests which differ only in white spaces, namespace prefixes, or the
+ * order of their attributes result in the same key, regardless of whether they were sent as XML or JSON. The key is a
+ * 128 bit digest of the canonical form, so that the request strings are not retained in the cache.
+ */
+public class DecisionCacheKeyGenerator {
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final int KEY_LENGTH_IN_BYTES = 16;
+    private static final char FIELD_SEPARATOR = '\u001F';
+    private static final char RECORD_SEPARATOR = '\u001E';
+
+    private DecisionCacheKeyGenerator() {
+
+    }
+
+    /**
+     * Generate the cache key of a parsed XACML request.
+     *
+     * @param requestCtx Balana object model of the request.
+     * @return Cache key, or null if the request cannot be canonicalized, such as a request with multiple decision
+     * references or request defaults. The key of the request string should be used for such requests.
+     */
+    public static String generateKey(AbstractRequestCtx requestCtx) {
+
+        if (requestCtx == null || requestCtx.getAttributesSet() == null) {
+            return null;
+        }
+        StringBuilder canonicalForm = new StringBuilder();
+        canonicalForm.append(requestCtx.getXacmlVersion()).append(RECORD_SEPARATOR);
+        if (requestCtx instanceof RequestCtx) {
+            RequestCtx xacml3RequestCtx = (RequestCtx) requestCtx;
+            if (xacml3RequestCtx.getMultiRequests() != null || xacml3RequestCtx.getRequestDefaults() != null) {
+                return null;
+            }
+            canonicalForm.append(xacml3RequestCtx.isReturnPolicyIdList()).append(FIELD_SEPARATOR)
+                    .append(xacml3RequestCtx.isCombinedDecision()).append(RECORD_SEPARATOR);
+        }
+
+        List<String> categories = new ArrayList<>();
+        for (Attributes attributes : requestCtx.getAttributesSet()) {
+            String category = getCanonicalForm(attributes);
+            if (category == null) {
+                return null;
+            }
+            categories.add(category);
+        }
+        Collections.sort(categories);
+        for (String category : categories) {
+            canonicalForm.append(category).append(RECORD_SEPARATOR);
+        }
+        return digest(canonicalForm.toString());
+    }
+
+    /**
+     * Generate the cache key of a request which is identified by a list of values, such as the subject, resource,
+     * action and environment of a simple request, or the string of a request which could not be canonicalized.
+     *
+     * @param values Values identifying the request. Null values are allowed.
+     * @return Cache key.
+     */
+    public static String generateKey(String... values) {
+
+        StringBuilder canonicalForm = new StringBuilder();
+        for (String value : values) {
+            // Length prefixes keep the boundaries of the values, e.g. ("ab", "c") and ("a", "bc") differ.
+            if (value == null) {
+                canonicalForm.append(-1);
+            } else {
+                canonicalForm.append(value.length()).append(FIELD_SEPARATOR).append(value);
+            }
+            canonicalForm.append(RECORD_SEPARATOR);
+        }
+        return digest(canonicalForm.toString());
+    }
+
+    private static String getCanonicalForm(Attributes attributes) {
+
+        StringBuilder canonicalForm = new StringBuilder();
+        canonicalForm.append(attributes.getCategory()).append(FIELD_SEPARATOR).append(attributes.getId())
+                .append(FIELD_SEPARATOR);
+        if (attributes.getContent() != null) {
+            String content = serialize(attributes.getContent());
+            if (content == null) {
+                return null;
+            }
+            canonicalForm.append(content.length()).append(FIELD_SEPARATOR).append(content);
+        }
+        canonicalForm.append(FIELD_SEPARATOR);
+
+        if (attributes.getAttributes() != null) {
+            List<String> attributeList = new ArrayList<>();
+            for (Attribute attribute : attributes.getAttributes()) {
+                attributeList.add(getCanonicalForm(attribute));
+            }
+            Collections.sort(attributeList);
+            for (String attribute : attributeList) {
+                canonicalForm.append(attribute).append(FIELD_SEPARATOR);
+            }
+        }
+        return canonicalForm.toString();
+    }
+
+    private static String getCanonicalForm(Attribute attribute) {
+
+        List<String> values = new ArrayList<>();
+        if (attribute.getValues() != null) {
+            for (AttributeValue value : attribute.getValues()) {
+                String encodedValue = value.encode();
+                values.add(encodedValue.length() + String.valueOf(FIELD_SEPARATOR) + encodedValue);
+            }
+        }
+        Collections.sort(values);
+        return attribute.getId() + String.valueOf(FIELD_SEPARATOR) + attribute.getType() + FIELD_SEPARATOR +
+                attribute.getIssuer() + FIELD_SEPARATOR + attribute.isIncludeInResult() + FIELD_SEPARATOR + values;
+    }
+
+    private static String serialize(Node node) {
+
+        try {
+            DOMImplementationLS domImplementation =
+                    (DOMImplementationLS) DOMImplementationRegistry.newInstance().getDOMImplementation("LS");
+            LSSerializer serializer = domImplementation.createLSSerializer();
+            serializer.getDomConfig().setParameter("xml-declaration", false);
+            return serializer.writeToString(node);
+        } catch (ClassNotFoundException | InstantiationException | IllegalAccessException | ClassCastException e) {
+            return null;
+        }
+    }
+
+    private static String digest(String canonicalForm) {
+
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+            byte[] digest = messageDigest.digest(canonicalForm.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, KEY_LENGTH_IN_BYTES));
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256.
+            throw new IllegalStateException("Error while generating the decision cache key", e);
+        }
+    }
+}
@@ -45,7 +45,10 @@ import org.wso2.carbon.identity.entitlement.EntitlementException;
 import org.wso2.carbon.identity.entitlement.EntitlementUtil;
 import org.wso2.carbon.identity.entitlement.PDPConstants;
 import org.wso2.carbon.identity.entitlement.cache.DecisionCache;
+import org.wso2.carbon.identity.entitlement.cache.DecisionCacheTagIndex;
+import org.wso2.carbon.identity.entitlement.cache.DecisionDependencies;
 import org.wso2.carbon.identity.entitlement.cache.PolicyCache;
+import org.wso2.carbon.identity.entitlement.cache.PolicyStatus;
 import org.wso2.carbon.identity.entitlement.cache.SimpleDecisionCache;
 import org.wso2.carbon.identity.entitlement.persistence.PolicyPersistenceManager;
 import org.wso2.carbon.identity.entitlement.internal.EntitlementServiceComponent;
@@ -56,6 +59,7 @@ import org.wso2.carbon.identity.entitlement.pip.CarbonAttributeFinder;
 import org.wso2.carbon.identity.entitlement.pip.CarbonResourceFinder;
 import org.wso2.carbon.identity.entitlement.pip.PIPExtension;
 import org.wso2.carbon.identity.entitlement.policy.PolicyRequestBuilder;
+import org.wso2.carbon.identity.entitlement.policy.collection.PolicyTargetIndex;
 import org.wso2.carbon.identity.entitlement.policy.finder.CarbonPolicyFinder;
 import org.wso2.carbon.identity.entitlement.policy.search.PolicySearch;
 import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
@@ -64,6 +68,7 @@ import org.xml.sax.SAXException;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -98,17 +103,37 @@ public class EntitlementEngine {
 
     private SimpleDecisionCache simpleDecisionCache = null;
 
+    private DecisionCacheTagIndex decisionCacheTagIndex = null;
+
     private static final Log log = LogFactory.getLog(EntitlementEngine.class);
+    private static final String RESPONSE_CTX_CACHE_KEY_PREFIX = "ctx:";
+    private static final String RAW_REQUEST_CACHE_KEY_PREFIX = "raw:";
 
     public PolicyCache getPolicyCache() {
         return policyCache;
     }
 
     public void clearDecisionCache() {
+        this.decisionCacheTagIndex.clear();
         this.decisionCache.clear();
         this.simpleDecisionCache.clear();
     }
 
+    /**
+     * Evict the decisions affected by a change of a policy from the decision caches, instead of clearing them.
+     *
+     * @param policyId         Identifier of the changed policy.
+     * @param newTargetMatches Indexable target matches of the new version of the policy. An empty list denotes that
+     *                         the policy does not apply to any new request, and null denotes that the policy may apply
+     *                         to any request.
+     */
+    public void invalidateDecisionCache(String policyId, List<PolicyTargetIndex.TargetMatch> newTargetMatches) {
+
+        if (pdpDecisionCacheEnable) {
+            decisionCacheTagIndex.invalidatePolicy(policyId, newTargetMatches);
+        }
+    }
+
     /**
      * Get a EntitlementEngine instance for that tenant. This method will return an
      * EntitlementEngine instance if exists, or creates a new one
@@ -235,6 +260,13 @@ public class EntitlementEngine {
         //init caches
         decisionCache = new DecisionCache(pdpDecisionCachingInterval);
         simpleDecisionCache = new SimpleDecisionCache(pdpDecisionCachingInterval);
+        decisionCacheTagIndex = new DecisionCacheTagIndex(pdpDecisionCachingInterval, (cacheKey, simpleCache) -> {
+            if (simpleCache) {
+                simpleDecisionCache.clearCacheEntry(cacheKey);
+            } else {
+                decisionCache.clearCacheEntry(cacheKey);
+            }
+        });
         this.policyCache = new PolicyCache(pdpPolicyCachingInterval);
 
         // policy search
@@ -316,33 +348,49 @@ public class EntitlementEngine {
         }
 
         String xacmlResponse;
+        AbstractRequestCtx requestCtx = null;
+        String cacheKey = null;
 
-        if ((xacmlResponse = (String) getFromCache(xacmlRequest, false)) != null) {
-            if (log.isDebugEnabled() && IdentityUtil.isTokenLoggable(IdentityConstants.IdentityTokens.XACML_RESPONSE)) {
-                log.debug("XACML Response : " + xacmlResponse);
+        if (pdpDecisionCacheEnable) {
+            requestCtx = parseRequest(xacmlRequest);
+            cacheKey = getDecisionCacheKey(requestCtx, xacmlRequest);
+            if ((xacmlResponse = (String) getFromCache(cacheKey, false)) != null) {
+                if (log.isDebugEnabled() &&
+                        IdentityUtil.isTokenLoggable(IdentityConstants.IdentityTokens.XACML_RESPONSE)) {
+                    log.debug("XACML Response : " + xacmlResponse);
+                }
+                return xacmlResponse;
             }
-            return xacmlResponse;
         }
 
         Map<PIPExtension, Properties> extensions = EntitlementServiceComponent.getEntitlementConfig()
                 .getExtensions();
 
-        if (extensions != null && !extensions.isEmpty()) {
-            PolicyRequestBuilder policyRequestBuilder = new PolicyRequestBuilder();
-            Element xacmlRequestElement = policyRequestBuilder.getXacmlRequest(xacmlRequest);
-            AbstractRequestCtx requestCtx = RequestCtxFactory.getFactory().
-                    getRequestCtx(xacmlRequestElement);
-            Set<PIPExtension> pipExtensions = extensions.keySet();
-            for (PIPExtension pipExtension : pipExtensions) {
-                pipExtension.update(requestCtx);
+        DecisionDependencies dependencies = startDependencyTracking();
+        try {
+            if (extensions != null && !extensions.isEmpty()) {
+                if (requestCtx == null) {
+                    PolicyRequestBuilder policyRequestBuilder = new PolicyRequestBuilder();
+                    Element xacmlRequestElement = policyRequestBuilder.getXacmlRequest(xacmlRequest);
+                    requestCtx = RequestCtxFactory.getFactory().getRequestCtx(xacmlRequestElement);
+                }
+                Set<PIPExtension> pipExtensions = extensions.keySet();
+                for (PIPExtension pipExtension : pipExtensions) {
+                    pipExtension.update(requestCtx);
+                }
+                ResponseCtx responseCtx = pdp.evaluate(requestCtx);
+                xacmlResponse = responseCtx.encode();
+            } else if (requestCtx != null) {
+                // Reuse the request parsed for the cache key instead of parsing the request string again.
+                xacmlResponse = pdp.evaluate(requestCtx).encode();
+            } else {
+                xacmlResponse = pdp.evaluate(xacmlRequest);
             }
-            ResponseCtx responseCtx = pdp.evaluate(requestCtx);
-            xacmlResponse = responseCtx.encode();
-        } else {
-            xacmlResponse = pdp.evaluate(xacmlRequest);
+        } finally {
+            DecisionDependencies.end(dependencies);
         }
 
-        addToCache(xacmlRequest, xacmlResponse, false);
+        addToCache(cacheKey, xacmlResponse, false, dependencies);
 
         if (log.isDebugEnabled() && IdentityUtil.isTokenLoggable(IdentityConstants.IdentityTokens.XACML_RESPONSE)) {
             log.debug("XACML Response : " + xacmlResponse);
@@ -375,41 +423,55 @@ public class EntitlementEngine {
 
         String xacmlResponse;
         ResponseCtx responseCtx;
+        AbstractRequestCtx requestCtx = null;
+        String cacheKey = null;
 
-        if ((xacmlResponse = (String) getFromCache(xacmlRequest, false)) != null) {
-            if (log.isDebugEnabled() && IdentityUtil.isTokenLoggable(IdentityConstants.IdentityTokens.XACML_RESPONSE)) {
-                log.debug("XACML Response : " + xacmlResponse);
-            }
-
-            DocumentBuilderFactory documentBuilderFactory = IdentityUtil.getSecuredDocumentBuilderFactory();
-            Element node = documentBuilderFactory.newDocumentBuilder().parse
-                    (new ByteArrayInputStream(xacmlResponse.getBytes())).getDocumentElement();
+        if (pdpDecisionCacheEnable) {
+            requestCtx = parseRequest(xacmlRequest);
+            cacheKey = getDecisionCacheKey(requestCtx, xacmlRequest);
+            if ((xacmlResponse = (String) getFromCache(cacheKey, false)) != null) {
+                if (log.isDebugEnabled() &&
+                        IdentityUtil.isTokenLoggable(IdentityConstants.IdentityTokens.XACML_RESPONSE)) {
+                    log.debug("XACML Response : " + xacmlResponse);
+                }
 
+                DocumentBuilderFactory documentBuilderFactory = IdentityUtil.getSecuredDocumentBuilderFactory();
+                Element node = documentBuilderFactory.newDocumentBuilder().parse
+                        (new ByteArrayInputStream(xacmlResponse.getBytes())).getDocumentElement();
 
-            return (ResponseCtx.getInstance(node));
 
+                return (ResponseCtx.getInstance(node));
+            }
         }
 
         Map<PIPExtension, Properties> extensions = EntitlementServiceComponent.getEntitlementConfig()
                 .getExtensions();
 
-        if (extensions != null && !extensions.isEmpty()) {
-            PolicyRequestBuilder policyRequestBuilder = new PolicyRequestBuilder();
-            Element xacmlRequestElement = policyRequestBuilder.getXacmlRequest(xacmlRequest);
-            AbstractRequestCtx requestCtx = RequestCtxFactory.getFactory().
-                    getRequestCtx(xacmlRequestElement);
-            Set<PIPExtension> pipExtensions = extensions.keySet();
-            for (PIPExtension pipExtension : pipExtensions) {
-                pipExtension.update(requestCtx);
+        DecisionDependencies dependencies = startDependencyTracking();
+        try {
+            if (extensions != null && !extensions.isEmpty()) {
+                if (requestCtx == null) {
+                    PolicyRequestBuilder policyRequestBuilder = new PolicyRequestBuilder();
+                    Element xacmlRequestElement = policyRequestBuilder.getXacmlRequest(xacmlRequest);
+                    requestCtx = RequestCtxFactory.getFactory().getRequestCtx(xacmlRequestElement);
+                }
+                Set<PIPExtension> pipExtensions = extensions.keySet();
+                for (PIPExtension pipExtension : pipExtensions) {
+                    pipExtension.update(requestCtx);
+                }
+                responseCtx = pdp.evaluate(requestCtx);
+            } else if (requestCtx != null) {
+                responseCtx = pdp.evaluate(requestCtx);
+            } else {
+                responseCtx = pdp.evaluateReturnResponseCtx(xacmlRequest);
             }
-            responseCtx = pdp.evaluate(requestCtx);
-        } else {
-            responseCtx = pdp.evaluateReturnResponseCtx(xacmlRequest);
+        } finally {
+            DecisionDependencies.end(dependencies);
         }
 
         xacmlResponse = responseCtx.encode();
 
-        addToCache(xacmlRequest, xacmlResponse, false);
+        addToCache(cacheKey, xacmlResponse, false, dependencies);
 
         if (log.isDebugEnabled() && IdentityUtil.isTokenLoggable(IdentityConstants.IdentityTokens.XACML_RESPONSE)) {
             log.debug("XACML Response : " + xacmlResponse);
@@ -444,17 +506,30 @@ public class EntitlementEngine {
         }
 
         ResponseCtx xacmlResponse;
+        /*
+         * Responses of this method are cached as ResponseCtx objects while the other methods cache encoded responses.
+         * Hence, a separate key space is used, since the same request could be received in both ways.
+         */
+        String cacheKey = null;
+        if (pdpDecisionCacheEnable) {
+            cacheKey = RESPONSE_CTX_CACHE_KEY_PREFIX + getDecisionCacheKey(requestCtx, xacmlRequest);
+        }
 
-        if ((xacmlResponse = (ResponseCtx) getFromCache(xacmlRequest, false)) != null) {
+        if ((xacmlResponse = (ResponseCtx) getFromCache(cacheKey, false)) != null) {
             if (log.isDebugEnabled() && IdentityUtil.isTokenLoggable(IdentityConstants.IdentityTokens.XACML_RESPONSE)) {
                 log.debug("XACML Response : " + xacmlResponse);
             }
             return xacmlResponse;
         }
 
-        xacmlResponse = pdp.evaluate(requestCtx);
+        DecisionDependencies dependencies = startDependencyTracking();
+        try {
+            xacmlResponse = pdp.evaluate(requestCtx);
+        } finally {
+            DecisionDependencies.end(dependencies);
+        }
 
-        addToCache(xacmlRequest, xacmlResponse, false);
+        addToCache(cacheKey, xacmlResponse, false, dependencies);
 
         if (log.isDebugEnabled() && IdentityUtil.isTokenLoggable(IdentityConstants.IdentityTokens.XACML_RESPONSE)) {
             log.debug("XACML Response : " + xacmlResponse);
@@ -483,10 +558,9 @@ public class EntitlementEngine {
             environmentValue = environment[0];
         }
         String response;
-        String request = (subject != null ? subject : "") + (resource != null ? resource : "") +
-                (action != null ? action : "") + (environmentValue != null ? environmentValue : "");
+        String cacheKey = DecisionCacheKeyGenerator.generateKey(subject, resource, action, environmentValue);
 
-        if ((response = (String) getFromCache(request, true)) != null) {
+        if ((response = (String) getFromCache(cacheKey, true)) != null) {
             if (log.isDebugEnabled() && IdentityUtil.isTokenLoggable(IdentityConstants.IdentityTokens.XACML_REQUEST)) {
                 log.debug("XACML Request : " + EntitlementUtil.
                         createSimpleXACMLRequest(subject, resource, action, environmentValue));
@@ -503,9 +577,14 @@ public class EntitlementEngine {
             log.debug("XACML Request : " + requestAsString);
         }
 
-        response = pdp.evaluate(requestAsString);
+        DecisionDependencies dependencies = startDependencyTracking();
+        try {
+            response = pdp.evaluate(requestAsString);
+        } finally {
+            DecisionDependencies.end(dependencies);
+        }
 
-        addToCache(request, response, true);
+        addToCache(cacheKey, response, true, dependencies);
 
         if (log.isDebugEnabled() && IdentityUtil.isTokenLoggable(IdentityConstants.IdentityTokens.XACML_RESPONSE)) {
             log.debug("XACML Response : " + response);
@@ -552,10 +631,60 @@ public class EntitlementEngine {
         return carbonPolicyFinder;
     }
 
+    /**
+     * Start collecting the policies and request values the decision being evaluated depends on.
+     *
+     * @return dependencies of the decision, or null if decision caching is disabled
+     */
+    private DecisionDependencies startDependencyTracking() {
+
+        if (!pdpDecisionCacheEnable) {
+            return null;
+        }
+        return DecisionDependencies.start(decisionCacheTagIndex.getGeneration());
+    }
+
+    /**
+     * Parse the XACML request to build the decision cache key. The parsed request is reused for the evaluation.
+     *
+     * @param xacmlRequest XACML request as String
+     * @return Balana object model of the request, or null if the request could not be parsed. Such requests are
+     * evaluated from the request string, so that the PDP builds the error response.
+     */
+    private AbstractRequestCtx parseRequest(String xacmlRequest) {
+
+        try {
+            Element xacmlRequestElement = new PolicyRequestBuilder().getXacmlRequest(xacmlRequest);
+            return RequestCtxFactory.getFactory().getRequestCtx(xacmlRequestElement);
+        } catch (EntitlementException | ParsingException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Error while parsing the XACML request to build the decision cache key", e);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Build the decision cache key of a request from its canonical form, or from the request string if the request
+     * could not be canonicalized.
+     *
+     * @param requestCtx   Balana object model of the request
+     * @param xacmlRequest XACML request as String
+     * @return decision cache key
+     */
+    private String getDecisionCacheKey(AbstractRequestCtx requestCtx, String xacmlRequest) {
+
+        String cacheKey = DecisionCacheKeyGenerator.generateKey(requestCtx);
+        if (cacheKey == null) {
+            cacheKey = RAW_REQUEST_CACHE_KEY_PREFIX + DecisionCacheKeyGenerator.generateKey(xacmlRequest);
+        }
+        return cacheKey;
+    }
+
     /**
      * get entry from decision caching
      *
-     * @param request     XACML request as String
+     * @param request     decision cache key of the request
      * @param simpleCache whether using simple cache or not
      * @return XACML response as String
      */
@@ -578,11 +707,25 @@ public class EntitlementEngine {
                 if (log.isDebugEnabled()) {
                     log.debug("Policy Cache is invalidated. Clearing the decision cache.");
                 }
+                decisionCacheTagIndex.clear();
                 decisionCache.clear();
                 simpleDecisionCache.clear();
                 return null;
             }
 
+            /*
+             * If there are policy changes which are not yet applied, the decision is evaluated so that the policy
+             * finder applies them and evicts the affected decisions.
+             */
+            Collection<PolicyStatus> invalidatedPolicies =
+                    EntitlementEngine.getInstance().getPolicyCache().getInvalidatedPolicies();
+            if (invalidatedPolicies != null && !invalidatedPolicies.isEmpty()) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Policy changes are pending. Skipping the decision cache.");
+                }
+                return null;
+            }
+
             if (simpleCache) {
                 decision = simpleDecisionCache.getFromCache(tenantRequest);
             } else {
@@ -600,13 +743,21 @@ public class EntitlementEngine {
     /**
      * put entry in to cache
      *
-     * @param request     XACML request as String
+     * @param request     decision cache key of the request
      * @param response    XACML response as String
      * @param simpleCache whether using simple cache or not
+     * @param dependencies policies and request values the decision depends on
      */
-    private void addToCache(String request, Object response, boolean simpleCache) {
+    private void addToCache(String request, Object response, boolean simpleCache,
+                            DecisionDependencies dependencies) {
         if (pdpDecisionCacheEnable) {
             String tenantRequest = tenantId + "+" + request;
+            if (dependencies != null && !decisionCacheTagIndex.addEntry(tenantRequest, simpleCache, dependencies)) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Policies were changed while the decision was evaluated. Decision is not cached.");
+                }
+                return;
+            }
             if (simpleCache) {
                 simpleDecisionCache.addToCache(tenantRequest, response);
             } else {
@@ -0,0 +1,331 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.entitlement.policy.collection;
+
+import org.wso2.balana.AbstractPolicy;
+import org.wso2.balana.AbstractTarget;
+import org.wso2.balana.attr.AttributeValue;
+import org.wso2.balana.attr.xacml3.AttributeDesignator;
+import org.wso2.balana.ctx.AbstractRequestCtx;
+import org.wso2.balana.ctx.Attribute;
+import org.wso2.balana.ctx.EvaluationCtx;
+import org.wso2.balana.xacml3.AllOfSelection;
+import org.wso2.balana.xacml3.AnyOfSelection;
+import org.wso2.balana.xacml3.Attributes;
+import org.wso2.balana.xacml3.Target;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Index of policies by the literal attribute values in their targets.
+ * <p>
+ * A XACML 3.0 target matches only if each of its AnyOf elements matches, an AnyOf matches only if one of its AllOf
+ * elements matches, and an AllOf matches only if all of its Match elements match. Hence, if each AllOf of an AnyOf
+ * contains a string-equal Match on an attribute designator, a policy can only be applicable to a request which carries
+ * one of those literal values for the corresponding attribute. Such policies are indexed by those values, using the
+ * first AnyOf of the target when the first Match of each of its AllOf elements is such a Match. Policies
+ * whose targets cannot be indexed this way (empty targets, XACML 2.0 targets, selectors, non equality functions) are
+ * kept in a fallback bucket and are always considered as candidates.
+ * <p>
+ * The index only narrows down the candidate policies. Candidates are still matched against the request, so the result
+ * of the policy evaluation is not changed. Only the attribute values carried by the request are used to pick the
+ * candidates. Attributes which would have to be resolved through the attribute finders are left to the target
+ * evaluation, hence the policies indexed by them are always candidates.
+ */
+public class PolicyTargetIndex {
+
+    private static final String STRING_EQUAL_FUNCTION = "urn:oasis:names:tc:xacml:1.0:function:string-equal";
+    private static final String STRING_DATA_TYPE = "http://www.w3.org/2001/XMLSchema#string";
+
+    private final Map<TargetAttribute, Map<String, Set<URI>>> valueIndex = new HashMap<>();
+    private final Map<TargetAttribute, Set<URI>> attributeIndex = new HashMap<>();
+    private final Set<URI> unindexedPolicies = new HashSet<>();
+
+    /**
+     * Build the index of the given policies. The index is not changed once it is built, hence it is published
+     * together with the policies it has been built from.
+     *
+     * @param policyMatches Indexable matches of the target of each policy, as returned by
+     *                      {@link #getTargetMatches(AbstractPolicy)}, by policy identifier. A null value marks a policy
+     *                      whose target cannot be indexed.
+     */
+    public PolicyTargetIndex(Map<URI, List<TargetMatch>> policyMatches) {
+
+        for (Map.Entry<URI, List<TargetMatch>> entry : policyMatches.entrySet()) {
+            URI policyId = entry.getKey();
+            if (entry.getValue() == null) {
+                unindexedPolicies.add(policyId);
+                continue;
+            }
+            for (TargetMatch targetMatch : entry.getValue()) {
+                valueIndex.computeIfAbsent(targetMatch.attribute, attribute -> new HashMap<>())
+                        .computeIfAbsent(targetMatch.value, value -> new HashSet<>()).add(policyId);
+                attributeIndex.computeIfAbsent(targetMatch.attribute, attribute -> new HashSet<>()).add(policyId);
+            }
+        }
+    }
+
+    /**
+     * Get the policies which may be applicable to the given request.
+     *
+     * @param context Evaluation context of the request.
+     * @return Identifiers of the candidate policies, or null if the request attributes could not be resolved and all
+     * the policies need to be evaluated.
+     */
+    public Set<URI> getCandidatePolicies(EvaluationCtx context) {
+
+        return getCandidatePolicies(context, null);
+    }
+
+    /**
+     * Get the policies which may be applicable to the given request, and collect the values of the indexed attributes
+     * in the request.
+     *
+     * @param context       Evaluation context of the request.
+     * @param requestValues Map to collect the values of the request by the key of the indexed attribute. Attributes
+     *                      which are not carried by the request are added with an empty set. May be null.
+     * @return Identifiers of the candidate policies, or null if the request attributes are not available and all
+     * the policies need to be evaluated.
+     */
+    public Set<URI> getCandidatePolicies(EvaluationCtx context, Map<String, Set<String>> requestValues) {
+
+        Map<String, Set<String>> carriedValues = getCarriedValues(context);
+        if (carriedValues == null) {
+            return null;
+        }
+        Set<URI> candidates = new HashSet<>(unindexedPolicies);
+        for (Map.Entry<TargetAttribute, Map<String, Set<URI>>> entry : valueIndex.entrySet()) {
+            TargetAttribute attribute = entry.getKey();
+            Set<String> values = carriedValues.get(attribute.getKey());
+            if (values == null) {
+                /*
+                 * The attribute is not carried by the request. It is resolved through the attribute finders, or
+                 * reported as missing, only if the target of a policy is evaluated. Hence those policies are evaluated,
+                 * instead of resolving the attribute for every request.
+                 */
+                if (requestValues != null) {
+                    requestValues.computeIfAbsent(attribute.getKey(), key -> new HashSet<>());
+                }
+                Set<URI> policies = attributeIndex.get(attribute);
+                if (policies != null) {
+                    candidates.addAll(policies);
+                }
+                continue;
+            }
+            if (requestValues != null) {
+                requestValues.computeIfAbsent(attribute.getKey(), key -> new HashSet<>()).addAll(values);
+            }
+            Map<String, Set<URI>> indexedValues = entry.getValue();
+            for (String value : values) {
+                Set<URI> policies = indexedValues.get(value);
+                if (policies != null) {
+                    candidates.addAll(policies);
+                }
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Get the values of the attributes carried by the request, by attribute key. Since the evaluation context looks
+     * up an attribute in the request before the attribute finders, these are the values the target evaluation sees.
+     *
+     * @param context Evaluation context of the request.
+     * @return Values by attribute key, or null if the attributes of the request are not available.
+     */
+    private static Map<String, Set<String>> getCarriedValues(EvaluationCtx context) {
+
+        AbstractRequestCtx requestCtx = context.getRequestCtx();
+        if (requestCtx == null || requestCtx.getAttributesSet() == null) {
+            return null;
+        }
+        Map<String, Set<String>> carriedValues = new HashMap<>();
+        for (Attributes attributes : requestCtx.getAttributesSet()) {
+            if (attributes.getAttributes() == null) {
+                continue;
+            }
+            for (Attribute attribute : attributes.getAttributes()) {
+                if (attribute.getValues() == null || attribute.getValues().isEmpty()) {
+                    continue;
+                }
+                Set<String> values = carriedValues.computeIfAbsent(
+                        TargetAttribute.getKey(attributes.getCategory(), attribute.getId(), attribute.getType()),
+                        key -> new HashSet<>());
+                for (AttributeValue value : attribute.getValues()) {
+                    values.add(value.encode());
+                }
+            }
+        }
+        return carriedValues;
+    }
+
+    /**
+     * Get the matches by which the target of a policy can be indexed.
+     *
+     * @param policy Policy.
+     * @return Indexable matches, or null if the target cannot be indexed and the policy may be applicable to any
+     * request.
+     */
+    public static List<TargetMatch> getTargetMatches(AbstractPolicy policy) {
+
+        if (policy == null) {
+            return null;
+        }
+        return getIndexableMatches(policy.getTarget());
+    }
+
+    /**
+     * Get the matches by which a policy target can be indexed. These are the first Match of each AllOf of the first
+     * AnyOf, which are evaluated before any other Match of the target. Hence, skipping a policy whose indexed Matches
+     * do not match the request does not hide an error which the target evaluation would have reported.
+     *
+     * @param policyTarget Target of the policy.
+     * @return Indexable matches, or null if the target cannot be indexed.
+     */
+    static List<TargetMatch> getIndexableMatches(AbstractTarget policyTarget) {
+
+        if (!(policyTarget instanceof Target)) {
+            return null;
+        }
+        List<AnyOfSelection> anyOfs = ((Target) policyTarget).getAnyOfSelections();
+        if (anyOfs == null || anyOfs.isEmpty()) {
+            return null;
+        }
+        List<AllOfSelection> allOfs = anyOfs.get(0).getAllOfSelections();
+        if (allOfs == null || allOfs.isEmpty()) {
+            return null;
+        }
+        List<TargetMatch> targetMatches = new ArrayList<>();
+        for (AllOfSelection allOf : allOfs) {
+            List<org.wso2.balana.TargetMatch> matches = allOf.getMatches();
+            TargetMatch targetMatch = matches == null || matches.isEmpty() ? null : getIndexableMatch(matches.get(0));
+            if (targetMatch == null) {
+                return null;
+            }
+            targetMatches.add(targetMatch);
+        }
+        return targetMatches;
+    }
+
+    private static TargetMatch getIndexableMatch(org.wso2.balana.TargetMatch match) {
+
+        if (match.getMatchFunction() == null ||
+                !STRING_EQUAL_FUNCTION.equals(String.valueOf(match.getMatchFunction().getIdentifier()))) {
+            return null;
+        }
+        AttributeValue value = match.getMatchValue();
+        if (value == null || !(match.getMatchEvaluatable() instanceof AttributeDesignator)) {
+            return null;
+        }
+        AttributeDesignator designator = (AttributeDesignator) match.getMatchEvaluatable();
+        if (!STRING_DATA_TYPE.equals(String.valueOf(value.getType())) ||
+                !STRING_DATA_TYPE.equals(String.valueOf(designator.getType())) ||
+                designator.getCategory() == null || designator.getId() == null ||
+                designator.getIssuer() != null) {
+            return null;
+        }
+        TargetAttribute attribute = new TargetAttribute(designator.getCategory(), designator.getId(),
+                designator.getType(), designator.mustBePresent());
+        return new TargetMatch(attribute, value.encode());
+    }
+
+    /**
+     * Attribute designated by an indexed Match.
+     */
+    public static class TargetAttribute {
+
+        private final URI category;
+        private final URI attributeId;
+        private final URI dataType;
+        private final boolean mustBePresent;
+
+        TargetAttribute(URI category, URI attributeId, URI dataType, boolean mustBePresent) {
+
+            this.category = category;
+            this.attributeId = attributeId;
+            this.dataType = dataType;
+            this.mustBePresent = mustBePresent;
+        }
+
+        /**
+         * @return Key of the attribute, which does not depend on whether the attribute must be present.
+         */
+        public String getKey() {
+
+            return getKey(category, attributeId, dataType);
+        }
+
+        static String getKey(URI category, URI attributeId, URI dataType) {
+
+            return category + "|" + attributeId + "|" + dataType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            TargetAttribute that = (TargetAttribute) o;
+            return mustBePresent == that.mustBePresent && category.equals(that.category) &&
+                    attributeId.equals(that.attributeId) && dataType.equals(that.dataType);
+        }
+
+        @Override
+        public int hashCode() {
+
+            return Objects.hash(category, attributeId, dataType, mustBePresent);
+        }
+    }
+
+    /**
+     * Literal value of an indexed Match together with the designated attribute.
+     */
+    public static class TargetMatch {
+
+        private final TargetAttribute attribute;
+        private final String value;
+
+        TargetMatch(TargetAttribute attribute, String value) {
+
+            this.attribute = attribute;
+            this.value = value;
+        }
+
+        public TargetAttribute getAttribute() {
+
+            return attribute;
+        }
+
+        public String getValue() {
+
+            return value;
+        }
+    }
+}
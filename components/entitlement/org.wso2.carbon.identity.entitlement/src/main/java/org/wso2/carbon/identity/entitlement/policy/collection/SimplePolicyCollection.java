@@ -29,27 +29,35 @@ import org.wso2.balana.VersionConstraints;
 import org.wso2.balana.combine.PolicyCombiningAlgorithm;
 import org.wso2.balana.ctx.EvaluationCtx;
 import org.wso2.carbon.identity.entitlement.EntitlementException;
+import org.wso2.carbon.identity.entitlement.cache.DecisionDependencies;
 
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 
 /**
  * simple implementation of Policy collection interface. This uses in-memory map to maintain policies
  * policy versions are not maintained by this
+ * <p>
+ * Policies are held as an immutable snapshot together with the index of their targets, which is replaced as a whole
+ * when a policy is added, deleted or re-ordered. Hence, policies are looked up without locking and always against an
+ * index of the same policies, while the changes are serialized among themselves.
  */
 public class SimplePolicyCollection implements PolicyCollection {
 
     private static Log log = LogFactory.getLog(SimplePolicyCollection.class);
     /**
-     * the actual collection of policies
-     * to maintain the order of the policies, <code>LinkedHashMap</code> has been used.
-     * Map with  policy identifier policy as <code>AbstractPolicy</code> object
+     * the current snapshot of the collection of policies
      */
-    private LinkedHashMap<URI, AbstractPolicy> policyCollection = new LinkedHashMap<URI, AbstractPolicy>();
+    private volatile PolicySnapshot snapshot = new PolicySnapshot(new LinkedHashMap<URI, AbstractPolicy>(), null);
     /**
      * the optional combining algorithm used when wrapping multiple policies
      * if no algorithm is defined, only one applicable algorithm is used
@@ -79,9 +87,7 @@ public class SimplePolicyCollection implements PolicyCollection {
         // setup a list of matching policies
         ArrayList<AbstractPolicy> list = new ArrayList<AbstractPolicy>();
 
-        for (Map.Entry<URI, AbstractPolicy> entry : policyCollection.entrySet()) {
-
-            AbstractPolicy policy = entry.getValue();
+        for (AbstractPolicy policy : getCandidatePolicies(context)) {
 
             // see if we match
             MatchResult match = policy.match(context);
@@ -127,15 +133,53 @@ public class SimplePolicyCollection implements PolicyCollection {
 
     }
 
+    /**
+     * Get the policies which may be applicable to the request, in the order of the collection. Policies which are
+     * not candidates of the target index cannot match the request, hence skipping them does not change the result.
+     *
+     * @param context evaluation context of the request
+     * @return candidate policies
+     */
+    private List<AbstractPolicy> getCandidatePolicies(EvaluationCtx context) {
+
+        PolicySnapshot currentSnapshot = snapshot;
+        DecisionDependencies dependencies = DecisionDependencies.getCurrent();
+        Set<URI> candidateIds;
+        if (dependencies != null) {
+            Map<String, Set<String>> requestValues = new HashMap<String, Set<String>>();
+            candidateIds = currentSnapshot.targetIndex.getCandidatePolicies(context, requestValues);
+            if (candidateIds != null) {
+                dependencies.addRequestValues(requestValues);
+            }
+        } else {
+            candidateIds = currentSnapshot.targetIndex.getCandidatePolicies(context);
+        }
+        if (candidateIds == null) {
+            return currentSnapshot.policyList;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(candidateIds.size() + " candidate XACML policies found out of " +
+                    currentSnapshot.policies.size());
+        }
+
+        List<URI> orderedIds = new ArrayList<URI>(candidateIds);
+        orderedIds.sort(Comparator.comparing(currentSnapshot.policyOrder::get));
+        List<AbstractPolicy> candidates = new ArrayList<AbstractPolicy>(orderedIds.size());
+        for (URI policyId : orderedIds) {
+            candidates.add(currentSnapshot.policies.get(policyId));
+        }
+        return candidates;
+    }
+
     @Override
     public AbstractPolicy getPolicy(URI policyId) {
-        return policyCollection.get(policyId);
+        return snapshot.policies.get(policyId);
     }
 
     @Override
     public AbstractPolicy getPolicy(URI identifier, int type, VersionConstraints constraints) {
 
-        AbstractPolicy policy = policyCollection.get(identifier);
+        AbstractPolicy policy = snapshot.policies.get(identifier);
 
         if (policy != null) {
             // we found a valid version, so see if it's the right kind,
@@ -155,7 +199,10 @@ public class SimplePolicyCollection implements PolicyCollection {
     }
 
     private synchronized boolean addPolicy(URI identifier, AbstractPolicy policy) {
-        return policyCollection.put(identifier, policy) != null;
+        LinkedHashMap<URI, AbstractPolicy> policies = new LinkedHashMap<URI, AbstractPolicy>(snapshot.policies);
+        boolean replaced = policies.put(identifier, policy) != null;
+        snapshot = new PolicySnapshot(policies, snapshot);
+        return replaced;
     }
 
     @Override
@@ -164,9 +211,16 @@ public class SimplePolicyCollection implements PolicyCollection {
     }
 
     @Override
-    public boolean deletePolicy(String policyId) {
+    public synchronized boolean deletePolicy(String policyId) {
         try {
-            return this.policyCollection.remove(new URI(policyId)) != null;
+            URI identifier = new URI(policyId);
+            if (!snapshot.policies.containsKey(identifier)) {
+                return false;
+            }
+            LinkedHashMap<URI, AbstractPolicy> policies = new LinkedHashMap<URI, AbstractPolicy>(snapshot.policies);
+            policies.remove(identifier);
+            snapshot = new PolicySnapshot(policies, snapshot);
+            return true;
         } catch (URISyntaxException ex) {
             return false;
         }
@@ -174,11 +228,49 @@ public class SimplePolicyCollection implements PolicyCollection {
 
     @Override
     public LinkedHashMap getPolicyMap() {
-        return this.policyCollection;
+        return new LinkedHashMap<URI, AbstractPolicy>(snapshot.policies);
     }
 
     @Override
-    public void setPolicyMap(LinkedHashMap policyMap) {
-        this.policyCollection = policyMap;
+    public synchronized void setPolicyMap(LinkedHashMap policyMap) {
+        snapshot = new PolicySnapshot(new LinkedHashMap<URI, AbstractPolicy>(policyMap), snapshot);
+    }
+
+    /**
+     * Immutable snapshot of the policies of the collection, in the collection order, and of the index of their targets.
+     */
+    private static class PolicySnapshot {
+
+        private final Map<URI, AbstractPolicy> policies;
+        private final List<AbstractPolicy> policyList;
+        private final Map<URI, Integer> policyOrder;
+        private final Map<URI, List<PolicyTargetIndex.TargetMatch>> policyMatches;
+        private final PolicyTargetIndex targetIndex;
+
+        /**
+         * @param policies         policies of the snapshot, in the collection order
+         * @param previousSnapshot snapshot being replaced, whose target matches are reused for the unchanged
+         *                         policies, or null
+         */
+        private PolicySnapshot(LinkedHashMap<URI, AbstractPolicy> policies, PolicySnapshot previousSnapshot) {
+
+            Map<URI, Integer> order = new HashMap<URI, Integer>();
+            Map<URI, List<PolicyTargetIndex.TargetMatch>> matches =
+                    new HashMap<URI, List<PolicyTargetIndex.TargetMatch>>();
+            for (Map.Entry<URI, AbstractPolicy> entry : policies.entrySet()) {
+                URI identifier = entry.getKey();
+                order.put(identifier, order.size());
+                if (previousSnapshot != null && previousSnapshot.policies.get(identifier) == entry.getValue()) {
+                    matches.put(identifier, previousSnapshot.policyMatches.get(identifier));
+                } else {
+                    matches.put(identifier, PolicyTargetIndex.getTargetMatches(entry.getValue()));
+                }
+            }
+            this.policies = Collections.unmodifiableMap(policies);
+            this.policyList = Collections.unmodifiableList(new ArrayList<AbstractPolicy>(policies.values()));
+            this.policyOrder = order;
+            this.policyMatches = matches;
+            this.targetIndex = new PolicyTargetIndex(matches);
+        }
     }
 }
@@ -42,11 +42,11 @@ public abstract class AbstractPolicyFinderModule implements PolicyFinderModule {
     private static Log log = LogFactory.getLog(AbstractPolicyFinderModule.class);
 
     /**
-     * This method must be called by the module when its policies are updated
+     * This method must be called by the module when its policies are updated. Decision cache entries affected by the
+     * policy are evicted when the policy change is applied to the policy collection of each node.
      */
     public static void invalidateCache(String policyId, String action) {
         EntitlementEngine.getInstance().getPolicyCache().invalidateCache(policyId, action);
-        EntitlementEngine.getInstance().clearDecisionCache();
         EntitlementEngine.getInstance().getPolicySearch().getPolicySearchCache().invalidateCache();
     }
 
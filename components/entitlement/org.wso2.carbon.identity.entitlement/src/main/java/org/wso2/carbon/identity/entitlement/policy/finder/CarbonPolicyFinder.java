@@ -34,16 +34,16 @@ import org.wso2.balana.finder.PolicyFinderResult;
 import org.wso2.carbon.context.CarbonContext;
 import org.wso2.carbon.identity.entitlement.EntitlementException;
 import org.wso2.carbon.identity.entitlement.PDPConstants;
-import org.wso2.carbon.identity.entitlement.PolicyOrderComparator;
+import org.wso2.carbon.identity.entitlement.cache.DecisionDependencies;
 import org.wso2.carbon.identity.entitlement.cache.PolicyStatus;
 import org.wso2.carbon.identity.entitlement.common.EntitlementConstants;
 import org.wso2.carbon.identity.entitlement.persistence.ConfigPersistenceManager;
-import org.wso2.carbon.identity.entitlement.dto.PolicyDTO;
 import org.wso2.carbon.identity.entitlement.internal.EntitlementServiceComponent;
 import org.wso2.carbon.identity.entitlement.pap.EntitlementAdminEngine;
 import org.wso2.carbon.identity.entitlement.pdp.EntitlementEngine;
 import org.wso2.carbon.identity.entitlement.policy.PolicyReader;
 import org.wso2.carbon.identity.entitlement.policy.collection.PolicyCollection;
+import org.wso2.carbon.identity.entitlement.policy.collection.PolicyTargetIndex;
 import org.wso2.carbon.identity.entitlement.policy.collection.SimplePolicyCollection;
 
 import java.net.URI;
@@ -52,11 +52,11 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
-import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Policy finder of the WSO2 entitlement engine.  This an implementation of <code>PolicyFinderModule</code>
@@ -66,17 +66,19 @@ public class CarbonPolicyFinder extends org.wso2.balana.finder.PolicyFinderModul
 
     private static Log log = LogFactory.getLog(CarbonPolicyFinder.class);
     public PolicyReader policyReader;
-    private List<PolicyFinderModule> finderModules = null;
-    private PolicyCollection policyCollection;
-
-    private List<PolicyDTO> policyCollectionOrder = new ArrayList<PolicyDTO>();
+    private volatile List<PolicyFinderModule> finderModules = null;
+    /**
+     * policy collection used by the evaluation threads. It is read without locking, while the policy changes are
+     * applied to it under the lock of this finder. Hence, the collection must allow concurrent reads.
+     */
+    private volatile PolicyCollection policyCollection;
 
     private PolicyFinder finder;
     /**
      * this is a flag to keep whether init it has finished or not.
      */
     private volatile boolean initFinish;
-    private LinkedHashMap<URI, AbstractPolicy> policyReferenceCache = null;
+    private volatile Map<URI, AbstractPolicy> policyReferenceCache = new ConcurrentHashMap<URI, AbstractPolicy>();
     private int maxReferenceCacheEntries = PDPConstants.MAX_NO_OF_IN_MEMORY_POLICIES;
 
 
@@ -107,23 +109,17 @@ public class CarbonPolicyFinder extends org.wso2.balana.finder.PolicyFinderModul
             }
         }
 
-        policyReferenceCache = new LinkedHashMap<URI, AbstractPolicy>() {
-
-            @Override
-            protected boolean removeEldestEntry(Map.Entry eldest) {
-                // oldest entry of the cache would be removed when max cache size become, i.e 50
-                return size() > maxReferenceCacheEntries;
-            }
-
-        };
+        policyReferenceCache = new ConcurrentHashMap<URI, AbstractPolicy>();
 
         PolicyCombiningAlgorithm policyCombiningAlgorithm = null;
         // get registered finder modules
         Map<PolicyFinderModule, Properties> finderModules = EntitlementServiceComponent.
                 getEntitlementConfig().getPolicyFinderModules();
 
+        List<PolicyFinderModule> tempFinderModules = null;
         if (finderModules != null) {
-            this.finderModules = new ArrayList<PolicyFinderModule>(finderModules.keySet());
+            tempFinderModules = new ArrayList<PolicyFinderModule>(finderModules.keySet());
+            this.finderModules = tempFinderModules;
         }
 
         PolicyCollection tempPolicyCollection = null;
@@ -140,7 +136,7 @@ public class CarbonPolicyFinder extends org.wso2.balana.finder.PolicyFinderModul
         // get policy reader
         policyReader = PolicyReader.getInstance(finder);
 
-        if (this.finderModules != null && this.finderModules.size() > 0) {
+        if (tempFinderModules != null && tempFinderModules.size() > 0) {
             // find policy combining algorithm.
 
             ConfigPersistenceManager configPersistenceManager = EntitlementAdminEngine.getInstance().getConfigPersistenceManager();
@@ -148,17 +144,12 @@ public class CarbonPolicyFinder extends org.wso2.balana.finder.PolicyFinderModul
 
             tempPolicyCollection.setPolicyCombiningAlgorithm(policyCombiningAlgorithm);
 
-            for (PolicyFinderModule finderModule : this.finderModules) {
+            for (PolicyFinderModule finderModule : tempFinderModules) {
                 log.info("Start retrieving policies from " + finderModule + " at : " + new Date());
                 String[] policies = finderModule.getActivePolicies();
-                for (int a = 0; a < policies.length; a++) {
-                    String policy = policies[a];
+                for (String policy : policies) {
                     AbstractPolicy abstractPolicy = policyReader.getPolicy(policy);
                     if (abstractPolicy != null) {
-                        PolicyDTO policyDTO = new PolicyDTO();
-                        policyDTO.setPolicyId(abstractPolicy.getId().toString());
-                        policyDTO.setPolicyOrder(a);
-                        policyCollectionOrder.add(policyDTO);
                         tempPolicyCollection.addPolicy(abstractPolicy);
                     }
                 }
@@ -190,20 +181,36 @@ public class CarbonPolicyFinder extends org.wso2.balana.finder.PolicyFinderModul
     }
 
 
+    /**
+     * Re-order the policies of the collection as per the policy order of the finder modules. The re-ordered policies
+     * are set to the collection at once, hence the evaluation threads see either the previous or the new order.
+     */
     private void orderPolicyCache() {
+
         LinkedHashMap<URI, AbstractPolicy> policyMap = policyCollection.getPolicyMap();
-        Collections.sort(policyCollectionOrder, new PolicyOrderComparator());
         LinkedHashMap<URI, AbstractPolicy> newPolicyMap = new LinkedHashMap<URI, AbstractPolicy>();
-        Iterator<PolicyDTO> policyDTOIterator = policyCollectionOrder.iterator();
-        while (policyDTOIterator.hasNext()) {
-            try {
-                URI policyURI = new URI(policyDTOIterator.next().getPolicyId());
-                newPolicyMap.put(policyURI, policyMap.get(policyURI));
-
-            } catch (URISyntaxException e) {
-                e.printStackTrace();
+        if (this.finderModules != null) {
+            for (PolicyFinderModule finderModule : this.finderModules) {
+                for (String policyId : finderModule.getOrderedPolicyIdentifiers()) {
+                    try {
+                        URI policyURI = new URI(policyId);
+                        AbstractPolicy policy = policyMap.get(policyURI);
+                        if (policy != null && !newPolicyMap.containsKey(policyURI)) {
+                            newPolicyMap.put(policyURI, policy);
+                        }
+                    } catch (URISyntaxException e) {
+                        log.error("Invalid policy identifier : " + policyId, e);
+                    }
+                }
             }
         }
+        // keep the policies which are not ordered by any module, in their current order
+        for (Map.Entry<URI, AbstractPolicy> entry : policyMap.entrySet()) {
+            if (!newPolicyMap.containsKey(entry.getKey())) {
+                newPolicyMap.put(entry.getKey(), entry.getValue());
+            }
+        }
+        policyCollection.setPolicyMap(newPolicyMap);
     }
 
     @Override
@@ -224,60 +231,31 @@ public class CarbonPolicyFinder extends org.wso2.balana.finder.PolicyFinderModul
         } else {
             Collection<PolicyStatus> policies =
                     EntitlementEngine.getInstance().getPolicyCache().getInvalidatedPolicies();
-            if (policies != null) {
-                if (policies.size() > 0) {
-                    synchronized (policies) {
-                        boolean isReorder = false;
-                        policyReferenceCache.clear();
-                        EntitlementEngine.getInstance().clearDecisionCache();
-                        for (PolicyStatus policyStatus : policies) {
-
-                            if (EntitlementConstants.PolicyPublish.ACTION_DELETE
-                                    .equals(policyStatus.getPolicyAction())) {
-                                policyCollection.deletePolicy(policyStatus.getPolicyId());
-                                policyCollectionOrder.remove(new PolicyDTO(policyStatus.getPolicyId()));
-                            } else if (EntitlementConstants.PolicyPublish.ACTION_UPDATE
-                                    .equals(policyStatus.getPolicyAction())) {
-                                AbstractPolicy abstractPolicy = loadPolicy(policyStatus.getPolicyId());
-                                policyCollection.addPolicy(abstractPolicy);
-                            } else if (EntitlementConstants.PolicyPublish.ACTION_CREATE
-                                    .equals(policyStatus.getPolicyAction())) {
-                                AbstractPolicy abstractPolicy = loadPolicy(policyStatus.getPolicyId());
-                                policyCollection.addPolicy(abstractPolicy);
-                                isReorder = true;
-                            } else if (EntitlementConstants.PolicyPublish.ACTION_ORDER
-                                    .equals(policyStatus.getPolicyAction())) {
-                                int order = getPolicyOrder(policyStatus.getPolicyId());
-                                if (order != -1) {
-                                    PolicyDTO policyDTO = new PolicyDTO(policyStatus.getPolicyId());
-                                    if (policyCollectionOrder.indexOf(policyDTO) != -1) {
-                                        policyCollectionOrder.get(policyCollectionOrder.indexOf(policyDTO))
-                                                .setPolicyOrder(order);
-                                        isReorder = true;
-                                    }
-                                }
-                            }
-
-                        }
-                        if (isReorder) {
-                            orderPolicyCache();
-                        }
-                        policies.clear();
-                    }
-
-
-                }
+            // evaluation threads only take the lock when there are policy changes to be applied
+            if (policies != null && !policies.isEmpty()) {
+                applyInvalidatedPolicies(policies);
             }
         }
 
+        DecisionDependencies dependencies = DecisionDependencies.getCurrent();
         try {
+            if (dependencies != null) {
+                dependencies.beginPolicyLookup();
+            }
             AbstractPolicy policy = policyCollection.getEffectivePolicy(context);
+            if (dependencies != null) {
+                dependencies.endPolicyLookup();
+                dependencies.addPolicy(policy);
+            }
             if (policy == null) {
                 return new PolicyFinderResult();
             } else {
                 return new PolicyFinderResult(policy);
             }
         } catch (EntitlementException e) {
+            if (dependencies != null) {
+                dependencies.setIncomplete();
+            }
             ArrayList<String> code = new ArrayList<String>();
             code.add(Status.STATUS_PROCESSING_ERROR);
             Status status = new Status(code, e.getMessage());
@@ -286,6 +264,51 @@ public class CarbonPolicyFinder extends org.wso2.balana.finder.PolicyFinderModul
     }
 
 
+    /**
+     * Apply the published policy changes to the policy collection. Changes are applied under the lock of this finder,
+     * so that concurrent evaluations do not apply them twice, and do not evaluate requests or cache decisions before
+     * the changes which they observed are applied.
+     *
+     * @param policies invalidated policies
+     */
+    private synchronized void applyInvalidatedPolicies(Collection<PolicyStatus> policies) {
+
+        if (policies.isEmpty()) {
+            return;
+        }
+        boolean isReorder = false;
+        policyReferenceCache.clear();
+        EntitlementEngine entitlementEngine = EntitlementEngine.getInstance();
+        for (PolicyStatus policyStatus : policies) {
+
+            if (EntitlementConstants.PolicyPublish.ACTION_DELETE.equals(policyStatus.getPolicyAction())) {
+                policyCollection.deletePolicy(policyStatus.getPolicyId());
+                entitlementEngine.invalidateDecisionCache(policyStatus.getPolicyId(), Collections.emptyList());
+            } else if (EntitlementConstants.PolicyPublish.ACTION_UPDATE.equals(policyStatus.getPolicyAction())) {
+                AbstractPolicy abstractPolicy = loadPolicy(policyStatus.getPolicyId());
+                policyCollection.addPolicy(abstractPolicy);
+                entitlementEngine.invalidateDecisionCache(policyStatus.getPolicyId(),
+                        PolicyTargetIndex.getTargetMatches(abstractPolicy));
+            } else if (EntitlementConstants.PolicyPublish.ACTION_CREATE.equals(policyStatus.getPolicyAction())) {
+                AbstractPolicy abstractPolicy = loadPolicy(policyStatus.getPolicyId());
+                policyCollection.addPolicy(abstractPolicy);
+                isReorder = true;
+                entitlementEngine.invalidateDecisionCache(policyStatus.getPolicyId(),
+                        PolicyTargetIndex.getTargetMatches(abstractPolicy));
+            } else if (EntitlementConstants.PolicyPublish.ACTION_ORDER.equals(policyStatus.getPolicyAction())) {
+                isReorder = true;
+                // The order only matters when the policy applies to the request.
+                entitlementEngine.invalidateDecisionCache(policyStatus.getPolicyId(), Collections.emptyList());
+            } else {
+                entitlementEngine.invalidateDecisionCache(policyStatus.getPolicyId(), null);
+            }
+        }
+        if (isReorder) {
+            orderPolicyCache();
+        }
+        policies.clear();
+    }
+
     private AbstractPolicy loadPolicy(String policyId) {
         if (this.finderModules != null) {
             for (PolicyFinderModule finderModule : this.finderModules) {
@@ -301,23 +324,15 @@ public class CarbonPolicyFinder extends org.wso2.balana.finder.PolicyFinderModul
         return null;
     }
 
-    private int getPolicyOrder(String policyId) {
-        int order = -1;
-        if (this.finderModules != null) {
-
-            for (PolicyFinderModule finderModule : this.finderModules) {
-                if ((order = finderModule.getPolicyOrder(policyId)) != -1) {
-                    break;
-                }
-            }
-        }
-        return order;
-    }
-
     @Override
     public PolicyFinderResult findPolicy(URI idReference, int type, VersionConstraints constraints,
                                          PolicyMetaData parentMetaData) {
 
+        DecisionDependencies dependencies = DecisionDependencies.getCurrent();
+        if (dependencies != null) {
+            dependencies.addPolicyId(idReference.toString());
+        }
+
         AbstractPolicy policy = policyReferenceCache.get(idReference);
 
         if (policy == null) {
@@ -327,6 +342,9 @@ public class CarbonPolicyFinder extends org.wso2.balana.finder.PolicyFinderModul
                     if (policyString != null) {
                         policy = policyReader.getPolicy(policyString);
                         if (policy != null) {
+                            if (policyReferenceCache.size() >= maxReferenceCacheEntries) {
+                                policyReferenceCache.clear();
+                            }
                             policyReferenceCache.put(idReference, policy);
                             break;
                         }
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.entitlement.cache;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.w3c.dom.Element;
+import org.wso2.balana.Policy;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.entitlement.policy.collection.PolicyTargetIndex;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link DecisionCacheTagIndex}.
+ */
+public class DecisionCacheTagIndexTest {
+
+    private static final String RESOURCE_ID_KEY = "urn:oasis:names:tc:xacml:3.0:attribute-category:resource|" +
+            "urn:oasis:names:tc:xacml:1.0:resource:resource-id|http://www.w3.org/2001/XMLSchema#string";
+
+    private static final String POLICY = "<Policy xmlns=\"urn:oasis:names:tc:xacml:3.0:core:schema:wd-17\" " +
+            "PolicyId=\"invoice-policy\" " +
+            "RuleCombiningAlgId=\"urn:oasis:names:tc:xacml:3.0:rule-combining-algorithm:deny-overrides\" " +
+            "Version=\"1.0\"><Target><AnyOf><AllOf>" +
+            "<Match MatchId=\"urn:oasis:names:tc:xacml:1.0:function:string-equal\">" +
+            "<AttributeValue DataType=\"http://www.w3.org/2001/XMLSchema#string\">/invoices</AttributeValue>" +
+            "<AttributeDesignator AttributeId=\"urn:oasis:names:tc:xacml:1.0:resource:resource-id\" " +
+            "Category=\"urn:oasis:names:tc:xacml:3.0:attribute-category:resource\" " +
+            "DataType=\"http://www.w3.org/2001/XMLSchema#string\" MustBePresent=\"false\"/>" +
+            "</Match></AllOf></AnyOf></Target>" +
+            "<Rule Effect=\"Permit\" RuleId=\"permit\"/></Policy>";
+
+    private DecisionCacheTagIndex tagIndex;
+    private Set<String> evictedKeys;
+
+    @BeforeMethod
+    public void setUp() {
+
+        evictedKeys = new HashSet<>();
+        tagIndex = new DecisionCacheTagIndex(0, 3, (cacheKey, simpleCache) -> evictedKeys.add(cacheKey));
+    }
+
+    @Test
+    public void testInvalidateReferencingEntries() {
+
+        addEntry("orders-request", "orders-policy", "/orders");
+        addEntry("invoices-request", "invoice-policy", "/invoices");
+
+        assertEquals(tagIndex.invalidatePolicy("orders-policy", Collections.emptyList()), 1);
+        assertEquals(evictedKeys, Collections.singleton("orders-request"));
+        assertEquals(tagIndex.size(), 1);
+    }
+
+    @Test
+    public void testInvalidateEntriesNewlyMatchingPolicy() throws Exception {
+
+        addEntry("orders-request", "orders-policy", "/orders");
+        addEntry("invoices-request", null, "/invoices");
+
+        List<PolicyTargetIndex.TargetMatch> targetMatches = PolicyTargetIndex.getTargetMatches(buildPolicy());
+        assertEquals(tagIndex.invalidatePolicy("invoice-policy", targetMatches), 1);
+        assertEquals(evictedKeys, Collections.singleton("invoices-request"));
+    }
+
+    @Test
+    public void testInvalidateEntriesWithoutPolicyAttribute() throws Exception {
+
+        addEntry("orders-request", null, "/orders");
+        addEntry("anonymous-request", null, null);
+
+        // The resource is not carried by the anonymous request, hence it may be resolved by an attribute finder.
+        List<PolicyTargetIndex.TargetMatch> targetMatches = PolicyTargetIndex.getTargetMatches(buildPolicy());
+        assertEquals(tagIndex.invalidatePolicy("invoice-policy", targetMatches), 1);
+        assertEquals(evictedKeys, Collections.singleton("anonymous-request"));
+        assertEquals(tagIndex.size(), 1);
+    }
+
+    @Test
+    public void testInvalidateAllEntriesForUnindexablePolicy() {
+
+        addEntry("orders-request", "orders-policy", "/orders");
+        addEntry("invoices-request", null, "/invoices");
+
+        assertEquals(tagIndex.invalidatePolicy("any-policy", null), 2);
+        assertEquals(tagIndex.size(), 0);
+    }
+
+    @Test
+    public void testDecisionEvaluatedDuringInvalidationIsNotCached() {
+
+        DecisionDependencies dependencies = DecisionDependencies.start(tagIndex.getGeneration());
+        DecisionDependencies.end(dependencies);
+        tagIndex.invalidatePolicy("orders-policy", Collections.emptyList());
+
+        assertFalse(tagIndex.addEntry("orders-request", false, dependencies));
+    }
+
+    @Test
+    public void testEldestEntryIsEvictedWhenFull() {
+
+        addEntry("request-1", "policy", "/1");
+        addEntry("request-2", "policy", "/2");
+        addEntry("request-3", "policy", "/3");
+        addEntry("request-4", "policy", "/4");
+
+        assertEquals(tagIndex.size(), 3);
+        assertTrue(evictedKeys.contains("request-1"));
+    }
+
+    private void addEntry(String cacheKey, String policyId, String resource) {
+
+        DecisionDependencies dependencies = DecisionDependencies.start(tagIndex.getGeneration());
+        try {
+            if (policyId != null) {
+                dependencies.addPolicyId(policyId);
+            }
+            dependencies.beginPolicyLookup();
+            Map<String, Set<String>> requestValues = new HashMap<>();
+            requestValues.put(RESOURCE_ID_KEY,
+                    resource != null ? Collections.singleton(resource) : Collections.<String>emptySet());
+            dependencies.addRequestValues(requestValues);
+            dependencies.endPolicyLookup();
+        } finally {
+            DecisionDependencies.end(dependencies);
+        }
+        assertTrue(tagIndex.addEntry(cacheKey, false, dependencies));
+    }
+
+    private Policy buildPolicy() throws Exception {
+
+        DocumentBuilderFactory documentBuilderFactory = IdentityUtil.getSecuredDocumentBuilderFactory();
+        documentBuilderFactory.setNamespaceAware(true);
+        Element element = documentBuilderFactory.newDocumentBuilder()
+                .parse(new ByteArrayInputStream(POLICY.getBytes(StandardCharsets.UTF_8))).getDocumentElement();
+        return Policy.getInstance(element);
+    }
+}
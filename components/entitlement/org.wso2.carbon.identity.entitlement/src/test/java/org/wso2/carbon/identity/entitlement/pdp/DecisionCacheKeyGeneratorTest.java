@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.entitlement.pdp;
+
+import org.testng.annotations.Test;
+import org.wso2.balana.ctx.RequestCtxFactory;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+
+/**
+ * Unit tests for {@link DecisionCacheKeyGenerator}.
+ */
+public class DecisionCacheKeyGeneratorTest {
+
+    private static final String REQUEST = "<Request xmlns=\"urn:oasis:names:tc:xacml:3.0:core:schema:wd-17\" " +
+            "CombinedDecision=\"false\" ReturnPolicyIdList=\"false\">" +
+            "<Attributes Category=\"urn:oasis:names:tc:xacml:3.0:attribute-category:action\">" +
+            "<Attribute AttributeId=\"urn:oasis:names:tc:xacml:1.0:action:action-id\" IncludeInResult=\"false\">" +
+            "<AttributeValue DataType=\"http://www.w3.org/2001/XMLSchema#string\">read</AttributeValue>" +
+            "</Attribute></Attributes>" +
+            "<Attributes Category=\"urn:oasis:names:tc:xacml:3.0:attribute-category:resource\">" +
+            "<Attribute AttributeId=\"urn:oasis:names:tc:xacml:1.0:resource:resource-id\" IncludeInResult=\"false\">" +
+            "<AttributeValue DataType=\"http://www.w3.org/2001/XMLSchema#string\">%s</AttributeValue>" +
+            "</Attribute></Attributes></Request>";
+
+    private static final String REORDERED_REQUEST = "<Request " +
+            "xmlns=\"urn:oasis:names:tc:xacml:3.0:core:schema:wd-17\" ReturnPolicyIdList=\"false\"  " +
+            "CombinedDecision=\"false\">\n" +
+            "    <Attributes Category=\"urn:oasis:names:tc:xacml:3.0:attribute-category:resource\">\n" +
+            "        <Attribute IncludeInResult=\"false\" " +
+            "AttributeId=\"urn:oasis:names:tc:xacml:1.0:resource:resource-id\">\n" +
+            "            <AttributeValue DataType=\"http://www.w3.org/2001/XMLSchema#string\">%s</AttributeValue>\n" +
+            "        </Attribute>\n" +
+            "    </Attributes>\n" +
+            "    <Attributes Category=\"urn:oasis:names:tc:xacml:3.0:attribute-category:action\">\n" +
+            "        <Attribute AttributeId=\"urn:oasis:names:tc:xacml:1.0:action:action-id\" " +
+            "IncludeInResult=\"false\">\n" +
+            "            <AttributeValue DataType=\"http://www.w3.org/2001/XMLSchema#string\">read</AttributeValue>\n" +
+            "        </Attribute>\n" +
+            "    </Attributes>\n" +
+            "</Request>";
+
+    @Test
+    public void testKeysOfEquivalentRequestsAreEqual() throws Exception {
+
+        String key = DecisionCacheKeyGenerator.generateKey(RequestCtxFactory.getFactory()
+                .getRequestCtx(String.format(REQUEST, "/orders")));
+        String reorderedKey = DecisionCacheKeyGenerator.generateKey(RequestCtxFactory.getFactory()
+                .getRequestCtx(String.format(REORDERED_REQUEST, "/orders")));
+
+        assertEquals(reorderedKey, key);
+        assertEquals(key.length(), 22);
+    }
+
+    @Test
+    public void testKeysOfDifferentRequestsAreDifferent() throws Exception {
+
+        String key = DecisionCacheKeyGenerator.generateKey(RequestCtxFactory.getFactory()
+                .getRequestCtx(String.format(REQUEST, "/orders")));
+        String otherKey = DecisionCacheKeyGenerator.generateKey(RequestCtxFactory.getFactory()
+                .getRequestCtx(String.format(REQUEST, "/invoices")));
+
+        assertNotEquals(otherKey, key);
+    }
+
+    @Test
+    public void testKeysOfSimpleRequestsKeepValueBoundaries() {
+
+        assertNotEquals(DecisionCacheKeyGenerator.generateKey("admin", "foo", "read", null),
+                DecisionCacheKeyGenerator.generateKey("admin", "fo", "oread", null));
+        assertNotEquals(DecisionCacheKeyGenerator.generateKey("admin", "foo", "read", null),
+                DecisionCacheKeyGenerator.generateKey("admin", "foo", "read", ""));
+        assertEquals(DecisionCacheKeyGenerator.generateKey("admin", "foo", "read", null),
+                DecisionCacheKeyGenerator.generateKey("admin", "foo", "read", null));
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.entitlement.policy.collection;
+
+import org.testng.annotations.Test;
+import org.w3c.dom.Element;
+import org.wso2.balana.AbstractPolicy;
+import org.wso2.balana.AbstractTarget;
+import org.wso2.balana.MatchResult;
+import org.wso2.balana.Policy;
+import org.wso2.balana.attr.AttributeValue;
+import org.wso2.balana.ctx.AbstractRequestCtx;
+import org.wso2.balana.ctx.Attribute;
+import org.wso2.balana.ctx.EvaluationCtx;
+import org.wso2.balana.xacml3.Attributes;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.entitlement.EntitlementException;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.fail;
+
+/**
+ * Unit tests for {@link PolicyTargetIndex}.
+ */
+public class PolicyTargetIndexTest {
+
+    private static final String RESOURCE_CATEGORY =
+            "urn:oasis:names:tc:xacml:3.0:attribute-category:resource";
+    private static final String ACTION_CATEGORY = "urn:oasis:names:tc:xacml:3.0:attribute-category:action";
+    private static final String RESOURCE_ID = "urn:oasis:names:tc:xacml:1.0:resource:resource-id";
+    private static final String ACTION_ID = "urn:oasis:names:tc:xacml:1.0:action:action-id";
+    private static final String STRING_DATA_TYPE = "http://www.w3.org/2001/XMLSchema#string";
+
+    @Test
+    public void testGetIndexableMatches() throws Exception {
+
+        String target = "<Target>" +
+                "<AnyOf>" +
+                "<AllOf>" + stringEqualMatch(RESOURCE_CATEGORY, RESOURCE_ID, "/orders", "") +
+                stringEqualMatch(ACTION_CATEGORY, ACTION_ID, "read", "") + "</AllOf>" +
+                "<AllOf>" + stringEqualMatch(RESOURCE_CATEGORY, RESOURCE_ID, "/invoices", "") + "</AllOf>" +
+                "</AnyOf>" +
+                "<AnyOf><AllOf>" + stringEqualMatch(ACTION_CATEGORY, ACTION_ID, "write", "") + "</AllOf></AnyOf>" +
+                "</Target>";
+
+        List<PolicyTargetIndex.TargetMatch> targetMatches = PolicyTargetIndex.getIndexableMatches(buildTarget(target));
+
+        assertEquals(targetMatches.size(), 2);
+        assertEquals(targetMatches.get(0).getValue(), "/orders");
+        assertEquals(targetMatches.get(1).getValue(), "/invoices");
+        assertEquals(targetMatches.get(0).getAttribute(), targetMatches.get(1).getAttribute());
+    }
+
+    @Test
+    public void testGetIndexableMatchesOfUnindexableTargets() throws Exception {
+
+        assertNull(PolicyTargetIndex.getIndexableMatches(buildTarget("<Target/>")));
+        assertNull(PolicyTargetIndex.getIndexableMatches(buildTarget("<Target><AnyOf><AllOf>" +
+                stringEqualMatch(RESOURCE_CATEGORY, RESOURCE_ID, "/orders", "") + "</AllOf><AllOf>" +
+                "<Match MatchId=\"urn:oasis:names:tc:xacml:1.0:function:string-regexp-match\">" +
+                "<AttributeValue DataType=\"http://www.w3.org/2001/XMLSchema#string\">/inv.*</AttributeValue>" +
+                designator(RESOURCE_CATEGORY, RESOURCE_ID, "") + "</Match>" +
+                "</AllOf></AnyOf></Target>")));
+        assertNull(PolicyTargetIndex.getIndexableMatches(buildTarget("<Target><AnyOf><AllOf>" +
+                stringEqualMatch(RESOURCE_CATEGORY, RESOURCE_ID, "/orders", " Issuer=\"external\"") +
+                "</AllOf></AnyOf></Target>")));
+    }
+
+    @Test
+    public void testIndexedEffectivePolicyMatchesFullScan() throws Exception {
+
+        SimplePolicyCollection indexedCollection = new SimplePolicyCollection();
+        SimplePolicyCollection fullScanCollection = new SimplePolicyCollection();
+        String[][] policies = {{"ordersPolicy", "/orders"}, {"invoicesPolicy", "/invoices"},
+                {"sharedPolicy1", "/shared"}, {"sharedPolicy2", "/shared"}};
+        for (String[] policy : policies) {
+            String target = "<Target><AnyOf><AllOf>" +
+                    stringEqualMatch(RESOURCE_CATEGORY, RESOURCE_ID, policy[1], "") + "</AllOf></AnyOf></Target>";
+            indexedCollection.addPolicy(mockPolicy(policy[0], policy[1], target));
+            // Policies without a target cannot be indexed, hence they are always evaluated.
+            fullScanCollection.addPolicy(mockPolicy(policy[0], policy[1], null));
+        }
+
+        // Match.
+        EvaluationCtx ordersRequest = mockRequest("/orders");
+        AbstractPolicy effectivePolicy = indexedCollection.getEffectivePolicy(ordersRequest);
+        assertEquals(effectivePolicy.getId(), new URI("ordersPolicy"));
+        assertEquals(fullScanCollection.getEffectivePolicy(ordersRequest).getId(), effectivePolicy.getId());
+
+        // No match.
+        EvaluationCtx unknownRequest = mockRequest("/unknown");
+        assertNull(indexedCollection.getEffectivePolicy(unknownRequest));
+        assertNull(fullScanCollection.getEffectivePolicy(unknownRequest));
+
+        // Multiple matches, without a combining algorithm.
+        EvaluationCtx sharedRequest = mockRequest("/shared");
+        assertSame(getEffectivePolicyError(indexedCollection, sharedRequest),
+                getEffectivePolicyError(fullScanCollection, sharedRequest));
+
+        // Indexed attributes are taken from the request, without resolving them.
+        verify(ordersRequest, never()).getAttribute(any(), any(), any(), any());
+    }
+
+    @Test
+    public void testPoliciesOfAttributesNotInRequestAreCandidates() throws Exception {
+
+        String ordersTarget = "<Target><AnyOf><AllOf>" +
+                stringEqualMatch(RESOURCE_CATEGORY, RESOURCE_ID, "/orders", "") + "</AllOf></AnyOf></Target>";
+        String readTarget = "<Target><AnyOf><AllOf>" +
+                stringEqualMatch(ACTION_CATEGORY, ACTION_ID, "read", "") + "</AllOf></AnyOf></Target>";
+        Map<URI, List<PolicyTargetIndex.TargetMatch>> policyMatches = new HashMap<>();
+        policyMatches.put(new URI("ordersPolicy"), PolicyTargetIndex.getIndexableMatches(buildTarget(ordersTarget)));
+        policyMatches.put(new URI("readPolicy"), PolicyTargetIndex.getIndexableMatches(buildTarget(readTarget)));
+        PolicyTargetIndex targetIndex = new PolicyTargetIndex(policyMatches);
+
+        // The action is not in the request, and may be resolved by an attribute finder.
+        Set<URI> candidates = targetIndex.getCandidatePolicies(mockRequest("/invoices"));
+        assertEquals(candidates, Collections.singleton(new URI("readPolicy")));
+    }
+
+    private Class<?> getEffectivePolicyError(SimplePolicyCollection policyCollection, EvaluationCtx context) {
+
+        try {
+            policyCollection.getEffectivePolicy(context);
+            fail("Multiple applicable policies are expected to be rejected.");
+            return null;
+        } catch (EntitlementException e) {
+            return e.getClass();
+        }
+    }
+
+    /**
+     * Mock a policy which matches the requests for the given resource, as its target would.
+     */
+    private AbstractPolicy mockPolicy(String policyId, String resource, String target) throws Exception {
+
+        AbstractPolicy policy = mock(AbstractPolicy.class);
+        when(policy.getId()).thenReturn(new URI(policyId));
+        if (target != null) {
+            AbstractTarget policyTarget = buildTarget(target);
+            when(policy.getTarget()).thenReturn(policyTarget);
+        }
+        when(policy.match(any(EvaluationCtx.class))).thenAnswer(invocation -> {
+            EvaluationCtx context = invocation.getArgument(0);
+            boolean matched = false;
+            for (Attributes attributes : context.getRequestCtx().getAttributesSet()) {
+                for (Attribute attribute : attributes.getAttributes()) {
+                    for (AttributeValue value : attribute.getValues()) {
+                        matched |= resource.equals(value.encode());
+                    }
+                }
+            }
+            return new MatchResult(matched ? MatchResult.MATCH : MatchResult.NO_MATCH);
+        });
+        return policy;
+    }
+
+    /**
+     * Build the Balana target of a policy with the given target element.
+     */
+    private AbstractTarget buildTarget(String target) throws Exception {
+
+        String policy = "<Policy xmlns=\"urn:oasis:names:tc:xacml:3.0:core:schema:wd-17\" PolicyId=\"policy\" " +
+                "RuleCombiningAlgId=\"urn:oasis:names:tc:xacml:3.0:rule-combining-algorithm:deny-overrides\" " +
+                "Version=\"1.0\">" + target + "<Rule Effect=\"Permit\" RuleId=\"permit\"/></Policy>";
+        DocumentBuilderFactory documentBuilderFactory = IdentityUtil.getSecuredDocumentBuilderFactory();
+        documentBuilderFactory.setNamespaceAware(true);
+        Element element = documentBuilderFactory.newDocumentBuilder()
+                .parse(new ByteArrayInputStream(policy.getBytes(StandardCharsets.UTF_8))).getDocumentElement();
+        return Policy.getInstance(element).getTarget();
+    }
+
+    private EvaluationCtx mockRequest(String resource) throws Exception {
+
+        AttributeValue value = mock(AttributeValue.class);
+        when(value.encode()).thenReturn(resource);
+        List<AttributeValue> values = new ArrayList<>();
+        values.add(value);
+
+        Attribute attribute = mock(Attribute.class);
+        when(attribute.getId()).thenReturn(new URI(RESOURCE_ID));
+        when(attribute.getType()).thenReturn(new URI(STRING_DATA_TYPE));
+        when(attribute.getValues()).thenReturn(values);
+        Set<Attribute> attributeSet = new HashSet<>();
+        attributeSet.add(attribute);
+
+        Attributes attributes = mock(Attributes.class);
+        when(attributes.getCategory()).thenReturn(new URI(RESOURCE_CATEGORY));
+        when(attributes.getAttributes()).thenReturn(attributeSet);
+        Set<Attributes> attributesSet = new HashSet<>();
+        attributesSet.add(attributes);
+
+        AbstractRequestCtx requestCtx = mock(AbstractRequestCtx.class);
+        when(requestCtx.getAttributesSet()).thenReturn(attributesSet);
+        EvaluationCtx context = mock(EvaluationCtx.class);
+        when(context.getRequestCtx()).thenReturn(requestCtx);
+        return context;
+    }
+
+    private String stringEqualMatch(String category, String attributeId, String value, String issuer) {
+
+        return "<Match MatchId=\"urn:oasis:names:tc:xacml:1.0:function:string-equal\">" +
+                "<AttributeValue DataType=\"http://www.w3.org/2001/XMLSchema#string\">" + value +
+                "</AttributeValue>" + designator(category, attributeId, issuer) + "</Match>";
+    }
+
+    private String designator(String category, String attributeId, String issuer) {
+
+        return "<AttributeDesignator AttributeId=\"" + attributeId + "\" Category=\"" + category +
+                "\" DataType=\"http://www.w3.org/2001/XMLSchema#string\" MustBePresent=\"false\"" + issuer + "/>";
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.entitlement.policy.collection;
+
+import org.testng.annotations.Test;
+import org.wso2.balana.AbstractPolicy;
+import org.wso2.balana.MatchResult;
+import org.wso2.balana.ctx.EvaluationCtx;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link SimplePolicyCollection}.
+ */
+public class SimplePolicyCollectionTest {
+
+    @Test
+    public void testAddDeleteAndReorderPolicies() throws Exception {
+
+        SimplePolicyCollection policyCollection = new SimplePolicyCollection();
+        AbstractPolicy policy1 = mockPolicy("policy1", MatchResult.NO_MATCH);
+        AbstractPolicy policy2 = mockPolicy("policy2", MatchResult.NO_MATCH);
+        AbstractPolicy policy3 = mockPolicy("policy3", MatchResult.NO_MATCH);
+
+        assertFalse(policyCollection.addPolicy(policy1));
+        assertFalse(policyCollection.addPolicy(policy2));
+        assertFalse(policyCollection.addPolicy(policy3));
+        assertTrue(policyCollection.addPolicy(policy2));
+        assertEquals(new ArrayList<>(policyCollection.getPolicyMap().keySet()),
+                uris("policy1", "policy2", "policy3"));
+
+        LinkedHashMap<URI, AbstractPolicy> reorderedPolicies = new LinkedHashMap<>();
+        reorderedPolicies.put(policy3.getId(), policy3);
+        reorderedPolicies.put(policy1.getId(), policy1);
+        reorderedPolicies.put(policy2.getId(), policy2);
+        policyCollection.setPolicyMap(reorderedPolicies);
+        // changes to the given map are not visible to the collection
+        reorderedPolicies.clear();
+        assertEquals(new ArrayList<>(policyCollection.getPolicyMap().keySet()),
+                uris("policy3", "policy1", "policy2"));
+
+        assertTrue(policyCollection.deletePolicy("policy1"));
+        assertFalse(policyCollection.deletePolicy("policy1"));
+        assertNull(policyCollection.getPolicy(new URI("policy1")));
+        assertSame(policyCollection.getPolicy(new URI("policy3")), policy3);
+        assertEquals(new ArrayList<>(policyCollection.getPolicyMap().keySet()), uris("policy3", "policy2"));
+    }
+
+    @Test
+    public void testEffectivePolicyWhilePoliciesArePublished() throws Exception {
+
+        SimplePolicyCollection policyCollection = new SimplePolicyCollection();
+        AbstractPolicy matchingPolicy = mockPolicy("matching", MatchResult.MATCH);
+        policyCollection.addPolicy(matchingPolicy);
+        EvaluationCtx context = mock(EvaluationCtx.class);
+
+        AtomicBoolean publishing = new AtomicBoolean(true);
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> evaluations = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                evaluations.add(executorService.submit(() -> {
+                    int count = 0;
+                    while (publishing.get()) {
+                        assertSame(policyCollection.getEffectivePolicy(context), matchingPolicy);
+                        count++;
+                    }
+                    return count;
+                }));
+            }
+            for (int i = 0; i < 1000; i++) {
+                AbstractPolicy policy = mockPolicy("policy" + i, MatchResult.NO_MATCH);
+                policyCollection.addPolicy(policy);
+                if (i % 2 == 0) {
+                    policyCollection.deletePolicy(policy.getId().toString());
+                }
+            }
+            publishing.set(false);
+            for (Future<Integer> evaluation : evaluations) {
+                assertTrue(evaluation.get(30, TimeUnit.SECONDS) > 0);
+            }
+        } finally {
+            publishing.set(false);
+            executorService.shutdownNow();
+        }
+        assertEquals(policyCollection.getPolicyMap().size(), 501);
+    }
+
+    private AbstractPolicy mockPolicy(String policyId, int matchResult) throws Exception {
+
+        AbstractPolicy policy = mock(AbstractPolicy.class);
+        when(policy.getId()).thenReturn(new URI(policyId));
+        when(policy.match(any(EvaluationCtx.class))).thenReturn(new MatchResult(matchResult));
+        return policy;
+    }
+
+    private List<URI> uris(String... policyIds) throws Exception {
+
+        List<URI> uris = new ArrayList<>();
+        for (String policyId : policyIds) {
+            uris.add(new URI(policyId));
+        }
+        return uris;
+    }
+}
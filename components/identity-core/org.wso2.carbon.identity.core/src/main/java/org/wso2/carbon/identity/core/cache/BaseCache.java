@@ -27,20 +27,29 @@ import org.wso2.carbon.context.PrivilegedCarbonContext;
 import org.wso2.carbon.identity.core.model.IdentityCacheConfig;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
 
 import java.io.Serializable;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
 import javax.cache.Cache;
 import javax.cache.CacheBuilder;
 import javax.cache.CacheConfiguration;
 import javax.cache.CacheManager;
 import javax.cache.Caching;
+import javax.cache.Status;
 
 /**
  * A base class for all cache implementations in Identity modules. This maintains  caches in the tenanted space.
  * A copy of this class is maintained at org.wso2.carbon.identity.organization.management.service.cache component.
+ * <p>
+ * The cache of each tenant is resolved once and reused for as long as it is started. Operations of the tenant of the
+ * current carbon context are performed without starting a new tenant flow. Statistics of the cache are recorded per
+ * tenant, and are available through {@link #getStatistics(int)} and {@link CacheStatisticsRegistry}.
  *
  * @param <K> cache key type.
  * @param <V> cache value type.
@@ -52,7 +61,10 @@ public abstract class BaseCache<K extends Serializable, V extends Serializable>
     private CacheBuilder<K, V> cacheBuilder;
     private final List<AbstractCacheListener<K, V>> cacheListeners;
     private String cacheName;
+    private final String statisticsName;
     private final IdentityCacheConfig identityCacheConfig;
+    private final Map<Integer, Cache<K, V>> tenantCaches = new ConcurrentHashMap<>();
+    private final Map<Integer, CacheStatistics> tenantStatistics = new ConcurrentHashMap<>();
 
     public BaseCache(String cacheName) {
 
@@ -73,6 +85,7 @@ public abstract class BaseCache<K extends Serializable, V extends Serializable>
                      List<AbstractCacheListener<K, V>> cacheListeners) {
 
         this.cacheName = CachingConstants.LOCAL_CACHE_PREFIX + cacheName;
+        this.statisticsName = cacheName;
         identityCacheConfig = IdentityUtil.getIdentityCacheConfig(CACHE_MANAGER_NAME, cacheName);
         if (identityCacheConfig != null) {
             if (identityCacheConfig.isDistributed()) {
@@ -134,6 +147,49 @@ public abstract class BaseCache<K extends Serializable, V extends Serializable>
         return cache;
     }
 
+    /**
+     * Get the cache of the tenant of the current carbon context.
+     *
+     * @param tenantId   Tenant Id of the current carbon context.
+     * @param statistics Statistics of the cache of the tenant.
+     * @return Cache of the tenant.
+     */
+    private Cache<K, V> getTenantCache(int tenantId, CacheStatistics statistics) {
+
+        Cache<K, V> cache = tenantCaches.get(tenantId);
+        if (cache != null && cache.getStatus() == Status.STARTED) {
+            return cache;
+        }
+        // The cache is resolved again once it is removed from its cache manager, or the cache manager is shut down.
+        cache = getBaseCache();
+        if (cache != null) {
+            statistics.observe(cache);
+            tenantCaches.put(tenantId, cache);
+        }
+        return cache;
+    }
+
+    private CacheStatistics getTenantStatistics(int tenantId) {
+
+        CacheStatistics statistics = tenantStatistics.get(tenantId);
+        if (statistics == null) {
+            statistics = tenantStatistics.computeIfAbsent(tenantId,
+                    id -> CacheStatisticsRegistry.getOrCreateStatistics(statisticsName, id));
+        }
+        return statistics;
+    }
+
+    /**
+     * Get the statistics of the cache of a tenant.
+     *
+     * @param tenantId The tenant Id where the cache is maintained.
+     * @return Statistics of the cache, or null if the cache was not accessed in the tenant.
+     */
+    public CacheStatistics getStatistics(int tenantId) {
+
+        return CacheStatisticsRegistry.getStatistics(statisticsName, tenantId);
+    }
+
     /**
      * Add a cache entry.
      *
@@ -147,15 +203,11 @@ public abstract class BaseCache<K extends Serializable, V extends Serializable>
             return;
         }
 
-        try {
-            startTenantFlow(tenantDomain);
-            Cache<K, V> cache = getBaseCache();
-            if (cache != null) {
-                cache.put(key, entry);
-            }
-        } finally {
-            PrivilegedCarbonContext.endTenantFlow();
-        }
+        executeInTenant(tenantDomain, (cache, statistics) -> {
+            cache.put(key, entry);
+            statistics.recordPut(key);
+            return null;
+        });
     }
 
     /**
@@ -171,15 +223,11 @@ public abstract class BaseCache<K extends Serializable, V extends Serializable>
             return;
         }
 
-        try {
-            startTenantFlow(tenantId);
-            Cache<K, V> cache = getBaseCache();
-            if (cache != null) {
-                cache.put(key, entry);
-            }
-        } finally {
-            PrivilegedCarbonContext.endTenantFlow();
-        }
+        executeInTenant(tenantId, (cache, statistics) -> {
+            cache.put(key, entry);
+            statistics.recordPut(key);
+            return null;
+        });
     }
 
     /**
@@ -199,16 +247,7 @@ public abstract class BaseCache<K extends Serializable, V extends Serializable>
             return null;
         }
 
-        try {
-            startTenantFlow(tenantDomain);
-            Cache<K, V> cache = getBaseCache();
-            if (cache != null && cache.get(key) != null) {
-                return cache.get(key);
-            }
-            return null;
-        } finally {
-            PrivilegedCarbonContext.endTenantFlow();
-        }
+        return executeInTenant(tenantDomain, (cache, statistics) -> lookup(cache, key, statistics));
     }
 
     /**
@@ -228,16 +267,7 @@ public abstract class BaseCache<K extends Serializable, V extends Serializable>
             return null;
         }
 
-        try {
-            startTenantFlow(tenantId);
-            Cache<K, V> cache = getBaseCache();
-            if (cache != null && cache.get(key) != null) {
-                return cache.get(key);
-            }
-            return null;
-        } finally {
-            PrivilegedCarbonContext.endTenantFlow();
-        }
+        return executeInTenant(tenantId, (cache, statistics) -> lookup(cache, key, statistics));
     }
 
     /**
@@ -252,15 +282,10 @@ public abstract class BaseCache<K extends Serializable, V extends Serializable>
             return;
         }
 
-        try {
-            startTenantFlow(tenantDomain);
-            Cache<K, V> cache = getBaseCache();
-            if (cache != null) {
-                cache.remove(key);
-            }
-        } finally {
-            PrivilegedCarbonContext.endTenantFlow();
-        }
+        executeInTenant(tenantDomain, (cache, statistics) -> {
+            statistics.invalidate(() -> cache.remove(key));
+            return null;
+        });
     }
 
     /**
@@ -275,15 +300,10 @@ public abstract class BaseCache<K extends Serializable, V extends Serializable>
             return;
         }
 
-        try {
-            startTenantFlow(tenantId);
-            Cache<K, V> cache = getBaseCache();
-            if (cache != null) {
-                cache.remove(key);
-            }
-        } finally {
-            PrivilegedCarbonContext.endTenantFlow();
-        }
+        executeInTenant(tenantId, (cache, statistics) -> {
+            statistics.invalidate(() -> cache.remove(key));
+            return null;
+        });
     }
 
     /**
@@ -297,15 +317,10 @@ public abstract class BaseCache<K extends Serializable, V extends Serializable>
             return;
         }
 
-        try {
-            startTenantFlow(tenantDomain);
-            Cache<K, V> cache = getBaseCache();
-            if (cache != null) {
-                cache.removeAll();
-            }
-        } finally {
-            PrivilegedCarbonContext.endTenantFlow();
-        }
+        executeInTenant(tenantDomain, (cache, statistics) -> {
+            statistics.invalidate(cache::removeAll);
+            return null;
+        });
     }
 
     /**
@@ -319,15 +334,10 @@ public abstract class BaseCache<K extends Serializable, V extends Serializable>
             return;
         }
 
-        try {
-            startTenantFlow(tenantId);
-            Cache<K, V> cache = getBaseCache();
-            if (cache != null) {
-                cache.removeAll();
-            }
-        } finally {
-            PrivilegedCarbonContext.endTenantFlow();
-        }
+        executeInTenant(tenantId, (cache, statistics) -> {
+            statistics.invalidate(cache::removeAll);
+            return null;
+        });
     }
 
     public boolean isEnabled() {
@@ -361,6 +371,76 @@ public abstract class BaseCache<K extends Serializable, V extends Serializable>
         }
     }
 
+    /**
+     * Perform an operation on the cache of a tenant. A tenant flow is started only if the tenant is not the tenant of
+     * the current carbon context.
+     *
+     * @param tenantDomain The tenant domain where the cache is maintained.
+     * @param operation    Operation to be performed on the cache.
+     * @return Result of the operation, or null if the cache is not available.
+     */
+    private <T> T executeInTenant(String tenantDomain, BiFunction<Cache<K, V>, CacheStatistics, T> operation) {
+
+        CarbonContext carbonContext = CarbonContext.getThreadLocalCarbonContext();
+        int currentTenantId = carbonContext.getTenantId();
+        if (tenantDomain != null && currentTenantId != MultitenantConstants.INVALID_TENANT_ID &&
+                tenantDomain.equals(carbonContext.getTenantDomain())) {
+            return execute(currentTenantId, operation);
+        }
+
+        try {
+            startTenantFlow(tenantDomain);
+            return execute(PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId(), operation);
+        } finally {
+            PrivilegedCarbonContext.endTenantFlow();
+        }
+    }
+
+    /**
+     * Perform an operation on the cache of a tenant. A tenant flow is started only if the tenant is not the tenant of
+     * the current carbon context.
+     *
+     * @param tenantId  The tenant Id where the cache is maintained.
+     * @param operation Operation to be performed on the cache.
+     * @return Result of the operation, or null if the cache is not available.
+     */
+    private <T> T executeInTenant(int tenantId, BiFunction<Cache<K, V>, CacheStatistics, T> operation) {
+
+        CarbonContext carbonContext = CarbonContext.getThreadLocalCarbonContext();
+        if (tenantId != MultitenantConstants.INVALID_TENANT_ID && tenantId == carbonContext.getTenantId() &&
+                carbonContext.getTenantDomain() != null) {
+            return execute(tenantId, operation);
+        }
+
+        try {
+            startTenantFlow(tenantId);
+            return execute(tenantId, operation);
+        } finally {
+            PrivilegedCarbonContext.endTenantFlow();
+        }
+    }
+
+    private <T> T execute(int tenantId, BiFunction<Cache<K, V>, CacheStatistics, T> operation) {
+
+        CacheStatistics statistics = getTenantStatistics(tenantId);
+        Cache<K, V> cache = getTenantCache(tenantId, statistics);
+        if (cache == null) {
+            return null;
+        }
+        return operation.apply(cache, statistics);
+    }
+
+    private V lookup(Cache<K, V> cache, K key, CacheStatistics statistics) {
+
+        V value = cache.get(key);
+        if (value != null) {
+            statistics.recordHit();
+        } else {
+            statistics.recordMiss(key);
+        }
+        return value;
+    }
+
     private void startTenantFlow(String tenantDomain) {
 
         PrivilegedCarbonContext.startTenantFlow();
@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.core.cache;
+
+import org.wso2.carbon.identity.core.util.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.cache.Cache;
+import javax.cache.event.CacheEntryEvent;
+import javax.cache.event.CacheEntryExpiredListener;
+import javax.cache.event.CacheEntryRemovedListener;
+
+/**
+ * Statistics of a cache of a tenant. Values are cumulative from the first access of the cache in the tenant, and are
+ * updated without locking.
+ * <p>
+ * Evictions are the entries removed by the cache itself, i.e. expired or evicted for capacity, and the entries
+ * invalidated by other nodes of the cluster. Invalidations are the entries removed, and the caches cleared, through
+ * {@link BaseCache} on this node. The load time is the time from a miss of a key to the put of the same key by the
+ * same thread, which is how the caches of the framework are populated. Only the hash of the missed key is kept until
+ * the next hit, put or invalidation of the cache on the same thread.
+ * <p>
+ * Caches which do not extend {@link BaseCache} can record their statistics through
+ * {@link CacheStatisticsRegistry#getOrCreateStatistics(String, int)}.
+ */
+public class CacheStatistics {
+
+    private static final long[] LOAD_TIME_BUCKETS_IN_MICROS = {100, 250, 500, 1000, 2500, 5000, 10000, 25000,
+            50000, 100000, 250000, 500000, 1000000};
+    private static final ThreadLocal<Boolean> INVALIDATING = new ThreadLocal<>();
+    // A put which follows the miss of the key by more than this is not considered as a load of the key.
+    private static final long MAX_LOAD_TIME_IN_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final String cacheName;
+    private final int tenantId;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder putCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder invalidationCount = new LongAdder();
+    private final Histogram loadTimeHistogram = new Histogram(LOAD_TIME_BUCKETS_IN_MICROS);
+    private final EvictionListener evictionListener = new EvictionListener();
+    private final ThreadLocal<PendingLoad> pendingLoad = new ThreadLocal<>();
+    private volatile Cache<?, ?> observedCache;
+
+    CacheStatistics(String cacheName, int tenantId) {
+
+        this.cacheName = cacheName;
+        this.tenantId = tenantId;
+    }
+
+    /**
+     * Start counting the evictions of a cache of the tenant. The evictions of a cache are counted once, even if it is
+     * observed by several instances of the cache.
+     *
+     * @param cache Cache resolved for the tenant.
+     */
+    public void observe(Cache<?, ?> cache) {
+
+        if (observedCache == cache) {
+            return;
+        }
+        synchronized (this) {
+            if (observedCache != cache) {
+                cache.registerCacheEntryListener(evictionListener);
+                observedCache = cache;
+            }
+        }
+    }
+
+    /**
+     * Record a lookup of the cache which found an entry.
+     */
+    public void recordHit() {
+
+        hitCount.increment();
+        pendingLoad.remove();
+    }
+
+    /**
+     * Record a lookup of the cache which did not find an entry.
+     *
+     * @param key Key which was looked up.
+     */
+    public void recordMiss(Object key) {
+
+        missCount.increment();
+        pendingLoad.set(new PendingLoad(key.hashCode(), System.nanoTime()));
+    }
+
+    /**
+     * Record a put to the cache. The put is also recorded as a load if it follows a miss of the key on the same
+     * thread.
+     *
+     * @param key Key which was put.
+     */
+    public void recordPut(Object key) {
+
+        putCount.increment();
+        PendingLoad load = pendingLoad.get();
+        if (load == null) {
+            return;
+        }
+        pendingLoad.remove();
+        long loadTime = System.nanoTime() - load.missedAt;
+        if (load.keyHash == key.hashCode() && loadTime <= MAX_LOAD_TIME_IN_NANOS) {
+            loadTimeHistogram.record(TimeUnit.NANOSECONDS.toMicros(loadTime));
+        }
+    }
+
+    /**
+     * Remove entries of the cache, counting the removal as an invalidation rather than as evictions.
+     *
+     * @param removal Removal of the entries.
+     */
+    public void invalidate(Runnable removal) {
+
+        pendingLoad.remove();
+        INVALIDATING.set(Boolean.TRUE);
+        try {
+            removal.run();
+        } finally {
+            INVALIDATING.remove();
+        }
+        invalidationCount.increment();
+    }
+
+    public String getCacheName() {
+
+        return cacheName;
+    }
+
+    public int getTenantId() {
+
+        return tenantId;
+    }
+
+    public long getHitCount() {
+
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+
+        return missCount.sum();
+    }
+
+    /**
+     * @return Ratio of the hits to the lookups, or zero if the cache was not looked up.
+     */
+    public double getHitRatio() {
+
+        long hits = getHitCount();
+        long lookups = hits + getMissCount();
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    public long getPutCount() {
+
+        return putCount.sum();
+    }
+
+    public long getEvictionCount() {
+
+        return evictionCount.sum();
+    }
+
+    public long getInvalidationCount() {
+
+        return invalidationCount.sum();
+    }
+
+    /**
+     * @return Histogram of the load time, in microseconds, of the cache entries.
+     */
+    public Histogram getLoadTimeHistogram() {
+
+        return loadTimeHistogram;
+    }
+
+    /**
+     * Miss of a key by a thread, which is expected to be loaded and put to the cache by the same thread.
+     */
+    private static class PendingLoad {
+
+        private final int keyHash;
+        private final long missedAt;
+
+        private PendingLoad(int keyHash, long missedAt) {
+
+            this.keyHash = keyHash;
+            this.missedAt = missedAt;
+        }
+    }
+
+    /**
+     * Counts the entries removed from the cache, other than through an invalidation on this thread.
+     */
+    private class EvictionListener implements CacheEntryExpiredListener<Object, Object>,
+            CacheEntryRemovedListener<Object, Object> {
+
+        @Override
+        public void entryExpired(CacheEntryEvent<?, ?> event) {
+
+            evictionCount.increment();
+        }
+
+        @Override
+        public void entryRemoved(CacheEntryEvent<?, ?> event) {
+
+            if (INVALIDATING.get() == null) {
+                evictionCount.increment();
+            }
+        }
+    }
+}
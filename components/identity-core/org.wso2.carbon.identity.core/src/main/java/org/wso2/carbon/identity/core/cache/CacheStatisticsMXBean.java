@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.core.cache;
+
+/**
+ * JMX view of the statistics of a cache. Counts are the sums over the tenants which accessed the cache.
+ */
+public interface CacheStatisticsMXBean {
+
+    long getHitCount();
+
+    long getMissCount();
+
+    double getHitRatio();
+
+    long getPutCount();
+
+    long getEvictionCount();
+
+    long getInvalidationCount();
+
+    long getLoadCount();
+
+    /**
+     * @return Average load time of the cache entries in microseconds, or zero if no entry was loaded.
+     */
+    double getAverageLoadTime();
+
+    /**
+     * @return Ids of the tenants which accessed the cache.
+     */
+    int[] getTenantIds();
+
+    /**
+     * @param tenantId Tenant Id.
+     * @return Statistics of the cache of the tenant, or null if the tenant did not access the cache.
+     */
+    CacheStatistics getTenantStatistics(int tenantId);
+}
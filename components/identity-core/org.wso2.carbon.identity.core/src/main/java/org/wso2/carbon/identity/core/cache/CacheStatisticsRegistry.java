@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.core.cache;
+
+import org.wso2.carbon.identity.core.util.IdentityMBeanUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the statistics of the caches, by cache name and tenant. The statistics of
+ * each cache are also registered as a {@link CacheStatisticsMXBean} named
+ * <code>org.wso2.carbon.identity:type=CacheStatistics,name="&lt;cache name&gt;"</code>.
+ */
+public class CacheStatisticsRegistry {
+
+    private static final String MBEAN_TYPE = "CacheStatistics";
+    private static final Map<String, Map<Integer, CacheStatistics>> STATISTICS = new ConcurrentHashMap<>();
+
+    private CacheStatisticsRegistry() {
+
+    }
+
+    /**
+     * @return Names of the caches which have statistics.
+     */
+    public static Set<String> getCacheNames() {
+
+        return Collections.unmodifiableSet(STATISTICS.keySet());
+    }
+
+    /**
+     * @param cacheName Name of the cache.
+     * @return Statistics of the cache of each tenant which accessed it.
+     */
+    public static List<CacheStatistics> getStatistics(String cacheName) {
+
+        Map<Integer, CacheStatistics> tenantStatistics = STATISTICS.get(cacheName);
+        if (tenantStatistics == null) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(tenantStatistics.values());
+    }
+
+    /**
+     * @param cacheName Name of the cache.
+     * @param tenantId  Tenant Id.
+     * @return Statistics of the cache of the tenant, or null if the tenant did not access the cache.
+     */
+    public static CacheStatistics getStatistics(String cacheName, int tenantId) {
+
+        Map<Integer, CacheStatistics> tenantStatistics = STATISTICS.get(cacheName);
+        return tenantStatistics != null ? tenantStatistics.get(tenantId) : null;
+    }
+
+    /**
+     * Get the statistics of the cache of a tenant, creating them on the first access of the cache in the tenant.
+     *
+     * @param cacheName Name of the cache.
+     * @param tenantId  Tenant Id.
+     * @return Statistics of the cache of the tenant.
+     */
+    public static CacheStatistics getOrCreateStatistics(String cacheName, int tenantId) {
+
+        Map<Integer, CacheStatistics> tenantStatistics = STATISTICS.get(cacheName);
+        if (tenantStatistics == null) {
+            tenantStatistics = STATISTICS.computeIfAbsent(cacheName, name -> {
+                Map<Integer, CacheStatistics> statistics = new ConcurrentHashMap<>();
+                IdentityMBeanUtil.registerMBean(MBEAN_TYPE, name, new CacheStatisticsView(statistics),
+                        CacheStatisticsMXBean.class);
+                return statistics;
+            });
+        }
+        return tenantStatistics.computeIfAbsent(tenantId, id -> new CacheStatistics(cacheName, id));
+    }
+
+    /**
+     * Statistics of a cache summed over its tenants.
+     */
+    private static class CacheStatisticsView implements CacheStatisticsMXBean {
+
+        private final Map<Integer, CacheStatistics> tenantStatistics;
+
+        private CacheStatisticsView(Map<Integer, CacheStatistics> tenantStatistics) {
+
+            this.tenantStatistics = tenantStatistics;
+        }
+
+        @Override
+        public long getHitCount() {
+
+            return tenantStatistics.values().stream().mapToLong(CacheStatistics::getHitCount).sum();
+        }
+
+        @Override
+        public long getMissCount() {
+
+            return tenantStatistics.values().stream().mapToLong(CacheStatistics::getMissCount).sum();
+        }
+
+        @Override
+        public double getHitRatio() {
+
+            long hits = getHitCount();
+            long lookups = hits + getMissCount();
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+
+        @Override
+        public long getPutCount() {
+
+            return tenantStatistics.values().stream().mapToLong(CacheStatistics::getPutCount).sum();
+        }
+
+        @Override
+        public long getEvictionCount() {
+
+            return tenantStatistics.values().stream().mapToLong(CacheStatistics::getEvictionCount).sum();
+        }
+
+        @Override
+        public long getInvalidationCount() {
+
+            return tenantStatistics.values().stream().mapToLong(CacheStatistics::getInvalidationCount).sum();
+        }
+
+        @Override
+        public long getLoadCount() {
+
+            return tenantStatistics.values().stream()
+                    .mapToLong(statistics -> statistics.getLoadTimeHistogram().getCount()).sum();
+        }
+
+        @Override
+        public double getAverageLoadTime() {
+
+            long count = 0;
+            long sum = 0;
+            for (CacheStatistics statistics : tenantStatistics.values()) {
+                count += statistics.getLoadTimeHistogram().getCount();
+                sum += statistics.getLoadTimeHistogram().getSum();
+            }
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        @Override
+        public int[] getTenantIds() {
+
+            return tenantStatistics.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+        }
+
+        @Override
+        public CacheStatistics getTenantStatistics(int tenantId) {
+
+            return tenantStatistics.get(tenantId);
+        }
+    }
+}
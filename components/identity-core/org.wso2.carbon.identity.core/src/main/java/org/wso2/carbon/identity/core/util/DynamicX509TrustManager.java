@@ -27,11 +27,30 @@ import org.wso2.carbon.utils.security.KeystoreUtils;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.TrustManagerFactory;
 import javax.net.ssl.X509TrustManager;
+import java.io.File;
 import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
 import java.security.KeyStore;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.CertificateEncodingException;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import static org.wso2.carbon.identity.core.util.IdentityUtil.PROP_TRUST_STORE_UPDATE_REQUIRED;
 
@@ -39,27 +58,60 @@ import static org.wso2.carbon.identity.core.util.IdentityUtil.PROP_TRUST_STORE_U
 /**
  * Gives a singleton javax.net.ssl.X509TrustManager implementation that uses the default carbon trust store.
  * This will load any changes (addition/removal of certificates) done to the default trust store on the fly.
+ * <p>
+ * The trust store file is watched, and reloaded once it has not changed for a short period. A reloaded trust store
+ * atomically replaces the trust manager in use. Validation verdicts of recently seen server certificate chains are
+ * cached against the trust store they were validated with, so that an untrusted endpoint does not cause the trust
+ * store to be read on each handshake. Verdicts are not cached when revocation checking is enabled, since the revocation
+ * status of a certificate can change at any time.
  */
 public class DynamicX509TrustManager implements X509TrustManager {
 
     private static Log log = LogFactory.getLog(DynamicX509TrustManager.class);
-    private X509TrustManager trustManager;
-    private static DynamicX509TrustManager instance;
+    private static volatile DynamicX509TrustManager instance;
 
-    //Configuration Options
-    private static final ServerConfiguration config = ServerConfiguration.getInstance();
-    private static final String TRUST_STORE_LOCATION = config.getFirstProperty("Security.TrustStore.Location");
-    private static final String TRUST_STORE_TYPE = config.getFirstProperty("Security.TrustStore.Type");
+    private static final String CHECK_REVOCATION_PROPERTY = "com.sun.net.ssl.checkRevocation";
+    private static final long RELOAD_DEBOUNCE_PERIOD_IN_MILLIS = TimeUnit.SECONDS.toMillis(2);
+    private static final long VERDICT_VALIDITY_PERIOD_IN_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    private static final int MAX_CACHED_VERDICTS = 1000;
+
+    private final String trustStoreLocation;
+    private final String trustStoreType;
+    private volatile TrustStoreState trustStoreState;
 
     private DynamicX509TrustManager() throws Exception {
 
-        setupTrustManager();
+        this(ServerConfiguration.getInstance().getFirstProperty("Security.TrustStore.Location"),
+                ServerConfiguration.getInstance().getFirstProperty("Security.TrustStore.Type"), true);
+    }
+
+    /**
+     * Create a trust manager which uses the given trust store.
+     *
+     * @param trustStoreLocation Location of the trust store file.
+     * @param trustStoreType     Type of the trust store.
+     * @param watchTrustStore    Whether to reload the trust store once its file changes.
+     * @throws Exception If the trust store cannot be loaded.
+     */
+    DynamicX509TrustManager(String trustStoreLocation, String trustStoreType, boolean watchTrustStore)
+            throws Exception {
+
+        this.trustStoreLocation = trustStoreLocation;
+        this.trustStoreType = trustStoreType;
+        trustStoreState = loadTrustStore();
+        if (watchTrustStore) {
+            startTrustStoreWatcher();
+        }
     }
 
     public static DynamicX509TrustManager getInstance() throws Exception {
 
         if (instance == null) {
-            instance = new DynamicX509TrustManager();
+            synchronized (DynamicX509TrustManager.class) {
+                if (instance == null) {
+                    instance = new DynamicX509TrustManager();
+                }
+            }
         }
         return instance;
     }
@@ -67,7 +119,7 @@ public class DynamicX509TrustManager implements X509TrustManager {
     @Override
     public void checkClientTrusted(X509Certificate[] x509Certificates, String s) throws CertificateException {
 
-        trustManager.checkClientTrusted(x509Certificates, s);
+        trustStoreState.trustManager.checkClientTrusted(x509Certificates, s);
     }
 
     /**
@@ -80,19 +132,37 @@ public class DynamicX509TrustManager implements X509TrustManager {
     @Override
     public void checkServerTrusted(X509Certificate[] x509Certificates, String s) throws CertificateException {
 
+        TrustStoreState state;
         try {
             //if changes were made to the trust store, reload the trust store and initialize the trustManager instance.
             if (Boolean.parseBoolean(System.getProperty(PROP_TRUST_STORE_UPDATE_REQUIRED))) {
-                setupTrustManager();
+                reloadTrustStoreIfUpdateRequired();
             }
-            trustManager.checkServerTrusted(x509Certificates, s);
+            state = trustStoreState;
+        } catch (Exception e) {
+            throw new CertificateException("Certificate validation failed due to " + e.getCause(), e);
+        }
+
+        String fingerprint = getFingerprint(x509Certificates, s);
+        Verdict verdict = state.getVerdict(fingerprint);
+        if (verdict != null) {
+            verdict.apply();
+            return;
+        }
+        try {
+            state.trustManager.checkServerTrusted(x509Certificates, s);
+            state.putVerdict(fingerprint, Verdict.trusted(x509Certificates));
         } catch (CertificateException e) {
-            // Reload the truststore once if SSL validation fails.
+            // Reload the truststore once if SSL validation fails, and the truststore has changed since it was loaded.
             try {
-                setupTrustManager();
-                trustManager.checkServerTrusted(x509Certificates, s);
+                state = reloadTrustStoreIfModified(state);
+                state.trustManager.checkServerTrusted(x509Certificates, s);
+                state.putVerdict(fingerprint, Verdict.trusted(x509Certificates));
             } catch (Exception e1) {
-                throw new CertificateException("Certificate validation failed due to " + e1.getCause(), e1);
+                CertificateException failure =
+                        new CertificateException("Certificate validation failed due to " + e1.getCause(), e1);
+                state.putVerdict(fingerprint, Verdict.untrusted(failure));
+                throw failure;
             }
         } catch (Exception e) {
             throw new CertificateException("Certificate validation failed due to " + e.getCause(), e);
@@ -102,35 +172,297 @@ public class DynamicX509TrustManager implements X509TrustManager {
     @Override
     public X509Certificate[] getAcceptedIssuers() {
 
-        return trustManager.getAcceptedIssuers();
+        return trustStoreState.trustManager.getAcceptedIssuers();
+    }
+
+    /**
+     * Check whether a validation verdict is cached for a certificate chain.
+     *
+     * @param x509Certificates Certificate chain.
+     * @param authType         Authentication type.
+     * @return True if a verdict is cached for the chain, with the trust store in use.
+     */
+    boolean hasCachedVerdict(X509Certificate[] x509Certificates, String authType) {
+
+        return trustStoreState.getVerdict(getFingerprint(x509Certificates, authType)) != null;
+    }
+
+    private synchronized void reloadTrustStoreIfUpdateRequired() throws Exception {
+
+        if (Boolean.parseBoolean(System.getProperty(PROP_TRUST_STORE_UPDATE_REQUIRED))) {
+            trustStoreState = loadTrustStore();
+        }
+    }
+
+    private synchronized TrustStoreState reloadTrustStoreIfModified(TrustStoreState state) throws Exception {
+
+        if (trustStoreState == state && state.isModified()) {
+            trustStoreState = loadTrustStore();
+        }
+        return trustStoreState;
     }
 
+    private synchronized void reloadTrustStore() {
+
+        try {
+            trustStoreState = loadTrustStore();
+            if (log.isDebugEnabled()) {
+                log.debug("Reloaded the trust store: " + trustStoreLocation);
+            }
+        } catch (Exception e) {
+            log.error("Error while reloading the trust store: " + trustStoreLocation, e);
+        }
+    }
 
     /**
-     * This method reloads the TrustManager by reading the carbon server's default trust store file
+     * This method loads the TrustManager by reading the carbon server's default trust store file
      *
+     * @return State of the loaded trust store.
      * @throws Exception
      */
-    private void setupTrustManager() throws Exception {
+    private TrustStoreState loadTrustStore() throws Exception {
 
         TrustManagerFactory trustManagerFactory =
                 TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
         KeyStore clientTrustStore = null;
-        try (InputStream trustStoreInputStream = new FileInputStream(TRUST_STORE_LOCATION)) {
+        File trustStoreFile = new File(trustStoreLocation);
+        boolean revocationCheckEnabled = Boolean.getBoolean(CHECK_REVOCATION_PROPERTY);
+        long lastModified = trustStoreFile.lastModified();
+        long length = trustStoreFile.length();
+        try (InputStream trustStoreInputStream = new FileInputStream(trustStoreFile)) {
 
-            clientTrustStore = KeystoreUtils.getKeystoreInstance(TRUST_STORE_TYPE);
+            clientTrustStore = KeystoreUtils.getKeystoreInstance(trustStoreType);
             clientTrustStore.load(trustStoreInputStream, null);
             trustManagerFactory.init(clientTrustStore);
             TrustManager[] trustManagers = trustManagerFactory.getTrustManagers();
 
             for (TrustManager t : trustManagers) {
                 if (t instanceof X509TrustManager) {
-                    trustManager = (X509TrustManager) t;
                     System.setProperty(IdentityUtil.PROP_TRUST_STORE_UPDATE_REQUIRED, Boolean.FALSE.toString());
-                    return;
+                    return new TrustStoreState((X509TrustManager) t, trustStoreFile, lastModified, length,
+                            revocationCheckEnabled);
                 }
             }
             throw new IdentityException("No X509TrustManager in TrustManagerFactory");
         }
     }
+
+    /**
+     * Start a daemon thread which reloads the trust store once its file has been created or modified, and has not
+     * been changed for the debounce period. If the file system cannot be watched, the trust store is still reloaded
+     * on demand, and once a certificate chain fails validation after the trust store file has changed.
+     */
+    private void startTrustStoreWatcher() {
+
+        Path trustStorePath = Paths.get(trustStoreLocation).toAbsolutePath();
+        Path trustStoreDirectory = trustStorePath.getParent();
+        if (trustStoreDirectory == null) {
+            return;
+        }
+        WatchService watchService;
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            trustStoreDirectory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException | UnsupportedOperationException e) {
+            log.warn("Unable to watch the trust store: " + trustStoreLocation + " for changes. The trust store " +
+                    "will be reloaded only on demand.");
+            if (log.isDebugEnabled()) {
+                log.debug("Error while watching the trust store directory: " + trustStoreDirectory, e);
+            }
+            return;
+        }
+
+        Thread watcher = new Thread(() -> watchTrustStore(watchService, trustStorePath.getFileName()),
+                "DynamicX509TrustManager-TrustStoreWatcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    private void watchTrustStore(WatchService watchService, Path trustStoreFileName) {
+
+        long lastChangedAt = 0L;
+        try {
+            while (true) {
+                WatchKey watchKey;
+                if (lastChangedAt == 0L) {
+                    watchKey = watchService.take();
+                } else {
+                    long remainingDebouncePeriod = lastChangedAt + RELOAD_DEBOUNCE_PERIOD_IN_MILLIS -
+                            System.currentTimeMillis();
+                    watchKey = watchService.poll(Math.max(remainingDebouncePeriod, 0L), TimeUnit.MILLISECONDS);
+                }
+                if (watchKey != null) {
+                    for (WatchEvent<?> event : watchKey.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW ||
+                                trustStoreFileName.equals(event.context())) {
+                            lastChangedAt = System.currentTimeMillis();
+                        }
+                    }
+                    if (!watchKey.reset()) {
+                        log.warn("Trust store directory of: " + trustStoreLocation + " can no longer be watched " +
+                                "for changes. The trust store will be reloaded only on demand.");
+                        return;
+                    }
+                }
+                if (lastChangedAt != 0L &&
+                        System.currentTimeMillis() - lastChangedAt >= RELOAD_DEBOUNCE_PERIOD_IN_MILLIS) {
+                    lastChangedAt = 0L;
+                    reloadTrustStore();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Stopped watching the trust store: " + trustStoreLocation, e);
+            }
+        }
+    }
+
+    /**
+     * Get the fingerprint of a certificate chain and the authentication type it is validated for.
+     *
+     * @param x509Certificates Certificate chain.
+     * @param authType         Authentication type.
+     * @return Fingerprint, or null if the chain cannot be encoded.
+     */
+    private static String getFingerprint(X509Certificate[] x509Certificates, String authType) {
+
+        if (x509Certificates == null || x509Certificates.length == 0) {
+            return null;
+        }
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            for (X509Certificate certificate : x509Certificates) {
+                messageDigest.update(certificate.getEncoded());
+            }
+            if (authType != null) {
+                messageDigest.update(authType.getBytes(StandardCharsets.UTF_8));
+            }
+            return Base64.getEncoder().encodeToString(messageDigest.digest());
+        } catch (NoSuchAlgorithmException | CertificateEncodingException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Error while computing the fingerprint of a certificate chain.", e);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * A loaded trust store, and the verdicts of the certificate chains validated with it. No verdict is kept if the
+     * trust manager checks the revocation status of the certificates.
+     */
+    private static class TrustStoreState {
+
+        private final X509TrustManager trustManager;
+        private final File trustStoreFile;
+        private final long lastModified;
+        private final long length;
+        private final boolean revocationCheckEnabled;
+        private final Map<String, Verdict> verdicts = new ConcurrentHashMap<>();
+
+        private TrustStoreState(X509TrustManager trustManager, File trustStoreFile, long lastModified, long length,
+                                boolean revocationCheckEnabled) {
+
+            this.trustManager = trustManager;
+            this.trustStoreFile = trustStoreFile;
+            this.lastModified = lastModified;
+            this.length = length;
+            this.revocationCheckEnabled = revocationCheckEnabled;
+        }
+
+        private boolean isModified() {
+
+            return trustStoreFile.lastModified() != lastModified || trustStoreFile.length() != length;
+        }
+
+        private Verdict getVerdict(String fingerprint) {
+
+            if (fingerprint == null || revocationCheckEnabled) {
+                return null;
+            }
+            Verdict verdict = verdicts.get(fingerprint);
+            if (verdict != null && verdict.isExpired()) {
+                verdicts.remove(fingerprint, verdict);
+                return null;
+            }
+            return verdict;
+        }
+
+        private void putVerdict(String fingerprint, Verdict verdict) {
+
+            if (fingerprint == null || revocationCheckEnabled) {
+                return;
+            }
+            if (verdicts.size() >= MAX_CACHED_VERDICTS) {
+                evictVerdicts();
+            }
+            verdicts.put(fingerprint, verdict);
+        }
+
+        /**
+         * Remove the expired verdicts, or if none has expired, the verdict which expires first.
+         */
+        private void evictVerdicts() {
+
+            Map.Entry<String, Verdict> firstToExpire = null;
+            boolean expiredVerdictRemoved = false;
+            Iterator<Map.Entry<String, Verdict>> iterator = verdicts.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<String, Verdict> entry = iterator.next();
+                if (entry.getValue().isExpired()) {
+                    iterator.remove();
+                    expiredVerdictRemoved = true;
+                } else if (firstToExpire == null || entry.getValue().expiryTime < firstToExpire.getValue().expiryTime) {
+                    firstToExpire = entry;
+                }
+            }
+            if (!expiredVerdictRemoved && firstToExpire != null) {
+                verdicts.remove(firstToExpire.getKey(), firstToExpire.getValue());
+            }
+        }
+    }
+
+    /**
+     * Validation verdict of a certificate chain. A trusted verdict expires no later than the certificates of the
+     * chain.
+     */
+    private static class Verdict {
+
+        private final CertificateException failure;
+        private final long expiryTime;
+
+        private Verdict(CertificateException failure, long expiryTime) {
+
+            this.failure = failure;
+            this.expiryTime = expiryTime;
+        }
+
+        private static Verdict trusted(X509Certificate[] x509Certificates) {
+
+            long expiryTime = System.currentTimeMillis() + VERDICT_VALIDITY_PERIOD_IN_MILLIS;
+            for (X509Certificate certificate : x509Certificates) {
+                expiryTime = Math.min(expiryTime, certificate.getNotAfter().getTime());
+            }
+            return new Verdict(null, expiryTime);
+        }
+
+        private static Verdict untrusted(CertificateException failure) {
+
+            return new Verdict(failure, System.currentTimeMillis() + VERDICT_VALIDITY_PERIOD_IN_MILLIS);
+        }
+
+        private boolean isExpired() {
+
+            return System.currentTimeMillis() >= expiryTime;
+        }
+
+        private void apply() throws CertificateException {
+
+            if (failure != null) {
+                throw new CertificateException(failure.getMessage(), failure.getCause());
+            }
+        }
+    }
 }
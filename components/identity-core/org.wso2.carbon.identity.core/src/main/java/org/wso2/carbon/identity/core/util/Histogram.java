@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.core.util;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram with fixed buckets. Recording a value does not lock, hence the histogram can be updated by many threads at
+ * once.
+ */
+public class Histogram {
+
+    private final long[] bucketUpperBounds;
+    private final LongAdder[] bucketCounts;
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * @param bucketUpperBounds Inclusive upper bounds of the buckets, in ascending order.
+     */
+    public Histogram(long[] bucketUpperBounds) {
+
+        this.bucketUpperBounds = bucketUpperBounds.clone();
+        // The last bucket holds the values larger than the largest upper bound.
+        this.bucketCounts = new LongAdder[bucketUpperBounds.length + 1];
+        for (int i = 0; i < bucketCounts.length; i++) {
+            bucketCounts[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Record a value.
+     *
+     * @param value Value to be recorded.
+     */
+    public void record(long value) {
+
+        int index = Arrays.binarySearch(bucketUpperBounds, value);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        bucketCounts[index].increment();
+        sum.add(value);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * @return Inclusive upper bounds of the buckets, except the last bucket which has no upper bound.
+     */
+    public long[] getBucketUpperBounds() {
+
+        return bucketUpperBounds.clone();
+    }
+
+    /**
+     * @return Number of values recorded in each bucket. Has one more element than the upper bounds.
+     */
+    public long[] getBucketCounts() {
+
+        long[] counts = new long[bucketCounts.length];
+        for (int i = 0; i < bucketCounts.length; i++) {
+            counts[i] = bucketCounts[i].sum();
+        }
+        return counts;
+    }
+
+    public long getCount() {
+
+        long count = 0;
+        for (LongAdder bucketCount : bucketCounts) {
+            count += bucketCount.sum();
+        }
+        return count;
+    }
+
+    public long getSum() {
+
+        return sum.sum();
+    }
+
+    public long getMax() {
+
+        return max.get();
+    }
+}
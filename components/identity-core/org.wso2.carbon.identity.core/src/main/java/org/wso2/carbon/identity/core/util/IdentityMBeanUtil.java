@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.core.util;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+/**
+ * Registers the MXBeans of the identity components in the platform MBean server. Each MXBean is named
+ * <code>org.wso2.carbon.identity:type=&lt;type&gt;,name="&lt;name&gt;"</code>.
+ */
+public class IdentityMBeanUtil {
+
+    private static final Log LOG = LogFactory.getLog(IdentityMBeanUtil.class);
+    private static final String DOMAIN = "org.wso2.carbon.identity";
+
+    private IdentityMBeanUtil() {
+
+    }
+
+    /**
+     * Register an MXBean, replacing the MXBean registered with the same type and name, if any. A failure to register
+     * is logged, and does not affect the caller.
+     *
+     * @param type           Type of the MXBean.
+     * @param name           Name of the MXBean.
+     * @param mBean          Implementation of the MXBean.
+     * @param mBeanInterface MXBean interface which defines the exposed attributes and operations.
+     * @param <T>            MXBean interface type.
+     */
+    public static <T> void registerMBean(String type, String name, T mBean, Class<T> mBeanInterface) {
+
+        try {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = getObjectName(type, name);
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+            mBeanServer.registerMBean(new StandardMBean(mBean, mBeanInterface, true), objectName);
+        } catch (JMException e) {
+            LOG.warn("Error while registering the MBean of type: " + type + " and name: " + name, e);
+        }
+    }
+
+    /**
+     * Unregister an MXBean, if it is registered.
+     *
+     * @param type Type of the MXBean.
+     * @param name Name of the MXBean.
+     */
+    public static void unregisterMBean(String type, String name) {
+
+        try {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = getObjectName(type, name);
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            LOG.warn("Error while unregistering the MBean of type: " + type + " and name: " + name, e);
+        }
+    }
+
+    private static ObjectName getObjectName(String type, String name) throws JMException {
+
+        return new ObjectName(DOMAIN + ":type=" + type + ",name=" + ObjectName.quote(name));
+    }
+}
@@ -22,6 +22,8 @@ import org.mockito.MockedStatic;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
+import org.wso2.carbon.caching.impl.CachingConstants;
+import org.wso2.carbon.context.CarbonContext;
 import org.wso2.carbon.context.PrivilegedCarbonContext;
 import org.wso2.carbon.context.internal.OSGiDataHolder;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
@@ -29,13 +31,19 @@ import org.wso2.carbon.user.core.service.RealmService;
 import org.wso2.carbon.user.core.tenant.TenantManager;
 
 import java.io.File;
+import java.lang.management.ManagementFactory;
 import java.net.URL;
 
+import javax.cache.Caching;
+import javax.management.ObjectName;
+
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
 
 /**
  * Test for the Base cache.
@@ -141,4 +149,79 @@ public class BaseCacheTest {
         entry = TestCache.getInstance().getValueFromCache(new TestCacheKey("test2"), "bar.com");
         assertEquals("value2", entry.getValue());
     }
+
+    @Test
+    public void testCacheOfOtherTenantDoesNotChangeCarbonContext() {
+
+        TestCache.getInstance().addToCache(new TestCacheKey("otherTenant"), new TestCacheEntry("value"),
+                "bar.com");
+
+        assertEquals(CarbonContext.getThreadLocalCarbonContext().getTenantDomain(), "foo.com");
+        assertEquals(CarbonContext.getThreadLocalCarbonContext().getTenantId(), 1);
+        assertNull(TestCache.getInstance().getValueFromCache(new TestCacheKey("otherTenant"), 1));
+        TestCacheEntry entry = TestCache.getInstance().getValueFromCache(new TestCacheKey("otherTenant"), 2);
+        assertEquals(entry.getValue(), "value");
+    }
+
+    @Test
+    public void testCacheResolvedAgainAfterRemoval() {
+
+        TestCache.getInstance().addToCache(new TestCacheKey("removedCache"), new TestCacheEntry("value"), 1);
+        TestCacheEntry entry = TestCache.getInstance().getValueFromCache(new TestCacheKey("removedCache"), 1);
+        assertEquals(entry.getValue(), "value");
+
+        Caching.getCacheManagerFactory().getCacheManager("IdentityApplicationManagementCacheManager")
+                .removeCache(CachingConstants.LOCAL_CACHE_PREFIX + "TestCache");
+
+        assertNull(TestCache.getInstance().getValueFromCache(new TestCacheKey("removedCache"), 1));
+        TestCache.getInstance().addToCache(new TestCacheKey("removedCache"), new TestCacheEntry("newValue"), 1);
+        entry = TestCache.getInstance().getValueFromCache(new TestCacheKey("removedCache"), "foo.com");
+        assertEquals(entry.getValue(), "newValue");
+    }
+
+    @Test
+    public void testStatistics() throws Exception {
+
+        TestCache cache = TestCache.getInstance();
+        cache.getValueFromCache(new TestCacheKey("statistics"), 1);
+        CacheStatistics statistics = cache.getStatistics(1);
+        assertNotNull(statistics);
+        long hits = statistics.getHitCount();
+        long misses = statistics.getMissCount();
+        long puts = statistics.getPutCount();
+        long loads = statistics.getLoadTimeHistogram().getCount();
+        long invalidations = statistics.getInvalidationCount();
+
+        assertNull(cache.getValueFromCache(new TestCacheKey("statistics"), 1));
+        cache.addToCache(new TestCacheKey("statistics"), new TestCacheEntry("value"), 1);
+        assertNotNull(cache.getValueFromCache(new TestCacheKey("statistics"), "foo.com"));
+        cache.clearCacheEntry(new TestCacheKey("statistics"), 1);
+        // A put which does not follow a miss of the key is not a load.
+        cache.addToCache(new TestCacheKey("statistics"), new TestCacheEntry("value"), 1);
+
+        assertEquals(statistics.getMissCount(), misses + 1);
+        assertEquals(statistics.getHitCount(), hits + 1);
+        assertEquals(statistics.getPutCount(), puts + 2);
+        assertEquals(statistics.getLoadTimeHistogram().getCount(), loads + 1);
+        assertEquals(statistics.getInvalidationCount(), invalidations + 1);
+        assertTrue(CacheStatisticsRegistry.getCacheNames().contains("TestCache"));
+        assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(
+                new ObjectName("org.wso2.carbon.identity:type=CacheStatistics,name=\"TestCache\"")));
+    }
+
+    @Test
+    public void testMissIsForgottenOnHit() {
+
+        TestCache cache = TestCache.getInstance();
+        cache.addToCache(new TestCacheKey("cached"), new TestCacheEntry("value"), 1);
+        CacheStatistics statistics = cache.getStatistics(1);
+        long loads = statistics.getLoadTimeHistogram().getCount();
+
+        assertNull(cache.getValueFromCache(new TestCacheKey("notLoaded"), 1));
+        assertNotNull(cache.getValueFromCache(new TestCacheKey("cached"), 1));
+        // The miss is not pending once the thread had a hit, hence a later put of the key is not a load.
+        cache.addToCache(new TestCacheKey("notLoaded"), new TestCacheEntry("value"), 1);
+
+        assertEquals(statistics.getLoadTimeHistogram().getCount(), loads);
+    }
 }
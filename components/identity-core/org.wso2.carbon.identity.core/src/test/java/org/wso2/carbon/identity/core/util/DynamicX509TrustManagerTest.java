@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.core.util;
+
+import org.mockito.MockedStatic;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.utils.security.KeystoreUtils;
+
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.KeyStore;
+import java.security.cert.CertificateException;
+import java.security.cert.X509Certificate;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mockStatic;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+import static org.wso2.carbon.identity.core.util.IdentityUtil.PROP_TRUST_STORE_UPDATE_REQUIRED;
+
+/**
+ * Test class for DynamicX509TrustManager.
+ */
+public class DynamicX509TrustManagerTest {
+
+    private static final String TRUST_STORE_TYPE = "JKS";
+    private static final String TRUST_STORE_PASSWORD = "wso2carbon";
+    private static final String AUTH_TYPE = "RSA";
+    private static final String CHECK_REVOCATION_PROPERTY = "com.sun.net.ssl.checkRevocation";
+
+    private X509Certificate[] trustedChain;
+    private X509Certificate[] untrustedChain;
+    private Path trustStoreDirectory;
+    private Path trustStorePath;
+    private MockedStatic<KeystoreUtils> keystoreUtils;
+
+    @BeforeClass
+    public void setUpClass() throws Exception {
+
+        Path testTrustStorePath = Paths.get(System.getProperty("user.dir"), "src", "test", "resources",
+                "repository", "resources", "security", "trust-manager-test.jks");
+        KeyStore testTrustStore = KeyStore.getInstance(TRUST_STORE_TYPE);
+        try (InputStream inputStream = new FileInputStream(testTrustStorePath.toFile())) {
+            testTrustStore.load(inputStream, TRUST_STORE_PASSWORD.toCharArray());
+        }
+        trustedChain = new X509Certificate[]{(X509Certificate) testTrustStore.getCertificate("trusted")};
+        untrustedChain = new X509Certificate[]{(X509Certificate) testTrustStore.getCertificate("untrusted")};
+    }
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        trustStoreDirectory = Files.createTempDirectory("trust-manager-test");
+        trustStorePath = trustStoreDirectory.resolve("client-truststore.jks");
+        writeTrustStore(trustedChain[0]);
+        keystoreUtils = mockStatic(KeystoreUtils.class);
+        keystoreUtils.when(() -> KeystoreUtils.getKeystoreInstance(anyString()))
+                .thenAnswer(invocation -> KeyStore.getInstance(invocation.getArgument(0)));
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+
+        keystoreUtils.close();
+        System.clearProperty(PROP_TRUST_STORE_UPDATE_REQUIRED);
+        System.clearProperty(CHECK_REVOCATION_PROPERTY);
+        Files.deleteIfExists(trustStorePath);
+        Files.deleteIfExists(trustStoreDirectory);
+    }
+
+    @Test
+    public void testTrustedVerdictIsCached() throws Exception {
+
+        DynamicX509TrustManager trustManager = createTrustManager();
+        assertFalse(trustManager.hasCachedVerdict(trustedChain, AUTH_TYPE));
+
+        trustManager.checkServerTrusted(trustedChain, AUTH_TYPE);
+        assertTrue(trustManager.hasCachedVerdict(trustedChain, AUTH_TYPE));
+        trustManager.checkServerTrusted(trustedChain, AUTH_TYPE);
+    }
+
+    @Test
+    public void testUntrustedVerdictIsCached() throws Exception {
+
+        DynamicX509TrustManager trustManager = createTrustManager();
+        assertUntrusted(trustManager, untrustedChain);
+        assertTrue(trustManager.hasCachedVerdict(untrustedChain, AUTH_TYPE));
+
+        // The cached verdict is used, without reading the trust store again.
+        writeTrustStore(trustedChain[0], untrustedChain[0]);
+        assertUntrusted(trustManager, untrustedChain);
+    }
+
+    @Test
+    public void testTrustStoreIsReloadedOnceModified() throws Exception {
+
+        DynamicX509TrustManager trustManager = createTrustManager();
+        trustManager.checkServerTrusted(trustedChain, AUTH_TYPE);
+        writeTrustStore(trustedChain[0], untrustedChain[0]);
+
+        trustManager.checkServerTrusted(untrustedChain, AUTH_TYPE);
+        assertTrue(trustManager.hasCachedVerdict(untrustedChain, AUTH_TYPE));
+        // Verdicts of the previous trust store are discarded.
+        assertFalse(trustManager.hasCachedVerdict(trustedChain, AUTH_TYPE));
+    }
+
+    @Test
+    public void testCachedVerdictsAreClearedWhenTrustStoreUpdateIsRequired() throws Exception {
+
+        DynamicX509TrustManager trustManager = createTrustManager();
+        trustManager.checkServerTrusted(trustedChain, AUTH_TYPE);
+        assertUntrusted(trustManager, untrustedChain);
+        writeTrustStore(trustedChain[0], untrustedChain[0]);
+
+        System.setProperty(PROP_TRUST_STORE_UPDATE_REQUIRED, Boolean.TRUE.toString());
+        trustManager.checkServerTrusted(untrustedChain, AUTH_TYPE);
+        assertEquals(System.getProperty(PROP_TRUST_STORE_UPDATE_REQUIRED), Boolean.FALSE.toString());
+        assertFalse(trustManager.hasCachedVerdict(trustedChain, AUTH_TYPE));
+        assertTrue(trustManager.hasCachedVerdict(untrustedChain, AUTH_TYPE));
+    }
+
+    @Test
+    public void testVerdictsAreNotCachedWhenRevocationCheckIsEnabled() throws Exception {
+
+        System.setProperty(CHECK_REVOCATION_PROPERTY, Boolean.TRUE.toString());
+        DynamicX509TrustManager trustManager = createTrustManager();
+        trustManager.checkServerTrusted(trustedChain, AUTH_TYPE);
+        assertFalse(trustManager.hasCachedVerdict(trustedChain, AUTH_TYPE));
+        assertUntrusted(trustManager, untrustedChain);
+        assertFalse(trustManager.hasCachedVerdict(untrustedChain, AUTH_TYPE));
+
+        writeTrustStore(trustedChain[0], untrustedChain[0]);
+        trustManager.checkServerTrusted(untrustedChain, AUTH_TYPE);
+    }
+
+    private DynamicX509TrustManager createTrustManager() throws Exception {
+
+        return new DynamicX509TrustManager(trustStorePath.toString(), TRUST_STORE_TYPE, false);
+    }
+
+    private void assertUntrusted(DynamicX509TrustManager trustManager, X509Certificate[] chain) {
+
+        try {
+            trustManager.checkServerTrusted(chain, AUTH_TYPE);
+            fail("Certificate chain is expected to be untrusted.");
+        } catch (CertificateException e) {
+            // Expected.
+        }
+    }
+
+    private void writeTrustStore(X509Certificate... certificates) throws Exception {
+
+        KeyStore trustStore = KeyStore.getInstance(TRUST_STORE_TYPE);
+        trustStore.load(null, null);
+        for (X509Certificate certificate : certificates) {
+            trustStore.setCertificateEntry(certificate.getSubjectX500Principal().getName(), certificate);
+        }
+        try (OutputStream outputStream = new FileOutputStream(trustStorePath.toFile())) {
+            trustStore.store(outputStream, TRUST_STORE_PASSWORD.toCharArray());
+        }
+    }
+}
@@ -0,0 +1,379 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.event.event.Event;
+import org.wso2.carbon.identity.event.handler.AbstractEventHandler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded queue of the events to be handled asynchronously by a single event handler. The queue is drained by the
+ * shared event thread pool, with at most the configured number of drain tasks per handler at a time. Hence the
+ * events of a handler are handled concurrently as before, while the thread pool never holds more tasks than the sum
+ * of the drain limits of the handlers. A handler which needs its events to be handled in order can be limited to a
+ * single drain task.
+ * <p>
+ * When the queue is full, the configured {@link OverflowPolicy} decides what happens to a new event. Queue depth,
+ * handler latency and rejection counts are kept for monitoring, and are exposed through
+ * {@link EventDispatchQueueMXBean}.
+ */
+public class EventDispatchQueue implements EventDispatchQueueMXBean {
+
+    private static final Log log = LogFactory.getLog(EventDispatchQueue.class);
+
+    /**
+     * Maximum number of events handled by a drain task before it yields the thread to the other handlers.
+     */
+    private static final int MAX_EVENTS_PER_DRAIN = 100;
+
+    /**
+     * Marks the threads which are draining a dispatch queue, so that an event published from a handler is not blocked
+     * on a queue which may only be drained by the same thread.
+     */
+    private static final ThreadLocal<Boolean> DISPATCHER_THREAD = new ThreadLocal<>();
+
+    private final AbstractEventHandler handler;
+    private final BlockingQueue<Event> eventQueue;
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+    private final int batchSize;
+    private final int maxConcurrentDrains;
+    private final long blockTimeoutInMillis;
+    private final ExecutorService executor;
+    private final AtomicInteger activeDrainCount = new AtomicInteger();
+
+    private final AtomicLong queuedCount = new AtomicLong();
+    private final AtomicLong handledCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong totalLatencyNanos = new AtomicLong();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    /**
+     * Policy applied when an event is published to a full dispatch queue.
+     */
+    public enum OverflowPolicy {
+
+        /**
+         * Block the publishing thread until there is space in the queue, for at most the block timeout. The new
+         * event is discarded if there is no space by then.
+         */
+        BLOCK,
+        /**
+         * Discard the oldest queued event to make space for the new event.
+         */
+        DROP_OLDEST,
+        /**
+         * Handle the new event on the publishing thread.
+         */
+        CALLER_RUNS;
+
+        /**
+         * Resolve an overflow policy from its configured name.
+         *
+         * @param name          Configured name, e.g. "drop-oldest" or "DROP_OLDEST".
+         * @param defaultPolicy Policy to be used if the name is empty or invalid.
+         * @return Overflow policy.
+         */
+        public static OverflowPolicy fromConfig(String name, OverflowPolicy defaultPolicy) {
+
+            if (StringUtils.isBlank(name)) {
+                return defaultPolicy;
+            }
+            try {
+                return OverflowPolicy.valueOf(name.trim().replace('-', '_').toUpperCase());
+            } catch (IllegalArgumentException e) {
+                log.warn("Invalid event queue overflow policy: " + name + ". Using " + defaultPolicy + " instead.");
+                return defaultPolicy;
+            }
+        }
+    }
+
+    /**
+     * @param handler        Handler of the queued events.
+     * @param capacity       Maximum number of events held in the queue.
+     * @param overflowPolicy Policy applied when the queue is full.
+     * @param batchSize            Maximum number of events passed to the handler at once. Events are passed one at
+     *                             a time unless this is greater than one.
+     * @param maxConcurrentDrains  Maximum number of threads which handle the events of the queue at once. Events are
+     *                             handled in the order they were queued only if this is one.
+     * @param blockTimeoutInMillis Maximum time the {@link OverflowPolicy#BLOCK} policy waits for space in the queue.
+     * @param executor             Thread pool which drains the queue.
+     */
+    public EventDispatchQueue(AbstractEventHandler handler, int capacity, OverflowPolicy overflowPolicy,
+                              int batchSize, int maxConcurrentDrains, long blockTimeoutInMillis,
+                              ExecutorService executor) {
+
+        this.handler = handler;
+        this.capacity = capacity;
+        this.eventQueue = new ArrayBlockingQueue<>(capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.batchSize = Math.max(batchSize, 1);
+        this.maxConcurrentDrains = Math.max(maxConcurrentDrains, 1);
+        this.blockTimeoutInMillis = Math.max(blockTimeoutInMillis, 0L);
+        this.executor = executor;
+    }
+
+    /**
+     * Queue an event to be handled asynchronously. If the queue is full, the overflow policy is applied.
+     *
+     * @param event Event to be handled.
+     */
+    public void dispatch(Event event) {
+
+        if (eventQueue.offer(event)) {
+            queuedCount.incrementAndGet();
+            scheduleDrain();
+            return;
+        }
+
+        rejectedCount.incrementAndGet();
+        if (log.isDebugEnabled()) {
+            log.debug("Event queue of " + handler.getName() + " is full. Applying the " + overflowPolicy +
+                    " policy to the event: " + event.getEventName());
+        }
+        switch (overflowPolicy) {
+            case BLOCK:
+                if (Boolean.TRUE.equals(DISPATCHER_THREAD.get())) {
+                    // Waiting for a queue which may only be drained by this thread would never end.
+                    handle(Collections.singletonList(event));
+                } else {
+                    block(event);
+                }
+                break;
+            case DROP_OLDEST:
+                dropOldest(event);
+                break;
+            default:
+                handle(Collections.singletonList(event));
+                break;
+        }
+    }
+
+    private void block(Event event) {
+
+        try {
+            if (eventQueue.offer(event, blockTimeoutInMillis, TimeUnit.MILLISECONDS)) {
+                queuedCount.incrementAndGet();
+                scheduleDrain();
+                return;
+            }
+            droppedCount.incrementAndGet();
+            log.warn("Event queue of " + handler.getName() + " had no space for " + blockTimeoutInMillis +
+                    "ms. Dropped the event: " + event.getEventName());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while waiting for space in the event queue of " + handler.getName() +
+                    ". Handling the event: " + event.getEventName() + " on the calling thread.");
+            handle(Collections.singletonList(event));
+        }
+    }
+
+    private void dropOldest(Event event) {
+
+        while (!eventQueue.offer(event)) {
+            Event droppedEvent = eventQueue.poll();
+            if (droppedEvent != null) {
+                droppedCount.incrementAndGet();
+                log.warn("Event queue of " + handler.getName() + " is full. Dropped the event: " +
+                        droppedEvent.getEventName());
+            }
+        }
+        queuedCount.incrementAndGet();
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+
+        int activeDrains;
+        do {
+            activeDrains = activeDrainCount.get();
+            if (activeDrains >= maxConcurrentDrains) {
+                return;
+            }
+        } while (!activeDrainCount.compareAndSet(activeDrains, activeDrains + 1));
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            activeDrainCount.decrementAndGet();
+            log.error("Error while scheduling the event queue of " + handler.getName() + " to be drained.", e);
+        }
+    }
+
+    private void drain() {
+
+        DISPATCHER_THREAD.set(Boolean.TRUE);
+        try {
+            int handledEvents = 0;
+            while (handledEvents < MAX_EVENTS_PER_DRAIN) {
+                List<Event> events = new ArrayList<>(batchSize);
+                eventQueue.drainTo(events, batchSize);
+                if (events.isEmpty()) {
+                    break;
+                }
+                handle(events);
+                handledEvents += events.size();
+            }
+        } finally {
+            DISPATCHER_THREAD.remove();
+            activeDrainCount.decrementAndGet();
+            // Events queued after the last poll, or left over after yielding, need another drain task.
+            if (!eventQueue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+
+    private void handle(List<Event> events) {
+
+        long startTime = System.nanoTime();
+        try {
+            if (batchSize > 1) {
+                handler.handleEvents(events);
+            } else {
+                for (Event event : events) {
+                    if (log.isDebugEnabled()) {
+                        log.debug("Executing " + handler.getName() + " on event " + event.getEventName());
+                    }
+                    handler.handleEvent(event);
+                }
+            }
+        } catch (IdentityEventException | RuntimeException e) {
+            failedCount.addAndGet(events.size());
+            log.error("Error while invoking notification sending module " + handler.getName(), e);
+        } finally {
+            long latency = System.nanoTime() - startTime;
+            handledCount.addAndGet(events.size());
+            totalLatencyNanos.addAndGet(latency);
+            maxLatencyNanos.accumulateAndGet(latency, Math::max);
+        }
+    }
+
+    public AbstractEventHandler getHandler() {
+
+        return handler;
+    }
+
+    @Override
+    public OverflowPolicy getOverflowPolicy() {
+
+        return overflowPolicy;
+    }
+
+    @Override
+    public int getBatchSize() {
+
+        return batchSize;
+    }
+
+    @Override
+    public int getCapacity() {
+
+        return capacity;
+    }
+
+    @Override
+    public int getMaxConcurrentDrains() {
+
+        return maxConcurrentDrains;
+    }
+
+    @Override
+    public int getActiveDrainCount() {
+
+        return activeDrainCount.get();
+    }
+
+    @Override
+    public int getQueueDepth() {
+
+        return eventQueue.size();
+    }
+
+    @Override
+    public long getQueuedCount() {
+
+        return queuedCount.get();
+    }
+
+    @Override
+    public long getHandledCount() {
+
+        return handledCount.get();
+    }
+
+    @Override
+    public long getFailedCount() {
+
+        return failedCount.get();
+    }
+
+    @Override
+    public long getRejectedCount() {
+
+        return rejectedCount.get();
+    }
+
+    @Override
+    public long getDroppedCount() {
+
+        return droppedCount.get();
+    }
+
+    @Override
+    public double getAverageHandlerLatency() {
+
+        long invocations = handledCount.get();
+        if (invocations == 0) {
+            return 0;
+        }
+        return (double) TimeUnit.NANOSECONDS.toMicros(totalLatencyNanos.get()) / 1000 / invocations;
+    }
+
+    @Override
+    public long getMaxHandlerLatency() {
+
+        return TimeUnit.NANOSECONDS.toMillis(maxLatencyNanos.get());
+    }
+
+    @Override
+    public String toString() {
+
+        return "EventDispatchQueue{handler=" + handler.getName() + ", queueDepth=" + getQueueDepth() +
+                ", capacity=" + capacity + ", overflowPolicy=" + overflowPolicy + ", batchSize=" + batchSize +
+                ", maxConcurrentDrains=" + maxConcurrentDrains +
+                ", queued=" + getQueuedCount() + ", handled=" + getHandledCount() + ", failed=" + getFailedCount() +
+                ", rejected=" + getRejectedCount() + ", dropped=" + getDroppedCount() + ", averageLatencyMs=" +
+                getAverageHandlerLatency() + ", maxLatencyMs=" + getMaxHandlerLatency() + "}";
+    }
+}
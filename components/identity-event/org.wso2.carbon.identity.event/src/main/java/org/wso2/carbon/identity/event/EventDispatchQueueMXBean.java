@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event;
+
+/**
+ * JMX view of the dispatch queue of an event handler which handles events asynchronously.
+ */
+public interface EventDispatchQueueMXBean {
+
+    EventDispatchQueue.OverflowPolicy getOverflowPolicy();
+
+    int getBatchSize();
+
+    int getCapacity();
+
+    /**
+     * @return Maximum number of threads which handle the events of the queue at once.
+     */
+    int getMaxConcurrentDrains();
+
+    /**
+     * @return Number of threads which are handling the events of the queue.
+     */
+    int getActiveDrainCount();
+
+    /**
+     * @return Number of events waiting in the queue.
+     */
+    int getQueueDepth();
+
+    /**
+     * @return Number of events accepted into the queue.
+     */
+    long getQueuedCount();
+
+    /**
+     * @return Number of events passed to the handler, including the events handled on the publishing thread.
+     */
+    long getHandledCount();
+
+    /**
+     * @return Number of events for which the handler failed.
+     */
+    long getFailedCount();
+
+    /**
+     * @return Number of events which were published while the queue was full.
+     */
+    long getRejectedCount();
+
+    /**
+     * @return Number of events discarded by the {@link EventDispatchQueue.OverflowPolicy#DROP_OLDEST} policy, or by
+     * the {@link EventDispatchQueue.OverflowPolicy#BLOCK} policy once the block timeout elapsed.
+     */
+    long getDroppedCount();
+
+    /**
+     * @return Average time taken by the handler per event, in milliseconds.
+     */
+    double getAverageHandlerLatency();
+
+    /**
+     * @return Maximum time taken by the handler in a single invocation, in milliseconds.
+     */
+    long getMaxHandlerLatency();
+}
@@ -18,38 +18,75 @@
 
 package org.wso2.carbon.identity.event;
 
+import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityMBeanUtil;
 import org.wso2.carbon.identity.event.bean.IdentityEventMessageContext;
 import org.wso2.carbon.identity.event.event.Event;
 import org.wso2.carbon.identity.event.handler.AbstractEventHandler;
 import org.wso2.carbon.identity.event.internal.IdentityEventServiceDataHolder;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.BlockingDeque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingDeque;
 
 /**
- * This has a queue inside. All publishers add events to this queue and this event distribution task is responsible
- * for distributing these events to Notification sending modules
+ * Distributes the events published for asynchronous handling to the notification sending modules. Each module has a
+ * bounded dispatch queue, which is drained by a shared thread pool. The capacity, the overflow policy, the batch size
+ * and the number of threads draining the queue can be configured per module with the
+ * 'moduleName.async.queueCapacity', 'moduleName.async.overflowPolicy', 'moduleName.async.batchSize' and
+ * 'moduleName.async.concurrency' properties. A module which needs its events to be handled in order should set the
+ * concurrency to one.
+ * <p>
+ * The statistics of the dispatch queues are registered over JMX under the 'EventDispatchQueue' type.
  */
-public class EventDistributionTask implements Runnable {
+public class EventDistributionTask {
 
     private static final Log log = LogFactory.getLog(EventDistributionTask.class);
 
+    public static final int DEFAULT_QUEUE_CAPACITY = 10000;
+    public static final EventDispatchQueue.OverflowPolicy DEFAULT_OVERFLOW_POLICY =
+            EventDispatchQueue.OverflowPolicy.BLOCK;
+    public static final long DEFAULT_BLOCK_TIMEOUT_IN_MILLIS = 1000L;
+
+    private static final String QUEUE_CAPACITY_PROPERTY = "async.queueCapacity";
+    private static final String OVERFLOW_POLICY_PROPERTY = "async.overflowPolicy";
+    private static final String BATCH_SIZE_PROPERTY = "async.batchSize";
+    private static final String CONCURRENCY_PROPERTY = "async.concurrency";
+    private static final String MBEAN_TYPE = "EventDispatchQueue";
+
     /**
-     * Queue used to add events by publishers.
+     * Dispatch queues of the modules, created when the first event is published to a module.
      */
-    private BlockingDeque<Event> eventQueue;
+    private final Map<AbstractEventHandler, EventDispatchQueue> dispatchQueues = new ConcurrentHashMap<>();
     /**
      * Registered message sending modules.
      */
     private List<AbstractEventHandler> notificationSendingModules;
     /**
-     * Condition to break event distribution task
+     * Default capacity of the dispatch queue of a module.
+     */
+    private final int queueCapacity;
+    /**
+     * Default policy applied when the dispatch queue of a module is full.
+     */
+    private final EventDispatchQueue.OverflowPolicy overflowPolicy;
+    /**
+     * Maximum time a publisher waits for space in a full dispatch queue with the block policy.
+     */
+    private final long blockTimeoutInMillis;
+    /**
+     * Default maximum number of threads draining the dispatch queue of a module at once.
+     */
+    private final int concurrency;
+    /**
+     * Condition to stop dispatching events asynchronously
      */
-    private volatile boolean running;
+    private volatile boolean running = true;
 
     /**
      * Overridden constructor to initiate notification sending modules and thread pool size
@@ -58,52 +95,141 @@ public class EventDistributionTask implements Runnable {
      * @param threadPoolSize             Size of thread pool for notification sending components
      */
     public EventDistributionTask(List<AbstractEventHandler> notificationSendingModules, int threadPoolSize) {
+
+        this(notificationSendingModules, threadPoolSize, DEFAULT_QUEUE_CAPACITY, DEFAULT_OVERFLOW_POLICY,
+                DEFAULT_BLOCK_TIMEOUT_IN_MILLIS, threadPoolSize);
+    }
+
+    /**
+     * Overridden constructor to initiate notification sending modules, thread pool size and the defaults of the
+     * dispatch queues.
+     *
+     * @param notificationSendingModules List of notification sending modules registered
+     * @param threadPoolSize             Size of thread pool for notification sending components
+     * @param queueCapacity              Default capacity of the dispatch queue of a module
+     * @param overflowPolicy             Default policy applied when the dispatch queue of a module is full
+     * @param blockTimeoutInMillis       Maximum time a publisher waits for space in a full dispatch queue with the
+     *                                   block policy
+     * @param concurrency                Default maximum number of threads draining the dispatch queue of a module
+     */
+    public EventDistributionTask(List<AbstractEventHandler> notificationSendingModules, int threadPoolSize,
+                                 int queueCapacity, EventDispatchQueue.OverflowPolicy overflowPolicy,
+                                 long blockTimeoutInMillis, int concurrency) {
+
         this.notificationSendingModules = notificationSendingModules;
-        this.eventQueue = new LinkedBlockingDeque<Event>();
+        this.queueCapacity = queueCapacity > 0 ? queueCapacity : DEFAULT_QUEUE_CAPACITY;
+        this.overflowPolicy = overflowPolicy != null ? overflowPolicy : DEFAULT_OVERFLOW_POLICY;
+        this.blockTimeoutInMillis = blockTimeoutInMillis >= 0 ? blockTimeoutInMillis : DEFAULT_BLOCK_TIMEOUT_IN_MILLIS;
+        this.concurrency = concurrency > 0 ? concurrency : threadPoolSize;
+        // The task queue of the pool holds at most the configured number of drain tasks per module, hence it is
+        // bounded by the number of modules.
         IdentityEventServiceDataHolder.getInstance().setThreadPool(Executors.newFixedThreadPool(threadPoolSize));
     }
 
+    /**
+     * Publish an event to all the enabled modules.
+     *
+     * @param publisherEvent Event to be handled asynchronously.
+     * @deprecated Use {@link #addEventToQueue(AbstractEventHandler, Event)} to publish the event only to the modules
+     * which are subscribed to it.
+     */
+    @Deprecated
     public void addEventToQueue(Event publisherEvent) {
-        this.eventQueue.add(publisherEvent);
-    }
 
-    @Override
-    public void run() {
-        running = true;
-        // Run forever until stop the bundle. Will stop in eventQueue.take()
-        while (running) {
-            try {
-                final Event event = eventQueue.take();
-                IdentityEventMessageContext eventContext = new IdentityEventMessageContext(event);
-                for (final AbstractEventHandler module : notificationSendingModules) {
-                    // If the module is subscribed to the event, module will be executed.
-                    if (module.isEnabled(eventContext)) {
-                        // Create a runnable and submit to the thread pool for sending message.
-                        Runnable msgSender = new Runnable() {
-                            @Override
-                            public void run() {
-                                if (log.isDebugEnabled()) {
-                                    log.debug("Executing " + module.getName() + " on event" + event.
-                                            getEventName());
-                                }
-                                try {
-                                    module.handleEvent(event);
-                                } catch (IdentityEventException e) {
-                                    log.error("Error while invoking notification sending module " + module.
-                                            getName(), e);
-                                }
-                            }
-                        };
-                        IdentityEventServiceDataHolder.getInstance().getThreadPool().submit(msgSender);
-                    }
+        IdentityEventMessageContext eventContext = new IdentityEventMessageContext(publisherEvent);
+        for (AbstractEventHandler module : notificationSendingModules) {
+            // If the module is enabled, module will be executed.
+            if (module.isEnabled(eventContext)) {
+                try {
+                    addEventToQueue(module, publisherEvent);
+                } catch (IdentityEventException e) {
+                    log.error("Error while invoking notification sending module " + module.getName(), e);
                 }
-            } catch (InterruptedException e) {
-                log.error("Error while picking up event from event queue", e);
             }
         }
     }
 
+    /**
+     * Publish an event to the dispatch queue of a module.
+     *
+     * @param module         Module which handles the event.
+     * @param publisherEvent Event to be handled asynchronously.
+     * @throws IdentityEventException If the event distribution is shut down and the module fails to handle the event
+     *                                on the calling thread.
+     */
+    public void addEventToQueue(AbstractEventHandler module, Event publisherEvent) throws IdentityEventException {
+
+        if (!running) {
+            if (log.isDebugEnabled()) {
+                log.debug("Event distribution is shut down. Executing " + module.getName() + " on event " +
+                        publisherEvent.getEventName() + " in the calling thread.");
+            }
+            module.handleEvent(publisherEvent);
+            return;
+        }
+        getDispatchQueue(module).dispatch(publisherEvent);
+    }
+
+    /**
+     * @return Dispatch queues of the modules which have been published events, to monitor their queue depth, handler
+     * latency and rejections.
+     */
+    public List<EventDispatchQueue> getDispatchQueues() {
+
+        return new ArrayList<>(dispatchQueues.values());
+    }
+
+    private EventDispatchQueue getDispatchQueue(AbstractEventHandler module) {
+
+        EventDispatchQueue dispatchQueue = dispatchQueues.get(module);
+        if (dispatchQueue == null) {
+            dispatchQueue = dispatchQueues.computeIfAbsent(module, this::createDispatchQueue);
+        }
+        return dispatchQueue;
+    }
+
+    private EventDispatchQueue createDispatchQueue(AbstractEventHandler module) {
+
+        int capacity = getIntModuleProperty(module, QUEUE_CAPACITY_PROPERTY, queueCapacity);
+        EventDispatchQueue.OverflowPolicy policy = EventDispatchQueue.OverflowPolicy.fromConfig(
+                module.getModuleProperty(OVERFLOW_POLICY_PROPERTY), overflowPolicy);
+        int batchSize = getIntModuleProperty(module, BATCH_SIZE_PROPERTY, 1);
+        int maxConcurrentDrains = getIntModuleProperty(module, CONCURRENCY_PROPERTY, concurrency);
+        ExecutorService threadPool = IdentityEventServiceDataHolder.getInstance().getThreadPool();
+
+        EventDispatchQueue dispatchQueue = new EventDispatchQueue(module, capacity, policy, batchSize,
+                maxConcurrentDrains, blockTimeoutInMillis, threadPool);
+        IdentityMBeanUtil.registerMBean(MBEAN_TYPE, module.getName(), dispatchQueue, EventDispatchQueueMXBean.class);
+        if (log.isDebugEnabled()) {
+            log.debug("Created the event dispatch queue: " + dispatchQueue);
+        }
+        return dispatchQueue;
+    }
+
+    private int getIntModuleProperty(AbstractEventHandler module, String propertyName, int defaultValue) {
+
+        String value = module.getModuleProperty(propertyName);
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+        try {
+            int intValue = Integer.parseInt(value.trim());
+            if (intValue > 0) {
+                return intValue;
+            }
+        } catch (NumberFormatException e) {
+            // Fall through to the default value.
+        }
+        log.warn("Invalid value: " + value + " configured for " + module.getName() + "." + propertyName +
+                ". Using the default value: " + defaultValue);
+        return defaultValue;
+    }
+
     public void shutdown() {
+
         this.running = false;
+        for (AbstractEventHandler module : dispatchQueues.keySet()) {
+            IdentityMBeanUtil.unregisterMBean(MBEAN_TYPE, module.getName());
+        }
     }
 }
@@ -62,6 +62,22 @@ public class IdentityEventConfigBuilder {
      * Thread pool size for message sending task
      */
     private String threadPoolSize;
+    /**
+     * Default capacity of the per module queues of asynchronously handled events
+     */
+    private String eventQueueCapacity;
+    /**
+     * Default policy applied when a per module event queue is full
+     */
+    private String eventQueueOverflowPolicy;
+    /**
+     * Maximum time in milliseconds a publisher waits for space in a full per module event queue
+     */
+    private String eventQueueBlockTimeout;
+    /**
+     * Default maximum number of threads handling the events of a per module event queue at once
+     */
+    private String eventQueueConcurrency;
 
     private static IdentityEventConfigBuilder notificationMgtConfigBuilder = new IdentityEventConfigBuilder();
 
@@ -78,6 +94,7 @@ public class IdentityEventConfigBuilder {
         }
 
         setThreadPoolSize();
+        setEventQueueConfigs();
         resolveSecrets();
         moduleConfiguration = new HashMap<>();
         build();
@@ -98,6 +115,16 @@ public class IdentityEventConfigBuilder {
         threadPoolSize = (String) notificationMgtConfigProperties.remove("threadPool.size");
     }
 
+    /**
+     * Sets the defaults of the per module event queues read from configurations
+     */
+    private void setEventQueueConfigs() {
+        eventQueueCapacity = (String) notificationMgtConfigProperties.remove("eventQueue.capacity");
+        eventQueueOverflowPolicy = (String) notificationMgtConfigProperties.remove("eventQueue.overflowPolicy");
+        eventQueueBlockTimeout = (String) notificationMgtConfigProperties.remove("eventQueue.blockTimeout");
+        eventQueueConcurrency = (String) notificationMgtConfigProperties.remove("eventQueue.concurrency");
+    }
+
     /**
      * Load properties which are defined in msg-mgt.properties file
      *
@@ -222,6 +249,22 @@ public class IdentityEventConfigBuilder {
         return threadPoolSize;
     }
 
+    public String getEventQueueCapacity() {
+        return eventQueueCapacity;
+    }
+
+    public String getEventQueueOverflowPolicy() {
+        return eventQueueOverflowPolicy;
+    }
+
+    public String getEventQueueBlockTimeout() {
+        return eventQueueBlockTimeout;
+    }
+
+    public String getEventQueueConcurrency() {
+        return eventQueueConcurrency;
+    }
+
     /**
      * There can be sensitive information like passwords in configuration file. If they are encrypted using secure
      * vault, this method will resolve them and replace with original values.
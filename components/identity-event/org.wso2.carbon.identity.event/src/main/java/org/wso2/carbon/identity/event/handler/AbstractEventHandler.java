@@ -35,6 +35,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 public abstract class AbstractEventHandler extends AbstractIdentityMessageHandler {
 
@@ -42,6 +43,12 @@ public abstract class AbstractEventHandler extends AbstractIdentityMessageHandle
 
     private static final Log log = LogFactory.getLog(AbstractEventHandler.class);
 
+    /**
+     * Incremented whenever a handler is initialized with a configuration, so that the event routing built from the
+     * subscriptions of the handlers can be rebuilt.
+     */
+    private static final AtomicLong configurationVersion = new AtomicLong();
+
     public boolean canHandle(MessageContext messageContext) throws IdentityRuntimeException {
 
         Event event = ((IdentityEventMessageContext) messageContext).getEvent();
@@ -132,12 +139,65 @@ public abstract class AbstractEventHandler extends AbstractIdentityMessageHandle
         return Boolean.parseBoolean(getSubscriptionProperty("operationAsync", eventName));
     }
 
+    /**
+     * Module level properties are configured in identity-event.properties with the module name as the prefix, e.g.
+     * 'moduleName.propertyName'. This method will allow to get such a property of the current module.
+     *
+     * @param propertyName Required property name to be read, without the module name prefix.
+     * @return Return the String value of that property, or null if it is not configured.
+     */
+    public String getModuleProperty(String propertyName) {
+
+        if (configs == null || configs.getModuleProperties() == null) {
+            return null;
+        }
+        return configs.getModuleProperties().getProperty(this.getName() + "." + propertyName);
+    }
+
     public abstract void handleEvent(Event event) throws IdentityEventException;
 
+    /**
+     * Handle a batch of events which were queued for asynchronous handling. This is only invoked if the module opts in
+     * to batch draining by configuring 'moduleName.async.batchSize' to a value greater than one. Modules which can
+     * handle several events at once more efficiently, e.g. with a single remote call, may override this method.
+     *
+     * @param events Events in the order they were published.
+     * @throws IdentityEventException
+     */
+    public void handleEvents(List<Event> events) throws IdentityEventException {
+
+        for (Event event : events) {
+            try {
+                handleEvent(event);
+            } catch (IdentityEventException e) {
+                log.error("Error while handling the event: " + event.getEventName() + " in " + this.getName(), e);
+            }
+        }
+    }
+
+    /**
+     * To get the configuration of the module, which includes the events it is subscribed to.
+     *
+     * @return Module configuration, or null if the module is not initialized.
+     */
+    public ModuleConfiguration getModuleConfiguration() {
+
+        return configs;
+    }
+
+    /**
+     * @return Version of the handler configurations, which changes whenever a handler is initialized.
+     */
+    public static long getConfigurationVersion() {
+
+        return configurationVersion.get();
+    }
+
     @Override
     public void init(InitConfig configuration) throws IdentityRuntimeException {
         if (configuration instanceof ModuleConfiguration) {
             this.configs = (ModuleConfiguration) configuration;
+            configurationVersion.incrementAndGet();
         } else {
             throw new IdentityRuntimeException("Initial configuration error");
         }
@@ -17,6 +17,7 @@
  */
 package org.wso2.carbon.identity.event.internal;
 
+import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.osgi.framework.ServiceRegistration;
@@ -24,6 +25,8 @@ import org.osgi.service.component.ComponentContext;
 import org.wso2.carbon.identity.base.IdentityRuntimeException;
 import org.wso2.carbon.identity.core.handler.MessageHandlerComparator;
 import org.wso2.carbon.identity.core.util.IdentityCoreInitializedEvent;
+import org.wso2.carbon.identity.event.EventDispatchQueue;
+import org.wso2.carbon.identity.event.EventDistributionTask;
 import org.wso2.carbon.identity.event.IdentityEventException;
 import org.wso2.carbon.identity.event.IdentityEventConfigBuilder;
 import org.wso2.carbon.identity.event.handler.AbstractEventHandler;
@@ -58,7 +61,17 @@ public class IdentityEventServiceComponent {
     @Activate
     protected void activate(ComponentContext context) {
         try {
-            IdentityEventServiceDataHolder.getInstance().setEventMgtService(new IdentityEventServiceImpl(eventHandlerList, Integer.parseInt(IdentityEventConfigBuilder.getInstance().getThreadPoolSize())));
+            IdentityEventConfigBuilder configBuilder = IdentityEventConfigBuilder.getInstance();
+            int threadPoolSize = Integer.parseInt(configBuilder.getThreadPoolSize());
+            IdentityEventServiceDataHolder.getInstance().setEventMgtService(new IdentityEventServiceImpl(eventHandlerList,
+                    threadPoolSize,
+                    getEventQueueConfig("capacity", configBuilder.getEventQueueCapacity(),
+                            EventDistributionTask.DEFAULT_QUEUE_CAPACITY),
+                    EventDispatchQueue.OverflowPolicy.fromConfig(configBuilder.getEventQueueOverflowPolicy(),
+                            EventDistributionTask.DEFAULT_OVERFLOW_POLICY),
+                    getEventQueueConfig("block timeout", configBuilder.getEventQueueBlockTimeout(),
+                            (int) EventDistributionTask.DEFAULT_BLOCK_TIMEOUT_IN_MILLIS),
+                    getEventQueueConfig("concurrency", configBuilder.getEventQueueConcurrency(), threadPoolSize)));
             context.getBundleContext().registerService(IdentityEventService.class.getName(), IdentityEventServiceDataHolder.getInstance().getEventMgtService(), null);
         } catch (IdentityEventException e) {
             log.error("Error while initiating IdentityMgtService.");
@@ -68,8 +81,25 @@ public class IdentityEventServiceComponent {
         }
     }
 
+    private int getEventQueueConfig(String configName, String value, int defaultValue) {
+
+        if (StringUtils.isNotBlank(value)) {
+            try {
+                return Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                log.warn("Invalid event queue " + configName + ": " + value + ". Using the default value: " +
+                        defaultValue);
+            }
+        }
+        return defaultValue;
+    }
+
     @Deactivate
     protected void deactivate(ComponentContext context) {
+        IdentityEventService eventService = IdentityEventServiceDataHolder.getInstance().getEventMgtService();
+        if (eventService instanceof IdentityEventServiceImpl) {
+            ((IdentityEventServiceImpl) eventService).shutdown();
+        }
         if (log.isDebugEnabled()) {
             log.debug("Identity Management bundle is de-activated");
         }
@@ -91,9 +121,19 @@ public class IdentityEventServiceComponent {
         eventHandlerList.add(eventHandler);
         MessageHandlerComparator messageHandlerComparator = new MessageHandlerComparator(null);
         Collections.sort(eventHandlerList, messageHandlerComparator);
+        invalidateEventRouting();
     }
 
     protected void unRegisterEventHandler(AbstractEventHandler eventHandler) {
+        eventHandlerList.remove(eventHandler);
+        invalidateEventRouting();
+    }
+
+    private void invalidateEventRouting() {
+        IdentityEventService eventService = IdentityEventServiceDataHolder.getInstance().getEventMgtService();
+        if (eventService instanceof IdentityEventServiceImpl) {
+            ((IdentityEventServiceImpl) eventService).invalidateRoutingTable();
+        }
     }
 
     @Reference(
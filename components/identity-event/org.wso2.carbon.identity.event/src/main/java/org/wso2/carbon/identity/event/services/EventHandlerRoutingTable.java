@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.services;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.bean.context.MessageContext;
+import org.wso2.carbon.identity.event.bean.ModuleConfiguration;
+import org.wso2.carbon.identity.event.bean.Subscription;
+import org.wso2.carbon.identity.event.handler.AbstractEventHandler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Routing table from event names to the event handlers which may handle the events, built from the subscriptions of
+ * the handlers. Handlers which override {@link AbstractEventHandler#canHandle(MessageContext)} decide whether they can
+ * handle an event only when it is published, hence they are routed every event and their canHandle is still invoked.
+ * The routes of an event preserve the order of the handler list.
+ */
+class EventHandlerRoutingTable {
+
+    private static final Log log = LogFactory.getLog(EventHandlerRoutingTable.class);
+
+    private final long handlerVersion;
+    private final long configurationVersion;
+    private final Map<String, List<Route>> routesByEvent;
+    private final List<Route> dynamicRoutes;
+
+    private EventHandlerRoutingTable(long handlerVersion, long configurationVersion,
+                                     Map<String, List<Route>> routesByEvent, List<Route> dynamicRoutes) {
+
+        this.handlerVersion = handlerVersion;
+        this.configurationVersion = configurationVersion;
+        this.routesByEvent = routesByEvent;
+        this.dynamicRoutes = dynamicRoutes;
+    }
+
+    /**
+     * Build the routing table of a list of handlers.
+     *
+     * @param handlers       Registered handlers, in the order they should handle the events.
+     * @param handlerVersion Version of the handler list, read before the handler list is. A handler registered or
+     *                       unregistered while the table is built makes the table stale.
+     * @return Routing table.
+     */
+    static EventHandlerRoutingTable build(List<AbstractEventHandler> handlers, long handlerVersion) {
+
+        // Read the version first, so that a handler initialized while building makes the table stale.
+        long configurationVersion = AbstractEventHandler.getConfigurationVersion();
+        List<AbstractEventHandler> handlerSnapshot = new ArrayList<>(handlers);
+
+        List<Route> routes = new ArrayList<>(handlerSnapshot.size());
+        Set<String> eventNames = new HashSet<>();
+        for (AbstractEventHandler handler : handlerSnapshot) {
+            Route route = new Route(handler);
+            routes.add(route);
+            if (route.subscribedEvents != null) {
+                eventNames.addAll(route.subscribedEvents);
+            }
+        }
+
+        Map<String, List<Route>> routesByEvent = new HashMap<>();
+        for (String eventName : eventNames) {
+            List<Route> eventRoutes = new ArrayList<>();
+            for (Route route : routes) {
+                if (route.isDynamic() || route.subscribedEvents.contains(eventName)) {
+                    eventRoutes.add(route);
+                }
+            }
+            routesByEvent.put(eventName, Collections.unmodifiableList(eventRoutes));
+        }
+        List<Route> dynamicRoutes = new ArrayList<>();
+        for (Route route : routes) {
+            if (route.isDynamic()) {
+                dynamicRoutes.add(route);
+            }
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Built the event routing table of " + handlerSnapshot.size() + " handlers for " +
+                    routesByEvent.size() + " events. Handlers with dynamic routing: " + dynamicRoutes.size());
+        }
+        return new EventHandlerRoutingTable(handlerVersion, configurationVersion, routesByEvent,
+                Collections.unmodifiableList(dynamicRoutes));
+    }
+
+    /**
+     * @param eventName Name of the published event.
+     * @return Routes of the handlers which may handle the event, in the order of the handler list.
+     */
+    List<Route> getRoutes(String eventName) {
+
+        List<Route> routes = routesByEvent.get(eventName);
+        return routes != null ? routes : dynamicRoutes;
+    }
+
+    /**
+     * @param currentHandlerVersion Current version of the handler list.
+     * @return True if a handler has been registered, unregistered or initialized since the table was built.
+     */
+    boolean isStale(long currentHandlerVersion) {
+
+        return currentHandlerVersion != handlerVersion ||
+                AbstractEventHandler.getConfigurationVersion() != configurationVersion;
+    }
+
+    /**
+     * Route of events to a handler.
+     */
+    static class Route {
+
+        private final AbstractEventHandler handler;
+        /**
+         * Names of the events the handler is subscribed to, or null if the handler decides dynamically.
+         */
+        private final Set<String> subscribedEvents;
+
+        Route(AbstractEventHandler handler) {
+
+            this.handler = handler;
+            this.subscribedEvents = hasDynamicRouting(handler) ? null : getSubscribedEvents(handler);
+        }
+
+        AbstractEventHandler getHandler() {
+
+            return handler;
+        }
+
+        /**
+         * @return True if canHandle must be invoked to decide whether the handler can handle an event.
+         */
+        boolean isDynamic() {
+
+            return subscribedEvents == null;
+        }
+
+        private static boolean hasDynamicRouting(AbstractEventHandler handler) {
+
+            try {
+                return handler.getClass().getMethod("canHandle", MessageContext.class).getDeclaringClass() !=
+                        AbstractEventHandler.class;
+            } catch (NoSuchMethodException e) {
+                return true;
+            }
+        }
+
+        private static Set<String> getSubscribedEvents(AbstractEventHandler handler) {
+
+            Set<String> eventNames = new LinkedHashSet<>();
+            ModuleConfiguration configuration = handler.getModuleConfiguration();
+            if (configuration != null && configuration.getSubscriptions() != null) {
+                for (Subscription subscription : configuration.getSubscriptions()) {
+                    eventNames.add(subscription.getSubscriptionName());
+                }
+            }
+            return eventNames;
+        }
+    }
+}
@@ -21,6 +21,7 @@ package org.wso2.carbon.identity.event.services;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import org.wso2.carbon.identity.event.EventDispatchQueue;
 import org.wso2.carbon.identity.event.EventDistributionTask;
 import org.wso2.carbon.identity.event.IdentityEventException;
 import org.wso2.carbon.identity.event.bean.IdentityEventMessageContext;
@@ -29,33 +30,97 @@ import org.wso2.carbon.identity.event.handler.AbstractEventHandler;
 import org.wso2.carbon.identity.event.internal.IdentityEventServiceComponent;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class IdentityEventServiceImpl implements IdentityEventService {
 
     private static final Log log = LogFactory.getLog(IdentityEventServiceImpl.class);
     private EventDistributionTask eventDistributionTask;
+    private final AtomicReference<EventHandlerRoutingTable> routingTable = new AtomicReference<>();
+    private final AtomicLong handlerVersion = new AtomicLong();
 
     public IdentityEventServiceImpl(List<AbstractEventHandler> handlerList, int threadPoolSize) {
-        this.eventDistributionTask = new EventDistributionTask(handlerList, threadPoolSize);
+
+        this(handlerList, threadPoolSize, EventDistributionTask.DEFAULT_QUEUE_CAPACITY,
+                EventDistributionTask.DEFAULT_OVERFLOW_POLICY, EventDistributionTask.DEFAULT_BLOCK_TIMEOUT_IN_MILLIS,
+                threadPoolSize);
+    }
+
+    public IdentityEventServiceImpl(List<AbstractEventHandler> handlerList, int threadPoolSize, int queueCapacity,
+                                    EventDispatchQueue.OverflowPolicy overflowPolicy, long blockTimeoutInMillis,
+                                    int concurrency) {
+
+        this.eventDistributionTask = new EventDistributionTask(handlerList, threadPoolSize, queueCapacity,
+                overflowPolicy, blockTimeoutInMillis, concurrency);
         if (log.isDebugEnabled()) {
             log.debug("Starting event distribution task from Notification Management component");
         }
-        new Thread(eventDistributionTask).start();
     }
+
+    /**
+     * @return Dispatch queues of the event handlers which handle events asynchronously, to monitor their queue depth,
+     * handler latency and rejections.
+     */
+    public List<EventDispatchQueue> getEventDispatchQueues() {
+
+        return eventDistributionTask.getDispatchQueues();
+    }
+
+    /**
+     * Stop dispatching events asynchronously and unregister the statistics of the dispatch queues. Events published
+     * afterwards are handled on the publishing thread.
+     */
+    public void shutdown() {
+
+        eventDistributionTask.shutdown();
+    }
+
+    /**
+     * Advance the version of the handler list, so that the event routing table is rebuilt from the registered handlers
+     * when the next event is published. This should be invoked after a handler is registered or unregistered.
+     */
+    public void invalidateRoutingTable() {
+
+        handlerVersion.incrementAndGet();
+    }
+
     @Override
     public void handleEvent(Event event) throws IdentityEventException {
 
-        List<AbstractEventHandler> eventHandlerList = IdentityEventServiceComponent.eventHandlerList;
-        IdentityEventMessageContext eventContext = new IdentityEventMessageContext(event);
-        for (final AbstractEventHandler handler : eventHandlerList) {
-
-            if (handler.canHandle(eventContext)) {
-                if (handler.isAssociationAsync(event.getEventName())) {
-                    eventDistributionTask.addEventToQueue(event);
-                } else {
-                    handler.handleEvent(event);
+        IdentityEventMessageContext eventContext = null;
+        for (EventHandlerRoutingTable.Route route : getRoutingTable().getRoutes(event.getEventName())) {
+            AbstractEventHandler handler = route.getHandler();
+            if (route.isDynamic()) {
+                if (eventContext == null) {
+                    eventContext = new IdentityEventMessageContext(event);
+                }
+                if (!handler.canHandle(eventContext)) {
+                    continue;
                 }
             }
+            if (handler.isAssociationAsync(event.getEventName())) {
+                eventDistributionTask.addEventToQueue(handler, event);
+            } else {
+                handler.handleEvent(event);
+            }
+        }
+    }
+
+    private EventHandlerRoutingTable getRoutingTable() {
+
+        EventHandlerRoutingTable currentRoutingTable = routingTable.get();
+        long currentHandlerVersion = handlerVersion.get();
+        if (currentRoutingTable != null && !currentRoutingTable.isStale(currentHandlerVersion)) {
+            return currentRoutingTable;
         }
+        EventHandlerRoutingTable newRoutingTable = EventHandlerRoutingTable.build(
+                IdentityEventServiceComponent.eventHandlerList, currentHandlerVersion);
+        /*
+         * Publish the table only if no other table has been published since the current one was read. A table built
+         * from an outdated handler list carries the version it was built from, hence it is rebuilt on the next event.
+         */
+        routingTable.compareAndSet(currentRoutingTable, newRoutingTable);
+        return newRoutingTable;
     }
 }
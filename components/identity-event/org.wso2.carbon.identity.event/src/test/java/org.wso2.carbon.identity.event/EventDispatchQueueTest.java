@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.identity.event;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.event.event.Event;
+import org.wso2.carbon.identity.event.handler.AbstractEventHandler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class EventDispatchQueueTest {
+
+    private ExecutorService executor;
+    private BlockingHandler handler;
+
+    @BeforeMethod
+    public void setUp() {
+
+        executor = Executors.newSingleThreadExecutor();
+        handler = new BlockingHandler();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        handler.release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testDropOldest() throws Exception {
+
+        EventDispatchQueue dispatchQueue = new EventDispatchQueue(handler, 2,
+                EventDispatchQueue.OverflowPolicy.DROP_OLDEST, 1, 1, 1000, executor);
+        fillQueue(dispatchQueue);
+        dispatchQueue.dispatch(new Event("event4"));
+
+        Assert.assertEquals(dispatchQueue.getRejectedCount(), 1);
+        Assert.assertEquals(dispatchQueue.getDroppedCount(), 1);
+        Assert.assertEquals(dispatchQueue.getQueueDepth(), 2);
+
+        handler.release.countDown();
+        handler.awaitHandledEvents(3);
+        Assert.assertEquals(handler.getHandledEventNames(), Arrays.asList("event1", "event3", "event4"));
+    }
+
+    @Test
+    public void testCallerRuns() throws Exception {
+
+        EventDispatchQueue dispatchQueue = new EventDispatchQueue(handler, 2,
+                EventDispatchQueue.OverflowPolicy.CALLER_RUNS, 1, 1, 1000, executor);
+        fillQueue(dispatchQueue);
+        dispatchQueue.dispatch(new Event("event4"));
+
+        Assert.assertEquals(dispatchQueue.getRejectedCount(), 1);
+        Assert.assertEquals(handler.callingThreadEvents, Collections.singletonList("event4"));
+
+        handler.release.countDown();
+        handler.awaitHandledEvents(4);
+        Assert.assertEquals(dispatchQueue.getHandledCount(), 4);
+        Assert.assertEquals(dispatchQueue.getQueueDepth(), 0);
+    }
+
+    @Test
+    public void testBatchDraining() throws Exception {
+
+        EventDispatchQueue dispatchQueue = new EventDispatchQueue(handler, 10,
+                EventDispatchQueue.OverflowPolicy.BLOCK, 3, 1, 1000, executor);
+        fillQueue(dispatchQueue);
+        dispatchQueue.dispatch(new Event("event4"));
+
+        handler.release.countDown();
+        handler.awaitHandledEvents(4);
+        Assert.assertEquals(handler.batchSizes, Arrays.asList(1, 3));
+        Assert.assertEquals(dispatchQueue.getRejectedCount(), 0);
+    }
+
+    @Test
+    public void testBlockTimeoutDropsEvent() throws Exception {
+
+        EventDispatchQueue dispatchQueue = new EventDispatchQueue(handler, 2,
+                EventDispatchQueue.OverflowPolicy.BLOCK, 1, 1, 50, executor);
+        fillQueue(dispatchQueue);
+        dispatchQueue.dispatch(new Event("event4"));
+
+        Assert.assertEquals(dispatchQueue.getRejectedCount(), 1);
+        Assert.assertEquals(dispatchQueue.getDroppedCount(), 1);
+        Assert.assertTrue(handler.callingThreadEvents.isEmpty());
+
+        handler.release.countDown();
+        handler.awaitHandledEvents(3);
+        Assert.assertEquals(handler.getHandledEventNames(), Arrays.asList("event1", "event2", "event3"));
+    }
+
+    @Test
+    public void testConcurrentDrains() throws Exception {
+
+        ExecutorService threadPool = Executors.newFixedThreadPool(2);
+        try {
+            CountDownLatch bothStarted = new CountDownLatch(2);
+            AbstractEventHandler concurrentHandler = new AbstractEventHandler() {
+
+                @Override
+                public String getName() {
+
+                    return "concurrentHandler";
+                }
+
+                @Override
+                public void handleEvent(Event event) {
+
+                    bothStarted.countDown();
+                    try {
+                        bothStarted.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            };
+            EventDispatchQueue dispatchQueue = new EventDispatchQueue(concurrentHandler, 10,
+                    EventDispatchQueue.OverflowPolicy.BLOCK, 1, 2, 1000, threadPool);
+            dispatchQueue.dispatch(new Event("event1"));
+            dispatchQueue.dispatch(new Event("event2"));
+
+            // Both events are handled at once only if the queue is drained by two threads.
+            Assert.assertTrue(bothStarted.await(10, TimeUnit.SECONDS));
+            Assert.assertEquals(dispatchQueue.getMaxConcurrentDrains(), 2);
+        } finally {
+            threadPool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testOverflowPolicyFromConfig() {
+
+        Assert.assertEquals(EventDispatchQueue.OverflowPolicy.fromConfig("drop-oldest",
+                EventDispatchQueue.OverflowPolicy.BLOCK), EventDispatchQueue.OverflowPolicy.DROP_OLDEST);
+        Assert.assertEquals(EventDispatchQueue.OverflowPolicy.fromConfig("invalid",
+                EventDispatchQueue.OverflowPolicy.BLOCK), EventDispatchQueue.OverflowPolicy.BLOCK);
+        Assert.assertEquals(EventDispatchQueue.OverflowPolicy.fromConfig(null,
+                EventDispatchQueue.OverflowPolicy.CALLER_RUNS), EventDispatchQueue.OverflowPolicy.CALLER_RUNS);
+    }
+
+    /**
+     * Dispatch an event which blocks the handler, and two more events which stay in the queue.
+     */
+    private void fillQueue(EventDispatchQueue dispatchQueue) throws InterruptedException {
+
+        dispatchQueue.dispatch(new Event("event1"));
+        Assert.assertTrue(handler.started.await(10, TimeUnit.SECONDS));
+        dispatchQueue.dispatch(new Event("event2"));
+        dispatchQueue.dispatch(new Event("event3"));
+    }
+
+    private static class BlockingHandler extends AbstractEventHandler {
+
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final List<String> handledEventNames = new ArrayList<>();
+        private final List<String> callingThreadEvents = new ArrayList<>();
+        private final List<Integer> batchSizes = new ArrayList<>();
+        private final Thread testThread = Thread.currentThread();
+
+        @Override
+        public String getName() {
+
+            return "blockingHandler";
+        }
+
+        @Override
+        public void handleEvent(Event event) {
+
+            if (Thread.currentThread() == testThread) {
+                callingThreadEvents.add(event.getEventName());
+            } else {
+                started.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            synchronized (this) {
+                handledEventNames.add(event.getEventName());
+                notifyAll();
+            }
+        }
+
+        @Override
+        public void handleEvents(List<Event> events) throws IdentityEventException {
+
+            synchronized (this) {
+                batchSizes.add(events.size());
+            }
+            super.handleEvents(events);
+        }
+
+        synchronized List<String> getHandledEventNames() {
+
+            return new ArrayList<>(handledEventNames);
+        }
+
+        synchronized void awaitHandledEvents(int count) throws InterruptedException {
+
+            long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+            while (handledEventNames.size() < count && System.currentTimeMillis() < deadline) {
+                wait(100);
+            }
+            Assert.assertEquals(handledEventNames.size(), count);
+        }
+    }
+}
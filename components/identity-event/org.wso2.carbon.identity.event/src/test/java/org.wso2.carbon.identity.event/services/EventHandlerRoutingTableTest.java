@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.identity.event.services;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.core.bean.context.MessageContext;
+import org.wso2.carbon.identity.event.bean.ModuleConfiguration;
+import org.wso2.carbon.identity.event.bean.Subscription;
+import org.wso2.carbon.identity.event.event.Event;
+import org.wso2.carbon.identity.event.handler.AbstractEventHandler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+public class EventHandlerRoutingTableTest {
+
+    @Test
+    public void testRoutesPreserveHandlerOrder() {
+
+        AbstractEventHandler addUserHandler = new TestEventHandler("addUserHandler", "POST_ADD_USER");
+        AbstractEventHandler dynamicHandler = new DynamicEventHandler();
+        AbstractEventHandler userHandler = new TestEventHandler("userHandler", "POST_ADD_USER", "POST_DELETE_USER");
+        List<AbstractEventHandler> handlers = new ArrayList<>(Arrays.asList(addUserHandler, dynamicHandler,
+                userHandler));
+
+        EventHandlerRoutingTable routingTable = EventHandlerRoutingTable.build(handlers, 0);
+
+        Assert.assertEquals(getHandlers(routingTable, "POST_ADD_USER"),
+                Arrays.asList(addUserHandler, dynamicHandler, userHandler));
+        Assert.assertEquals(getHandlers(routingTable, "POST_DELETE_USER"), Arrays.asList(dynamicHandler, userHandler));
+        Assert.assertEquals(getHandlers(routingTable, "UNKNOWN_EVENT"), Arrays.asList(dynamicHandler));
+        Assert.assertTrue(routingTable.getRoutes("POST_DELETE_USER").get(0).isDynamic());
+        Assert.assertFalse(routingTable.getRoutes("POST_DELETE_USER").get(1).isDynamic());
+    }
+
+    @Test
+    public void testUninitializedHandlerIsNotRouted() {
+
+        AbstractEventHandler uninitializedHandler = new TestEventHandler("uninitializedHandler");
+        EventHandlerRoutingTable routingTable = EventHandlerRoutingTable.build(Arrays.asList(uninitializedHandler),
+                0);
+
+        Assert.assertTrue(routingTable.getRoutes("POST_ADD_USER").isEmpty());
+    }
+
+    @Test
+    public void testStaleness() {
+
+        List<AbstractEventHandler> handlers = new ArrayList<>();
+        handlers.add(new TestEventHandler("addUserHandler", "POST_ADD_USER"));
+        EventHandlerRoutingTable routingTable = EventHandlerRoutingTable.build(handlers, 1);
+        Assert.assertFalse(routingTable.isStale(1));
+
+        // Replacing a handler keeps the size of the list, but advances its version.
+        handlers.set(0, new TestEventHandler("deleteUserHandler", "POST_DELETE_USER"));
+        Assert.assertTrue(routingTable.isStale(2));
+
+        routingTable = EventHandlerRoutingTable.build(handlers, 2);
+        Assert.assertFalse(routingTable.isStale(2));
+        handlers.get(0).init(createConfiguration("deleteUserHandler", "POST_UPDATE_CREDENTIAL"));
+        Assert.assertTrue(routingTable.isStale(2));
+    }
+
+    private List<AbstractEventHandler> getHandlers(EventHandlerRoutingTable routingTable, String eventName) {
+
+        List<AbstractEventHandler> handlers = new ArrayList<>();
+        for (EventHandlerRoutingTable.Route route : routingTable.getRoutes(eventName)) {
+            handlers.add(route.getHandler());
+        }
+        return handlers;
+    }
+
+    private static ModuleConfiguration createConfiguration(String moduleName, String... eventNames) {
+
+        List<Subscription> subscriptions = new ArrayList<>();
+        for (String eventName : eventNames) {
+            subscriptions.add(new Subscription(eventName, new Properties()));
+        }
+        return new ModuleConfiguration(new Properties(), subscriptions);
+    }
+
+    private static class TestEventHandler extends AbstractEventHandler {
+
+        private final String name;
+
+        TestEventHandler(String name, String... eventNames) {
+
+            this.name = name;
+            if (eventNames.length > 0) {
+                init(createConfiguration(name, eventNames));
+            }
+        }
+
+        @Override
+        public String getName() {
+
+            return name;
+        }
+
+        @Override
+        public void handleEvent(Event event) {
+
+        }
+    }
+
+    private static class DynamicEventHandler extends TestEventHandler {
+
+        DynamicEventHandler() {
+
+            super("dynamicHandler");
+        }
+
+        @Override
+        public boolean canHandle(MessageContext messageContext) {
+
+            return true;
+        }
+    }
+}
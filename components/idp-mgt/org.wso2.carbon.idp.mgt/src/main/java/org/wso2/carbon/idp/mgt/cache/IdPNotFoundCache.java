@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.idp.mgt.cache;
+
+import org.wso2.carbon.identity.core.cache.BaseCache;
+import org.wso2.carbon.utils.CarbonUtils;
+
+/**
+ * Cache of the IDP lookups which did not find an IDP, so that lookups of unknown issuers, realms or authenticator
+ * property values do not reach the database on every request. Entries expire after a short timeout, and are cleared
+ * whenever an IDP of the tenant is added, updated or removed.
+ */
+public class IdPNotFoundCache extends BaseCache<IdPNotFoundCacheKey, Boolean> {
+
+    private static final String CACHE_NAME = "IdPNotFoundCache";
+    private static final int DEFAULT_CACHE_TIMEOUT = 60;
+
+    private static final IdPNotFoundCache instance = new IdPNotFoundCache();
+
+    private IdPNotFoundCache() {
+
+        super(CACHE_NAME);
+    }
+
+    public static IdPNotFoundCache getInstance() {
+
+        CarbonUtils.checkSecurity();
+        return instance;
+    }
+
+    /**
+     * Entries of this cache must expire sooner than the default cache timeout, hence a short timeout is used unless
+     * a timeout is configured.
+     *
+     * @return Cache timeout in seconds.
+     */
+    @Override
+    public int getCacheTimeout() {
+
+        int cacheTimeout = super.getCacheTimeout();
+        return cacheTimeout > 0 ? cacheTimeout : DEFAULT_CACHE_TIMEOUT;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.idp.mgt.cache;
+
+import org.wso2.carbon.identity.core.cache.CacheKey;
+
+import java.util.Arrays;
+
+/**
+ * Cache key of an IDP lookup which did not find an IDP.
+ */
+public class IdPNotFoundCacheKey extends CacheKey {
+
+    public static final String LOOKUP_BY_NAME = "NAME";
+    public static final String LOOKUP_BY_REALM_ID = "REALM_ID";
+    public static final String LOOKUP_BY_ENABLED_REALM_ID = "ENABLED_REALM_ID";
+    public static final String LOOKUP_BY_AUTHENTICATOR_PROPERTY = "AUTHENTICATOR_PROPERTY";
+
+    private static final long serialVersionUID = -2390436318453412087L;
+    private final String lookupType;
+    private final String[] lookupValues;
+
+    /**
+     * @param lookupType   Type of the lookup, i.e. the attribute the IDP was looked up by.
+     * @param lookupValues Values the IDP was looked up by.
+     */
+    public IdPNotFoundCacheKey(String lookupType, String... lookupValues) {
+
+        this.lookupType = lookupType;
+        this.lookupValues = lookupValues;
+    }
+
+    public String getLookupType() {
+
+        return lookupType;
+    }
+
+    public String[] getLookupValues() {
+
+        return lookupValues.clone();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (!super.equals(o)) {
+            return false;
+        }
+
+        IdPNotFoundCacheKey that = (IdPNotFoundCacheKey) o;
+
+        if (!lookupType.equals(that.lookupType)) {
+            return false;
+        }
+        return Arrays.equals(lookupValues, that.lookupValues);
+    }
+
+    @Override
+    public int hashCode() {
+
+        int result = super.hashCode();
+        result = 31 * result + lookupType.hashCode();
+        result = 31 * result + Arrays.hashCode(lookupValues);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+
+        return lookupType + Arrays.toString(lookupValues);
+    }
+}
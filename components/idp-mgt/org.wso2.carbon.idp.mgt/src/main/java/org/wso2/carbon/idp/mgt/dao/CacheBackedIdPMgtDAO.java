@@ -41,20 +41,38 @@ import org.wso2.carbon.idp.mgt.cache.IdPCacheEntry;
 import org.wso2.carbon.idp.mgt.cache.IdPHomeRealmIdCacheKey;
 import org.wso2.carbon.idp.mgt.cache.IdPMetadataPropertyCacheKey;
 import org.wso2.carbon.idp.mgt.cache.IdPNameCacheKey;
+import org.wso2.carbon.idp.mgt.cache.IdPNotFoundCache;
+import org.wso2.carbon.idp.mgt.cache.IdPNotFoundCacheKey;
 import org.wso2.carbon.idp.mgt.cache.IdPResourceIdCacheKey;
 import org.wso2.carbon.idp.mgt.model.ConnectedAppsResult;
 import org.wso2.carbon.idp.mgt.util.IdPManagementConstants;
 import org.wso2.carbon.idp.mgt.util.IdPManagementUtil;
 
 import java.sql.Connection;
+import java.util.AbstractMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class CacheBackedIdPMgtDAO {
 
     private static final Log log = LogFactory.getLog(CacheBackedIdPMgtDAO.class);
 
+    /**
+     * IDP lookups which are in progress, so that concurrent lookups of the same IDP wait for a single database read.
+     */
+    private static final Map<Map.Entry<String, IdPNotFoundCacheKey>, CompletableFuture<IdentityProvider>>
+            IDP_LOOKUPS_IN_PROGRESS = new ConcurrentHashMap<>();
+    /**
+     * Incremented whenever the not found cache is cleared, so that a lookup which raced with an IDP change does not
+     * cache its outdated result.
+     */
+    private static final AtomicLong NOT_FOUND_CACHE_VERSION = new AtomicLong();
+
     private IdPManagementDAO idPMgtDAO = null;
 
     private IdPCacheByName idPCacheByName = null;
@@ -62,6 +80,7 @@ public class CacheBackedIdPMgtDAO {
     private IdPCacheByAuthProperty idPCacheByAuthProperty = null;
     private IdPCacheByResourceId idPCacheByResourceId = null;
     private IdPCacheByMetadataProperty idPCacheByMetadataProperty = null;
+    private IdPNotFoundCache idPNotFoundCache = null;
 
     /**
      * @param idPMgtDAO
@@ -73,6 +92,7 @@ public class CacheBackedIdPMgtDAO {
         idPCacheByAuthProperty = IdPCacheByAuthProperty.getInstance();
         idPCacheByResourceId = IdPCacheByResourceId.getInstance();
         idPCacheByMetadataProperty = IdPCacheByMetadataProperty.getInstance();
+        idPNotFoundCache = IdPNotFoundCache.getInstance();
     }
 
     /**
@@ -226,18 +246,22 @@ public class CacheBackedIdPMgtDAO {
                     + ". Fetching entry from DB");
         }
 
-        IdentityProvider identityProvider = idPMgtDAO.getIdPByName(dbConnection, idPName,
-                                                                   tenantId, tenantDomain);
-
-        if (identityProvider != null) {
-            log.debug("Entry fetched from DB for Identity Provider " + idPName + ". Updating cache");
-            idPCacheByName.addToCache(cacheKey, new IdPCacheEntry(identityProvider), tenantDomain);
-            if (identityProvider.getHomeRealmId() != null) {
-                IdPHomeRealmIdCacheKey homeRealmIdCacheKey = new IdPHomeRealmIdCacheKey(
-                        identityProvider.getHomeRealmId());
-                idPCacheByHRI.addToCache(homeRealmIdCacheKey, new IdPCacheEntry(identityProvider), tenantDomain);
+        IdPNotFoundCacheKey notFoundCacheKey = new IdPNotFoundCacheKey(IdPNotFoundCacheKey.LOOKUP_BY_NAME, idPName);
+        IdentityProvider identityProvider = lookupIdP(dbConnection, notFoundCacheKey, tenantDomain, () -> {
+            IdentityProvider idPFromDB = idPMgtDAO.getIdPByName(dbConnection, idPName, tenantId, tenantDomain);
+            if (idPFromDB != null) {
+                log.debug("Entry fetched from DB for Identity Provider " + idPName + ". Updating cache");
+                idPCacheByName.addToCache(cacheKey, new IdPCacheEntry(idPFromDB), tenantDomain);
+                if (idPFromDB.getHomeRealmId() != null) {
+                    IdPHomeRealmIdCacheKey homeRealmIdCacheKey = new IdPHomeRealmIdCacheKey(
+                            idPFromDB.getHomeRealmId());
+                    idPCacheByHRI.addToCache(homeRealmIdCacheKey, new IdPCacheEntry(idPFromDB), tenantDomain);
+                }
             }
-        } else {
+            return idPFromDB;
+        });
+
+        if (identityProvider == null) {
             log.debug("Entry for Identity Provider " + idPName + " not found in cache or DB");
         }
 
@@ -410,22 +434,20 @@ public class CacheBackedIdPMgtDAO {
                     + " and with value " + value + ". Fetching entry from DB");
         }
 
-        IdentityProvider identityProvider = idPMgtDAO.getIdPByAuthenticatorPropertyValue(dbConnection, property, value,
-                                                                                         tenantId, tenantDomain);
-
-        if (identityProvider != null) {
-            log.debug("Entry fetched from DB for Identity Provider with authenticator property " + property
-                    + " and with value " + value + ". Updating cache");
-
-            IdPNameCacheKey idPNameCacheKey = new IdPNameCacheKey(identityProvider.getIdentityProviderName()
-            );
-            idPCacheByName.addToCache(idPNameCacheKey, new IdPCacheEntry(identityProvider), tenantDomain);
-            if (identityProvider.getHomeRealmId() != null) {
-                IdPHomeRealmIdCacheKey homeRealmIdCacheKey = new IdPHomeRealmIdCacheKey(
-                        identityProvider.getHomeRealmId());
-                idPCacheByHRI.addToCache(homeRealmIdCacheKey, new IdPCacheEntry(identityProvider), tenantDomain);
+        IdPNotFoundCacheKey notFoundCacheKey = new IdPNotFoundCacheKey(
+                IdPNotFoundCacheKey.LOOKUP_BY_AUTHENTICATOR_PROPERTY, property, value);
+        IdentityProvider identityProvider = lookupIdP(dbConnection, notFoundCacheKey, tenantDomain, () -> {
+            IdentityProvider idPFromDB = idPMgtDAO.getIdPByAuthenticatorPropertyValue(dbConnection, property, value,
+                    tenantId, tenantDomain);
+            if (idPFromDB != null) {
+                log.debug("Entry fetched from DB for Identity Provider with authenticator property " + property
+                        + " and with value " + value + ". Updating cache");
+                addIdPCacheByNameAndRealmId(idPFromDB, tenantDomain);
             }
-        } else {
+            return idPFromDB;
+        });
+
+        if (identityProvider == null) {
             log.debug("Entry for Identity Provider with authenticator property " + property + " and with value "
                     + value + " not found in cache or DB");
         }
@@ -460,21 +482,20 @@ public class CacheBackedIdPMgtDAO {
                     + " and with value " + value + ". Fetching entry from DB");
         }
 
-        IdentityProvider identityProvider = idPMgtDAO.getIdPByAuthenticatorPropertyValue(dbConnection, property,
-                value, authenticator, tenantId, tenantDomain);
-
-        if (identityProvider != null) {
-            log.debug("Entry fetched from DB for Identity Provider with authenticator property " + property
-                    + " and with value " + value + ". Updating cache");
-
-            IdPNameCacheKey idPNameCacheKey = new IdPNameCacheKey(identityProvider.getIdentityProviderName());
-            idPCacheByName.addToCache(idPNameCacheKey, new IdPCacheEntry(identityProvider), tenantDomain);
-            if (identityProvider.getHomeRealmId() != null) {
-                IdPHomeRealmIdCacheKey homeRealmIdCacheKey = new IdPHomeRealmIdCacheKey(
-                        identityProvider.getHomeRealmId());
-                idPCacheByHRI.addToCache(homeRealmIdCacheKey, new IdPCacheEntry(identityProvider), tenantDomain);
+        IdPNotFoundCacheKey notFoundCacheKey = new IdPNotFoundCacheKey(
+                IdPNotFoundCacheKey.LOOKUP_BY_AUTHENTICATOR_PROPERTY, property, value, authenticator);
+        IdentityProvider identityProvider = lookupIdP(dbConnection, notFoundCacheKey, tenantDomain, () -> {
+            IdentityProvider idPFromDB = idPMgtDAO.getIdPByAuthenticatorPropertyValue(dbConnection, property,
+                    value, authenticator, tenantId, tenantDomain);
+            if (idPFromDB != null) {
+                log.debug("Entry fetched from DB for Identity Provider with authenticator property " + property
+                        + " and with value " + value + ". Updating cache");
+                addIdPCacheByNameAndRealmId(idPFromDB, tenantDomain);
             }
-        } else {
+            return idPFromDB;
+        });
+
+        if (identityProvider == null) {
             log.debug("Entry for Identity Provider with authenticator property " + property + " and with value "
                     + value + " not found in cache or DB");
         }
@@ -502,15 +523,21 @@ public class CacheBackedIdPMgtDAO {
                     + ". Fetching entry from DB");
         }
 
-        IdentityProvider identityProvider = idPMgtDAO.getIdPByRealmId(realmId, tenantId, tenantDomain);
+        IdPNotFoundCacheKey notFoundCacheKey = new IdPNotFoundCacheKey(IdPNotFoundCacheKey.LOOKUP_BY_REALM_ID,
+                realmId);
+        IdentityProvider identityProvider = lookupIdP(null, notFoundCacheKey, tenantDomain, () -> {
+            IdentityProvider idPFromDB = idPMgtDAO.getIdPByRealmId(realmId, tenantId, tenantDomain);
+            if (idPFromDB != null) {
+                log.debug("Entry fetched from DB for Identity Provider with Home Realm ID " + realmId
+                        + ". Updating cache");
+                idPCacheByHRI.addToCache(cacheKey, new IdPCacheEntry(idPFromDB), tenantDomain);
+                IdPNameCacheKey idPNameCacheKey = new IdPNameCacheKey(idPFromDB.getIdentityProviderName());
+                idPCacheByName.addToCache(idPNameCacheKey, new IdPCacheEntry(idPFromDB), tenantDomain);
+            }
+            return idPFromDB;
+        });
 
-        if (identityProvider != null) {
-            log.debug("Entry fetched from DB for Identity Provider with Home Realm ID " + realmId
-                    + ". Updating cache");
-            idPCacheByHRI.addToCache(cacheKey, new IdPCacheEntry(identityProvider), tenantDomain);
-            IdPNameCacheKey idPNameCacheKey = new IdPNameCacheKey(identityProvider.getIdentityProviderName());
-            idPCacheByName.addToCache(idPNameCacheKey, new IdPCacheEntry(identityProvider), tenantDomain);
-        } else {
+        if (identityProvider == null) {
             log.debug("Entry for Identity Provider with Home Realm ID " + realmId
                     + " not found in cache or DB");
         }
@@ -551,17 +578,23 @@ public class CacheBackedIdPMgtDAO {
             }
         }
 
-        IdentityProvider identityProvider = idPMgtDAO.getEnabledIdPByRealmId(realmId, tenantId, tenantDomain);
-
-        if (identityProvider != null) {
-            if (log.isDebugEnabled()) {
-                log.debug("Entry fetched from DB for Identity Provider with Home Realm ID " + realmId
-                        + ". Updating cache.");
+        IdPNotFoundCacheKey notFoundCacheKey = new IdPNotFoundCacheKey(
+                IdPNotFoundCacheKey.LOOKUP_BY_ENABLED_REALM_ID, realmId);
+        IdentityProvider identityProvider = lookupIdP(null, notFoundCacheKey, tenantDomain, () -> {
+            IdentityProvider idPFromDB = idPMgtDAO.getEnabledIdPByRealmId(realmId, tenantId, tenantDomain);
+            if (idPFromDB != null) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Entry fetched from DB for Identity Provider with Home Realm ID " + realmId
+                            + ". Updating cache.");
+                }
+                idPCacheByHRI.addToCache(cacheKey, new IdPCacheEntry(idPFromDB), tenantDomain);
+                IdPNameCacheKey idPNameCacheKey = new IdPNameCacheKey(idPFromDB.getIdentityProviderName());
+                idPCacheByName.addToCache(idPNameCacheKey, new IdPCacheEntry(idPFromDB), tenantDomain);
             }
-            idPCacheByHRI.addToCache(cacheKey, new IdPCacheEntry(identityProvider), tenantDomain);
-            IdPNameCacheKey idPNameCacheKey = new IdPNameCacheKey(identityProvider.getIdentityProviderName());
-            idPCacheByName.addToCache(idPNameCacheKey, new IdPCacheEntry(identityProvider), tenantDomain);
-        } else {
+            return idPFromDB;
+        });
+
+        if (identityProvider == null) {
             if (log.isDebugEnabled()) {
                 log.debug("Entry for Identity Provider with Home Realm ID " + realmId
                         + " not found in cache or DB.");
@@ -581,7 +614,9 @@ public class CacheBackedIdPMgtDAO {
     public String addIdP(IdentityProvider identityProvider, int tenantId, String
             tenantDomain) throws IdentityProviderManagementException {
 
-        return idPMgtDAO.addIdPWithResourceId(identityProvider, tenantId);
+        String resourceId = idPMgtDAO.addIdPWithResourceId(identityProvider, tenantId);
+        clearIdPNotFoundCache(tenantDomain);
+        return resourceId;
     }
 
     /**
@@ -603,6 +638,7 @@ public class CacheBackedIdPMgtDAO {
                 tenantId, tenantDomain);
         idPMgtDAO.updateIdPWithResourceId(currentIdentityProvider.getResourceId(),
                 newIdentityProvider, currentIdentityProvider, tenantId);
+        clearIdPNotFoundCache(tenantDomain);
     }
 
     /**
@@ -760,6 +796,7 @@ public class CacheBackedIdPMgtDAO {
     public void clearIdpCache(String idPName, String resourceId, int tenantId, String tenantDomain) throws
             IdentityProviderManagementException {
 
+        clearIdPNotFoundCache(tenantDomain);
 
         // clearing cache entries related to the IDP.
         IdentityProvider identityProvider;
@@ -800,6 +837,113 @@ public class CacheBackedIdPMgtDAO {
 
 
 
+    /**
+     * Clear the cached IDP lookups of the tenant which did not find an IDP.
+     *
+     * @param tenantDomain Tenant domain of the IDPs.
+     */
+    public void clearIdPNotFoundCache(String tenantDomain) {
+
+        NOT_FOUND_CACHE_VERSION.incrementAndGet();
+        idPNotFoundCache.clear(tenantDomain);
+    }
+
+    /**
+     * Look up an IDP which is not in the cache. If the lookup has recently not found an IDP, null is returned
+     * without reading the database. Otherwise, concurrent lookups of the same IDP wait for a single database read,
+     * unless they read within a transaction of the caller.
+     *
+     * @param dbConnection     Database connection of the caller, or null if the lookup is not part of a transaction.
+     * @param notFoundCacheKey Key of the lookup in the not found cache.
+     * @param tenantDomain     Tenant domain of the IDP.
+     * @param idPLoader        Reads the IDP from the database and caches it.
+     * @return Identity provider, or null if it does not exist.
+     * @throws IdentityProviderManagementException Error when reading the IDP.
+     */
+    private IdentityProvider lookupIdP(Connection dbConnection, IdPNotFoundCacheKey notFoundCacheKey,
+                                       String tenantDomain, IdPLoader idPLoader)
+            throws IdentityProviderManagementException {
+
+        if (idPNotFoundCache.getValueFromCache(notFoundCacheKey, tenantDomain) != null) {
+            if (log.isDebugEnabled()) {
+                log.debug("Identity Provider lookup: " + notFoundCacheKey + " of tenantDomain: " + tenantDomain +
+                        " is cached as not found.");
+            }
+            return null;
+        }
+        if (dbConnection != null) {
+            return loadIdP(notFoundCacheKey, tenantDomain, idPLoader);
+        }
+
+        Map.Entry<String, IdPNotFoundCacheKey> lookupKey =
+                new AbstractMap.SimpleImmutableEntry<>(tenantDomain, notFoundCacheKey);
+        CompletableFuture<IdentityProvider> lookup = new CompletableFuture<>();
+        CompletableFuture<IdentityProvider> lookupInProgress = IDP_LOOKUPS_IN_PROGRESS.putIfAbsent(lookupKey, lookup);
+        if (lookupInProgress != null) {
+            return awaitIdPLookup(lookupInProgress);
+        }
+        try {
+            IdentityProvider identityProvider = loadIdP(notFoundCacheKey, tenantDomain, idPLoader);
+            lookup.complete(identityProvider);
+            return identityProvider;
+        } catch (IdentityProviderManagementException | RuntimeException e) {
+            lookup.completeExceptionally(e);
+            throw e;
+        } finally {
+            IDP_LOOKUPS_IN_PROGRESS.remove(lookupKey, lookup);
+        }
+    }
+
+    private IdentityProvider loadIdP(IdPNotFoundCacheKey notFoundCacheKey, String tenantDomain, IdPLoader idPLoader)
+            throws IdentityProviderManagementException {
+
+        long notFoundCacheVersion = NOT_FOUND_CACHE_VERSION.get();
+        IdentityProvider identityProvider = idPLoader.load();
+        // Do not cache the result if an IDP has changed while it was read, as it may be outdated.
+        if (identityProvider == null && notFoundCacheVersion == NOT_FOUND_CACHE_VERSION.get()) {
+            idPNotFoundCache.addToCache(notFoundCacheKey, Boolean.TRUE, tenantDomain);
+        }
+        return identityProvider;
+    }
+
+    private IdentityProvider awaitIdPLookup(CompletableFuture<IdentityProvider> lookup)
+            throws IdentityProviderManagementException {
+
+        try {
+            return lookup.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdentityProviderManagementException("Interrupted while waiting for the Identity Provider " +
+                    "lookup.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IdentityProviderManagementException) {
+                throw (IdentityProviderManagementException) e.getCause();
+            }
+            throw new IdentityProviderManagementException("Error while looking up the Identity Provider.",
+                    e.getCause());
+        }
+    }
+
+    private void addIdPCacheByNameAndRealmId(IdentityProvider identityProvider, String tenantDomain) {
+
+        IdPNameCacheKey idPNameCacheKey = new IdPNameCacheKey(identityProvider.getIdentityProviderName());
+        idPCacheByName.addToCache(idPNameCacheKey, new IdPCacheEntry(identityProvider), tenantDomain);
+        if (identityProvider.getHomeRealmId() != null) {
+            IdPHomeRealmIdCacheKey homeRealmIdCacheKey = new IdPHomeRealmIdCacheKey(
+                    identityProvider.getHomeRealmId());
+            idPCacheByHRI.addToCache(homeRealmIdCacheKey, new IdPCacheEntry(identityProvider), tenantDomain);
+        }
+    }
+
+    /**
+     * Reads an IDP from the database.
+     */
+    @FunctionalInterface
+    private interface IdPLoader {
+
+        IdentityProvider load() throws IdentityProviderManagementException;
+    }
+
     /**
      * @param tenantId
      * @param role
@@ -56,6 +56,7 @@ import org.wso2.carbon.idp.mgt.cache.IdPCacheEntry;
 import org.wso2.carbon.idp.mgt.cache.IdPHomeRealmIdCacheKey;
 import org.wso2.carbon.idp.mgt.cache.IdPMetadataPropertyCacheKey;
 import org.wso2.carbon.idp.mgt.cache.IdPNameCacheKey;
+import org.wso2.carbon.idp.mgt.cache.IdPNotFoundCache;
 import org.wso2.carbon.idp.mgt.cache.IdPResourceIdCacheKey;
 import org.wso2.carbon.idp.mgt.internal.IdpMgtServiceComponentHolder;
 import org.wso2.carbon.idp.mgt.model.ConnectedAppsResult;
@@ -155,6 +156,8 @@ public class CacheBackedIdPMgtDAOTest {
 
         identityTenantUtil = mockStatic(IdentityTenantUtil.class);
         identityTenantUtil.when(() -> IdentityTenantUtil.getTenantDomain(anyInt())).thenReturn(TENANT_DOMAIN);
+        // Test IDPs are added directly to the database, hence lookups which did not find them must be forgotten.
+        IdPNotFoundCache.getInstance().clear(TENANT_DOMAIN);
         idpMgtServiceComponentHolder = mockStatic(IdpMgtServiceComponentHolder.class);
         IdpMgtServiceComponentHolder mockIdpMgtServiceComponentHolder = mock(IdpMgtServiceComponentHolder.class);
         idpMgtServiceComponentHolder.when(
@@ -428,6 +431,30 @@ public class CacheBackedIdPMgtDAOTest {
         }
     }
 
+    @Test
+    public void testGetIdPByNameNotFoundIsCached() throws Exception {
+
+        try (MockedStatic<IdentityDatabaseUtil> identityDatabaseUtil = mockStatic(IdentityDatabaseUtil.class);
+             Connection connection = getConnection(DB_NAME)) {
+            identityDatabaseUtil.when(() -> IdentityDatabaseUtil.getDBConnection(anyBoolean())).thenReturn(connection);
+            identityDatabaseUtil.when(IdentityDatabaseUtil::getDataSource).thenReturn(dataSourceMap.get(DB_NAME));
+
+            assertNull(cacheBackedIdPMgtDAO.getIdPByName(null, "testIdP1", SAMPLE_TENANT_ID1, TENANT_DOMAIN));
+
+            // The IDP is added without going through the cache backed DAO, hence the lookup is still cached.
+            addTestIdps();
+            assertNull(cacheBackedIdPMgtDAO.getIdPByName(null, "testIdP1", SAMPLE_TENANT_ID1, TENANT_DOMAIN));
+
+            // Adding an IDP through the cache backed DAO clears the lookups which did not find an IDP.
+            IdentityProvider newIdP = new IdentityProvider();
+            newIdP.setIdentityProviderName("testIdP1New");
+            cacheBackedIdPMgtDAO.addIdP(newIdP, SAMPLE_TENANT_ID1, TENANT_DOMAIN);
+            IdentityProvider idpResult = cacheBackedIdPMgtDAO.getIdPByName(null, "testIdP1", SAMPLE_TENANT_ID1,
+                    TENANT_DOMAIN);
+            assertEquals(idpResult.getIdentityProviderName(), "testIdP1");
+        }
+    }
+
     @DataProvider
     public Object[][] getIdPByIdData() {
 
@@ -22,6 +22,7 @@ import org.apache.commons.lang.StringUtils;
 import org.wso2.carbon.identity.input.validation.mgt.exceptions.InputValidationMgtClientException;
 import org.wso2.carbon.identity.input.validation.mgt.model.Property;
 import org.wso2.carbon.identity.input.validation.mgt.model.ValidationContext;
+import org.wso2.carbon.identity.input.validation.mgt.utils.ValidationPatternCache;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -60,9 +61,9 @@ public class JsRegExValidator extends AbstractRegExValidator {
         if (attributesMap.containsKey(JS_REGEX)) {
             String jsRegex = attributesMap.get(JS_REGEX);
             // Convert to Java regex.
-            javaRegex = jsRegex.replaceAll("//", "/");
+            javaRegex = StringUtils.replace(jsRegex, "//", "/");
 
-            Pattern pattern = Pattern.compile(javaRegex);
+            Pattern pattern = ValidationPatternCache.getPattern(javaRegex);
             Matcher matcher = pattern.matcher(value);
             valid = matcher.matches();
         }
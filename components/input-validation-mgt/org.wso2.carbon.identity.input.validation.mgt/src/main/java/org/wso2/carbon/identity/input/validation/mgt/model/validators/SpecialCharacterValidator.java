@@ -55,10 +55,9 @@ public class SpecialCharacterValidator extends AbstractRulesValidator {
         Map<String, String> attributesMap = context.getProperties();
 
         for (int i = 0; i < value.length(); i++) {
-            if (value.substring(i, i + 1).matches("[^A-Za-z0-9]")) {
+            if (isSpecialCharacter(value.charAt(i))) {
                 countSpecial++;
             }
-
         }
         if (attributesMap.containsKey(MIN_LENGTH)) {
             int min = Integer.parseInt(attributesMap.get(MIN_LENGTH));
@@ -78,4 +77,13 @@ public class SpecialCharacterValidator extends AbstractRulesValidator {
         }
         return true;
     }
+
+    /**
+     * Check whether a character is a special character, i.e. not in [A-Za-z0-9]. Supplementary characters are
+     * counted once per UTF-16 code unit, as they were with the regex based check.
+     */
+    private static boolean isSpecialCharacter(char chr) {
+
+        return !((chr >= 'A' && chr <= 'Z') || (chr >= 'a' && chr <= 'z') || (chr >= '0' && chr <= '9'));
+    }
 }
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.input.validation.mgt.utils;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Cache of the compiled regex patterns of the validation configurations.
+ * <p>
+ * Patterns are keyed by their expression, hence a changed validation configuration of a tenant resolves to a newly
+ * compiled pattern, while tenants with the same expression share the compiled pattern. The number of cached patterns
+ * is bounded by evicting the least recently used pattern, so that patterns of replaced configurations do not
+ * accumulate while the patterns in use stay cached.
+ */
+public class ValidationPatternCache {
+
+    private static final int MAX_CACHED_PATTERNS = 1000;
+    private static final Map<String, Pattern> PATTERNS = Collections.synchronizedMap(
+            new LinkedHashMap<String, Pattern>(16, 0.75f, true) {
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Pattern> eldest) {
+
+                    return size() > MAX_CACHED_PATTERNS;
+                }
+            });
+
+    private ValidationPatternCache() {
+
+    }
+
+    /**
+     * Get the compiled pattern of a regex.
+     *
+     * @param regex Regex to be compiled.
+     * @return Compiled pattern.
+     * @throws java.util.regex.PatternSyntaxException If the regex is invalid.
+     */
+    public static Pattern getPattern(String regex) {
+
+        Pattern pattern = PATTERNS.get(regex);
+        if (pattern == null) {
+            pattern = Pattern.compile(regex);
+            PATTERNS.put(regex, pattern);
+        }
+        return pattern;
+    }
+}
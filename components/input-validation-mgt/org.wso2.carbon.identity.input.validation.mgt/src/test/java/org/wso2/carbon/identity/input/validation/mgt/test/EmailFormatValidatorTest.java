@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.input.validation.mgt.test;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.input.validation.mgt.exceptions.InputValidationMgtClientException;
+import org.wso2.carbon.identity.input.validation.mgt.model.ValidationContext;
+import org.wso2.carbon.identity.input.validation.mgt.model.validators.EmailFormatValidator;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.wso2.carbon.identity.input.validation.mgt.utils.Constants.Configs.DEFAULT_EMAIL_JAVA_REGEX_PATTERN;
+import static org.wso2.carbon.identity.input.validation.mgt.utils.Constants.Configs.ENABLE_VALIDATOR;
+import static org.wso2.carbon.identity.input.validation.mgt.utils.Constants.Configs.USERNAME;
+import static org.wso2.carbon.identity.input.validation.mgt.utils.Constants.ErrorMessages.ERROR_INPUT_VALUE_NULL;
+import static org.wso2.carbon.identity.input.validation.mgt.utils.Constants.ErrorMessages.ERROR_VALIDATION_EMAIL_FORMAT_MISMATCH;
+
+/**
+ * Testing the EmailFormatValidator class.
+ */
+public class EmailFormatValidatorTest {
+
+    private final EmailFormatValidator validator = new EmailFormatValidator();
+
+    @DataProvider
+    public Object[][] validEmails() {
+
+        return new Object[][]{
+                {"john@example.com"},
+                {"john.doe@example.com"},
+                {"john+doe@mail.example.org"}
+        };
+    }
+
+    @Test(dataProvider = "validEmails")
+    public void testValidateValidEmails(String email) throws InputValidationMgtClientException {
+
+        Assert.assertTrue(validator.validate(getContext(email, "true")));
+    }
+
+    @DataProvider
+    public Object[][] invalidEmails() {
+
+        return new Object[][]{
+                {"john.example.com"},
+                {"john..doe@example.com"},
+                {"john@example"},
+                {".john@example.com"}
+        };
+    }
+
+    @Test(dataProvider = "invalidEmails")
+    public void testValidateInvalidEmails(String email) {
+
+        try {
+            validator.validate(getContext(email, "true"));
+            Assert.fail("Expected the validation of " + email + " to fail.");
+        } catch (InputValidationMgtClientException e) {
+            Assert.assertEquals(e.getErrorCode(), ERROR_VALIDATION_EMAIL_FORMAT_MISMATCH.getCode());
+            Assert.assertEquals(e.getDescription(), String.format(
+                    ERROR_VALIDATION_EMAIL_FORMAT_MISMATCH.getDescription(), USERNAME,
+                    DEFAULT_EMAIL_JAVA_REGEX_PATTERN));
+        }
+    }
+
+    @Test
+    public void testValidateWhenValidatorIsDisabled() throws InputValidationMgtClientException {
+
+        Assert.assertTrue(validator.validate(getContext("john.example.com", "false")));
+    }
+
+    @Test
+    public void testValidateBlankValue() {
+
+        try {
+            validator.validate(getContext(" ", "true"));
+            Assert.fail("Expected the validation of a blank value to fail.");
+        } catch (InputValidationMgtClientException e) {
+            Assert.assertEquals(e.getErrorCode(), ERROR_INPUT_VALUE_NULL.getCode());
+        }
+    }
+
+    private ValidationContext getContext(String value, String enabled) {
+
+        Map<String, String> properties = new HashMap<>();
+        properties.put(ENABLE_VALIDATOR, enabled);
+        return new ValidationContext(USERNAME, "carbon.super", properties, value);
+    }
+}
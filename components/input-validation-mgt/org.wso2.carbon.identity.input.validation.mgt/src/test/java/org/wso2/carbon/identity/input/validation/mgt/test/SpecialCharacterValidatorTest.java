@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.input.validation.mgt.test;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.input.validation.mgt.exceptions.InputValidationMgtClientException;
+import org.wso2.carbon.identity.input.validation.mgt.model.ValidationContext;
+import org.wso2.carbon.identity.input.validation.mgt.model.validators.SpecialCharacterValidator;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.wso2.carbon.identity.input.validation.mgt.utils.Constants.Configs.MAX_LENGTH;
+import static org.wso2.carbon.identity.input.validation.mgt.utils.Constants.Configs.MIN_LENGTH;
+import static org.wso2.carbon.identity.input.validation.mgt.utils.Constants.Configs.PASSWORD;
+import static org.wso2.carbon.identity.input.validation.mgt.utils.Constants.ErrorMessages.ERROR_VALIDATION_MAX_SPECIAL_CHR_LENGTH_MISMATCH;
+import static org.wso2.carbon.identity.input.validation.mgt.utils.Constants.ErrorMessages.ERROR_VALIDATION_MIN_SPECIAL_CHR_LENGTH_MISMATCH;
+
+/**
+ * Testing the SpecialCharacterValidator class.
+ */
+public class SpecialCharacterValidatorTest {
+
+    private final SpecialCharacterValidator validator = new SpecialCharacterValidator();
+
+    @DataProvider
+    public Object[][] validPasswords() {
+
+        return new Object[][]{
+                {"Password@1", "1", "2"},
+                {"Pass@word#1", "2", "2"},
+                {"Pass word", "1", "1"},
+                {"Pässword", "1", "1"},
+                {"Password1", "0", "0"}
+        };
+    }
+
+    @Test(dataProvider = "validPasswords")
+    public void testValidateValidPasswords(String password, String min, String max)
+            throws InputValidationMgtClientException {
+
+        Assert.assertTrue(validator.validate(getContext(password, min, max)));
+    }
+
+    @Test
+    public void testValidateWithTooFewSpecialCharacters() {
+
+        try {
+            validator.validate(getContext("Password@1", "2", "5"));
+            Assert.fail("Expected the validation to fail.");
+        } catch (InputValidationMgtClientException e) {
+            Assert.assertEquals(e.getErrorCode(), ERROR_VALIDATION_MIN_SPECIAL_CHR_LENGTH_MISMATCH.getCode());
+        }
+    }
+
+    @Test
+    public void testValidateWithTooManySpecialCharacters() {
+
+        try {
+            validator.validate(getContext("P@ss#word!1", "1", "2"));
+            Assert.fail("Expected the validation to fail.");
+        } catch (InputValidationMgtClientException e) {
+            Assert.assertEquals(e.getErrorCode(), ERROR_VALIDATION_MAX_SPECIAL_CHR_LENGTH_MISMATCH.getCode());
+        }
+    }
+
+    private ValidationContext getContext(String value, String min, String max) {
+
+        Map<String, String> properties = new HashMap<>();
+        properties.put(MIN_LENGTH, min);
+        properties.put(MAX_LENGTH, max);
+        return new ValidationContext(PASSWORD, "carbon.super", properties, value);
+    }
+}
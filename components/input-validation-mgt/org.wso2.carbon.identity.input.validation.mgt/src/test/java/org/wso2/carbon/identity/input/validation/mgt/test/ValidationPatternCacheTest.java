@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.input.validation.mgt.test;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.input.validation.mgt.utils.ValidationPatternCache;
+
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Testing the ValidationPatternCache class.
+ */
+public class ValidationPatternCacheTest {
+
+    private static final int MAX_CACHED_PATTERNS = 1000;
+
+    @Test
+    public void testGetPatternReturnsCachedPattern() {
+
+        Pattern pattern = ValidationPatternCache.getPattern("^[a-z]{3,8}$");
+
+        Assert.assertEquals(pattern.pattern(), "^[a-z]{3,8}$");
+        Assert.assertTrue(pattern.matcher("tenant").matches());
+        Assert.assertSame(ValidationPatternCache.getPattern("^[a-z]{3,8}$"), pattern);
+    }
+
+    @Test(expectedExceptions = PatternSyntaxException.class)
+    public void testGetPatternWithInvalidRegex() {
+
+        ValidationPatternCache.getPattern("^[a-z");
+    }
+
+    @Test
+    public void testRecentlyUsedPatternIsRetainedWhenCacheIsFull() {
+
+        Pattern recentlyUsed = ValidationPatternCache.getPattern("^recently-used$");
+        Pattern leastRecentlyUsed = ValidationPatternCache.getPattern("^least-recently-used$");
+        for (int i = 0; i < MAX_CACHED_PATTERNS * 2; i++) {
+            ValidationPatternCache.getPattern("^pattern-" + i + "$");
+            if (i % 100 == 0) {
+                Assert.assertSame(ValidationPatternCache.getPattern("^recently-used$"), recentlyUsed);
+            }
+        }
+
+        Assert.assertSame(ValidationPatternCache.getPattern("^recently-used$"), recentlyUsed);
+        Assert.assertNotSame(ValidationPatternCache.getPattern("^least-recently-used$"), leastRecentlyUsed);
+    }
+}
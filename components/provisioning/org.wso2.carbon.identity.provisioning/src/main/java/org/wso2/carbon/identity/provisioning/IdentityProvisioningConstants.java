@@ -49,6 +49,14 @@ public class IdentityProvisioningConstants {
     // Outbound provisioning constants.
     public static final String USE_USER_TENANT_DOMAIN_FOR_OUTBOUND_PROVISIONING_IN_SAAS_APPS = "OutboundProvisioning.useUserTenantDomainInSaasApps";
     public static final String APPLICATION_BASED_OUTBOUND_PROVISIONING_ENABLED = "OutboundProvisioning.enableApplicationBasedOutboundProvisioning";
+    public static final String EXECUTOR_POOL_SIZE = "OutboundProvisioning.Executor.PoolSize";
+    public static final String EXECUTOR_MAX_CONCURRENT_TASKS_PER_CONNECTOR =
+            "OutboundProvisioning.Executor.MaxConcurrentTasksPerConnector";
+    public static final String EXECUTOR_MAX_QUEUED_TASKS_PER_CONNECTOR =
+            "OutboundProvisioning.Executor.MaxQueuedTasksPerConnector";
+    public static final String RETRY_COUNT = "OutboundProvisioning.Retry.Count";
+    public static final String RETRY_BACKOFF = "OutboundProvisioning.Retry.Backoff";
+    public static final String RETRY_MAX_BACKOFF = "OutboundProvisioning.Retry.MaxBackoff";
 
     public static class SQLQueries {
 
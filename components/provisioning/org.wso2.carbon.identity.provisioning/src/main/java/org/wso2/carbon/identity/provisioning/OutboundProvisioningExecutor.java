@@ -0,0 +1,479 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.provisioning;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityMBeanUtil;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.wso2.carbon.identity.provisioning.IdentityProvisioningConstants.EXECUTOR_MAX_CONCURRENT_TASKS_PER_CONNECTOR;
+import static org.wso2.carbon.identity.provisioning.IdentityProvisioningConstants.EXECUTOR_MAX_QUEUED_TASKS_PER_CONNECTOR;
+import static org.wso2.carbon.identity.provisioning.IdentityProvisioningConstants.EXECUTOR_POOL_SIZE;
+import static org.wso2.carbon.identity.provisioning.IdentityProvisioningConstants.RETRY_BACKOFF;
+import static org.wso2.carbon.identity.provisioning.IdentityProvisioningConstants.RETRY_COUNT;
+import static org.wso2.carbon.identity.provisioning.IdentityProvisioningConstants.RETRY_MAX_BACKOFF;
+
+/**
+ * Node wide executor of the non-blocking outbound provisioning operations.
+ * <p>
+ * Operations are queued per provisioning connector, i.e. per tenant, identity provider and connector type, and each
+ * connector runs a bounded number of operations at a time on a shared thread pool. Hence, a slow connector holds at
+ * most its share of the pool, and never delays the inbound operation which triggered the provisioning. The operations
+ * of an entity are run one at a time, in the order they were submitted, so that e.g. an update never overtakes the
+ * create of the same user.
+ * <p>
+ * A failed operation may already have changed the remote system, e.g. a user created by the connector before the
+ * provisioned identifier could be stored, and a connector is not required to be idempotent. Hence, failed operations
+ * are not retried by default. When retries are configured, a failed operation is retried after a randomized,
+ * exponentially growing back-off, and the failure is logged once the retry count is exhausted. The later operations of
+ * the entity wait for the retries.
+ * <p>
+ * The statistics of the connectors are registered over JMX through {@link OutboundProvisioningExecutorMXBean}.
+ */
+public class OutboundProvisioningExecutor implements OutboundProvisioningExecutorMXBean {
+
+    private static final Log log = LogFactory.getLog(OutboundProvisioningExecutor.class);
+
+    private static final int DEFAULT_POOL_SIZE = 20;
+    private static final int DEFAULT_MAX_CONCURRENT_TASKS_PER_CONNECTOR = 5;
+    private static final int DEFAULT_MAX_QUEUED_TASKS_PER_CONNECTOR = 10000;
+    private static final int DEFAULT_RETRY_COUNT = 0;
+    private static final long DEFAULT_RETRY_BACKOFF_IN_MILLIS = 1000;
+    private static final long DEFAULT_RETRY_MAX_BACKOFF_IN_MILLIS = 60000;
+    private static final long SHUTDOWN_TIMEOUT_IN_SECONDS = 10;
+    private static final String MBEAN_TYPE = "OutboundProvisioningStatistics";
+    private static final String MBEAN_NAME = "OutboundProvisioningExecutor";
+
+    private static volatile OutboundProvisioningExecutor instance;
+
+    private final int maxConcurrentTasksPerConnector;
+    private final int maxQueuedTasksPerConnector;
+    private final int retryCount;
+    private final long retryBackoffInMillis;
+    private final long retryMaxBackoffInMillis;
+    private final ExecutorService executorService;
+    private final ScheduledExecutorService retryScheduler;
+    private final Map<String, ConnectorQueue> connectorQueues = new ConcurrentHashMap<>();
+
+    OutboundProvisioningExecutor(int poolSize, int maxConcurrentTasksPerConnector, int maxQueuedTasksPerConnector,
+                                 int retryCount, long retryBackoffInMillis, long retryMaxBackoffInMillis) {
+
+        this.maxConcurrentTasksPerConnector = maxConcurrentTasksPerConnector;
+        this.maxQueuedTasksPerConnector = maxQueuedTasksPerConnector;
+        this.retryCount = retryCount;
+        this.retryBackoffInMillis = retryBackoffInMillis;
+        this.retryMaxBackoffInMillis = retryMaxBackoffInMillis;
+        // The number of queued tasks is bounded by the per connector limits, hence the queue of the pool is not.
+        this.executorService = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new ProvisioningThreadFactory("OutboundProvisioning"));
+        this.retryScheduler = new ScheduledThreadPoolExecutor(1,
+                new ProvisioningThreadFactory("OutboundProvisioningRetry"));
+    }
+
+    /**
+     * @return Outbound provisioning executor of the node.
+     */
+    public static OutboundProvisioningExecutor getInstance() {
+
+        if (instance == null) {
+            synchronized (OutboundProvisioningExecutor.class) {
+                if (instance == null) {
+                    instance = new OutboundProvisioningExecutor(
+                            getPositiveIntProperty(EXECUTOR_POOL_SIZE, DEFAULT_POOL_SIZE),
+                            getPositiveIntProperty(EXECUTOR_MAX_CONCURRENT_TASKS_PER_CONNECTOR,
+                                    DEFAULT_MAX_CONCURRENT_TASKS_PER_CONNECTOR),
+                            getPositiveIntProperty(EXECUTOR_MAX_QUEUED_TASKS_PER_CONNECTOR,
+                                    DEFAULT_MAX_QUEUED_TASKS_PER_CONNECTOR),
+                            getNonNegativeIntProperty(RETRY_COUNT, DEFAULT_RETRY_COUNT),
+                            getNonNegativeIntProperty(RETRY_BACKOFF, (int) DEFAULT_RETRY_BACKOFF_IN_MILLIS),
+                            getNonNegativeIntProperty(RETRY_MAX_BACKOFF, (int) DEFAULT_RETRY_MAX_BACKOFF_IN_MILLIS));
+                    IdentityMBeanUtil.registerMBean(MBEAN_TYPE, MBEAN_NAME, instance,
+                            OutboundProvisioningExecutorMXBean.class);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Shut down the executor of the node, if it has been created. Operations which have not started are discarded.
+     */
+    public static void shutdownInstance() {
+
+        synchronized (OutboundProvisioningExecutor.class) {
+            if (instance != null) {
+                IdentityMBeanUtil.unregisterMBean(MBEAN_TYPE, MBEAN_NAME);
+                instance.shutdown();
+                instance = null;
+            }
+        }
+    }
+
+    /**
+     * Queue an outbound provisioning operation, which is not ordered with respect to the other operations.
+     *
+     * @param tenantDomain  Tenant domain of the identity provider.
+     * @param idPName       Name of the identity provider.
+     * @param connectorType Type of the provisioning connector.
+     * @param task          Provisioning operation, which returns true if it succeeds.
+     * @return False if the operation is rejected, since the queue of the connector is full.
+     */
+    public boolean submit(String tenantDomain, String idPName, String connectorType, Callable<Boolean> task) {
+
+        return submit(tenantDomain, idPName, connectorType, null, task);
+    }
+
+    /**
+     * Queue an outbound provisioning operation of an entity. The operation runs once the operations of the entity
+     * which were submitted earlier to the same connector have finished.
+     *
+     * @param tenantDomain  Tenant domain of the identity provider.
+     * @param idPName       Name of the identity provider.
+     * @param connectorType Type of the provisioning connector.
+     * @param entityKey     Key which identifies the provisioned entity. If null, the operation is not ordered.
+     * @param task          Provisioning operation, which returns true if it succeeds.
+     * @return False if the operation is rejected, since the queue of the connector is full.
+     */
+    public boolean submit(String tenantDomain, String idPName, String connectorType, String entityKey,
+                          Callable<Boolean> task) {
+
+        ConnectorQueue connectorQueue = connectorQueues.computeIfAbsent(
+                tenantDomain + ":" + idPName + ":" + connectorType,
+                key -> new ConnectorQueue(tenantDomain, idPName, connectorType));
+        return connectorQueue.offer(new ProvisioningTask(entityKey, task));
+    }
+
+    @Override
+    public List<ProvisioningConnectorStats> getConnectorStats() {
+
+        List<ProvisioningConnectorStats> connectorStats = new ArrayList<>(connectorQueues.size());
+        for (ConnectorQueue connectorQueue : connectorQueues.values()) {
+            connectorStats.add(connectorQueue.getStats());
+        }
+        return connectorStats;
+    }
+
+    void shutdown() {
+
+        retryScheduler.shutdownNow();
+        executorService.shutdown();
+        try {
+            if (!executorService.awaitTermination(SHUTDOWN_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS)) {
+                executorService.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executorService.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        for (ConnectorQueue connectorQueue : connectorQueues.values()) {
+            int discardedTasks = connectorQueue.clear();
+            if (discardedTasks > 0) {
+                log.warn("Discarded " + discardedTasks + " pending outbound provisioning operations of identity " +
+                        "provider: " + connectorQueue.idPName + " in tenant: " + connectorQueue.tenantDomain);
+            }
+        }
+    }
+
+    private long getRetryDelay(int attempt) {
+
+        // Full jitter: a random delay up to the exponential back-off, so that retries of a burst spread out.
+        long backoff = retryBackoffInMillis << Math.min(attempt, 30);
+        if (backoff <= 0 || backoff > retryMaxBackoffInMillis) {
+            backoff = retryMaxBackoffInMillis;
+        }
+        return ThreadLocalRandom.current().nextLong(backoff + 1);
+    }
+
+    private static int getPositiveIntProperty(String property, int defaultValue) {
+
+        int value = getNonNegativeIntProperty(property, defaultValue);
+        return value > 0 ? value : defaultValue;
+    }
+
+    private static int getNonNegativeIntProperty(String property, int defaultValue) {
+
+        String value = IdentityUtil.getProperty(property);
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+        try {
+            int intValue = Integer.parseInt(value.trim());
+            if (intValue >= 0) {
+                return intValue;
+            }
+        } catch (NumberFormatException e) {
+            // Fall through to the default value.
+        }
+        log.warn("Invalid value: " + value + " configured for: " + property + ". Using the default value: " +
+                defaultValue);
+        return defaultValue;
+    }
+
+    /**
+     * Queue of the operations of a provisioning connector.
+     * <p>
+     * The operations are kept in a lane per entity. The operation at the head of a lane is either waiting to run,
+     * running or backing off before a retry, and the lane is ready to run its head only in the first case. Ready lanes
+     * are run in the order they became ready.
+     */
+    private final class ConnectorQueue {
+
+        private final String tenantDomain;
+        private final String idPName;
+        private final String connectorType;
+        private final Map<String, Deque<ProvisioningTask>> entityLanes = new HashMap<>();
+        private final Deque<String> readyLanes = new ArrayDeque<>();
+        private int pendingTasks;
+        private int runningTasks;
+        private long unorderedTaskCount;
+        private final AtomicInteger backingOffTasks = new AtomicInteger();
+
+        private final LongAdder succeededTasks = new LongAdder();
+        private final LongAdder failedTasks = new LongAdder();
+        private final LongAdder retriedTasks = new LongAdder();
+        private final LongAdder rejectedTasks = new LongAdder();
+        private final LongAdder startedTasks = new LongAdder();
+        private final LongAdder finishedTasks = new LongAdder();
+        private final LongAdder totalQueueTimeInNanos = new LongAdder();
+        private final LongAdder totalExecutionTimeInNanos = new LongAdder();
+
+        private ConnectorQueue(String tenantDomain, String idPName, String connectorType) {
+
+            this.tenantDomain = tenantDomain;
+            this.idPName = idPName;
+            this.connectorType = connectorType;
+        }
+
+        private boolean offer(ProvisioningTask task) {
+
+            synchronized (this) {
+                if (pendingTasks >= maxQueuedTasksPerConnector) {
+                    rejectedTasks.increment();
+                    return false;
+                }
+                if (task.entityKey == null) {
+                    // An unordered operation has a lane of its own.
+                    task.entityKey = "#" + unorderedTaskCount++;
+                }
+                task.queuedAt = System.nanoTime();
+                pendingTasks++;
+                Deque<ProvisioningTask> lane = entityLanes.get(task.entityKey);
+                if (lane == null) {
+                    lane = new ArrayDeque<>();
+                    entityLanes.put(task.entityKey, lane);
+                    readyLanes.addLast(task.entityKey);
+                }
+                lane.addLast(task);
+            }
+            dispatch();
+            return true;
+        }
+
+        private void retry(ProvisioningTask task) {
+
+            synchronized (this) {
+                // Retries are not rejected, as they were accepted once already. The task is still at the head of
+                // its lane.
+                if (!entityLanes.containsKey(task.entityKey)) {
+                    return;
+                }
+                task.queuedAt = System.nanoTime();
+                pendingTasks++;
+                readyLanes.addLast(task.entityKey);
+            }
+            dispatch();
+        }
+
+        private synchronized void complete(ProvisioningTask task) {
+
+            Deque<ProvisioningTask> lane = entityLanes.get(task.entityKey);
+            if (lane != null) {
+                lane.pollFirst();
+                if (lane.isEmpty()) {
+                    entityLanes.remove(task.entityKey);
+                } else {
+                    readyLanes.addLast(task.entityKey);
+                }
+            }
+        }
+
+        private synchronized void dispatch() {
+
+            while (runningTasks < maxConcurrentTasksPerConnector && !readyLanes.isEmpty()) {
+                ProvisioningTask task = entityLanes.get(readyLanes.pollFirst()).peekFirst();
+                try {
+                    executorService.execute(() -> run(task));
+                    runningTasks++;
+                    pendingTasks--;
+                } catch (RejectedExecutionException e) {
+                    log.warn("Outbound provisioning executor is shut down. Discarding " + pendingTasks +
+                            " operations of identity provider: " + idPName + " in tenant: " + tenantDomain);
+                    clear();
+                }
+            }
+        }
+
+        private void run(ProvisioningTask task) {
+
+            long startedAt = System.nanoTime();
+            startedTasks.increment();
+            totalQueueTimeInNanos.add(startedAt - task.queuedAt);
+            boolean success = false;
+            try {
+                success = Boolean.TRUE.equals(task.callable.call());
+            } catch (Exception e) {
+                task.lastFailure = e;
+                if (log.isDebugEnabled()) {
+                    log.debug("Outbound provisioning operation of identity provider: " + idPName + " in tenant: " +
+                            tenantDomain + " failed. Attempt: " + (task.attempt + 1), e);
+                }
+            } finally {
+                totalExecutionTimeInNanos.add(System.nanoTime() - startedAt);
+                finishedTasks.increment();
+                synchronized (this) {
+                    runningTasks--;
+                }
+            }
+            if (success) {
+                succeededTasks.increment();
+                complete(task);
+            } else {
+                handleFailure(task);
+            }
+            dispatch();
+        }
+
+        private void handleFailure(ProvisioningTask task) {
+
+            if (task.attempt < retryCount) {
+                long delay = getRetryDelay(task.attempt);
+                task.attempt++;
+                backingOffTasks.incrementAndGet();
+                try {
+                    retryScheduler.schedule(() -> {
+                        backingOffTasks.decrementAndGet();
+                        retry(task);
+                    }, delay, TimeUnit.MILLISECONDS);
+                    retriedTasks.increment();
+                    if (log.isDebugEnabled()) {
+                        log.debug("Retrying the outbound provisioning operation of identity provider: " + idPName +
+                                " in tenant: " + tenantDomain + " in " + delay + " ms. Attempt: " + task.attempt);
+                    }
+                    return;
+                } catch (RejectedExecutionException e) {
+                    // The executor is shut down, hence the operation is not retried.
+                    backingOffTasks.decrementAndGet();
+                }
+            }
+            failedTasks.increment();
+            log.error("Outbound provisioning operation of identity provider: " + idPName + " with connector: " +
+                    connectorType + " in tenant: " + tenantDomain + " failed after " + (task.attempt + 1) +
+                    " attempt(s).", task.lastFailure);
+            complete(task);
+        }
+
+        private synchronized int clear() {
+
+            int discardedTasks = pendingTasks;
+            pendingTasks = 0;
+            entityLanes.clear();
+            readyLanes.clear();
+            return discardedTasks;
+        }
+
+        private ProvisioningConnectorStats getStats() {
+
+            int queueDepth;
+            int running;
+            synchronized (this) {
+                queueDepth = pendingTasks + backingOffTasks.get();
+                running = runningTasks;
+            }
+            return new ProvisioningConnectorStats(tenantDomain, idPName, connectorType, queueDepth, running,
+                    succeededTasks.sum(), failedTasks.sum(), retriedTasks.sum(), rejectedTasks.sum(),
+                    average(totalQueueTimeInNanos.sum(), startedTasks.sum()),
+                    average(totalExecutionTimeInNanos.sum(), finishedTasks.sum()));
+        }
+
+        private long average(long totalTimeInNanos, long count) {
+
+            return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalTimeInNanos / count);
+        }
+    }
+
+    /**
+     * Provisioning operation along with its retry state.
+     */
+    private static final class ProvisioningTask {
+
+        private final Callable<Boolean> callable;
+        private String entityKey;
+        private int attempt;
+        private long queuedAt;
+        private Exception lastFailure;
+
+        private ProvisioningTask(String entityKey, Callable<Boolean> callable) {
+
+            this.entityKey = entityKey;
+            this.callable = callable;
+        }
+    }
+
+    /**
+     * Thread factory which names the threads of the executor.
+     */
+    private static final class ProvisioningThreadFactory implements ThreadFactory {
+
+        private final String namePrefix;
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        private ProvisioningThreadFactory(String namePrefix) {
+
+            this.namePrefix = namePrefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+
+            return new Thread(runnable, namePrefix + "-" + threadCount.incrementAndGet());
+        }
+    }
+}
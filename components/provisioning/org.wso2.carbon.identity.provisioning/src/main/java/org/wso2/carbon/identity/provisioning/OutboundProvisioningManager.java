@@ -19,7 +19,6 @@
 package org.wso2.carbon.identity.provisioning;
 
 import org.apache.commons.collections.CollectionUtils;
-import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang.ArrayUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
@@ -64,7 +63,6 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 import static org.wso2.carbon.identity.application.mgt.ApplicationConstants.CONSOLE_APPLICATION_NAME;
 import static org.wso2.carbon.identity.application.mgt.ApplicationConstants.LOCAL_SP;
@@ -386,12 +384,6 @@ public class OutboundProvisioningManager {
 
             ProvisioningEntity outboundProEntity;
 
-            ExecutorService executors = null;
-
-            if (MapUtils.isNotEmpty(connectors)) {
-                executors = Executors.newFixedThreadPool(connectors.size());
-            }
-
             for (Iterator<Entry<String, RuntimeProvisioningConfig>> iterator = connectors
                     .entrySet().iterator(); iterator.hasNext(); ) {
 
@@ -524,7 +516,8 @@ public class OutboundProvisioningManager {
                         outboundProEntity.setIdentifier(provisionedIdentifier);
                         outboundProEntity.setJitProvisioning(jitProvisioning);
                         boolean isBlocking = entry.getValue().isBlocking();
-                        executeOutboundProvisioning(provisioningEntity, executors, connectorType, idPName, proThread, isBlocking);
+                        executeOutboundProvisioning(provisioningEntity, spTenantDomainName, connectorType, idPName,
+                                proThread, isBlocking);
 
                     }
 
@@ -549,7 +542,8 @@ public class OutboundProvisioningManager {
                             outboundProEntity.setIdentifier(provisionedUserIdentifier);
                             outboundProEntity.setJitProvisioning(jitProvisioning);
                             boolean isBlocking = entry.getValue().isBlocking();
-                            executeOutboundProvisioning(provisioningEntity, executors, connectorType, idPName, proThread, isBlocking);
+                            executeOutboundProvisioning(provisioningEntity, spTenantDomainName, connectorType, idPName,
+                                    proThread, isBlocking);
                         }
                     }
 
@@ -585,16 +579,13 @@ public class OutboundProvisioningManager {
                                     connectorType);
                         }
                         if (isAllowed) {
-                            executeOutboundProvisioning(provisioningEntity, executors, connectorType, idPName, proThread, isBlocking);
+                            executeOutboundProvisioning(provisioningEntity, spTenantDomainName, connectorType, idPName,
+                                    proThread, isBlocking);
                         }
                     }
                 }
             }
 
-            if (executors != null) {
-                executors.shutdown();
-            }
-
         } catch (CarbonException | IdentityApplicationManagementException | IdentityProviderManagementException | UserStoreException e) {
             throw new IdentityProvisioningException("Error occurred while checking for user " +
                                                     "provisioning", e);
@@ -633,12 +624,22 @@ public class OutboundProvisioningManager {
         return true;
     }
 
-    private void executeOutboundProvisioning(ProvisioningEntity provisioningEntity, ExecutorService executors,
+    private void executeOutboundProvisioning(ProvisioningEntity provisioningEntity, String spTenantDomainName,
                                              String connectorType,
                                              String idPName, Callable<Boolean> proThread, boolean isBlocking)
             throws IdentityProvisioningException {
 
-        if (!isBlocking && needToWaitForUserProvisioning(provisioningEntity)) {
+        if (!isBlocking) {
+            if (!needToWaitForUserProvisioning(provisioningEntity)) {
+                if (OutboundProvisioningExecutor.getInstance().submit(spTenantDomainName, idPName, connectorType,
+                        getProvisioningEntityKey(provisioningEntity), proThread)) {
+                    return;
+                }
+                // The operation is never discarded. Running it on the calling thread also slows down the inbound
+                // operations until the connector catches up.
+                log.warn("Outbound provisioning queue of identity provider: " + idPName + " with connector: " +
+                        connectorType + " is full. Running the operation on the calling thread.");
+            }
             try {
                 boolean success = proThread.call();
                 if (!success) {
@@ -646,25 +647,20 @@ public class OutboundProvisioningManager {
                     //DO not roll back since non-blocking configuration was enabled.
                 }
             } catch (Exception e) {
-                handleException(idPName, connectorType, provisioningEntity, executors, e);
+                handleException(idPName, connectorType, provisioningEntity, e);
             }
-        } else if (!isBlocking) {
-            executors.submit(proThread);
         } else {
             try {
 
                 boolean success = proThread.call();
                 if (!success) {
-                    if (executors != null) {
-                        executors.shutdown();
-                    }
                     throw new IdentityProvisioningException
                             (generateMessageOnFailureProvisioningOperation(idPName,
                                                                            connectorType, provisioningEntity));
                     //DO Rollback
                 }
             } catch (Exception e) { //call() of Callable interface throws this exception
-                handleException(idPName, connectorType, provisioningEntity, executors, e);
+                handleException(idPName, connectorType, provisioningEntity, e);
             }
         }
     }
@@ -993,6 +989,20 @@ public class OutboundProvisioningManager {
         return UserCoreConstants.PRIMARY_DEFAULT_DOMAIN_NAME;
     }
 
+    /**
+     * introduce extendability for handling provisioning exceptions
+     *
+     * @param idPName
+     * @param connectorType
+     * @param provisioningEntity
+     * @param e
+     */
+    protected void handleException(String idPName, String connectorType, ProvisioningEntity provisioningEntity,
+                                   Exception e) {
+
+        log.error(generateMessageOnFailureProvisioningOperation(idPName, connectorType, provisioningEntity), e);
+    }
+
     /**
      * introduce extendability for handling provisioning exceptions
      *
@@ -1001,13 +1011,29 @@ public class OutboundProvisioningManager {
      * @param provisioningEntity
      * @param executors
      * @param e
+     * @deprecated Non-blocking operations are run by the {@link OutboundProvisioningExecutor} of the node, hence
+     * there is no executor of the request. Use {@link #handleException(String, String, ProvisioningEntity, Exception)}.
      */
+    @Deprecated
     protected void handleException(String idPName, String connectorType, ProvisioningEntity provisioningEntity,
                                    ExecutorService executors, Exception e) {
 
-        if (log.isDebugEnabled()) {
-            log.debug(generateMessageOnFailureProvisioningOperation(idPName, connectorType, provisioningEntity), e);
+        handleException(idPName, connectorType, provisioningEntity, e);
+    }
+
+    /**
+     * Key which identifies an entity among the operations of a provisioning connector, so that the operations of the
+     * entity are run in the order they were triggered.
+     *
+     * @param provisioningEntity Provisioning entity.
+     * @return Entity type and name, or null if the entity has no name, in which case the operation is not ordered.
+     */
+    private String getProvisioningEntityKey(ProvisioningEntity provisioningEntity) {
+
+        if (provisioningEntity.getEntityName() == null) {
+            return null;
         }
+        return provisioningEntity.getEntityType() + ":" + provisioningEntity.getEntityName();
     }
 
     /**
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.provisioning;
+
+/**
+ * Statistics of the outbound provisioning operations of a provisioning connector, as seen by the
+ * {@link OutboundProvisioningExecutor} of the node since it started.
+ */
+public class ProvisioningConnectorStats {
+
+    private final String tenantDomain;
+    private final String idPName;
+    private final String connectorType;
+    private final int queueDepth;
+    private final int runningTasks;
+    private final long succeededTasks;
+    private final long failedTasks;
+    private final long retriedTasks;
+    private final long rejectedTasks;
+    private final long averageQueueTimeInMillis;
+    private final long averageExecutionTimeInMillis;
+
+    public ProvisioningConnectorStats(String tenantDomain, String idPName, String connectorType, int queueDepth,
+                                      int runningTasks, long succeededTasks, long failedTasks, long retriedTasks,
+                                      long rejectedTasks, long averageQueueTimeInMillis,
+                                      long averageExecutionTimeInMillis) {
+
+        this.tenantDomain = tenantDomain;
+        this.idPName = idPName;
+        this.connectorType = connectorType;
+        this.queueDepth = queueDepth;
+        this.runningTasks = runningTasks;
+        this.succeededTasks = succeededTasks;
+        this.failedTasks = failedTasks;
+        this.retriedTasks = retriedTasks;
+        this.rejectedTasks = rejectedTasks;
+        this.averageQueueTimeInMillis = averageQueueTimeInMillis;
+        this.averageExecutionTimeInMillis = averageExecutionTimeInMillis;
+    }
+
+    public String getTenantDomain() {
+
+        return tenantDomain;
+    }
+
+    public String getIdPName() {
+
+        return idPName;
+    }
+
+    public String getConnectorType() {
+
+        return connectorType;
+    }
+
+    /**
+     * @return Number of operations waiting to run, including the operations waiting to be retried after a back-off.
+     */
+    public int getQueueDepth() {
+
+        return queueDepth;
+    }
+
+    public int getRunningTasks() {
+
+        return runningTasks;
+    }
+
+    public long getSucceededTasks() {
+
+        return succeededTasks;
+    }
+
+    /**
+     * @return Number of operations which failed in every attempt.
+     */
+    public long getFailedTasks() {
+
+        return failedTasks;
+    }
+
+    /**
+     * @return Number of retries scheduled for failed attempts.
+     */
+    public long getRetriedTasks() {
+
+        return retriedTasks;
+    }
+
+    /**
+     * @return Number of operations which were rejected, since the queue of the connector was full.
+     */
+    public long getRejectedTasks() {
+
+        return rejectedTasks;
+    }
+
+    public long getAverageQueueTimeInMillis() {
+
+        return averageQueueTimeInMillis;
+    }
+
+    public long getAverageExecutionTimeInMillis() {
+
+        return averageExecutionTimeInMillis;
+    }
+}
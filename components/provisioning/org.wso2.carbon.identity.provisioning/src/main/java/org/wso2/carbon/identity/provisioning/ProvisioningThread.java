@@ -114,7 +114,10 @@ public class ProvisioningThread implements Callable<Boolean> {
         } catch (Exception e) {
             String errMsg = " Provisioning for Entity " + provisioningEntity.getEntityName() +
                     " For operation = " + provisioningEntity.getOperation();
-            log.error(errMsg, e);
+            // The caller logs the failure, as a non-blocking operation may be retried.
+            if (log.isDebugEnabled()) {
+                log.debug(errMsg, e);
+            }
             throw new IdentityProvisioningException(errMsg, e);
         } finally {
             PrivilegedCarbonContext.endTenantFlow();
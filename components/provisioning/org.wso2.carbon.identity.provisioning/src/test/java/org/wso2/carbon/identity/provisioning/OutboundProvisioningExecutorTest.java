@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.provisioning;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for OutboundProvisioningExecutor test cases.
+ */
+public class OutboundProvisioningExecutorTest {
+
+    private static final String TENANT_DOMAIN = "carbon.super";
+    private static final String CONNECTOR_TYPE = "testConnectorType";
+
+    private OutboundProvisioningExecutor executor;
+
+    @AfterMethod
+    public void tearDown() {
+
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testConcurrentTasksAreBoundedPerConnector() throws Exception {
+
+        executor = new OutboundProvisioningExecutor(4, 1, 10, 0, 0, 0);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch slowIdPStarted = new CountDownLatch(1);
+        CountDownLatch otherIdPDone = new CountDownLatch(1);
+        AtomicInteger slowIdPStartedTasks = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            Assert.assertTrue(executor.submit(TENANT_DOMAIN, "slowIdP", CONNECTOR_TYPE, () -> {
+                slowIdPStartedTasks.incrementAndGet();
+                slowIdPStarted.countDown();
+                return release.await(10, TimeUnit.SECONDS);
+            }));
+        }
+        Assert.assertTrue(executor.submit(TENANT_DOMAIN, "otherIdP", CONNECTOR_TYPE, () -> {
+            otherIdPDone.countDown();
+            return true;
+        }));
+
+        Assert.assertTrue(slowIdPStarted.await(10, TimeUnit.SECONDS));
+        // A slow connector does not hold back the operations of other connectors.
+        Assert.assertTrue(otherIdPDone.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(slowIdPStartedTasks.get(), 1);
+        ProvisioningConnectorStats slowIdPStats = getStats("slowIdP");
+        Assert.assertEquals(slowIdPStats.getRunningTasks(), 1);
+        Assert.assertEquals(slowIdPStats.getQueueDepth(), 2);
+        release.countDown();
+    }
+
+    @Test
+    public void testTasksOfEntityRunInOrder() throws Exception {
+
+        executor = new OutboundProvisioningExecutor(4, 4, 10, 0, 0, 0);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch otherEntityDone = new CountDownLatch(1);
+        CountDownLatch entityDone = new CountDownLatch(3);
+        List<Integer> entityTasks = new CopyOnWriteArrayList<>();
+
+        for (int i = 0; i < 3; i++) {
+            int taskIndex = i;
+            Assert.assertTrue(executor.submit(TENANT_DOMAIN, "idP", CONNECTOR_TYPE, "USER:user1", () -> {
+                entityTasks.add(taskIndex);
+                boolean released = taskIndex != 0 || release.await(10, TimeUnit.SECONDS);
+                entityDone.countDown();
+                return released;
+            }));
+        }
+        Assert.assertTrue(executor.submit(TENANT_DOMAIN, "idP", CONNECTOR_TYPE, "USER:user2", () -> {
+            otherEntityDone.countDown();
+            return true;
+        }));
+
+        // The operations of another entity are not held back, while the later operations of the entity wait.
+        Assert.assertTrue(otherEntityDone.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(entityTasks, Collections.singletonList(0));
+        Assert.assertEquals(getStats("idP").getQueueDepth(), 2);
+
+        release.countDown();
+        Assert.assertTrue(entityDone.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(entityTasks, Arrays.asList(0, 1, 2));
+    }
+
+    @Test
+    public void testTaskIsRejectedWhenQueueIsFull() {
+
+        executor = new OutboundProvisioningExecutor(1, 1, 1, 0, 0, 0);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // The first operation runs, the second waits in the queue and the third is rejected.
+        Assert.assertTrue(executor.submit(TENANT_DOMAIN, "idP", CONNECTOR_TYPE,
+                () -> release.await(10, TimeUnit.SECONDS)));
+        Assert.assertTrue(executor.submit(TENANT_DOMAIN, "idP", CONNECTOR_TYPE, () -> true));
+        boolean rejected = !executor.submit(TENANT_DOMAIN, "idP", CONNECTOR_TYPE, () -> true);
+        release.countDown();
+
+        Assert.assertTrue(rejected);
+        Assert.assertEquals(getStats("idP").getRejectedTasks(), 1);
+    }
+
+    @Test
+    public void testFailedTaskIsRetried() throws Exception {
+
+        executor = new OutboundProvisioningExecutor(1, 1, 10, 2, 1, 5);
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch succeeded = new CountDownLatch(1);
+
+        executor.submit(TENANT_DOMAIN, "idP", CONNECTOR_TYPE, () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IdentityProvisioningException("Connector is unavailable.");
+            }
+            if (attempts.get() == 2) {
+                return false;
+            }
+            succeeded.countDown();
+            return true;
+        });
+
+        Assert.assertTrue(succeeded.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(attempts.get(), 3);
+        Assert.assertEquals(getStats("idP").getRetriedTasks(), 2);
+    }
+
+    @Test
+    public void testTaskFailsOnceRetriesAreExhausted() throws Exception {
+
+        executor = new OutboundProvisioningExecutor(1, 1, 10, 1, 1, 5);
+        AtomicInteger attempts = new AtomicInteger();
+
+        executor.submit(TENANT_DOMAIN, "idP", CONNECTOR_TYPE, () -> {
+            attempts.incrementAndGet();
+            return false;
+        });
+
+        long deadline = System.currentTimeMillis() + 10000;
+        while (getStats("idP").getFailedTasks() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(getStats("idP").getFailedTasks(), 1);
+        Assert.assertEquals(attempts.get(), 2);
+    }
+
+    @Test
+    public void testFailedTaskIsNotRetriedWithoutRetryCount() throws Exception {
+
+        executor = new OutboundProvisioningExecutor(1, 1, 10, 0, 1, 5);
+        AtomicInteger attempts = new AtomicInteger();
+
+        executor.submit(TENANT_DOMAIN, "idP", CONNECTOR_TYPE, () -> {
+            attempts.incrementAndGet();
+            throw new IdentityProvisioningException("Connector is unavailable.");
+        });
+
+        long deadline = System.currentTimeMillis() + 10000;
+        while (getStats("idP").getFailedTasks() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(getStats("idP").getFailedTasks(), 1);
+        Assert.assertEquals(getStats("idP").getRetriedTasks(), 0);
+        Assert.assertEquals(attempts.get(), 1);
+    }
+
+    private ProvisioningConnectorStats getStats(String idPName) {
+
+        List<ProvisioningConnectorStats> connectorStats = executor.getConnectorStats();
+        for (ProvisioningConnectorStats stats : connectorStats) {
+            if (idPName.equals(stats.getIdPName())) {
+                return stats;
+            }
+        }
+        Assert.fail("No statistics found for identity provider: " + idPName);
+        return null;
+    }
+}
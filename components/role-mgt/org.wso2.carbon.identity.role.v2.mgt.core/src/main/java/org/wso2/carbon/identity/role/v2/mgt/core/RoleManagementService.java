@@ -28,6 +28,7 @@ import org.wso2.carbon.identity.role.v2.mgt.core.model.RoleBasicInfo;
 import org.wso2.carbon.identity.role.v2.mgt.core.model.RoleDTO;
 import org.wso2.carbon.identity.role.v2.mgt.core.model.UserBasicInfo;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -331,6 +332,24 @@ public interface RoleManagementService {
      */
     String getRoleNameByRoleId(String roleId, String tenantDomain) throws IdentityRoleManagementException;
 
+    /**
+     * Get role names of the given role ids.
+     *
+     * @param roleIds      Role Ids.
+     * @param tenantDomain Tenant Domain.
+     * @return Map of role id to role name, in the order of the given role ids.
+     * @throws IdentityRoleManagementException If any of the roles does not exist, or an error occurs.
+     */
+    default Map<String, String> getRoleNamesByRoleIds(List<String> roleIds, String tenantDomain)
+            throws IdentityRoleManagementException {
+
+        Map<String, String> roleNames = new LinkedHashMap<>();
+        for (String roleId : roleIds) {
+            roleNames.put(roleId, getRoleNameByRoleId(roleId, tenantDomain));
+        }
+        return roleNames;
+    }
+
     /**
      * Get Role id by name.
      *
@@ -720,6 +720,13 @@ public class RoleManagementServiceImpl implements RoleManagementService {
         return roleDAO.getRoleNameByID(roleId, tenantDomain);
     }
 
+    @Override
+    public Map<String, String> getRoleNamesByRoleIds(List<String> roleIds, String tenantDomain)
+            throws IdentityRoleManagementException {
+
+        return roleDAO.getRoleNamesByIDs(roleIds, tenantDomain);
+    }
+
     @Override
     public String getRoleIdByName(String roleName, String audience, String audienceId, String tenantDomain)
             throws IdentityRoleManagementException {
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.role.v2.mgt.core.cache;
+
+import org.wso2.carbon.identity.core.cache.CacheKey;
+
+import java.util.Objects;
+
+/**
+ * Cache key used to access the ID of a role by the role name and the role audience.
+ */
+public class RoleNameCacheKey extends CacheKey {
+
+    private static final long serialVersionUID = -6203458517742961203L;
+    private final String roleName;
+    private final String audience;
+    private final String audienceId;
+
+    public RoleNameCacheKey(String roleName, String audience, String audienceId) {
+
+        this.roleName = roleName;
+        this.audience = audience;
+        this.audienceId = audienceId;
+    }
+
+    public String getRoleName() {
+
+        return roleName;
+    }
+
+    public String getAudience() {
+
+        return audience;
+    }
+
+    public String getAudienceId() {
+
+        return audienceId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (!super.equals(o)) {
+            return false;
+        }
+
+        RoleNameCacheKey that = (RoleNameCacheKey) o;
+        return Objects.equals(roleName, that.roleName) && Objects.equals(audience, that.audience) &&
+                Objects.equals(audienceId, that.audienceId);
+    }
+
+    @Override
+    public int hashCode() {
+
+        int result = super.hashCode();
+        result = 31 * result + Objects.hash(roleName, audience, audienceId);
+        return result;
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.role.v2.mgt.core.dao;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.role.v2.mgt.core.cache.RoleBasicInfoCacheById;
+import org.wso2.carbon.identity.role.v2.mgt.core.cache.RoleBasicInfoCacheEntry;
+import org.wso2.carbon.identity.role.v2.mgt.core.cache.RoleIdCacheByName;
+import org.wso2.carbon.identity.role.v2.mgt.core.cache.RoleIdCacheEntry;
+import org.wso2.carbon.identity.role.v2.mgt.core.cache.RoleIdCacheKey;
+import org.wso2.carbon.identity.role.v2.mgt.core.cache.RoleNameCacheKey;
+import org.wso2.carbon.identity.role.v2.mgt.core.exception.IdentityRoleManagementException;
+import org.wso2.carbon.identity.role.v2.mgt.core.model.RoleBasicInfo;
+import org.wso2.carbon.identity.role.v2.mgt.core.model.RoleDTO;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cached DAO layer for the role management. Role basic information by role ID and role IDs by role name and audience
+ * are cached, and the entries are invalidated by the operations of this DAO which rename or delete roles. Roles
+ * renamed or deleted through the user store manager or the role management v1 service are cleared from the caches by
+ * {@link org.wso2.carbon.identity.role.v2.mgt.core.listener.RoleCacheInvalidationListener} and
+ * {@link org.wso2.carbon.identity.role.v2.mgt.core.listener.RoleCacheInvalidationHandler}. Role existence checks
+ * guard the creation and the renaming of roles, hence they are always answered by the database.
+ * <p>
+ * Only roles which are found are cached. Hence, adding a role does not require any invalidation. The audience name of
+ * a role is owned by the application or the organization of the role, hence it is not cached and is resolved on each
+ * read.
+ */
+public class CacheBackedRoleDAO extends RoleDAOImpl {
+
+    private static final Log LOG = LogFactory.getLog(CacheBackedRoleDAO.class);
+
+    private final RoleBasicInfoCacheById roleBasicInfoCacheById = RoleBasicInfoCacheById.getInstance();
+    private final RoleIdCacheByName roleIdCacheByName = RoleIdCacheByName.getInstance();
+
+    @Override
+    public RoleBasicInfo getRoleBasicInfoById(String roleId, String tenantDomain)
+            throws IdentityRoleManagementException {
+
+        RoleIdCacheKey cacheKey = new RoleIdCacheKey(roleId);
+        RoleBasicInfoCacheEntry cacheEntry = roleBasicInfoCacheById.getValueFromCache(cacheKey, tenantDomain);
+        if (cacheEntry != null) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Cache hit for role basic info of role id: " + roleId + " in tenant: " + tenantDomain);
+            }
+            RoleBasicInfo roleBasicInfo = cacheEntry.getRoleBasicInfo();
+            roleBasicInfo.setAudienceName(getAudienceName(roleBasicInfo.getAudience(),
+                    roleBasicInfo.getAudienceId(), tenantDomain));
+            return roleBasicInfo;
+        }
+        RoleBasicInfo roleBasicInfo = super.getRoleBasicInfoById(roleId, tenantDomain);
+        roleBasicInfoCacheById.addToCache(cacheKey, new RoleBasicInfoCacheEntry(roleBasicInfo), tenantDomain);
+        return roleBasicInfo;
+    }
+
+    @Override
+    public String getRoleNameByID(String roleId, String tenantDomain) throws IdentityRoleManagementException {
+
+        RoleBasicInfoCacheEntry cacheEntry = roleBasicInfoCacheById.getValueFromCache(new RoleIdCacheKey(roleId),
+                tenantDomain);
+        if (cacheEntry != null) {
+            return cacheEntry.getName();
+        }
+        return super.getRoleNameByID(roleId, tenantDomain);
+    }
+
+    @Override
+    public Map<String, String> getRoleNamesByIDs(List<String> roleIds, String tenantDomain)
+            throws IdentityRoleManagementException {
+
+        Map<String, String> cachedRoleNames = new HashMap<>();
+        List<String> uncachedRoleIds = new ArrayList<>();
+        for (String roleId : roleIds) {
+            RoleBasicInfoCacheEntry cacheEntry = roleBasicInfoCacheById.getValueFromCache(new RoleIdCacheKey(roleId),
+                    tenantDomain);
+            if (cacheEntry != null) {
+                cachedRoleNames.put(roleId, cacheEntry.getName());
+            } else {
+                uncachedRoleIds.add(roleId);
+            }
+        }
+        // Role names are not cached on their own, as the cache entries also hold the audience of the role.
+        Map<String, String> loadedRoleNames = uncachedRoleIds.isEmpty() ? Collections.emptyMap() :
+                super.getRoleNamesByIDs(uncachedRoleIds, tenantDomain);
+        Map<String, String> roleNames = new LinkedHashMap<>();
+        for (String roleId : roleIds) {
+            String roleName = cachedRoleNames.get(roleId);
+            roleNames.put(roleId, roleName != null ? roleName : loadedRoleNames.get(roleId));
+        }
+        return roleNames;
+    }
+
+    @Override
+    public String getRoleIdByName(String roleName, String audience, String audienceId, String tenantDomain)
+            throws IdentityRoleManagementException {
+
+        RoleNameCacheKey cacheKey = new RoleNameCacheKey(roleName, audience, audienceId);
+        RoleIdCacheEntry cacheEntry = roleIdCacheByName.getValueFromCache(cacheKey, tenantDomain);
+        if (cacheEntry != null) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Cache hit for role id of role: " + roleName + " in tenant: " + tenantDomain);
+            }
+            return cacheEntry.getRoleId();
+        }
+        String roleId = super.getRoleIdByName(roleName, audience, audienceId, tenantDomain);
+        roleIdCacheByName.addToCache(cacheKey, new RoleIdCacheEntry(roleId), tenantDomain);
+        return roleId;
+    }
+
+    @Override
+    public void updateRoleName(String roleId, String newRoleName, String tenantDomain)
+            throws IdentityRoleManagementException {
+
+        List<RoleDTO> sharedRoles = getSharedHybridRoles(roleId, IdentityTenantUtil.getTenantId(tenantDomain));
+        try {
+            super.updateRoleName(roleId, newRoleName, tenantDomain);
+        } finally {
+            clearRoleCaches(roleId, sharedRoles, tenantDomain);
+        }
+    }
+
+    @Override
+    public void deleteRole(String roleId, String tenantDomain) throws IdentityRoleManagementException {
+
+        List<RoleDTO> sharedRoles = getSharedHybridRoles(roleId, IdentityTenantUtil.getTenantId(tenantDomain));
+        try {
+            super.deleteRole(roleId, tenantDomain);
+        } finally {
+            clearRoleCaches(roleId, sharedRoles, tenantDomain);
+        }
+    }
+
+    @Override
+    public void deleteRolesByApplication(String applicationId, String tenantDomain)
+            throws IdentityRoleManagementException {
+
+        try {
+            super.deleteRolesByApplication(applicationId, tenantDomain);
+        } finally {
+            roleBasicInfoCacheById.clear(tenantDomain);
+            roleIdCacheByName.clear(tenantDomain);
+        }
+    }
+
+    /**
+     * Clear the cache entries of a role and of the roles shared from it. Role names are matched by the database
+     * depending on its collation, hence a role may be cached under more than one name, and all the role IDs cached by
+     * name are cleared for the tenants of the roles.
+     *
+     * @param roleId       Role ID.
+     * @param sharedRoles  Roles shared from the role.
+     * @param tenantDomain Tenant domain of the role.
+     */
+    private void clearRoleCaches(String roleId, List<RoleDTO> sharedRoles, String tenantDomain) {
+
+        roleBasicInfoCacheById.clearCacheEntry(new RoleIdCacheKey(roleId), tenantDomain);
+        roleIdCacheByName.clear(tenantDomain);
+        if (sharedRoles == null) {
+            return;
+        }
+        for (RoleDTO sharedRole : sharedRoles) {
+            roleBasicInfoCacheById.clearCacheEntry(new RoleIdCacheKey(sharedRole.getId()), sharedRole.getTenantId());
+            roleIdCacheByName.clear(sharedRole.getTenantId());
+        }
+    }
+}
@@ -29,6 +29,7 @@ import org.wso2.carbon.identity.role.v2.mgt.core.model.RoleBasicInfo;
 import org.wso2.carbon.identity.role.v2.mgt.core.model.RoleDTO;
 import org.wso2.carbon.identity.role.v2.mgt.core.model.UserBasicInfo;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -275,6 +276,24 @@ public interface RoleDAO {
      */
     String getRoleNameByID(String roleId, String tenantDomain) throws IdentityRoleManagementException;
 
+    /**
+     * Retrieve the role names of the given IDs.
+     *
+     * @param roleIds      Role IDs.
+     * @param tenantDomain tenant domain.
+     * @return Map of role ID to role name, in the order of the given role IDs.
+     * @throws IdentityRoleManagementException If any of the roles does not exist, or an error occurs.
+     */
+    default Map<String, String> getRoleNamesByIDs(List<String> roleIds, String tenantDomain)
+            throws IdentityRoleManagementException {
+
+        Map<String, String> roleNames = new LinkedHashMap<>();
+        for (String roleId : roleIds) {
+            roleNames.put(roleId, getRoleNameByID(roleId, tenantDomain));
+        }
+        return roleNames;
+    }
+
     /**
      * Get Role id by name.
      *
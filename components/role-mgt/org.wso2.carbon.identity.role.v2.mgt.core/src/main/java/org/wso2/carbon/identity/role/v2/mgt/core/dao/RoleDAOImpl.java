@@ -76,6 +76,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -177,6 +178,7 @@ import static org.wso2.carbon.identity.role.v2.mgt.core.dao.SQLQueries.GET_ROLE_
 import static org.wso2.carbon.identity.role.v2.mgt.core.dao.SQLQueries.GET_ROLE_LIST_OF_GROUP_SQL;
 import static org.wso2.carbon.identity.role.v2.mgt.core.dao.SQLQueries.GET_ROLE_LIST_OF_IDP_GROUPS_SQL;
 import static org.wso2.carbon.identity.role.v2.mgt.core.dao.SQLQueries.GET_ROLE_LIST_OF_USER_SQL;
+import static org.wso2.carbon.identity.role.v2.mgt.core.dao.SQLQueries.GET_ROLE_NAMES_BY_IDS_SQL;
 import static org.wso2.carbon.identity.role.v2.mgt.core.dao.SQLQueries.GET_ROLE_NAME_BY_ID_SQL;
 import static org.wso2.carbon.identity.role.v2.mgt.core.dao.SQLQueries.GET_ROLE_SCOPE_NAMES_SQL;
 import static org.wso2.carbon.identity.role.v2.mgt.core.dao.SQLQueries.GET_ROLE_SCOPE_SQL;
@@ -210,6 +212,8 @@ public class RoleDAOImpl implements RoleDAO {
     private static final String GROUPS = "groups";
     private static final String PERMISSIONS = "permissions";
     private static final String ASSOCIATED_APPLICATIONS = "associatedApplications";
+    // Keeps the IN clause of bulk role lookups within the limits of all the supported databases.
+    private static final int MAX_ROLE_IDS_PER_QUERY = 500;
 
     @Override
     public RoleBasicInfo addRole(String roleName, List<String> userList, List<String> groupList,
@@ -981,6 +985,7 @@ public class RoleDAOImpl implements RoleDAO {
         String nameWithoutDomain = UserCoreUtil.removeDomainFromName(userName);
         int tenantId = IdentityTenantUtil.getTenantId(tenantDomain);
         List<RoleBasicInfo> roles = new ArrayList<>();
+        Map<String, String> organizationNames = new HashMap<>();
         try (Connection connection = IdentityDatabaseUtil.getUserDBConnection(false);
              NamedPreparedStatement statement = new NamedPreparedStatement(connection, GET_ROLE_LIST_OF_USER_SQL)) {
 
@@ -996,12 +1001,12 @@ public class RoleDAOImpl implements RoleDAO {
                     RoleBasicInfo roleBasicInfo = new RoleBasicInfo(roleId, roleName);
                     roleBasicInfo.setAudience(audience);
                     roleBasicInfo.setAudienceId(audienceId);
-                    roleBasicInfo.setAudienceName(getAudienceName(audience, audienceId, tenantDomain));
+                    roleBasicInfo.setAudienceName(getAudienceName(audience, audienceId, organizationNames));
                     roles.add(roleBasicInfo);
                 }
             }
             if (!isOrganization(tenantDomain)) {
-                roles.add(getEveryOneRole(tenantDomain));
+                roles.add(getEveryOneRole(tenantDomain, organizationNames));
             }
         } catch (SQLException e) {
             String errorMessage =
@@ -1038,19 +1043,21 @@ public class RoleDAOImpl implements RoleDAO {
     /**
      * Get everyone role basic info.
      *
-     * @param tenantDomain Tenant domain.
+     * @param tenantDomain      Tenant domain.
+     * @param organizationNames Organization names resolved by the caller, keyed by organization ID.
      * @return basic info of every one role.
      * @throws IdentityRoleManagementException if error occurred while retrieving everyone role.
      */
-    private RoleBasicInfo getEveryOneRole(String tenantDomain) throws IdentityRoleManagementException {
+    private RoleBasicInfo getEveryOneRole(String tenantDomain, Map<String, String> organizationNames)
+            throws IdentityRoleManagementException {
 
         String everyOneRoleName = getEveryOneRoleName(tenantDomain);
         String orgId = getOrganizationId(tenantDomain);
         String roleId = getRoleIdByName(everyOneRoleName, ORGANIZATION, orgId, tenantDomain);
         RoleBasicInfo roleBasicInfo = new RoleBasicInfo(roleId, everyOneRoleName);
         roleBasicInfo.setAudience(ORGANIZATION);
-        roleBasicInfo.setAudienceId(getOrganizationId(tenantDomain));
-        roleBasicInfo.setAudienceName(getOrganizationName(orgId));
+        roleBasicInfo.setAudienceId(orgId);
+        roleBasicInfo.setAudienceName(getAudienceName(ORGANIZATION, orgId, organizationNames));
         return roleBasicInfo;
     }
 
@@ -1085,6 +1092,7 @@ public class RoleDAOImpl implements RoleDAO {
         }
         int tenantId = IdentityTenantUtil.getTenantId(tenantDomain);
         List<RoleBasicInfo> roles = new ArrayList<>();
+        Map<String, String> organizationNames = new HashMap<>();
         try (Connection connection = IdentityDatabaseUtil.getUserDBConnection(false);
              NamedPreparedStatement statement = new NamedPreparedStatement(connection, GET_ROLE_LIST_OF_GROUP_SQL)) {
             for (String groupName : groupNamesList) {
@@ -1108,7 +1116,7 @@ public class RoleDAOImpl implements RoleDAO {
                         RoleBasicInfo roleBasicInfo = new RoleBasicInfo(roleId, roleName);
                         roleBasicInfo.setAudience(audience);
                         roleBasicInfo.setAudienceId(audienceId);
-                        roleBasicInfo.setAudienceName(getAudienceName(audience, audienceId, tenantDomain));
+                        roleBasicInfo.setAudienceName(getAudienceName(audience, audienceId, organizationNames));
                         roles.add(roleBasicInfo);
                     }
                 }
@@ -1130,6 +1138,7 @@ public class RoleDAOImpl implements RoleDAO {
 
         int tenantId = IdentityTenantUtil.getTenantId(tenantDomain);
         List<RoleBasicInfo> roles = new ArrayList<>();
+        Map<String, String> organizationNames = new HashMap<>();
         try (Connection connection = IdentityDatabaseUtil.getUserDBConnection(false);
              NamedPreparedStatement statement = new NamedPreparedStatement(connection,
                      GET_ROLE_LIST_OF_IDP_GROUPS_SQL)) {
@@ -1145,7 +1154,7 @@ public class RoleDAOImpl implements RoleDAO {
                         RoleBasicInfo roleBasicInfo = new RoleBasicInfo(roleId, roleName);
                         roleBasicInfo.setAudience(audience);
                         roleBasicInfo.setAudienceId(audienceId);
-                        roleBasicInfo.setAudienceName(getAudienceName(audience, audienceId, tenantDomain));
+                        roleBasicInfo.setAudienceName(getAudienceName(audience, audienceId, organizationNames));
                         roles.add(roleBasicInfo);
                     }
                 }
@@ -2286,7 +2295,7 @@ public class RoleDAOImpl implements RoleDAO {
      * @return role audience name.
      * @throws IdentityRoleManagementException IdentityRoleManagementException.
      */
-    private String getAudienceName(String audience, String audienceId, String tenantDomain)
+    protected String getAudienceName(String audience, String audienceId, String tenantDomain)
             throws IdentityRoleManagementException {
 
         if (ORGANIZATION.equalsIgnoreCase(audience)) {
@@ -2295,6 +2304,30 @@ public class RoleDAOImpl implements RoleDAO {
         return null;
     }
 
+    /**
+     * Get Role Audience name. Roles of a list mostly share a few audiences, hence the organization names are resolved
+     * once per organization and reused for the rest of the list.
+     *
+     * @param audience          Audience.
+     * @param audienceId        Audience ID.
+     * @param organizationNames Organization names resolved for the list so far, keyed by organization ID.
+     * @return role audience name.
+     * @throws IdentityRoleManagementException IdentityRoleManagementException.
+     */
+    private String getAudienceName(String audience, String audienceId, Map<String, String> organizationNames)
+            throws IdentityRoleManagementException {
+
+        if (!ORGANIZATION.equalsIgnoreCase(audience)) {
+            return null;
+        }
+        if (organizationNames.containsKey(audienceId)) {
+            return organizationNames.get(audienceId);
+        }
+        String organizationName = getOrganizationName(audienceId);
+        organizationNames.put(audienceId, organizationName);
+        return organizationName;
+    }
+
     /**
      * Get organization name.
      *
@@ -2578,6 +2611,7 @@ public class RoleDAOImpl implements RoleDAO {
             }
         }
 
+        Map<String, String> organizationNames = new HashMap<>();
         for (RoleDTO roleDTO : roleDTOs) {
             RoleBasicInfo roleBasicInfo = new RoleBasicInfo(roleDTO.getId(), removeInternalDomain(roleDTO.getName()));
             RoleAudience roleAudience = roleDTO.getRoleAudience();
@@ -2585,7 +2619,7 @@ public class RoleDAOImpl implements RoleDAO {
                 roleBasicInfo.setAudience(roleAudience.getAudience());
                 roleBasicInfo.setAudienceId(roleAudience.getAudienceId());
                 roleBasicInfo.setAudienceName(getAudienceName(roleAudience.getAudience(),
-                        roleAudience.getAudienceId(), tenantDomain));
+                        roleAudience.getAudienceId(), organizationNames));
             }
             roles.add(roleBasicInfo);
         }
@@ -2630,6 +2664,49 @@ public class RoleDAOImpl implements RoleDAO {
         return removeInternalDomain(roleName);
     }
 
+    @Override
+    public Map<String, String> getRoleNamesByIDs(List<String> roleIds, String tenantDomain)
+            throws IdentityRoleManagementException {
+
+        int tenantId = IdentityTenantUtil.getTenantId(tenantDomain);
+        Map<String, String> roleNamesById = new HashMap<>();
+        try (Connection connection = IdentityDatabaseUtil.getUserDBConnection(false)) {
+            for (int from = 0; from < roleIds.size(); from += MAX_ROLE_IDS_PER_QUERY) {
+                List<String> roleIdsOfQuery = roleIds.subList(from,
+                        Math.min(from + MAX_ROLE_IDS_PER_QUERY, roleIds.size()));
+                String query = GET_ROLE_NAMES_BY_IDS_SQL + String.join(", ",
+                        Collections.nCopies(roleIdsOfQuery.size(), "?")) + ")";
+                try (NamedPreparedStatement statement = new NamedPreparedStatement(connection, query)) {
+                    statement.setInt(1, tenantId);
+                    for (int i = 0; i < roleIdsOfQuery.size(); i++) {
+                        statement.setString(i + 2, roleIdsOfQuery.get(i));
+                    }
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            roleNamesById.put(resultSet.getString(1), removeInternalDomain(resultSet.getString(2)));
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            String errorMessage = "Error while resolving the role names for the given role IDs: " +
+                    StringUtils.join(roleIds, ", ") + " and tenantDomain: " + tenantDomain;
+            throw new IdentityRoleManagementServerException(UNEXPECTED_SERVER_ERROR.getCode(), errorMessage, e);
+        }
+
+        Map<String, String> roleNames = new LinkedHashMap<>();
+        for (String roleId : roleIds) {
+            String roleName = roleNamesById.get(roleId);
+            if (roleName == null) {
+                String errorMessage = "A role doesn't exist with id: " + roleId + " in the tenantDomain: " +
+                        tenantDomain;
+                throw new IdentityRoleManagementClientException(ROLE_NOT_FOUND.getCode(), errorMessage);
+            }
+            roleNames.put(roleId, roleName);
+        }
+        return roleNames;
+    }
+
     @Override
     public String getRoleIdByName(String roleName, String audience, String audienceId, String tenantDomain)
             throws IdentityRoleManagementException {
@@ -29,7 +29,7 @@ public class RoleMgtDAOFactory {
 
     private RoleMgtDAOFactory() {
 
-        this.roleDAO = new RoleDAOImpl();
+        this.roleDAO = new CacheBackedRoleDAO();
         this.groupDAO = new GroupDAOImpl();
     }
 
@@ -29,13 +29,17 @@ import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
 import org.wso2.carbon.identity.api.resource.mgt.APIResourceManager;
+import org.wso2.carbon.identity.event.handler.AbstractEventHandler;
 import org.wso2.carbon.identity.event.services.IdentityEventService;
 import org.wso2.carbon.identity.organization.management.service.OrganizationManager;
 import org.wso2.carbon.identity.role.v2.mgt.core.RoleManagementService;
 import org.wso2.carbon.identity.role.v2.mgt.core.RoleManagementServiceImpl;
+import org.wso2.carbon.identity.role.v2.mgt.core.listener.RoleCacheInvalidationHandler;
+import org.wso2.carbon.identity.role.v2.mgt.core.listener.RoleCacheInvalidationListener;
 import org.wso2.carbon.identity.role.v2.mgt.core.listener.RoleManagementListener;
 import org.wso2.carbon.identity.role.v2.mgt.core.listener.RoleManagementV2AuditLogger;
 import org.wso2.carbon.idp.mgt.IdpManager;
+import org.wso2.carbon.user.core.listener.UserOperationEventListener;
 import org.wso2.carbon.user.core.service.RealmService;
 
 /**
@@ -54,6 +58,8 @@ public class RoleManagementServiceComponent {
             BundleContext bundleContext = context.getBundleContext();
             bundleContext.registerService(RoleManagementService.class, new RoleManagementServiceImpl(), null);
             bundleContext.registerService(RoleManagementListener.class, new RoleManagementV2AuditLogger(), null);
+            bundleContext.registerService(UserOperationEventListener.class, new RoleCacheInvalidationListener(), null);
+            bundleContext.registerService(AbstractEventHandler.class, new RoleCacheInvalidationHandler(), null);
 
             log.debug("Role V2 management service is activated.");
         } catch (Throwable e) {
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.role.v2.mgt.core.listener;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.event.IdentityEventConstants;
+import org.wso2.carbon.identity.event.IdentityEventException;
+import org.wso2.carbon.identity.event.event.Event;
+import org.wso2.carbon.identity.event.handler.AbstractEventHandler;
+import org.wso2.carbon.identity.role.v2.mgt.core.cache.RoleBasicInfoCacheById;
+import org.wso2.carbon.identity.role.v2.mgt.core.cache.RoleIdCacheByName;
+
+/**
+ * Clears the role caches of a tenant when a role is deleted or renamed through the role management v1 service, which
+ * writes the roles through its own DAO and publishes the changes as identity events.
+ */
+public class RoleCacheInvalidationHandler extends AbstractEventHandler {
+
+    private static final Log LOG = LogFactory.getLog(RoleCacheInvalidationHandler.class);
+    private static final String HANDLER_NAME = "RoleCacheInvalidationHandler";
+
+    @Override
+    public String getName() {
+
+        return HANDLER_NAME;
+    }
+
+    @Override
+    public void handleEvent(Event event) throws IdentityEventException {
+
+        String eventName = event.getEventName();
+        if (!IdentityEventConstants.Event.POST_DELETE_ROLE_EVENT.equals(eventName) &&
+                !IdentityEventConstants.Event.POST_UPDATE_ROLE_NAME_EVENT.equals(eventName)) {
+            return;
+        }
+        String tenantDomain = (String) event.getEventProperties()
+                .get(IdentityEventConstants.EventProperty.TENANT_DOMAIN);
+        if (tenantDomain == null) {
+            return;
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Clearing the role caches of tenant: " + tenantDomain + " on the event: " + eventName);
+        }
+        RoleBasicInfoCacheById.getInstance().clear(tenantDomain);
+        RoleIdCacheByName.getInstance().clear(tenantDomain);
+    }
+}
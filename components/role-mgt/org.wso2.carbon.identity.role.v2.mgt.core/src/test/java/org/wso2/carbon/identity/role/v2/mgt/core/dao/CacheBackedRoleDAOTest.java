@@ -0,0 +1,451 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.role.v2.mgt.core.dao;
+
+import org.apache.commons.dbcp.BasicDataSource;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.MockitoAnnotations;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.context.CarbonContext;
+import org.wso2.carbon.identity.common.testng.WithCarbonHome;
+import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.event.IdentityEventConstants;
+import org.wso2.carbon.identity.event.event.Event;
+import org.wso2.carbon.identity.organization.management.service.OrganizationManager;
+import org.wso2.carbon.identity.organization.management.service.util.OrganizationManagementUtil;
+import org.wso2.carbon.identity.role.v2.mgt.core.cache.RoleBasicInfoCacheById;
+import org.wso2.carbon.identity.role.v2.mgt.core.cache.RoleBasicInfoCacheEntry;
+import org.wso2.carbon.identity.role.v2.mgt.core.cache.RoleIdCacheByName;
+import org.wso2.carbon.identity.role.v2.mgt.core.cache.RoleIdCacheEntry;
+import org.wso2.carbon.identity.role.v2.mgt.core.cache.RoleIdCacheKey;
+import org.wso2.carbon.identity.role.v2.mgt.core.cache.RoleNameCacheKey;
+import org.wso2.carbon.identity.role.v2.mgt.core.exception.IdentityRoleManagementException;
+import org.wso2.carbon.identity.role.v2.mgt.core.internal.RoleManagementServiceComponentHolder;
+import org.wso2.carbon.identity.role.v2.mgt.core.listener.RoleCacheInvalidationHandler;
+import org.wso2.carbon.identity.role.v2.mgt.core.listener.RoleCacheInvalidationListener;
+import org.wso2.carbon.identity.role.v2.mgt.core.model.Permission;
+import org.wso2.carbon.identity.role.v2.mgt.core.model.RoleBasicInfo;
+import org.wso2.carbon.identity.role.v2.mgt.core.util.GroupIDResolver;
+import org.wso2.carbon.identity.role.v2.mgt.core.util.UserIDResolver;
+import org.wso2.carbon.user.api.AuthorizationManager;
+import org.wso2.carbon.user.api.RealmConfiguration;
+import org.wso2.carbon.user.api.UserRealm;
+import org.wso2.carbon.user.core.UserStoreManager;
+import org.wso2.carbon.user.core.authorization.AuthorizationCache;
+import org.wso2.carbon.user.core.authorization.JDBCAuthorizationManager;
+import org.wso2.carbon.user.core.common.UserRolesCache;
+import org.wso2.carbon.user.core.service.RealmService;
+import org.wso2.carbon.user.core.util.UserCoreUtil;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.wso2.carbon.identity.common.testng.TestConstants.USER_DOMAIN_PRIMARY;
+
+/**
+ * Tests for the caching of role lookups by {@link CacheBackedRoleDAO}.
+ */
+@WithCarbonHome
+public class CacheBackedRoleDAOTest {
+
+    private static final int SAMPLE_TENANT_ID = 1;
+    private static final String SAMPLE_TENANT_DOMAIN = "wso2.com";
+    private static final String SAMPLE_ORG_ID = "test-org-id";
+    private static final String SAMPLE_APP_ID = "test-app-id";
+    private static final String DB_NAME = "CACHE_BACKED_ROLE_DB";
+    private static final String ORGANIZATION_AUD = "organization";
+    private static final String APPLICATION_AUD = "application";
+    private static final String ROLE_NAME = "role1";
+    private static final String NEW_ROLE_NAME = "newRole";
+
+    private BasicDataSource dataSource;
+    private final Map<RoleIdCacheKey, RoleBasicInfoCacheEntry> roleBasicInfoCache = new HashMap<>();
+    private final Map<RoleNameCacheKey, RoleIdCacheEntry> roleIdCache = new HashMap<>();
+
+    private MockedStatic<IdentityDatabaseUtil> identityDatabaseUtil;
+    private MockedStatic<IdentityTenantUtil> identityTenantUtil;
+    private MockedStatic<IdentityUtil> identityUtil;
+    private MockedStatic<CarbonContext> carbonContext;
+    private MockedStatic<UserCoreUtil> userCoreUtil;
+    private MockedStatic<UserRolesCache> userRolesCache;
+    private MockedStatic<AuthorizationCache> authorizationCache;
+    private MockedStatic<OrganizationManagementUtil> organizationManagementUtil;
+    private MockedStatic<RoleBasicInfoCacheById> roleBasicInfoCacheById;
+    private MockedStatic<RoleIdCacheByName> roleIdCacheByName;
+
+    @Mock
+    private UserRealm mockUserRealm;
+
+    @Mock
+    private OrganizationManager mockOrganizationManager;
+
+    private RoleBasicInfoCacheById mockRoleBasicInfoCacheById;
+    private CacheBackedRoleDAO roleDAO;
+    private AutoCloseable mocks;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        mocks = MockitoAnnotations.openMocks(this);
+        identityDatabaseUtil = mockStatic(IdentityDatabaseUtil.class);
+        identityTenantUtil = mockStatic(IdentityTenantUtil.class);
+        identityUtil = mockStatic(IdentityUtil.class);
+        carbonContext = mockStatic(CarbonContext.class);
+        userCoreUtil = mockStatic(UserCoreUtil.class);
+        userRolesCache = mockStatic(UserRolesCache.class);
+        authorizationCache = mockStatic(AuthorizationCache.class);
+        organizationManagementUtil = mockStatic(OrganizationManagementUtil.class);
+        roleBasicInfoCacheById = mockStatic(RoleBasicInfoCacheById.class);
+        roleIdCacheByName = mockStatic(RoleIdCacheByName.class);
+
+        initializeDataSource();
+        identityDatabaseUtil.when(() -> IdentityDatabaseUtil.getUserDBConnection(anyBoolean()))
+                .thenAnswer(invocation -> dataSource.getConnection());
+        identityDatabaseUtil.when(() -> IdentityDatabaseUtil.getDBConnection(anyBoolean()))
+                .thenAnswer(invocation -> dataSource.getConnection());
+        identityUtil.when(IdentityUtil::getPrimaryDomainName).thenReturn(USER_DOMAIN_PRIMARY);
+        identityUtil.when(() -> IdentityUtil.extractDomainFromName(anyString())).thenCallRealMethod();
+        identityTenantUtil.when(() -> IdentityTenantUtil.getTenantId(anyString())).thenReturn(SAMPLE_TENANT_ID);
+        userCoreUtil.when(() -> UserCoreUtil.isEveryoneRole(anyString(), any(RealmConfiguration.class)))
+                .thenReturn(false);
+        userCoreUtil.when(() -> UserCoreUtil.removeDomainFromName(anyString())).thenCallRealMethod();
+        userCoreUtil.when(() -> UserCoreUtil.addDomainToName(anyString(), anyString())).thenCallRealMethod();
+        organizationManagementUtil.when(() -> OrganizationManagementUtil.isOrganization(anyString()))
+                .thenReturn(false);
+
+        mockUserStore();
+        mockRoleCaches();
+        RoleManagementServiceComponentHolder.getInstance().setOrganizationManager(mockOrganizationManager);
+        when(mockOrganizationManager.getOrganizationNameById(SAMPLE_ORG_ID)).thenReturn("test-org");
+        when(mockOrganizationManager.resolveOrganizationId(anyString())).thenReturn(SAMPLE_ORG_ID);
+
+        roleDAO = new CacheBackedRoleDAO();
+        mockIDResolvers(roleDAO);
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.createStatement().executeUpdate("DROP ALL OBJECTS;");
+        }
+        roleBasicInfoCache.clear();
+        roleIdCache.clear();
+        identityDatabaseUtil.close();
+        identityTenantUtil.close();
+        identityUtil.close();
+        carbonContext.close();
+        userCoreUtil.close();
+        userRolesCache.close();
+        authorizationCache.close();
+        organizationManagementUtil.close();
+        roleBasicInfoCacheById.close();
+        roleIdCacheByName.close();
+        mocks.close();
+    }
+
+    @Test
+    public void testGetRoleBasicInfoByIdFromCache() throws Exception {
+
+        RoleBasicInfo role = addRole(APPLICATION_AUD, SAMPLE_APP_ID);
+        assertEquals(roleDAO.getRoleBasicInfoById(role.getId(), SAMPLE_TENANT_DOMAIN).getName(), ROLE_NAME);
+
+        // A change which does not go through the DAO is not seen while the role is cached.
+        renameRoleInDatabase(role.getId(), NEW_ROLE_NAME);
+        RoleBasicInfo cachedRole = roleDAO.getRoleBasicInfoById(role.getId(), SAMPLE_TENANT_DOMAIN);
+        assertEquals(cachedRole.getName(), ROLE_NAME);
+        assertEquals(cachedRole.getAudience(), APPLICATION_AUD);
+        assertEquals(cachedRole.getAudienceId(), SAMPLE_APP_ID);
+        assertNull(cachedRole.getAudienceName());
+        assertEquals(roleDAO.getRoleNameByID(role.getId(), SAMPLE_TENANT_DOMAIN), ROLE_NAME);
+        assertEquals(roleDAO.getRoleNamesByIDs(Collections.singletonList(role.getId()), SAMPLE_TENANT_DOMAIN)
+                .get(role.getId()), ROLE_NAME);
+        assertTrue(roleDAO.isExistingRoleID(role.getId(), SAMPLE_TENANT_DOMAIN));
+        verify(mockRoleBasicInfoCacheById, times(1)).addToCache(any(RoleIdCacheKey.class),
+                any(RoleBasicInfoCacheEntry.class), anyString());
+    }
+
+    @Test
+    public void testGetRoleIdByNameFromCache() throws Exception {
+
+        RoleBasicInfo role = addRole(APPLICATION_AUD, SAMPLE_APP_ID);
+        assertEquals(roleDAO.getRoleIdByName(ROLE_NAME, APPLICATION_AUD, SAMPLE_APP_ID, SAMPLE_TENANT_DOMAIN),
+                role.getId());
+
+        renameRoleInDatabase(role.getId(), NEW_ROLE_NAME);
+        assertEquals(roleDAO.getRoleIdByName(ROLE_NAME, APPLICATION_AUD, SAMPLE_APP_ID, SAMPLE_TENANT_DOMAIN),
+                role.getId());
+        // Existence checks are always answered by the database.
+        assertFalse(roleDAO.isExistingRoleName(ROLE_NAME, APPLICATION_AUD, SAMPLE_APP_ID, SAMPLE_TENANT_DOMAIN));
+        assertTrue(roleDAO.isExistingRoleName(NEW_ROLE_NAME, APPLICATION_AUD, SAMPLE_APP_ID,
+                SAMPLE_TENANT_DOMAIN));
+    }
+
+    @Test
+    public void testUserStoreRoleChangesClearCache() throws Exception {
+
+        RoleBasicInfo role = addRole(APPLICATION_AUD, SAMPLE_APP_ID);
+        roleDAO.getRoleBasicInfoById(role.getId(), SAMPLE_TENANT_DOMAIN);
+        roleDAO.getRoleIdByName(ROLE_NAME, APPLICATION_AUD, SAMPLE_APP_ID, SAMPLE_TENANT_DOMAIN);
+
+        renameRoleInDatabase(role.getId(), NEW_ROLE_NAME);
+        UserStoreManager userStoreManager = mock(UserStoreManager.class);
+        when(userStoreManager.getTenantId()).thenReturn(SAMPLE_TENANT_ID);
+        assertTrue(new RoleCacheInvalidationListener().doPostUpdateRoleName(ROLE_NAME, NEW_ROLE_NAME,
+                userStoreManager));
+
+        assertTrue(roleBasicInfoCache.isEmpty());
+        assertTrue(roleIdCache.isEmpty());
+        assertEquals(roleDAO.getRoleBasicInfoById(role.getId(), SAMPLE_TENANT_DOMAIN).getName(), NEW_ROLE_NAME);
+    }
+
+    @Test
+    public void testRoleEventsClearCache() throws Exception {
+
+        RoleBasicInfo role = addRole(APPLICATION_AUD, SAMPLE_APP_ID);
+        roleDAO.getRoleBasicInfoById(role.getId(), SAMPLE_TENANT_DOMAIN);
+        roleDAO.getRoleIdByName(ROLE_NAME, APPLICATION_AUD, SAMPLE_APP_ID, SAMPLE_TENANT_DOMAIN);
+
+        Map<String, Object> eventProperties = new HashMap<>();
+        eventProperties.put(IdentityEventConstants.EventProperty.ROLE_ID, role.getId());
+        eventProperties.put(IdentityEventConstants.EventProperty.TENANT_DOMAIN, SAMPLE_TENANT_DOMAIN);
+        RoleCacheInvalidationHandler handler = new RoleCacheInvalidationHandler();
+        handler.handleEvent(new Event(IdentityEventConstants.Event.POST_GET_ROLE_EVENT, eventProperties));
+        assertFalse(roleBasicInfoCache.isEmpty());
+        assertFalse(roleIdCache.isEmpty());
+
+        handler.handleEvent(new Event(IdentityEventConstants.Event.POST_DELETE_ROLE_EVENT, eventProperties));
+        assertTrue(roleBasicInfoCache.isEmpty());
+        assertTrue(roleIdCache.isEmpty());
+    }
+
+    @Test
+    public void testAudienceNameOfCachedRoleIsResolvedOnRead() throws Exception {
+
+        RoleBasicInfo role = addRole(ORGANIZATION_AUD, SAMPLE_ORG_ID);
+        assertEquals(roleDAO.getRoleBasicInfoById(role.getId(), SAMPLE_TENANT_DOMAIN).getAudienceName(),
+                "test-org");
+
+        when(mockOrganizationManager.getOrganizationNameById(SAMPLE_ORG_ID)).thenReturn("renamed-org");
+        assertEquals(roleDAO.getRoleBasicInfoById(role.getId(), SAMPLE_TENANT_DOMAIN).getAudienceName(),
+                "renamed-org");
+        verify(mockRoleBasicInfoCacheById, times(1)).addToCache(any(RoleIdCacheKey.class),
+                any(RoleBasicInfoCacheEntry.class), anyString());
+    }
+
+    @Test
+    public void testUpdateRoleNameClearsCache() throws Exception {
+
+        RoleBasicInfo role = addRole(APPLICATION_AUD, SAMPLE_APP_ID);
+        assertEquals(roleDAO.getRoleBasicInfoById(role.getId(), SAMPLE_TENANT_DOMAIN).getName(), ROLE_NAME);
+        assertEquals(roleDAO.getRoleIdByName(ROLE_NAME, APPLICATION_AUD, SAMPLE_APP_ID, SAMPLE_TENANT_DOMAIN),
+                role.getId());
+
+        roleDAO.updateRoleName(role.getId(), NEW_ROLE_NAME, SAMPLE_TENANT_DOMAIN);
+
+        assertEquals(roleDAO.getRoleBasicInfoById(role.getId(), SAMPLE_TENANT_DOMAIN).getName(), NEW_ROLE_NAME);
+        assertEquals(roleDAO.getRoleNameByID(role.getId(), SAMPLE_TENANT_DOMAIN), NEW_ROLE_NAME);
+        assertFalse(roleDAO.isExistingRoleName(ROLE_NAME, APPLICATION_AUD, SAMPLE_APP_ID, SAMPLE_TENANT_DOMAIN));
+        assertTrue(roleDAO.isExistingRoleName(NEW_ROLE_NAME, APPLICATION_AUD, SAMPLE_APP_ID,
+                SAMPLE_TENANT_DOMAIN));
+    }
+
+    @Test
+    public void testDeleteRoleClearsCache() throws Exception {
+
+        RoleBasicInfo role = addRole(APPLICATION_AUD, SAMPLE_APP_ID);
+        assertTrue(roleDAO.isExistingRoleID(role.getId(), SAMPLE_TENANT_DOMAIN));
+        roleDAO.getRoleBasicInfoById(role.getId(), SAMPLE_TENANT_DOMAIN);
+        assertTrue(roleDAO.isExistingRoleName(ROLE_NAME, APPLICATION_AUD, SAMPLE_APP_ID, SAMPLE_TENANT_DOMAIN));
+        roleDAO.getRoleIdByName(ROLE_NAME, APPLICATION_AUD, SAMPLE_APP_ID, SAMPLE_TENANT_DOMAIN);
+
+        AuthorizationManager authorizationManager = mock(JDBCAuthorizationManager.class);
+        when(mockUserRealm.getAuthorizationManager()).thenReturn(authorizationManager);
+        roleDAO.deleteRole(role.getId(), SAMPLE_TENANT_DOMAIN);
+
+        assertTrue(roleBasicInfoCache.isEmpty());
+        assertTrue(roleIdCache.isEmpty());
+        assertFalse(roleDAO.isExistingRoleID(role.getId(), SAMPLE_TENANT_DOMAIN));
+        assertFalse(roleDAO.isExistingRoleName(ROLE_NAME, APPLICATION_AUD, SAMPLE_APP_ID, SAMPLE_TENANT_DOMAIN));
+    }
+
+    @Test(expectedExceptions = IdentityRoleManagementException.class)
+    public void testGetRoleBasicInfoByIdOfDeletedRole() throws Exception {
+
+        RoleBasicInfo role = addRole(APPLICATION_AUD, SAMPLE_APP_ID);
+        roleDAO.getRoleBasicInfoById(role.getId(), SAMPLE_TENANT_DOMAIN);
+
+        AuthorizationManager authorizationManager = mock(JDBCAuthorizationManager.class);
+        when(mockUserRealm.getAuthorizationManager()).thenReturn(authorizationManager);
+        roleDAO.deleteRole(role.getId(), SAMPLE_TENANT_DOMAIN);
+
+        roleDAO.getRoleBasicInfoById(role.getId(), SAMPLE_TENANT_DOMAIN);
+    }
+
+    private RoleBasicInfo addRole(String audience, String audienceId) throws Exception {
+
+        List<Permission> permissions = new ArrayList<>();
+        permissions.add(new Permission("read", "read"));
+        return roleDAO.addRole(ROLE_NAME, new ArrayList<>(), new ArrayList<>(), permissions, audience, audienceId,
+                SAMPLE_TENANT_DOMAIN);
+    }
+
+    private void renameRoleInDatabase(String roleId, String roleName) throws Exception {
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "UPDATE UM_HYBRID_ROLE SET UM_ROLE_NAME = ? WHERE UM_UUID = ?")) {
+            statement.setString(1, roleName);
+            statement.setString(2, roleId);
+            statement.executeUpdate();
+        }
+    }
+
+    private void mockRoleCaches() {
+
+        mockRoleBasicInfoCacheById = mock(RoleBasicInfoCacheById.class);
+        roleBasicInfoCacheById.when(RoleBasicInfoCacheById::getInstance).thenReturn(mockRoleBasicInfoCacheById);
+        when(mockRoleBasicInfoCacheById.getValueFromCache(any(RoleIdCacheKey.class), anyString()))
+                .thenAnswer(invocation -> roleBasicInfoCache.get(invocation.getArgument(0)));
+        doAnswer(invocation -> roleBasicInfoCache.put(invocation.getArgument(0),
+                invocation.getArgument(1))).when(mockRoleBasicInfoCacheById)
+                .addToCache(any(RoleIdCacheKey.class), any(RoleBasicInfoCacheEntry.class), anyString());
+        doAnswer(invocation -> roleBasicInfoCache.remove(invocation.getArgument(0)))
+                .when(mockRoleBasicInfoCacheById).clearCacheEntry(any(RoleIdCacheKey.class), anyString());
+        doAnswer(invocation -> roleBasicInfoCache.remove(invocation.getArgument(0)))
+                .when(mockRoleBasicInfoCacheById).clearCacheEntry(any(RoleIdCacheKey.class), anyInt());
+        doAnswer(invocation -> {
+            roleBasicInfoCache.clear();
+            return null;
+        }).when(mockRoleBasicInfoCacheById).clear(anyString());
+        doAnswer(invocation -> {
+            roleBasicInfoCache.clear();
+            return null;
+        }).when(mockRoleBasicInfoCacheById).clear(anyInt());
+
+        RoleIdCacheByName mockRoleIdCacheByName = mock(RoleIdCacheByName.class);
+        roleIdCacheByName.when(RoleIdCacheByName::getInstance).thenReturn(mockRoleIdCacheByName);
+        when(mockRoleIdCacheByName.getValueFromCache(any(RoleNameCacheKey.class), anyString()))
+                .thenAnswer(invocation -> roleIdCache.get(invocation.getArgument(0)));
+        doAnswer(invocation -> roleIdCache.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(mockRoleIdCacheByName)
+                .addToCache(any(RoleNameCacheKey.class), any(RoleIdCacheEntry.class), anyString());
+        doAnswer(invocation -> {
+            roleIdCache.clear();
+            return null;
+        }).when(mockRoleIdCacheByName).clear(anyString());
+        doAnswer(invocation -> {
+            roleIdCache.clear();
+            return null;
+        }).when(mockRoleIdCacheByName).clear(anyInt());
+    }
+
+    private void mockUserStore() throws Exception {
+
+        UserRolesCache mockUserRolesCache = mock(UserRolesCache.class);
+        userRolesCache.when(UserRolesCache::getInstance).thenReturn(mockUserRolesCache);
+        AuthorizationCache mockAuthorizationCache = mock(AuthorizationCache.class);
+        authorizationCache.when(AuthorizationCache::getInstance).thenReturn(mockAuthorizationCache);
+
+        RealmService mockRealmService = mock(RealmService.class);
+        when(mockRealmService.getTenantUserRealm(anyInt())).thenReturn(mockUserRealm);
+        RealmConfiguration mockRealmConfiguration = mock(RealmConfiguration.class);
+        when(mockUserRealm.getRealmConfiguration()).thenReturn(mockRealmConfiguration);
+        when(mockRealmConfiguration.getUserStoreProperty(anyString())).thenReturn("true");
+        when(mockRealmConfiguration.getEveryOneRoleName()).thenReturn("Internal/everyone");
+        RoleManagementServiceComponentHolder.getInstance().setRealmService(mockRealmService);
+
+        CarbonContext mockCarbonContext = mock(CarbonContext.class);
+        carbonContext.when(CarbonContext::getThreadLocalCarbonContext).thenReturn(mockCarbonContext);
+        when(mockCarbonContext.getUserRealm()).thenReturn(mockUserRealm);
+    }
+
+    private void mockIDResolvers(RoleDAOImpl roleDAO) throws Exception {
+
+        UserIDResolver userIDResolver = mock(UserIDResolver.class);
+        setPrivateFinalField("userIDResolver", roleDAO, userIDResolver);
+        when(userIDResolver.getNamesByIDs(anyList(), anyString())).thenReturn(new ArrayList<>());
+        GroupIDResolver groupIDResolver = mock(GroupIDResolver.class);
+        setPrivateFinalField("groupIDResolver", roleDAO, groupIDResolver);
+        when(groupIDResolver.getNamesByIDs(anyList(), anyString())).thenReturn(new HashMap<>());
+    }
+
+    private void setPrivateFinalField(String fieldName, Object instance, Object value) throws Exception {
+
+        Field field = RoleDAOImpl.class.getDeclaredField(fieldName);
+        field.setAccessible(true);
+        Field modifiersField = Field.class.getDeclaredField("modifiers");
+        modifiersField.setAccessible(true);
+        modifiersField.setInt(field, field.getModifiers() & ~Modifier.FINAL);
+        field.set(instance, value);
+    }
+
+    private void initializeDataSource() throws Exception {
+
+        dataSource = new BasicDataSource();
+        dataSource.setDriverClassName("org.h2.Driver");
+        dataSource.setUsername("username");
+        dataSource.setPassword("password");
+        dataSource.setUrl("jdbc:h2:mem:" + DB_NAME);
+        String scriptPath = Paths.get(System.getProperty("user.dir"), "src", "test", "resources", "dbscripts",
+                "h2.sql").toString();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.createStatement().executeUpdate("RUNSCRIPT FROM '" + scriptPath + "'");
+            connection.createStatement().executeUpdate("INSERT INTO UM_DOMAIN (UM_DOMAIN_ID, UM_DOMAIN_NAME, " +
+                    "UM_TENANT_ID) VALUES (1,'PRIMARY',1), (2,'SYSTEM',1), (3,'INTERNAL',1), (4,'APPLICATION',1), " +
+                    "(5,'WORKFLOW',1)");
+            connection.createStatement().executeUpdate("INSERT INTO API_RESOURCE (ID, NAME, IDENTIFIER, " +
+                    "TENANT_ID, DESCRIPTION, TYPE, REQUIRES_AUTHORIZATION) VALUES (1,'DOC','DOC',1,'DOC','RBAC'," +
+                    "true)");
+            connection.createStatement().executeUpdate("INSERT INTO SCOPE (ID, API_ID, NAME, DISPLAY_NAME, " +
+                    "TENANT_ID, DESCRIPTION) VALUES (1,1,'read','read',1,'read')");
+            connection.createStatement().executeUpdate("INSERT INTO SP_APP (ID, TENANT_ID, APP_NAME, USER_STORE, " +
+                    "USERNAME, AUTH_TYPE, UUID) VALUES (1, 1, 'TEST_APP_NAME', 'TEST_USER_STORE', 'TEST_USERNAME', " +
+                    "'TEST_AUTH_TYPE', 'test-app-id')");
+        }
+    }
+}
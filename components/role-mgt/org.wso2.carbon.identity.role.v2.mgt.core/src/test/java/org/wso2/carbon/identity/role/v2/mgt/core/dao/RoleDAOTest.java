@@ -71,6 +71,7 @@ import java.nio.file.Paths;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -92,8 +93,10 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 import static org.wso2.carbon.identity.common.testng.TestConstants.USER_DOMAIN_PRIMARY;
 import static org.wso2.carbon.identity.role.v2.mgt.core.RoleConstants.Error.INVALID_REQUEST;
+import static org.wso2.carbon.identity.role.v2.mgt.core.RoleConstants.Error.ROLE_NOT_FOUND;
 
 @WithCarbonHome
 @Listeners(MockitoTestNGListener.class)
@@ -474,6 +477,38 @@ public class RoleDAOTest {
 
     }
 
+    @Test
+    public void testGetRoleNamesByIDs() throws Exception {
+
+        RoleDAOImpl roleDAO = spy(new RoleDAOImpl());
+        mockCacheClearing(roleDAO);
+        identityDatabaseUtil.when(() -> IdentityDatabaseUtil.getUserDBConnection(anyBoolean()))
+                .thenAnswer(invocation -> getConnection());
+        identityDatabaseUtil.when(() -> IdentityDatabaseUtil.getDBConnection(anyBoolean()))
+                .thenAnswer(invocation -> getConnection());
+        identityUtil.when(IdentityUtil::getPrimaryDomainName).thenReturn(USER_DOMAIN_PRIMARY);
+        identityUtil.when(() -> IdentityUtil.extractDomainFromName(anyString())).thenCallRealMethod();
+        identityTenantUtil.when(() -> IdentityTenantUtil.getTenantId(anyString())).thenReturn(SAMPLE_TENANT_ID);
+        userCoreUtil.when(() -> UserCoreUtil.isEveryoneRole(anyString(), any(RealmConfiguration.class)))
+                .thenReturn(false);
+        userCoreUtil.when(() -> UserCoreUtil.removeDomainFromName(anyString())).thenCallRealMethod();
+        RoleBasicInfo role1 = addRole(roleNamesList.get(0), APPLICATION_AUD, SAMPLE_APP_ID, roleDAO);
+        RoleBasicInfo role2 = addRole(roleNamesList.get(1), APPLICATION_AUD, SAMPLE_APP_ID, roleDAO);
+
+        Map<String, String> roleNames = roleDAO.getRoleNamesByIDs(Arrays.asList(role2.getId(), role1.getId()),
+                SAMPLE_TENANT_DOMAIN);
+        assertEquals(new ArrayList<>(roleNames.keySet()), Arrays.asList(role2.getId(), role1.getId()));
+        assertEquals(roleNames.get(role1.getId()), roleNamesList.get(0));
+        assertEquals(roleNames.get(role2.getId()), roleNamesList.get(1));
+
+        try {
+            roleDAO.getRoleNamesByIDs(Arrays.asList(role1.getId(), "non-existing-role-id"), SAMPLE_TENANT_DOMAIN);
+            fail("Expected an exception for a non-existing role.");
+        } catch (IdentityRoleManagementClientException e) {
+            assertEquals(e.getErrorCode(), ROLE_NOT_FOUND.getCode());
+        }
+    }
+
     @Test
     public void testCountRoles() throws Exception {
 
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.security.keystore;
+
+import java.security.KeyStore;
+import java.security.KeyStoreException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+
+/**
+ * Index of the aliases of the certificate entries and the key entries of a keystore, in the order in which the
+ * keystore enumerates them.
+ * <p>
+ * An index is built from the keystore on every listing, which only reads the aliases and the entry types. Hence,
+ * listing a page of a keystore only reads and decodes the certificates of the entries on the page, while the index
+ * always reflects the current entries of the keystore.
+ */
+class KeyStoreAliasIndex {
+
+    private final List<String> certificateAliases;
+    private final List<String> keyAliases;
+
+    /**
+     * @param keyStore Keystore.
+     * @throws KeyStoreException If the keystore has not been loaded.
+     */
+    KeyStoreAliasIndex(KeyStore keyStore) throws KeyStoreException {
+
+        List<String> certAliases = new ArrayList<>();
+        List<String> keyEntryAliases = new ArrayList<>();
+        Enumeration<String> aliases = keyStore.aliases();
+        while (aliases.hasMoreElements()) {
+            String alias = aliases.nextElement();
+            if (keyStore.isCertificateEntry(alias)) {
+                certAliases.add(alias);
+            } else if (keyStore.isKeyEntry(alias)) {
+                keyEntryAliases.add(alias);
+            }
+        }
+        this.certificateAliases = Collections.unmodifiableList(certAliases);
+        this.keyAliases = Collections.unmodifiableList(keyEntryAliases);
+    }
+
+    /**
+     * @return Aliases of the certificate entries.
+     */
+    List<String> getCertificateAliases() {
+
+        return certificateAliases;
+    }
+
+    /**
+     * @return Aliases of the key entries.
+     */
+    List<String> getKeyAliases() {
+
+        return keyAliases;
+    }
+}
@@ -36,10 +36,12 @@ import org.wso2.carbon.security.SecurityConfigException;
 import org.wso2.carbon.security.keystore.service.CertData;
 import org.wso2.carbon.security.keystore.service.PaginatedKeyStoreData;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.security.KeyStore;
@@ -51,6 +53,7 @@ import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
 
 @Listeners(MockitoTestNGListener.class)
 public class KeyStoreAdminTest extends IdentityBaseTest {
@@ -205,6 +208,53 @@ public class KeyStoreAdminTest extends IdentityBaseTest {
 
     }
 
+    @Test
+    public void testGetFilteredPaginatedKeyStoreInfo() throws Exception {
+
+        try (MockedStatic<ServerConfiguration> serverConfiguration = mockStatic(ServerConfiguration.class);
+             MockedStatic<KeyStoreManager> keyStoreManager = mockStatic(KeyStoreManager.class);
+             MockedStatic<KeyStoreUtil> keyStoreUtil = mockStatic(KeyStoreUtil.class)) {
+            serverConfiguration.when(ServerConfiguration::getInstance).thenReturn(this.serverConfiguration);
+            keyStoreUtil.when(() -> KeyStoreUtil.isPrimaryStore(any())).thenReturn(true);
+            keyStoreManager.when(() -> KeyStoreManager.getInstance(tenantID)).thenReturn(this.keyStoreManager);
+            when(this.keyStoreManager.getPrimaryKeyStore())
+                    .thenReturn(getKeyStoreFromFile(KEYSTORE_NAME, KEYSTORE_PASSWORD));
+
+            keyStoreAdmin = new KeyStoreAdmin(tenantID, registry);
+            PaginatedKeyStoreData result =
+                    keyStoreAdmin.getFilteredPaginatedKeyStoreInfo(KEYSTORE_NAME, 0, "VeriSign*");
+            assertEquals(findCertDataSetSize(result.getPaginatedCertData().getCertDataSet()), 10,
+                    "Incorrect certificate numbers");
+            assertEquals(result.getPaginatedCertData().getNumberOfPages(), 1);
+            assertEquals(findCertDataSetSize(result.getPaginatedKeyData().getCertDataSet()), 0,
+                    "Incorrect key numbers");
+        }
+    }
+
+    @Test
+    public void testExportCertificates() throws Exception {
+
+        try (MockedStatic<ServerConfiguration> serverConfiguration = mockStatic(ServerConfiguration.class);
+             MockedStatic<KeyStoreManager> keyStoreManager = mockStatic(KeyStoreManager.class);
+             MockedStatic<KeyStoreUtil> keyStoreUtil = mockStatic(KeyStoreUtil.class)) {
+            serverConfiguration.when(ServerConfiguration::getInstance).thenReturn(this.serverConfiguration);
+            keyStoreUtil.when(() -> KeyStoreUtil.isPrimaryStore(any())).thenReturn(true);
+            keyStoreManager.when(() -> KeyStoreManager.getInstance(tenantID)).thenReturn(this.keyStoreManager);
+            when(this.keyStoreManager.getPrimaryKeyStore())
+                    .thenReturn(getKeyStoreFromFile(KEYSTORE_NAME, KEYSTORE_PASSWORD));
+
+            keyStoreAdmin = new KeyStoreAdmin(tenantID, registry);
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            int exportedCertificates = keyStoreAdmin.exportCertificates(KEYSTORE_NAME, "*key", outputStream);
+
+            String exportedData = new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+            assertEquals(exportedCertificates, 2);
+            assertTrue(exportedData.contains("Alias: secondkey\n-----BEGIN CERTIFICATE-----\n"));
+            assertTrue(exportedData.contains("Alias: thirdkey\n-----BEGIN CERTIFICATE-----\n"));
+            assertEquals(exportedData.split("-----END CERTIFICATE-----", -1).length, 3);
+        }
+    }
+
     private KeyStore getKeyStoreFromFile(String keystoreName, String password) throws Exception {
 
         Path tenantKeystorePath = createPath(keystoreName);